@@ -0,0 +1,164 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Presupuesto de memoria del heap de las respuestas pre-serializadas ({@code cache.memory.max-bytes}).
+ * <p>
+ * Cada caché informa el tamaño estimado de lo que almacena por tipo de recurso: {@link SwapiEntityCache}, el
+ * de sus tablas de entidades (las columnas con sus diccionarios e índices), y {@link ResponseBodyCache}, el de
+ * sus respuestas pre-serializadas (estimado con {@link EntityWeigher}), repartido entre los recursos de los
+ * que dependen. Las entidades son el conjunto de datos local sobre el que se resuelven las búsquedas y
+ * consultas, por lo que no se descartan ni se limitan: se informan y ocupan primero el presupuesto, y la
+ * caché de respuestas pasa a su segundo nivel (fuera del heap) las respuestas necesarias para no superarlo.
+ * Si las entidades solas superan el presupuesto, se registra una advertencia y la caché de respuestas solo
+ * retiene en el heap la última respuesta almacenada.
+ */
+@Component
+@Slf4j
+public class CacheMemoryBudget {
+
+    private static final int RESOURCES = SwapiResource.values().length;
+
+    private final long maxBytes;
+    // Bytes y cantidad de entradas de cada recurso: entidades en [0, RESOURCES), respuestas en [RESOURCES, 2 * RESOURCES)
+    private final AtomicLongArray bytes = new AtomicLongArray(2 * RESOURCES);
+    private final AtomicLongArray counts = new AtomicLongArray(2 * RESOURCES);
+    // Si ya se advirtió que las entidades solas superan el presupuesto
+    private final AtomicBoolean entitiesExceeded = new AtomicBoolean();
+
+    /**
+     * Constructor utilizado por Spring, con el presupuesto configurado en las propiedades.
+     *
+     * @param maxBytes el presupuesto de memoria.
+     */
+    @Autowired
+    public CacheMemoryBudget(@Value("${cache.memory.max-bytes:128MB}") DataSize maxBytes) {
+        this(maxBytes.toBytes());
+    }
+
+    /**
+     * Constructor de un presupuesto de la cantidad de bytes indicada.
+     *
+     * @param maxBytes el presupuesto de memoria en bytes.
+     */
+    public CacheMemoryBudget(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("El presupuesto de memoria de las cachés debe ser positivo");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Devuelve un presupuesto sin límite, para las cachés creadas sin un presupuesto compartido.
+     *
+     * @return el presupuesto.
+     */
+    public static CacheMemoryBudget unbounded() {
+        return new CacheMemoryBudget(Long.MAX_VALUE);
+    }
+
+    /**
+     * Registra el tamaño de las entidades almacenadas de un recurso.
+     *
+     * @param resource el tipo de recurso.
+     * @param bytes    los bytes estimados de la tabla de entidades.
+     * @param count    la cantidad de entidades.
+     */
+    public void setEntities(SwapiResource resource, long bytes, int count) {
+        this.bytes.set(resource.ordinal(), bytes);
+        this.counts.set(resource.ordinal(), count);
+        if (entityBytes() > maxBytes && entitiesExceeded.compareAndSet(false, true)) {
+            log.warn("Las entidades almacenadas ocupan {} bytes y superan el presupuesto de memoria de las cachés ({} bytes); "
+                    + "no se descartan, pero las respuestas pasan al segundo nivel", entityBytes(), maxBytes);
+        }
+    }
+
+    /**
+     * Registra el cambio de tamaño de las respuestas almacenadas que dependen de un recurso.
+     *
+     * @param resource el tipo de recurso.
+     * @param bytes    la diferencia de bytes estimados.
+     * @param count    la diferencia de cantidad de respuestas.
+     */
+    public void addResponses(SwapiResource resource, long bytes, int count) {
+        this.bytes.addAndGet(RESOURCES + resource.ordinal(), bytes);
+        this.counts.addAndGet(RESOURCES + resource.ordinal(), count);
+    }
+
+    /**
+     * Indica si el tamaño estimado de las cachés supera el presupuesto.
+     *
+     * @return {@code true} si se supera el presupuesto.
+     */
+    public boolean isExceeded() {
+        return usedBytes() > maxBytes;
+    }
+
+    /**
+     * Devuelve el presupuesto de memoria.
+     *
+     * @return el presupuesto en bytes.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Devuelve el tamaño estimado de todas las cachés.
+     *
+     * @return los bytes estimados.
+     */
+    public long usedBytes() {
+        long used = 0;
+        for (int i = 0; i < bytes.length(); i++) {
+            used += bytes.get(i);
+        }
+        return used;
+    }
+
+    private long entityBytes() {
+        long used = 0;
+        for (int i = 0; i < RESOURCES; i++) {
+            used += bytes.get(i);
+        }
+        return used;
+    }
+
+    /**
+     * Devuelve el tamaño estimado de las cachés de cada recurso.
+     *
+     * @return el uso de memoria de cada recurso.
+     */
+    public Map<SwapiResource, Usage> usage() {
+        Map<SwapiResource, Usage> usage = new EnumMap<>(SwapiResource.class);
+        for (SwapiResource resource : SwapiResource.values()) {
+            int entities = resource.ordinal();
+            int responses = RESOURCES + resource.ordinal();
+            usage.put(resource, new Usage(bytes.get(entities), counts.get(entities), bytes.get(responses), counts.get(responses)));
+        }
+        return usage;
+    }
+
+    /**
+     * Uso de memoria de las cachés de un recurso.
+     *
+     * @param entityBytes   los bytes estimados de la tabla de entidades.
+     * @param entities      la cantidad de entidades.
+     * @param responseBytes los bytes estimados de las respuestas que dependen del recurso (las que dependen de
+     *                      varios recursos se reparten entre ellos).
+     * @param responses     la cantidad de respuestas que dependen del recurso.
+     */
+    public record Usage(long entityBytes, long entities, long responseBytes, long responses) {
+    }
+}
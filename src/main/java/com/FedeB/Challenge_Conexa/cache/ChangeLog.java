@@ -0,0 +1,182 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Registro en memoria de los cambios en las entidades almacenadas, en el orden de sus versiones.
+ * <p>
+ * {@link SwapiEntityCache} notifica cada entidad nueva, modificada o eliminada con la versión del conjunto de
+ * datos que la confirmó, ya sea al obtenerla de SWAPI en una solicitud, al revalidarla o al sincronizar los
+ * listados. El registro conserva los cambios durante el tiempo de retención configurado
+ * ({@code swapi.changes.retention}) y hasta la cantidad máxima configurada ({@code swapi.changes.max-entries});
+ * los más antiguos se descartan. Como se recuerda la versión del último cambio descartado, se sabe si los
+ * cambios posteriores a una versión están completos ({@link #since}) o si quien los pide debe volver a
+ * obtener el conjunto de datos completo.
+ * <p>
+ * Los suscriptores ({@link #subscribe}) reciben cada cambio a medida que se registra.
+ */
+@Component
+public class ChangeLog implements EntityCommitListener {
+
+    private final int maxEntries;
+    private final long retentionMillis;
+    private final Clock clock;
+    private final ArrayDeque<Entry> changes = new ArrayDeque<>();
+    private final List<Consumer<EntityChange>> subscribers = new CopyOnWriteArrayList<>();
+    // Versión del último cambio descartado: los cambios posteriores a versiones anteriores están incompletos
+    private long discardedVersion;
+
+    /**
+     * Constructor utilizado por Spring, con la retención configurada en las propiedades.
+     *
+     * @param maxEntries la cantidad máxima de cambios que se conservan.
+     * @param retention  el tiempo durante el cual se conserva cada cambio.
+     */
+    @Autowired
+    public ChangeLog(@Value("${swapi.changes.max-entries:10000}") int maxEntries,
+                     @Value("${swapi.changes.retention:24h}") Duration retention) {
+        this(maxEntries, retention, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor de un registro que conserva los cambios sin límite de tiempo.
+     *
+     * @param maxEntries la cantidad máxima de cambios que se conservan.
+     */
+    public ChangeLog(int maxEntries) {
+        this(maxEntries, Duration.ofMillis(Long.MAX_VALUE), Clock.systemUTC());
+    }
+
+    /**
+     * Constructor que permite indicar el reloj utilizado para calcular la retención.
+     *
+     * @param maxEntries la cantidad máxima de cambios que se conservan.
+     * @param retention  el tiempo durante el cual se conserva cada cambio.
+     * @param clock      el reloj utilizado para calcular la retención.
+     */
+    public ChangeLog(int maxEntries, Duration retention, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("La cantidad máxima de cambios registrados debe ser positiva");
+        }
+        this.maxEntries = maxEntries;
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Los cambios se registran con su versión en {@link #onEntityCommitted}.
+     *
+     * @param resource el tipo de recurso modificado.
+     * @param id       el ID de la entidad modificada, o {@code null} si cambió la composición de un listado.
+     */
+    @Override
+    public void onEntityChanged(SwapiResource resource, String id) {
+        // Sin acción: las notificaciones sin versión no se registran
+    }
+
+    /**
+     * Registra un cambio confirmado, descartando los que superan la retención, y lo entrega a los suscriptores.
+     *
+     * @param change el cambio confirmado.
+     */
+    @Override
+    public void onEntityCommitted(EntityChange change) {
+        synchronized (this) {
+            changes.addLast(new Entry(change, clock.millis()));
+            discardExpired();
+        }
+        for (Consumer<EntityChange> subscriber : subscribers) {
+            subscriber.accept(change);
+        }
+    }
+
+    /**
+     * Devuelve los cambios registrados posteriores a una versión del conjunto de datos y hasta otra.
+     *
+     * @param version la versión a partir de la cual (sin incluirla) se buscan los cambios.
+     * @param upTo    la última versión incluida.
+     * @return los cambios, en el orden de sus versiones, o {@code null} si ya se descartaron cambios
+     * posteriores a la versión y no se pueden informar todos.
+     */
+    public synchronized List<EntityChange> since(long version, long upTo) {
+        discardExpired();
+        if (version < discardedVersion) {
+            return null;
+        }
+        List<EntityChange> newer = new ArrayList<>();
+        for (Iterator<Entry> iterator = changes.descendingIterator(); iterator.hasNext(); ) {
+            EntityChange change = iterator.next().change;
+            if (change.version() <= version) {
+                break;
+            }
+            if (change.version() <= upTo) {
+                newer.add(change);
+            }
+        }
+        Collections.reverse(newer);
+        return newer;
+    }
+
+    /**
+     * Devuelve todos los cambios registrados posteriores a una versión del conjunto de datos.
+     *
+     * @param version la versión a partir de la cual (sin incluirla) se buscan los cambios.
+     * @return los cambios, en el orden de sus versiones, o {@code null} si ya se descartaron cambios
+     * posteriores a la versión.
+     */
+    public List<EntityChange> since(long version) {
+        return since(version, Long.MAX_VALUE);
+    }
+
+    /**
+     * Suscribe un receptor a los cambios que se registren a partir de este momento. El receptor se invoca
+     * durante la confirmación de cada cambio, por lo que debe ser breve (por ejemplo, encolar el envío).
+     *
+     * @param subscriber el receptor de los cambios.
+     * @return la acción que cancela la suscripción.
+     */
+    public Runnable subscribe(Consumer<EntityChange> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Devuelve la cantidad de cambios registrados.
+     *
+     * @return la cantidad de cambios que se conservan.
+     */
+    public synchronized int size() {
+        discardExpired();
+        return changes.size();
+    }
+
+    /**
+     * Descarta los cambios que superan la cantidad máxima o el tiempo de retención. Se ejecuta con el
+     * bloqueo del registro tomado.
+     */
+    private void discardExpired() {
+        long now = clock.millis();
+        while (!changes.isEmpty() && (changes.size() > maxEntries || now - changes.peekFirst().recordedAt > retentionMillis)) {
+            discardedVersion = changes.removeFirst().change.version();
+        }
+    }
+
+    /**
+     * Cambio registrado y el momento en que se registró.
+     */
+    private record Entry(EntityChange change, long recordedAt) {
+    }
+}
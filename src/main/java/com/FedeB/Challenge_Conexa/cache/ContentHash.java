@@ -0,0 +1,29 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Cálculo del hash de contenido utilizado por las cachés para detectar cambios y formar ETags.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    /**
+     * Calcula el hash de un contenido: los primeros 128 bits de su SHA-256, en hexadecimal.
+     *
+     * @param content el contenido.
+     * @return el hash, de 32 caracteres hexadecimales.
+     */
+    public static String of(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
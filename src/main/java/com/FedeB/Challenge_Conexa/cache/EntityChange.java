@@ -0,0 +1,32 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+/**
+ * Cambio en una entidad almacenada, confirmado con una versión del conjunto de datos ({@link SnapshotVersions}).
+ *
+ * @param version  la versión con la que se confirmó el cambio.
+ * @param resource el tipo de recurso.
+ * @param id       el ID de la entidad.
+ * @param kind     el tipo de cambio.
+ */
+public record EntityChange(long version, SwapiResource resource, String id, Kind kind) {
+
+    /**
+     * Tipos de cambio de una entidad.
+     */
+    public enum Kind {
+        /**
+         * La entidad se almacenó por primera vez.
+         */
+        ADDED,
+        /**
+         * La entidad ya estaba almacenada y cambió su valor.
+         */
+        MODIFIED,
+        /**
+         * La entidad se eliminó (por ejemplo, porque ya no existe en SWAPI).
+         */
+        REMOVED
+    }
+}
@@ -0,0 +1,21 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+/**
+ * Receptor de notificaciones de cambios en los datos obtenidos desde SWAPI.
+ * <p>
+ * {@link SwapiEntityCache} notifica a todos los beans que implementan esta interfaz cuando detecta que
+ * una entidad ya conocida cambió, o que cambió la composición de un listado.
+ */
+@FunctionalInterface
+public interface EntityChangeListener {
+
+    /**
+     * Notifica un cambio en los datos de un recurso.
+     *
+     * @param resource el tipo de recurso modificado.
+     * @param id       el ID de la entidad modificada, o {@code null} si cambió la composición de un listado.
+     */
+    void onEntityChanged(SwapiResource resource, String id);
+}
@@ -0,0 +1,18 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+/**
+ * Receptor de los cambios en las entidades junto con la versión del conjunto de datos que los confirmó.
+ * <p>
+ * A diferencia de {@link EntityChangeListener#onEntityChanged}, {@link SwapiEntityCache} también notifica las
+ * entidades nuevas y las eliminadas, y lo hace durante la confirmación, en el orden de las versiones.
+ */
+public interface EntityCommitListener extends EntityChangeListener {
+
+    /**
+     * Notifica un cambio en una entidad confirmado con una nueva versión del conjunto de datos. Se invoca
+     * durante la confirmación, por lo que debe ser breve.
+     *
+     * @param change el cambio confirmado.
+     */
+    void onEntityCommitted(EntityChange change);
+}
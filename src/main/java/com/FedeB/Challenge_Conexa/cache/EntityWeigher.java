@@ -0,0 +1,129 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Estimación del tamaño que ocupa en el heap un DTO de SWAPI, con los objetos que referencia.
+ * <p>
+ * Los tamaños de las entidades varían mucho entre recursos (una película, con su texto de apertura y la
+ * lista de URLs de sus personajes, ocupa varias veces lo que un vehículo), por lo que las cachés se acotan
+ * en bytes estimados y no en cantidad de entradas. La estimación recorre los atributos del DTO, que se
+ * obtienen por reflexión una única vez por clase, y suma el tamaño de cada objeto según la disposición
+ * habitual de una JVM de 64 bits con referencias comprimidas: 12 bytes de encabezado por objeto, 16 por
+ * arreglo, 4 por referencia y tamaños alineados a 8 bytes. Los textos se cuentan con un byte por carácter si
+ * son Latin-1 (el caso de SWAPI) y con dos en caso contrario. También se usa para estimar el tamaño de las
+ * respuestas pre-serializadas de la {@link ResponseBodyCache}.
+ */
+public final class EntityWeigher {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private EntityWeigher() {
+    }
+
+    /**
+     * Estima el tamaño de un objeto y de los objetos que referencia.
+     *
+     * @param value el objeto (un DTO o un record, un texto, una colección, un arreglo o un número).
+     * @return el tamaño estimado en bytes, o {@code 0} si el objeto es {@code null}.
+     */
+    public static long weigh(Object value) {
+        if (value == null || value instanceof Enum<?>) {
+            // Las constantes de los enums son compartidas: no forman parte del tamaño del objeto
+            return 0;
+        }
+        if (value instanceof String text) {
+            return align(OBJECT_HEADER + 4 + 1 + 1 + REFERENCE) + weighText(text);
+        }
+        if (value instanceof Collection<?> collection) {
+            // ArrayList (o lista inmutable) con su arreglo de referencias
+            long weight = align(OBJECT_HEADER + 4 + 4 + REFERENCE) + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+            for (Object element : collection) {
+                weight += weigh(element);
+            }
+            return weight;
+        }
+        if (value instanceof Integer || value instanceof Float) {
+            return align(OBJECT_HEADER + 4);
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return align(OBJECT_HEADER + 8);
+        }
+        if (value.getClass().isArray()) {
+            return weighArray(value);
+        }
+        Field[] fields = FIELDS.get(value.getClass());
+        long weight = OBJECT_HEADER;
+        long referenced = 0;
+        for (Field field : fields) {
+            Class<?> type = field.getType();
+            weight += type.isPrimitive() ? primitiveSize(type) : REFERENCE;
+            if (!type.isPrimitive()) {
+                try {
+                    referenced += weigh(field.get(value));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("No se pudo leer el atributo " + field.getName(), e);
+                }
+            }
+        }
+        return align(weight) + referenced;
+    }
+
+    private static long weighArray(Object array) {
+        Class<?> component = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (component.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+        }
+        long weight = align(ARRAY_HEADER + (long) length * REFERENCE);
+        for (int i = 0; i < length; i++) {
+            weight += weigh(Array.get(array, i));
+        }
+        return weight;
+    }
+
+    private static long weighText(String text) {
+        boolean latin1 = text.chars().allMatch(c -> c <= 0xFF);
+        return align(ARRAY_HEADER + (long) text.length() * (latin1 ? 1 : 2));
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,285 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache.CachedResponse;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.monitoring.OffHeapCacheEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.FlightRecorder;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Segundo nivel de la {@link ResponseBodyCache}, fuera del heap: almacena las respuestas que se descartan del
+ * primer nivel por falta de lugar, para no volver a construirlas si se solicitan de nuevo.
+ * <p>
+ * Los cuerpos se guardan comprimidos con LZ4 (la versión gzip, que ya está comprimida, se guarda tal cual) en
+ * un único buffer directo de tamaño fijo ({@code api.response-cache.off-heap.max-bytes}), de modo que no
+ * ocupan el heap ni agregan trabajo al recolector de basura; en el heap solo queda un índice con la ubicación
+ * y los metadatos de cada respuesta. El buffer se usa como un registro circular: cada respuesta se escribe a
+ * continuación de la anterior y, al llegar al final, se vuelve al principio descartando las respuestas más
+ * antiguas que se superponen con la nueva. Así, la memoria ocupada está acotada en bytes y no en cantidad
+ * de entradas.
+ * <p>
+ * Al solicitarse una respuesta de este nivel, se descomprime, se quita de este nivel y la {@link ResponseBodyCache}
+ * la vuelve a almacenar en el primero. El evento JFR periódico {@code conexa.OffHeapCache} informa los bytes
+ * ocupados y el costo de descompresión de cada acierto (ver también {@link #stats()}).
+ */
+@Component
+public class OffHeapResponseStore {
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+
+    private final int capacity;
+    private final LZ4Compressor compressor = LZ4.fastCompressor();
+    private final LZ4SafeDecompressor decompressor = LZ4.safeDecompressor();
+    private final Runnable statsHook = this::emitStats;
+
+    // Se reserva al almacenar la primera respuesta, para no ocupar memoria si este nivel no se usa
+    private ByteBuffer buffer;
+    private final Map<String, Slot> index = new HashMap<>();
+    // Respuestas en el orden en que se escribieron en el buffer, incluidas las ya descartadas
+    private final ArrayDeque<Slot> ring = new ArrayDeque<>();
+    private int position;
+    private long residentBytes;
+    private long uncompressedBytes;
+    private long hits;
+    private long misses;
+    private long decompressionNanos;
+    private long evictions;
+
+    /**
+     * Constructor utilizado por Spring, con el tamaño configurado en las propiedades.
+     *
+     * @param maxBytes el tamaño del buffer, o cero para deshabilitar este nivel.
+     */
+    @Autowired
+    public OffHeapResponseStore(@Value("${api.response-cache.off-heap.max-bytes:64MB}") DataSize maxBytes) {
+        this(Math.toIntExact(maxBytes.toBytes()));
+        FlightRecorder.addPeriodicEvent(OffHeapCacheEvent.class, statsHook);
+    }
+
+    /**
+     * Constructor de un nivel con el tamaño indicado, sin el evento JFR periódico.
+     *
+     * @param capacity el tamaño del buffer en bytes, o cero para deshabilitar este nivel.
+     */
+    public OffHeapResponseStore(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("El tamaño de la caché fuera del heap no puede ser negativo");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Indica si este nivel está habilitado.
+     *
+     * @return {@code true} si el tamaño configurado es mayor que cero.
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Almacena una respuesta, reemplazando la anterior con la misma clave y descartando las más antiguas si no
+     * hay lugar.
+     *
+     * @param key      la clave de la respuesta.
+     * @param response la respuesta.
+     * @return {@code true} si se almacenó; {@code false} si este nivel está deshabilitado o la respuesta no
+     * entra en el buffer.
+     */
+    public boolean put(String key, CachedResponse response) {
+        if (!isEnabled()) {
+            return false;
+        }
+        // La compresión no necesita el bloqueo
+        byte[] compressed = compressor.compress(response.body());
+        boolean raw = compressed.length >= response.body().length;
+        byte[] stored = raw ? response.body() : compressed;
+        int gzipLength = response.gzipBody() != null ? response.gzipBody().length : -1;
+        int size = stored.length + Math.max(gzipLength, 0);
+        synchronized (this) {
+            remove(key);
+            if (size > capacity) {
+                return false;
+            }
+            if (buffer == null) {
+                buffer = ByteBuffer.allocateDirect(capacity);
+            }
+            if (position + size > capacity) {
+                position = 0;
+            }
+            evictOverlapping(position, size);
+            buffer.put(position, stored);
+            if (gzipLength > 0) {
+                buffer.put(position + stored.length, response.gzipBody());
+            }
+            Slot slot = new Slot(key, position, size, stored.length, raw ? -1 : response.body().length, gzipLength,
+                    response.contentType(), response.hash(), response.dependencies(), response.expiresAt());
+            ring.addLast(slot);
+            index.put(key, slot);
+            position += size;
+            residentBytes += size;
+            uncompressedBytes += response.body().length + Math.max(gzipLength, 0);
+            return true;
+        }
+    }
+
+    /**
+     * Quita una respuesta de este nivel para promoverla al primero, descomprimiendo su cuerpo.
+     *
+     * @param key la clave de la respuesta.
+     * @param now el instante actual en milisegundos, para descartar las respuestas expiradas.
+     * @return la respuesta, o {@code null} si no está en este nivel o expiró.
+     */
+    public synchronized CachedResponse take(String key, long now) {
+        Slot slot = index.get(key);
+        if (slot == null || slot.expiresAt <= now) {
+            remove(key);
+            misses++;
+            return null;
+        }
+        long start = System.nanoTime();
+        byte[] body = new byte[slot.bodyLength()];
+        if (slot.uncompressedLength < 0) {
+            buffer.get(slot.offset, body);
+        } else {
+            decompressor.decompress(buffer, slot.offset, slot.storedLength, ByteBuffer.wrap(body), 0, body.length);
+        }
+        byte[] gzipBody = null;
+        if (slot.gzipLength > 0) {
+            gzipBody = new byte[slot.gzipLength];
+            buffer.get(slot.offset + slot.storedLength, gzipBody);
+        }
+        decompressionNanos += System.nanoTime() - start;
+        hits++;
+        remove(key);
+        return new CachedResponse(body, gzipBody, slot.contentType, slot.hash, slot.dependencies, slot.expiresAt);
+    }
+
+    /**
+     * Descarta una respuesta de este nivel.
+     *
+     * @param key la clave de la respuesta.
+     */
+    public synchronized void remove(String key) {
+        Slot slot = index.remove(key);
+        if (slot != null) {
+            discard(slot);
+        }
+    }
+
+    /**
+     * Descarta todas las respuestas que dependen de un recurso.
+     *
+     * @param resource el tipo de recurso modificado.
+     */
+    public synchronized void removeDependents(SwapiResource resource) {
+        index.values().removeIf(slot -> {
+            if (slot.dependencies.contains(resource)) {
+                discard(slot);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Descarta todas las respuestas de este nivel. El buffer se conserva para las siguientes.
+     */
+    public synchronized void clear() {
+        index.clear();
+        ring.clear();
+        position = 0;
+        residentBytes = 0;
+        uncompressedBytes = 0;
+    }
+
+    /**
+     * Devuelve las estadísticas de uso de este nivel.
+     *
+     * @return las estadísticas.
+     */
+    public synchronized Stats stats() {
+        return new Stats(capacity, residentBytes, uncompressedBytes, index.size(), hits, misses,
+                hits > 0 ? decompressionNanos / hits : 0, evictions);
+    }
+
+    /**
+     * Quita el evento JFR periódico al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void close() {
+        FlightRecorder.removePeriodicEvent(statsHook);
+    }
+
+    /**
+     * Descarta las respuestas más antiguas que se superponen con el rango en el que se va a escribir. Como
+     * el buffer se escribe en forma circular, son las primeras del registro.
+     */
+    private void evictOverlapping(int offset, int size) {
+        while (!ring.isEmpty()) {
+            Slot oldest = ring.peekFirst();
+            if (oldest.offset >= offset + size || oldest.offset + oldest.size <= offset) {
+                return;
+            }
+            ring.pollFirst();
+            if (index.remove(oldest.key, oldest)) {
+                discard(oldest);
+                evictions++;
+            }
+        }
+    }
+
+    private void discard(Slot slot) {
+        residentBytes -= slot.size;
+        uncompressedBytes -= slot.bodyLength() + Math.max(slot.gzipLength, 0);
+    }
+
+    private void emitStats() {
+        Stats stats = stats();
+        OffHeapCacheEvent.record(stats.capacity(), stats.residentBytes(), stats.entries(), stats.hits(), stats.misses(),
+                stats.decompressionNanosPerHit());
+    }
+
+    /**
+     * Ubicación y metadatos de una respuesta almacenada en el buffer.
+     *
+     * @param uncompressedLength la longitud del cuerpo sin comprimir, o {@code -1} si se guardó sin comprimir.
+     * @param gzipLength         la longitud de la versión gzip, o {@code -1} si la respuesta no la tiene.
+     */
+    private record Slot(String key, int offset, int size, int storedLength, int uncompressedLength, int gzipLength,
+                        String contentType, String hash, Set<SwapiResource> dependencies, long expiresAt) {
+
+        private int bodyLength() {
+            return uncompressedLength < 0 ? storedLength : uncompressedLength;
+        }
+    }
+
+    /**
+     * Estadísticas de uso de la caché fuera del heap.
+     *
+     * @param capacity                 el tamaño del buffer en bytes.
+     * @param residentBytes            los bytes ocupados por las respuestas almacenadas.
+     * @param uncompressedBytes        los bytes que ocuparían las respuestas almacenadas sin comprimir.
+     * @param entries                  la cantidad de respuestas almacenadas.
+     * @param hits                     la cantidad de respuestas promovidas al primer nivel.
+     * @param misses                   la cantidad de consultas sin respuesta vigente en este nivel.
+     * @param decompressionNanosPerHit el tiempo promedio de descompresión de cada acierto, en nanosegundos.
+     * @param evictions                la cantidad de respuestas descartadas por falta de lugar.
+     */
+    public record Stats(int capacity, long residentBytes, long uncompressedBytes, int entries, long hits, long misses,
+                        long decompressionNanosPerHit, long evictions) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Snapshot del conjunto de datos de SWAPI generado durante la compilación e incluido en el artefacto, que se
+ * usa en el modo sin conexión ({@code swapi.offline.enabled}).
+ * <p>
+ * El snapshot lo genera {@link SnapshotBuilder} a partir de las respuestas de SWAPI guardadas en
+ * {@code src/main/snapshot}, con el mismo formato binario del {@link PersistentEntityStore}. Al arrancar se
+ * lee completo una única vez: si está en el sistema de archivos se mapea en memoria, y si está dentro del
+ * artefacto (por ejemplo, en el JAR) se copia a memoria. En el modo sin conexión todos los endpoints
+ * {@code /api} se resuelven con los datos del snapshot, sin realizar solicitudes a SWAPI.
+ */
+@Component
+@Slf4j
+public class OfflineSnapshot {
+
+    private final boolean enabled;
+    private final Resource snapshot;
+
+    /**
+     * Constructor utilizado por Spring, con la configuración del modo sin conexión.
+     *
+     * @param enabled  si la aplicación funciona sin conexión, con los datos del snapshot.
+     * @param snapshot la ubicación del snapshot.
+     */
+    @Autowired
+    public OfflineSnapshot(@Value("${swapi.offline.enabled:false}") boolean enabled,
+                           @Value("${swapi.offline.snapshot:classpath:snapshot/swapi.snapshot}") Resource snapshot) {
+        this.enabled = enabled;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Indica si la aplicación funciona sin conexión, con los datos del snapshot.
+     *
+     * @return {@code true} si el modo sin conexión está habilitado.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Lee el snapshot y entrega a un receptor cada entidad y página incluida.
+     *
+     * @param visitor el receptor de las entidades y páginas del snapshot.
+     * @return la cantidad de entidades y páginas entregadas.
+     * @throws IllegalStateException si el snapshot no existe o no es válido, ya que sin él la aplicación no
+     *                               tiene datos para responder.
+     */
+    public int load(PersistentEntityStore.Visitor visitor) {
+        long start = System.nanoTime();
+        try {
+            int records = PersistentEntityStore.read(read(), visitor);
+            log.info("Snapshot {} cargado: {} registros en {} ms", snapshot, records, (System.nanoTime() - start) / 1_000_000);
+            return records;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo cargar el snapshot " + snapshot + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ByteBuffer read() throws IOException {
+        if (snapshot.isFile()) {
+            try (FileChannel channel = FileChannel.open(snapshot.getFile().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = snapshot.getInputStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Almacenamiento persistente en disco de las entidades y listados obtenidos desde SWAPI, para que la
+ * aplicación arranque con la caché cargada en lugar de vacía.
+ * <p>
+ * Los datos se guardan en un registro de solo agregado ({@code swapi.store.path}): un encabezado con la versión
+ * del formato y la versión del esquema de los DTOs, seguido de un registro por cada entidad o listado
+ * almacenado en {@link SwapiEntityCache}. Cada registro lleva su longitud y un checksum CRC-32C, y contiene
+ * el tipo de recurso, el ID de la entidad (o el número de página), los {@link Validators} de la respuesta de
+ * SWAPI y el valor serializado en Smile (JSON binario). Un registro posterior de la misma entidad o página
+ * reemplaza a los anteriores; un registro de eliminación (sin valor) indica que la entidad o página ya no
+ * existe.
+ * <p>
+ * Al arrancar, el archivo se mapea en memoria y se recorre una única vez para armar el índice del último
+ * registro de cada entidad o página, que luego se entrega a la caché. Un registro incompleto o con checksum
+ * inválido (por ejemplo, por una escritura interrumpida) marca el final del archivo, que se trunca en ese
+ * punto. Si la versión del esquema de los DTOs cambió, el archivo se descarta. Si la mayor parte del archivo
+ * son registros reemplazados, se compacta reescribiéndolo con los registros vigentes.
+ * <p>
+ * Los errores de escritura no afectan a las solicitudes: se registran y el almacenamiento se deshabilita.
+ */
+@Component
+@Slf4j
+public class PersistentEntityStore {
+
+    private static final int MAGIC = 0x53575354;
+    private static final int FORMAT_VERSION = 1;
+    private static final byte ENTITY = 1;
+    private static final byte PAGE = 2;
+    // Registros de eliminación: reemplazan al último registro de una entidad o página
+    private static final byte REMOVED_ENTITY = 3;
+    private static final byte REMOVED_PAGE = 4;
+    // Longitud y checksum de cada registro
+    private static final int RECORD_HEADER = 8;
+    // Tamaño mínimo de los registros reemplazados para compactar el archivo
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024;
+
+    private static final SmileMapper MAPPER = new SmileMapper();
+    private static final String SCHEMA_VERSION = schemaVersion();
+
+    private final Path path;
+    private final boolean enabled;
+    private FileChannel channel;
+
+    /**
+     * Constructor utilizado por Spring, con la ubicación del archivo configurada en las propiedades.
+     *
+     * @param enabled si se persisten los datos obtenidos desde SWAPI.
+     * @param path    la ubicación del archivo.
+     */
+    @Autowired
+    public PersistentEntityStore(@Value("${swapi.store.enabled:false}") boolean enabled,
+                                 @Value("${swapi.store.path:data/swapi-store.log}") String path) {
+        this.enabled = enabled;
+        this.path = Path.of(path);
+    }
+
+    /**
+     * Constructor de un almacenamiento habilitado en un archivo.
+     *
+     * @param path la ubicación del archivo.
+     */
+    public PersistentEntityStore(Path path) {
+        this.enabled = true;
+        this.path = path;
+    }
+
+    /**
+     * Abre el archivo y entrega a un receptor la última versión de cada entidad y página almacenada. Si el
+     * archivo no existe, no es válido o corresponde a otra versión del esquema de los DTOs, se crea uno
+     * nuevo. Después de la carga, los valores nuevos se agregan al final del archivo.
+     *
+     * @param visitor el receptor de las entidades y páginas almacenadas.
+     */
+    public synchronized void load(Visitor visitor) {
+        if (!enabled || channel != null) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer file = channel.size() > 0 ? channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()) : null;
+            int headerLength = file != null ? readHeader(file) : -1;
+            if (headerLength < 0) {
+                if (file != null) {
+                    log.info("Se descarta el almacenamiento persistente {}: no es válido o corresponde a otra versión del esquema", path);
+                }
+                reset();
+                return;
+            }
+
+            Map<String, byte[]> records = new LinkedHashMap<>();
+            int position = scan(file, headerLength, records);
+            if (position < file.limit()) {
+                log.warn("Registro incompleto o inválido en {} (byte {}): se descarta el resto del archivo", path, position);
+                channel.truncate(position);
+            }
+
+            long live = headerLength;
+            int entities = 0;
+            for (byte[] payload : records.values()) {
+                live += RECORD_HEADER + payload.length;
+                entities += replay(payload, visitor) ? 1 : 0;
+            }
+            if (position - live >= MIN_COMPACTION_BYTES && live * 2 < position) {
+                compact(records.values());
+            }
+            channel.position(channel.size());
+            log.info("Almacenamiento persistente {} cargado: {} registros en {} ms", path, entities,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            disable("No se pudo abrir el almacenamiento persistente", e);
+        }
+    }
+
+    /**
+     * Lee un archivo completo con el formato del almacenamiento, como el snapshot del conjunto de datos que
+     * se genera durante la compilación, y entrega a un receptor la última versión de cada entidad y página.
+     * A diferencia de {@link #load}, no admite registros incompletos ni inválidos.
+     *
+     * @param file    el contenido del archivo (por ejemplo, mapeado en memoria).
+     * @param visitor el receptor de las entidades y páginas almacenadas.
+     * @return la cantidad de entidades y páginas entregadas.
+     * @throws IOException si el archivo no es válido, corresponde a otra versión del esquema de los DTOs o
+     *                     tiene registros inválidos.
+     */
+    public static int read(ByteBuffer file, Visitor visitor) throws IOException {
+        int headerLength = readHeader(file);
+        if (headerLength < 0) {
+            throw new IOException("El archivo no es válido o corresponde a otra versión del esquema");
+        }
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        int position = scan(file, headerLength, records);
+        if (position < file.limit()) {
+            throw new IOException("Registro incompleto o inválido en el byte " + position);
+        }
+        int count = 0;
+        for (byte[] payload : records.values()) {
+            if (!replay(payload, visitor)) {
+                throw new IOException("Registro inválido: no se pudo decodificar");
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Agrega al archivo una entidad almacenada en la caché.
+     *
+     * @param resource   el tipo de recurso.
+     * @param id         el ID de la entidad.
+     * @param value      el DTO de la entidad.
+     * @param validators los validadores de la respuesta de la que proviene, o {@code null}.
+     */
+    public synchronized void appendEntity(SwapiResource resource, String id, Object value, Validators validators) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(payload);
+            writeKey(out, ENTITY, resource, id, validators);
+            byte[] body = MAPPER.writeValueAsBytes(value);
+            out.writeInt(body.length);
+            out.write(body);
+            append(payload.toByteArray());
+        } catch (IOException e) {
+            disable("No se pudo escribir en el almacenamiento persistente", e);
+        }
+    }
+
+    /**
+     * Agrega al archivo una página de listado almacenada en la caché.
+     *
+     * @param resource   el tipo de recurso.
+     * @param page       el número de página, o {@link SwapiEntityCache#FULL_LIST}.
+     * @param ids        los IDs de la página.
+     * @param validators los validadores de la respuesta del listado, o {@code null}.
+     */
+    public synchronized void appendPage(SwapiResource resource, int page, List<String> ids, Validators validators) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(payload);
+            writeKey(out, PAGE, resource, Integer.toString(page), validators);
+            out.writeInt(ids.size());
+            for (String id : ids) {
+                out.writeUTF(id);
+            }
+            append(payload.toByteArray());
+        } catch (IOException e) {
+            disable("No se pudo escribir en el almacenamiento persistente", e);
+        }
+    }
+
+    /**
+     * Agrega al archivo la eliminación de una entidad, que deja de cargarse al arrancar.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     */
+    public void appendEntityRemoval(SwapiResource resource, String id) {
+        appendRemoval(REMOVED_ENTITY, resource, id);
+    }
+
+    /**
+     * Agrega al archivo la eliminación de una página de listado, que deja de cargarse al arrancar.
+     *
+     * @param resource el tipo de recurso.
+     * @param page     el número de página, o {@link SwapiEntityCache#FULL_LIST}.
+     */
+    public void appendPageRemoval(SwapiResource resource, int page) {
+        appendRemoval(REMOVED_PAGE, resource, Integer.toString(page));
+    }
+
+    private synchronized void appendRemoval(byte kind, SwapiResource resource, String key) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            writeKey(new DataOutputStream(payload), kind, resource, key, null);
+            append(payload.toByteArray());
+        } catch (IOException e) {
+            disable("No se pudo escribir en el almacenamiento persistente", e);
+        }
+    }
+
+    /**
+     * Cierra el archivo, forzando la escritura a disco de los registros agregados.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.force(false);
+            channel.close();
+        } catch (IOException e) {
+            log.warn("No se pudo cerrar el almacenamiento persistente {}: {}", path, e.getMessage());
+        }
+        channel = null;
+    }
+
+    /**
+     * Lee el encabezado del archivo.
+     *
+     * @return la longitud del encabezado, o -1 si el archivo no es válido o corresponde a otra versión.
+     */
+    private static int readHeader(ByteBuffer file) {
+        try {
+            byte[] bytes = new byte[Math.min(file.limit(), 256)];
+            file.get(0, bytes);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !in.readUTF().equals(SCHEMA_VERSION)) {
+                return -1;
+            }
+            return bytes.length - in.available();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static byte[] header() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(SCHEMA_VERSION);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Vacía el archivo y escribe el encabezado de la versión actual.
+     */
+    private void reset() throws IOException {
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(header()), 0);
+        channel.position(channel.size());
+    }
+
+    /**
+     * Reescribe el archivo solo con los registros vigentes, en un archivo temporal que luego reemplaza al
+     * original. Los registros de eliminación no se copian, ya que no queda ningún registro anterior que anular.
+     */
+    private void compact(Iterable<byte[]> records) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel compacted = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            compacted.write(ByteBuffer.wrap(header()));
+            for (byte[] payload : records) {
+                if (payload[0] != REMOVED_ENTITY && payload[0] != REMOVED_PAGE) {
+                    compacted.write(record(payload));
+                }
+            }
+            compacted.force(false);
+        }
+        long before = channel.size();
+        channel.close();
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        log.info("Almacenamiento persistente {} compactado: {} -> {} bytes", path, before, channel.size());
+    }
+
+    /**
+     * Recorre los registros válidos del archivo y arma el índice con el último registro de cada entidad o
+     * página.
+     *
+     * @return la posición del final del último registro válido.
+     */
+    private static int scan(ByteBuffer file, int headerLength, Map<String, byte[]> records) throws IOException {
+        int position = headerLength;
+        while (file.limit() - position >= RECORD_HEADER) {
+            int length = file.getInt(position);
+            int checksum = file.getInt(position + 4);
+            if (length <= 0 || length > file.limit() - position - RECORD_HEADER) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            file.get(position + RECORD_HEADER, payload);
+            if (checksum(payload) != checksum) {
+                break;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            // La eliminación de una entidad o página usa la misma clave que sus registros
+            byte kind = in.readByte();
+            byte keyKind = kind == REMOVED_ENTITY ? ENTITY : kind == REMOVED_PAGE ? PAGE : kind;
+            records.put(keyKind + "/" + in.readByte() + "/" + in.readUTF(), payload);
+            position += RECORD_HEADER + length;
+        }
+        return position;
+    }
+
+    /**
+     * Decodifica un registro vigente y lo entrega al receptor. Los registros de eliminación no se entregan.
+     *
+     * @return {@code true} si el registro se pudo decodificar.
+     */
+    private static boolean replay(byte[] payload, Visitor visitor) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        try {
+            byte kind = in.readByte();
+            if (kind == REMOVED_ENTITY || kind == REMOVED_PAGE) {
+                return true;
+            }
+            SwapiResource resource = SwapiResource.values()[in.readByte()];
+            String key = in.readUTF();
+            Validators validators = new Validators(readNullable(in), readNullable(in), readNullable(in));
+            if (validators.etag() == null && validators.lastModified() == null && validators.bodyHash() == null) {
+                validators = null;
+            }
+            if (kind == ENTITY) {
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                visitor.entity(resource, key, MAPPER.readValue(body, resource.getDtoType()), validators);
+            } else {
+                List<String> ids = new ArrayList<>();
+                for (int count = in.readInt(); count > 0; count--) {
+                    ids.add(in.readUTF());
+                }
+                visitor.page(resource, Integer.parseInt(key), ids, validators);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Se ignora un registro inválido del almacenamiento persistente: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Escribe el comienzo de un registro: el tipo de registro, el recurso, el ID o número de página y los
+     * validadores.
+     */
+    private static void writeKey(DataOutputStream out, byte kind, SwapiResource resource, String key,
+                                 Validators validators) throws IOException {
+        out.writeByte(kind);
+        out.writeByte(resource.ordinal());
+        out.writeUTF(key);
+        writeNullable(out, validators != null ? validators.etag() : null);
+        writeNullable(out, validators != null ? validators.lastModified() : null);
+        writeNullable(out, validators != null ? validators.bodyHash() : null);
+    }
+
+    private void append(byte[] payload) throws IOException {
+        ByteBuffer record = record(payload);
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    private static ByteBuffer record(byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + payload.length);
+        record.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        return record;
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void disable(String message, IOException e) {
+        log.warn("{} {}: {}", message, path, e.getMessage());
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException ignored) {
+            // El almacenamiento ya no se utiliza
+        }
+        channel = null;
+    }
+
+    /**
+     * Calcula la versión del esquema de los DTOs: el hash de los nombres y tipos de los atributos de los DTOs
+     * de todos los recursos. Cualquier cambio en los DTOs invalida los archivos existentes.
+     */
+    private static String schemaVersion() {
+        StringBuilder schema = new StringBuilder();
+        for (SwapiResource resource : SwapiResource.values()) {
+            schema.append(resource.getDtoType().getName()).append('{');
+            for (Field field : resource.getDtoType().getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    schema.append(field.getName()).append(':').append(field.getGenericType().getTypeName()).append(';');
+                }
+            }
+            schema.append('}');
+        }
+        return ContentHash.of(schema.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Receptor de las entidades y páginas cargadas del archivo.
+     */
+    public interface Visitor {
+
+        /**
+         * Recibe la última versión almacenada de una entidad.
+         *
+         * @param resource   el tipo de recurso.
+         * @param id         el ID de la entidad.
+         * @param value      el DTO de la entidad.
+         * @param validators los validadores de la respuesta de la que proviene, o {@code null}.
+         */
+        void entity(SwapiResource resource, String id, Object value, Validators validators);
+
+        /**
+         * Recibe la última versión almacenada de una página de listado.
+         *
+         * @param resource   el tipo de recurso.
+         * @param page       el número de página, o {@link SwapiEntityCache#FULL_LIST}.
+         * @param ids        los IDs de la página.
+         * @param validators los validadores de la respuesta del listado, o {@code null}.
+         */
+        void page(SwapiResource resource, int page, List<String> ids, Validators validators);
+    }
+}
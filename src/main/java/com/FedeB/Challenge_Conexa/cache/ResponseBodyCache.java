@@ -0,0 +1,383 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.monitoring.CacheAccessEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de cuerpos de respuesta ya serializados, listos para escribirse en la respuesta HTTP.
+ * <p>
+ * Cada entrada guarda el cuerpo original y su versión comprimida con gzip, un ETag fuerte calculado a
+ * partir del hash del contenido al momento de almacenarla, y los tipos de recurso de los que depende. Cuando {@link SwapiEntityCache} detecta un cambio en un recurso, se
+ * descartan todas las entradas que dependen de él.
+ * <p>
+ * Para evitar almacenar respuestas construidas con datos que cambiaron mientras se procesaba la
+ * solicitud, cada recurso lleva un contador de generación: la respuesta solo se almacena si ninguna
+ * de sus dependencias fue invalidada desde el inicio de la solicitud (ver {@link #begin(Set)}).
+ * <p>
+ * Las respuestas que se descartan por superar la cantidad máxima de entradas pasan a un segundo nivel fuera
+ * del heap ({@link OffHeapResponseStore}), acotado en bytes, y vuelven a este nivel cuando se solicitan. Los
+ * pasajes entre niveles y las invalidaciones se realizan con un mismo bloqueo, de modo que una respuesta en
+ * tránsito no escapa a una invalidación concurrente.
+ * <p>
+ * Además de la cantidad máxima de entradas, el primer nivel respeta el presupuesto de memoria compartido con
+ * las entidades ({@link CacheMemoryBudget}): el tamaño estimado de cada respuesta se informa repartido entre
+ * los recursos de los que depende y, mientras se supere el presupuesto, las respuestas más próximas a expirar
+ * pasan al segundo nivel.
+ */
+@Component
+public class ResponseBodyCache implements EntityChangeListener {
+
+    private static final String CACHE_NAME = "response-body";
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Clock clock;
+    private final OffHeapResponseStore offHeap;
+    private final CacheMemoryBudget budget;
+    private final Object tiers = new Object();
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final Map<SwapiResource, AtomicLong> generations = new EnumMap<>(SwapiResource.class);
+
+    /**
+     * Constructor utilizado por Spring, con el tiempo de vida y el tamaño máximo configurados en las propiedades.
+     *
+     * @param ttl        el tiempo de vida de las entradas.
+     * @param maxEntries la cantidad máxima de entradas.
+     * @param offHeap    el segundo nivel, fuera del heap.
+     * @param budget     el presupuesto de memoria compartido por las cachés.
+     */
+    @Autowired
+    public ResponseBodyCache(@Value("${api.response-cache.ttl:5m}") Duration ttl,
+                             @Value("${api.response-cache.max-entries:1000}") int maxEntries,
+                             OffHeapResponseStore offHeap,
+                             CacheMemoryBudget budget) {
+        this(ttl, maxEntries, Clock.systemUTC(), offHeap, budget);
+    }
+
+    /**
+     * Constructor que permite indicar el reloj utilizado para calcular la expiración.
+     *
+     * @param ttl        el tiempo de vida de las entradas.
+     * @param maxEntries la cantidad máxima de entradas.
+     * @param clock      el reloj utilizado para calcular la expiración.
+     */
+    public ResponseBodyCache(Duration ttl, int maxEntries, Clock clock) {
+        this(ttl, maxEntries, clock, new OffHeapResponseStore(0));
+    }
+
+    /**
+     * Constructor que permite indicar el reloj y el segundo nivel fuera del heap.
+     *
+     * @param ttl        el tiempo de vida de las entradas.
+     * @param maxEntries la cantidad máxima de entradas.
+     * @param clock      el reloj utilizado para calcular la expiración.
+     * @param offHeap    el segundo nivel, fuera del heap.
+     */
+    public ResponseBodyCache(Duration ttl, int maxEntries, Clock clock, OffHeapResponseStore offHeap) {
+        this(ttl, maxEntries, clock, offHeap, CacheMemoryBudget.unbounded());
+    }
+
+    /**
+     * Constructor que permite indicar el reloj, el segundo nivel fuera del heap y el presupuesto de memoria.
+     *
+     * @param ttl        el tiempo de vida de las entradas.
+     * @param maxEntries la cantidad máxima de entradas.
+     * @param clock      el reloj utilizado para calcular la expiración.
+     * @param offHeap    el segundo nivel, fuera del heap.
+     * @param budget     el presupuesto de memoria compartido por las cachés.
+     */
+    public ResponseBodyCache(Duration ttl, int maxEntries, Clock clock, OffHeapResponseStore offHeap,
+                             CacheMemoryBudget budget) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.offHeap = offHeap;
+        this.budget = budget;
+        for (SwapiResource resource : SwapiResource.values()) {
+            generations.put(resource, new AtomicLong());
+        }
+    }
+
+    /**
+     * Obtiene una respuesta de la caché, si no expiró. Si la respuesta está en el segundo nivel, se
+     * descomprime y se vuelve a almacenar en el primero.
+     *
+     * @param key la clave de la respuesta (endpoint y parámetros).
+     * @return la respuesta almacenada, o {@code null} si no está en la caché o expiró.
+     */
+    public CachedResponse get(String key) {
+        CachedResponse response = entries.get(key);
+        if (response != null && response.expiresAt() <= clock.millis()) {
+            if (entries.remove(key, response)) {
+                account(key, response, -1);
+            }
+            response = null;
+        }
+        if (response == null && offHeap.isEnabled()) {
+            response = promote(key);
+        }
+        CacheAccessEvent.record(CACHE_NAME, key, response != null);
+        return response;
+    }
+
+    /**
+     * Registra el inicio de la construcción de una respuesta que depende de los recursos indicados.
+     *
+     * @param dependencies los tipos de recurso utilizados para construir la respuesta.
+     * @return el ticket a utilizar al almacenar la respuesta con {@link #put(String, Ticket, String, byte[])}.
+     */
+    public Ticket begin(Set<SwapiResource> dependencies) {
+        return new Ticket(dependencies, currentGenerations(dependencies));
+    }
+
+    /**
+     * Almacena una respuesta serializada, junto con su versión comprimida con gzip.
+     * <p>
+     * La respuesta no se almacena si alguna de sus dependencias fue invalidada desde que se obtuvo el ticket.
+     *
+     * @param key         la clave de la respuesta (endpoint y parámetros).
+     * @param ticket      el ticket obtenido al iniciar la solicitud.
+     * @param contentType el tipo de contenido de la respuesta.
+     * @param body        el cuerpo serializado de la respuesta.
+     * @return la respuesta almacenada, o {@code null} si no se almacenó.
+     */
+    public CachedResponse put(String key, Ticket ticket, String contentType, byte[] body) {
+        if (currentGenerations(ticket.dependencies()) != ticket.generation()) {
+            return null;
+        }
+        byte[] gzipBody = gzip(body);
+        CachedResponse response = new CachedResponse(
+                body,
+                // Solo se conserva la versión comprimida si efectivamente es más chica
+                gzipBody.length < body.length ? gzipBody : null,
+                contentType,
+                ContentHash.of(body),
+                ticket.dependencies(),
+                clock.millis() + ttlMillis
+        );
+        CachedResponse previous = entries.put(key, response);
+        account(key, response, 1);
+        if (previous != null) {
+            account(key, previous, -1);
+        }
+        offHeap.remove(key);
+        // Si hubo una invalidación concurrente, se descarta la respuesta recién almacenada
+        if (currentGenerations(ticket.dependencies()) != ticket.generation()) {
+            if (entries.remove(key, response)) {
+                account(key, response, -1);
+            }
+            return null;
+        }
+        evictIfNeeded(key);
+        return response;
+    }
+
+    /**
+     * Descarta todas las respuestas que dependen del recurso modificado.
+     *
+     * @param resource el tipo de recurso modificado.
+     * @param id       el ID de la entidad modificada (no utilizado: se invalida por tipo de recurso).
+     */
+    @Override
+    public void onEntityChanged(SwapiResource resource, String id) {
+        generations.get(resource).incrementAndGet();
+        synchronized (tiers) {
+            removeIf(response -> response.dependencies().contains(resource));
+            offHeap.removeDependents(resource);
+        }
+    }
+
+    /**
+     * Descarta todas las respuestas almacenadas.
+     */
+    public void clear() {
+        for (SwapiResource resource : SwapiResource.values()) {
+            generations.get(resource).incrementAndGet();
+        }
+        synchronized (tiers) {
+            removeIf(response -> true);
+            offHeap.clear();
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de respuestas almacenadas en el primer nivel.
+     *
+     * @return la cantidad de entradas.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private long currentGenerations(Set<SwapiResource> dependencies) {
+        long sum = 0;
+        for (SwapiResource resource : dependencies) {
+            sum += generations.get(resource).get();
+        }
+        // Los contadores solo crecen, por lo que la suma cambia si cambia cualquiera de ellos
+        return sum;
+    }
+
+    /**
+     * Descarta las entradas expiradas y, si se supera la cantidad máxima o el presupuesto de memoria, pasa al
+     * segundo nivel las más próximas a expirar, salvo la recién almacenada (una respuesta promovida conserva
+     * su expiración original, por lo que de otro modo volvería de inmediato al segundo nivel).
+     */
+    private void evictIfNeeded(String stored) {
+        while (entries.size() > maxEntries || budget.isExceeded()) {
+            long now = clock.millis();
+            removeIf(response -> response.expiresAt() <= now);
+            if (entries.size() <= maxEntries && !budget.isExceeded()) {
+                return;
+            }
+            Map.Entry<String, CachedResponse> oldest = entries.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals(stored))
+                    .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt()))
+                    .orElse(null);
+            if (oldest == null) {
+                // Solo queda la respuesta recién almacenada: las entidades ocupan por sí solas el presupuesto
+                return;
+            }
+            demote(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private void removeIf(Predicate<CachedResponse> filter) {
+        for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+            if (filter.test(entry.getValue()) && entries.remove(entry.getKey(), entry.getValue())) {
+                account(entry.getKey(), entry.getValue(), -1);
+            }
+        }
+    }
+
+    /**
+     * Informa al presupuesto de memoria el tamaño estimado de una respuesta que se agrega ({@code sign = 1}) o
+     * se quita ({@code sign = -1}) del primer nivel, repartido entre los recursos de los que depende.
+     */
+    private void account(String key, CachedResponse response, int sign) {
+        Set<SwapiResource> dependencies = response.dependencies();
+        if (dependencies.isEmpty()) {
+            return;
+        }
+        long weight = EntityWeigher.weigh(key) + EntityWeigher.weigh(response);
+        long share = weight / dependencies.size();
+        // El resto de la división se asigna al primer recurso, para que la suma coincida con el tamaño estimado
+        long remainder = weight - share * dependencies.size();
+        for (SwapiResource resource : dependencies) {
+            budget.addResponses(resource, sign * (share + remainder), sign);
+            remainder = 0;
+        }
+    }
+
+    private void demote(String key, CachedResponse response) {
+        synchronized (tiers) {
+            if (entries.remove(key, response)) {
+                account(key, response, -1);
+                offHeap.put(key, response);
+            }
+        }
+    }
+
+    private CachedResponse promote(String key) {
+        CachedResponse promoted;
+        synchronized (tiers) {
+            CachedResponse response = offHeap.take(key, clock.millis());
+            if (response == null) {
+                return null;
+            }
+            // Si otra solicitud ya almacenó la respuesta en el primer nivel, se conserva esa
+            CachedResponse current = entries.putIfAbsent(key, response);
+            if (current == null) {
+                account(key, response, 1);
+            }
+            promoted = current != null ? current : response;
+        }
+        evictIfNeeded(key);
+        return promoted;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Ticket que identifica las dependencias de una respuesta en construcción y su generación al inicio.
+     *
+     * @param dependencies los tipos de recurso utilizados para construir la respuesta.
+     * @param generation   la generación de las dependencias al inicio de la solicitud.
+     */
+    public record Ticket(Set<SwapiResource> dependencies, long generation) {
+    }
+
+    /**
+     * Respuesta serializada almacenada en la caché.
+     *
+     * @param body         el cuerpo original.
+     * @param gzipBody     el cuerpo comprimido con gzip, o {@code null} si la compresión no reduce el tamaño.
+     * @param contentType  el tipo de contenido de la respuesta.
+     * @param hash         el hash del cuerpo original, a partir del cual se forman los ETags.
+     * @param dependencies los tipos de recurso de los que depende la respuesta.
+     * @param expiresAt    el instante de expiración, en milisegundos.
+     */
+    public record CachedResponse(byte[] body, byte[] gzipBody, String contentType, String hash,
+                                 Set<SwapiResource> dependencies, long expiresAt) {
+
+        /**
+         * Devuelve el ETag fuerte de la representación indicada. La versión comprimida tiene un ETag
+         * distinto, ya que sus bytes difieren de los del cuerpo original.
+         *
+         * @param gzip {@code true} para la representación comprimida con gzip.
+         * @return el ETag, incluyendo las comillas.
+         */
+        public String etag(boolean gzip) {
+            return gzip ? "\"" + hash + "-gzip\"" : "\"" + hash + "\"";
+        }
+
+        /**
+         * Indica si alguno de los ETags de un encabezado "If-None-Match" corresponde a esta respuesta,
+         * utilizando la comparación débil que exige ese encabezado (se ignora el prefijo "W/").
+         *
+         * @param ifNoneMatch el valor del encabezado, o {@code null} si no está presente.
+         * @return {@code true} si la respuesta no cambió respecto de la que tiene el cliente.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if ("*".equals(candidate) || candidate.equals(etag(false)) || candidate.equals(etag(true))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
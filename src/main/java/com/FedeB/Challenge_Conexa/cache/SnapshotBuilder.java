@@ -0,0 +1,135 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Generador del snapshot del conjunto de datos que usa el modo sin conexión ({@link OfflineSnapshot}).
+ * <p>
+ * Se ejecuta en cada compilación de Maven, en la fase {@code process-classes} (ejecución {@code swapi-snapshot}
+ * del {@code exec-maven-plugin}), y se omite con {@code -Dsnapshot.skip=true}. Lee, de un directorio, un
+ * archivo {@code <recurso>.json} por tipo de recurso (por ejemplo, {@code people.json}) con el formato de los
+ * listados de SWAPI que incluyen los detalles de cada entidad ({@code ?expanded=true}), y escribe el snapshot
+ * con el formato del {@link PersistentEntityStore}: cada entidad y las páginas de 10 entidades de los
+ * listados paginados, o el listado completo en el caso de las películas. Los recursos sin archivo quedan
+ * vacíos en el snapshot.
+ */
+public final class SnapshotBuilder {
+
+    // Tamaño de las páginas de los listados paginados, el mismo que se solicita a SWAPI
+    private static final int PAGE_SIZE = 10;
+    // Receptor que descarta los registros, usado al crear el snapshot vacío y al verificarlo
+    private static final PersistentEntityStore.Visitor IGNORE = new PersistentEntityStore.Visitor() {
+        @Override
+        public void entity(SwapiResource resource, String id, Object value, Validators validators) {
+        }
+
+        @Override
+        public void page(SwapiResource resource, int page, List<String> ids, Validators validators) {
+        }
+    };
+
+    private SnapshotBuilder() {
+    }
+
+    /**
+     * Genera el snapshot.
+     *
+     * @param args el directorio con las respuestas de SWAPI y la ubicación del snapshot.
+     * @throws IOException si no se pueden leer las respuestas o escribir el snapshot.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: SnapshotBuilder <directorio de respuestas> <snapshot>");
+        }
+        int entities = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Snapshot " + args[1] + " generado con " + entities + " entidades");
+    }
+
+    /**
+     * Genera el snapshot a partir de las respuestas de SWAPI de un directorio, reemplazando el existente.
+     *
+     * @param responses el directorio con las respuestas de SWAPI.
+     * @param output    la ubicación del snapshot.
+     * @return la cantidad de entidades incluidas.
+     * @throws IOException si no se pueden leer las respuestas o escribir el snapshot.
+     */
+    public static int build(Path responses, Path output) throws IOException {
+        SwapiResponseParser parser = new SwapiResponseParser(new ObjectMapper());
+        List<List<SwapiResult<?>>> resources = new ArrayList<>();
+        for (SwapiResource resource : SwapiResource.values()) {
+            resources.add(read(parser, responses.resolve(resource.getPath() + ".json"), resource));
+        }
+
+        Files.deleteIfExists(output);
+        PersistentEntityStore store = new PersistentEntityStore(output);
+        int entities = 0;
+        int records = 0;
+        try {
+            store.load(IGNORE);
+            for (SwapiResource resource : SwapiResource.values()) {
+                List<SwapiResult<?>> results = resources.get(resource.ordinal());
+                List<String> ids = new ArrayList<>();
+                for (SwapiResult<?> result : results) {
+                    store.appendEntity(resource, result.uid(), result.properties(), null);
+                    ids.add(result.uid());
+                }
+                entities += ids.size();
+                records += ids.size();
+                if (resource == SwapiResource.FILMS) {
+                    store.appendPage(resource, SwapiEntityCache.FULL_LIST, ids, null);
+                    records++;
+                    continue;
+                }
+                for (int from = 0; from < ids.size(); from += PAGE_SIZE) {
+                    store.appendPage(resource, from / PAGE_SIZE + 1, ids.subList(from, Math.min(from + PAGE_SIZE, ids.size())), null);
+                    records++;
+                }
+            }
+        } finally {
+            store.close();
+        }
+
+        // El almacenamiento se deshabilita ante un error de escritura: se verifica el snapshot completo
+        int written = PersistentEntityStore.read(ByteBuffer.wrap(Files.readAllBytes(output)), IGNORE);
+        if (written != records) {
+            throw new IOException("El snapshot " + output + " está incompleto: " + written + " de " + records + " registros");
+        }
+        return entities;
+    }
+
+    /**
+     * Lee los resultados de un listado de SWAPI, ordenados por ID como en los listados paginados.
+     */
+    private static List<SwapiResult<?>> read(SwapiResponseParser parser, Path file, SwapiResource resource) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        List<SwapiResult<?>> results = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file)) {
+            List<? extends SwapiResult<?>> read = parser.readResults(in, resource.getDtoType());
+            if (read == null) {
+                throw new IOException(file + " no es un listado de SWAPI");
+            }
+            for (SwapiResult<?> result : read) {
+                if (result.uid() == null || result.properties() == null) {
+                    throw new IOException(file + " tiene resultados sin ID o sin detalles");
+                }
+                results.add(result);
+            }
+        }
+        results.sort(Comparator.comparingInt(result -> Integer.parseInt(result.uid())));
+        return results;
+    }
+}
@@ -0,0 +1,463 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Versiones del conjunto de datos almacenado localmente (control de concurrencia multiversión).
+ * <p>
+ * Cada escritura que agrega o modifica datos en {@link SwapiEntityCache} se confirma con {@link #commit},
+ * que le asigna una nueva versión y la publica recién cuando la escritura terminó. Antes de reemplazar un
+ * valor, la escritura lo conserva con {@link #supersede} junto con la versión que lo reemplazó, de modo que
+ * el conjunto de datos de cada versión anterior sigue disponible sin copiarlo: el valor de un dato en la
+ * versión {@code v} es el último reemplazado después de {@code v} o, si no se reemplazó, el actual.
+ * <p>
+ * Las respuestas de la API informan la versión con la que se construyeron, y un cliente puede fijarla en
+ * las solicitudes siguientes (por ejemplo, al recorrer las páginas de un listado) para leer siempre el mismo
+ * conjunto de datos aunque se refresque en segundo plano ({@link #open}). Las solicitudes que no fijan una
+ * versión también leen la vigente al comenzar, de modo que la versión que informan es la de los datos que
+ * leyeron aunque se confirmen escrituras mientras se procesan. Las escrituras nunca esperan a los
+ * lectores: cada versión informada se conserva mientras haya lectores que la usan y, luego, durante el
+ * tiempo de retención configurado ({@code swapi.snapshots.retention}) desde su último uso. Los valores
+ * reemplazados que ya no necesita ninguna versión conservada se descartan al confirmar las escrituras
+ * siguientes.
+ * <p>
+ * Las versiones se cuentan desde cero en cada arranque, por lo que la misma versión de dos procesos puede
+ * corresponder a conjuntos de datos distintos. Los identificadores que los consumidores conservan entre
+ * reinicios (por ejemplo, el cursor del feed de cambios o el ETag de una exportación) incluyen la época del
+ * proceso ({@link #token}), y los de otra época se reconocen como desconocidos ({@link #versionOf}).
+ */
+@Component
+public class SnapshotVersions {
+
+    /**
+     * Valor reemplazado de un dato que no existía antes de la escritura (por ejemplo, una entidad nueva):
+     * las versiones anteriores lo leen como {@code null}.
+     */
+    public static final Object ABSENT = new Object();
+
+    private final long retentionMillis;
+    private final Clock clock;
+    // Identifica el proceso en el que se asignaron las versiones
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final ReentrantLock commitLock = new ReentrantLock();
+    // Lectura en curso en cada hilo
+    private final ThreadLocal<Reader> activeReader = new ThreadLocal<>();
+
+    private volatile long current;
+    // Versiones informadas que todavía se pueden fijar, con sus lectores y su último uso
+    private final ConcurrentSkipListMap<Long, Pin> pins = new ConcurrentSkipListMap<>();
+    // Valores reemplazados de cada dato, del más reciente al más antiguo
+    private final Map<Object, Superseded> history = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor utilizado por Spring, con el tiempo de retención configurado en las propiedades.
+     *
+     * @param retention el tiempo durante el cual se conserva una versión desde su último uso.
+     */
+    @Autowired
+    public SnapshotVersions(@Value("${swapi.snapshots.retention:5m}") Duration retention) {
+        this(retention, Clock.systemUTC());
+    }
+
+    /**
+     * Constructor que permite indicar el reloj utilizado para calcular la retención.
+     *
+     * @param retention el tiempo durante el cual se conserva una versión desde su último uso.
+     * @param clock     el reloj utilizado para calcular la retención.
+     */
+    public SnapshotVersions(Duration retention, Clock clock) {
+        this.retentionMillis = retention.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Devuelve la versión vigente del conjunto de datos.
+     *
+     * @return la versión de la última escritura confirmada.
+     */
+    public long current() {
+        return current;
+    }
+
+    /**
+     * Devuelve la época del proceso, que distingue sus versiones de las de arranques anteriores.
+     *
+     * @return la época.
+     */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Devuelve el identificador de una versión que los consumidores pueden conservar entre reinicios, con
+     * la forma {@code <época>.<versión>}.
+     *
+     * @param version la versión.
+     * @return el identificador de la versión.
+     */
+    public String token(long version) {
+        return epoch + "." + version;
+    }
+
+    /**
+     * Obtiene la versión de un identificador creado con {@link #token}.
+     *
+     * @param token el identificador.
+     * @return la versión, o {@code -1} si el identificador es inválido, es de otra época (por ejemplo, de antes
+     * de un reinicio) o es posterior a la versión vigente.
+     */
+    public long versionOf(String token) {
+        int dot = token != null ? token.lastIndexOf('.') : -1;
+        if (dot < 0 || !epoch.equals(token.substring(0, dot))) {
+            return -1;
+        }
+        try {
+            long version = Long.parseLong(token.substring(dot + 1));
+            return version >= 0 && version <= current ? version : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Confirma una escritura con una nueva versión. Las escrituras se confirman de a una; la versión se
+     * publica cuando la escritura termina, por lo que un lector que la observa también observa sus datos.
+     *
+     * @param write la escritura, que recibe la versión que se le asigna y devuelve {@code false} si finalmente
+     *              no modificó ningún dato (en ese caso no se publica una nueva versión).
+     * @return la versión asignada, o {@code -1} si la escritura no modificó ningún dato.
+     */
+    public long commit(LongPredicate write) {
+        commitLock.lock();
+        try {
+            long version = current + 1;
+            if (!write.test(version)) {
+                return -1;
+            }
+            current = version;
+            Reader reader = activeReader.get();
+            if (reader != null) {
+                reader.committed(version);
+            }
+            prune();
+            return version;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Conserva el valor que reemplaza una escritura, para las lecturas de versiones anteriores. Debe
+     * invocarse durante la escritura ({@link #commit}) y antes de reemplazar el valor.
+     *
+     * @param key     la clave del dato.
+     * @param value   el valor reemplazado, o {@link #ABSENT} si la escritura agrega el dato.
+     * @param version la versión asignada a la escritura.
+     */
+    public void supersede(Object key, Object value, long version) {
+        // Si no se conserva ninguna versión anterior, nadie puede leer el valor reemplazado
+        Map.Entry<Long, Pin> oldest = pins.firstEntry();
+        if (oldest != null && oldest.getKey() < version) {
+            history.compute(key, (k, newer) -> new Superseded(value, version, newer));
+        }
+    }
+
+    /**
+     * Devuelve el valor de un dato en la versión que lee la solicitud en curso, la fijada o la vigente al
+     * comenzar.
+     *
+     * @param key   la clave del dato.
+     * @param value el valor actual del dato, leído antes de invocar este método.
+     * @param <T>   el tipo del valor.
+     * @return el valor en la versión leída ({@code null} si el dato se agregó después), o el actual si no hay
+     * una lectura en curso o el dato no se reemplazó desde entonces.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T valueAt(Object key, T value) {
+        Reader reader = activeReader.get();
+        if (reader == null || history.isEmpty()) {
+            return value;
+        }
+        long version = reader.readVersion();
+        T result = value;
+        for (Superseded superseded = history.get(key); superseded != null && superseded.version > version;
+             superseded = superseded.older) {
+            result = (T) superseded.value;
+        }
+        return result != ABSENT ? result : null;
+    }
+
+    /**
+     * Devuelve las claves de los datos con valores reemplazados que se conservan, entre las que están las de
+     * los datos eliminados después de las versiones conservadas.
+     *
+     * @return las claves, como una vista que refleja las escrituras siguientes.
+     */
+    public Set<Object> supersededKeys() {
+        return Collections.unmodifiableSet(history.keySet());
+    }
+
+    /**
+     * Devuelve la versión fijada por la solicitud en curso, en la que se leen los datos aunque hayan expirado.
+     *
+     * @return la versión, o {@code null} si la solicitud no fijó una versión (lee la vigente al comenzar y
+     * refresca los datos expirados).
+     */
+    public Long pinnedVersion() {
+        Reader reader = activeReader.get();
+        return reader != null && reader.fixed ? reader.version : null;
+    }
+
+    /**
+     * Inicia una lectura en el hilo actual, en la versión indicada o en la vigente.
+     * <p>
+     * La versión se conserva mientras la lectura esté abierta, aunque venza su tiempo de retención. Sin una
+     * versión indicada, se fija la vigente en el mismo momento en que se lee, de modo que ninguna escritura
+     * confirmada después cambia los datos leídos ni la versión informada ({@link Reader#responseVersion()}).
+     *
+     * @param version la versión a leer, informada en una respuesta anterior, o {@code null} para leer la
+     *                versión vigente.
+     * @return la lectura, que debe cerrarse al terminar la solicitud.
+     * @throws ResponseStatusException con estado 400 si la versión es posterior a la vigente, o 410 si ya no
+     *                                 se conserva.
+     */
+    public Reader open(Long version) {
+        if (version != null && (version > current || version < 0)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Versión del conjunto de datos inexistente: " + version);
+        }
+        return pin(version, version != null).bind();
+    }
+
+    /**
+     * Fija la versión que lee la solicitud en curso (o la vigente, si no hay una lectura en el hilo actual)
+     * para leerla desde otro hilo, por ejemplo al escribir una respuesta en streaming. La lectura devuelta no
+     * se asocia a ningún hilo hasta invocar {@link Reader#bind()}, y lee esa versión aunque los datos expiren.
+     *
+     * @return la lectura, que debe cerrarse al terminar, aunque no llegue a asociarse a un hilo.
+     */
+    public Reader pinForHandOff() {
+        Reader reader = activeReader.get();
+        return pin(reader != null ? reader.readVersion() : null, true);
+    }
+
+    /**
+     * Fija una versión (o la vigente) y registra un lector. Se toma el bloqueo de escritura para que la
+     * versión vigente no cambie ni se descarte mientras se la fija.
+     */
+    private Reader pin(Long version, boolean fixed) {
+        commitLock.lock();
+        try {
+            long pinned = version != null ? version : current;
+            Pin pin = pinned == current ? pins.computeIfAbsent(pinned, v -> new Pin()) : pins.get(pinned);
+            if (pin == null || pin.isExpired(clock.millis())) {
+                throw new ResponseStatusException(HttpStatus.GONE,
+                        "La versión " + pinned + " del conjunto de datos ya no se conserva; vuelva a comenzar sin fijar la versión");
+            }
+            pin.readers.incrementAndGet();
+            return new Reader(pinned, pin, fixed);
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Registra que una versión se informó en una respuesta, para que pueda fijarse en las solicitudes
+     * siguientes durante el tiempo de retención.
+     *
+     * @param version la versión informada.
+     */
+    public void retain(long version) {
+        pins.computeIfAbsent(version, v -> new Pin()).lastAccess = clock.millis();
+    }
+
+    /**
+     * Devuelve la cantidad de versiones que se conservan.
+     *
+     * @return la cantidad de versiones que pueden fijarse.
+     */
+    public int retainedVersions() {
+        return pins.size();
+    }
+
+    /**
+     * Devuelve la cantidad de valores reemplazados que se conservan para las versiones anteriores.
+     *
+     * @return la cantidad de valores reemplazados.
+     */
+    public int supersededValues() {
+        int count = 0;
+        for (Superseded chain : history.values()) {
+            for (Superseded superseded = chain; superseded != null; superseded = superseded.older) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Descarta las versiones vencidas sin lectores y los valores reemplazados que ya no necesita ninguna de
+     * las versiones conservadas. Se ejecuta con el bloqueo de escritura tomado.
+     */
+    private void prune() {
+        long now = clock.millis();
+        pins.entrySet().removeIf(entry -> entry.getKey() < current && entry.getValue().isExpired(now));
+        if (history.isEmpty()) {
+            return;
+        }
+        Map.Entry<Long, Pin> oldest = pins.firstEntry();
+        long oldestRetained = oldest != null ? oldest.getKey() : current;
+        Iterator<Map.Entry<Object, Superseded>> entries = history.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Object, Superseded> entry = entries.next();
+            // Las versiones conservadas solo leen los valores reemplazados después de la más antigua
+            Superseded chain = entry.getValue().retainedAfter(oldestRetained);
+            if (chain == null) {
+                entries.remove();
+            } else if (chain != entry.getValue()) {
+                entry.setValue(chain);
+            }
+        }
+    }
+
+    /**
+     * Lectura de una versión del conjunto de datos en el hilo de una solicitud.
+     */
+    public final class Reader implements AutoCloseable {
+
+        private final long version;
+        private final Pin pin;
+        // Si la versión la fijó el cliente: se lee aunque los datos expiren
+        private final boolean fixed;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Escrituras confirmadas desde el hilo de la lectura (por ejemplo, datos obtenidos de SWAPI)
+        private int commits;
+        private long lastCommit;
+
+        private Reader(long version, Pin pin, boolean fixed) {
+            this.version = version;
+            this.pin = pin;
+            this.fixed = fixed;
+        }
+
+        /**
+         * Asocia la lectura al hilo actual.
+         *
+         * @return la lectura.
+         */
+        public Reader bind() {
+            activeReader.set(this);
+            return this;
+        }
+
+        /**
+         * Devuelve la versión que lee.
+         *
+         * @return la versión.
+         */
+        public long version() {
+            return version;
+        }
+
+        /**
+         * Indica si la lectura fijó una versión anterior a la vigente (por ejemplo, para no servirla con
+         * respuestas almacenadas con los datos actuales).
+         *
+         * @return {@code true} si los datos leídos pueden diferir de los vigentes.
+         */
+        public boolean isPast() {
+            return fixed && version < current;
+        }
+
+        /**
+         * Devuelve la versión a informar en la respuesta, la de los datos leídos. La versión queda registrada
+         * para poder fijarla en las solicitudes siguientes.
+         *
+         * @return la versión del conjunto de datos de la respuesta.
+         */
+        public long responseVersion() {
+            long responseVersion = readVersion();
+            retain(responseVersion);
+            return responseVersion;
+        }
+
+        /**
+         * Versión en la que se leen los datos: la fijada o, si la solicitud no fijó una versión y las únicas
+         * escrituras confirmadas desde que comenzó son las suyas, la de su última escritura, para que lea los
+         * datos que obtuvo de SWAPI.
+         */
+        private long readVersion() {
+            return !fixed && commits > 0 && lastCommit - version == commits ? lastCommit : version;
+        }
+
+        private void committed(long version) {
+            commits++;
+            lastCommit = version;
+        }
+
+        /**
+         * Termina la lectura. La versión se conserva durante el tiempo de retención desde este momento.
+         */
+        @Override
+        public void close() {
+            if (activeReader.get() == this) {
+                activeReader.remove();
+            }
+            if (closed.compareAndSet(false, true)) {
+                pin.lastAccess = clock.millis();
+                pin.readers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Lectores y último uso de una versión conservada.
+     */
+    private final class Pin {
+
+        private final AtomicInteger readers = new AtomicInteger();
+        private volatile long lastAccess = clock.millis();
+
+        private boolean isExpired(long now) {
+            return readers.get() == 0 && now - lastAccess > retentionMillis;
+        }
+    }
+
+    /**
+     * Valor reemplazado de un dato.
+     *
+     * @param value   el valor, vigente hasta la versión que lo reemplazó.
+     * @param version la versión que lo reemplazó.
+     * @param older   el valor reemplazado anterior, o {@code null}.
+     */
+    private record Superseded(Object value, long version, Superseded older) {
+
+        /**
+         * Devuelve la cadena sin los valores que no lee ninguna versión posterior o igual a la indicada.
+         */
+        private Superseded retainedAfter(long oldest) {
+            if (version <= oldest) {
+                return null;
+            }
+            Superseded retainedOlder = older != null ? older.retainedAfter(oldest) : null;
+            return retainedOlder == older ? this : new Superseded(value, version, retainedOlder);
+        }
+    }
+}
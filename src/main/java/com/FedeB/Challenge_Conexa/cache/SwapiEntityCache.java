@@ -0,0 +1,628 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+import com.FedeB.Challenge_Conexa.catalog.EntitySchema;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.monitoring.CacheAccessEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caché en memoria de las entidades y listados obtenidos desde SWAPI.
+ * <p>
+ * Almacena los detalles de las entidades por tipo de recurso e ID, y los IDs de cada página de listado,
+ * con un tiempo de vida configurable ({@code swapi.cache.ttl}). Las entidades no se guardan como DTOs sino
+ * en una {@link EntityTable} columnar por recurso, y los DTOs se reconstruyen al leerlos. Al almacenar un valor se lo compara con el
+ * anterior: si una entidad ya conocida cambió, o cambió la composición de un listado, se notifica a los
+ * {@link EntityChangeListener} registrados (por ejemplo, para invalidar respuestas pre-serializadas).
+ * La primera carga de una entidad no se considera un cambio.
+ * <p>
+ * Junto con cada valor se guardan los {@link Validators} de la respuesta de SWAPI de la que proviene.
+ * Las entradas expiradas no se descartan: sus validadores permiten revalidarlas con una solicitud
+ * condicional y, si SWAPI indica que no cambiaron, extender su vigencia con {@link #revalidate}.
+ * <p>
+ * Si se indica un {@link PersistentEntityStore}, cada entidad o listado nuevo o modificado se agrega también
+ * al archivo, y al crear la caché se cargan las entidades y listados almacenados en ejecuciones anteriores,
+ * con su vigencia completa y sus validadores, de modo que se sirven de inmediato. Los datos cargados se
+ * informan en {@link #restoredIds()} y {@link #restoredPages()} para revalidarlos en segundo plano.
+ * <p>
+ * En el modo sin conexión ({@link OfflineSnapshot}), la caché se carga con los datos del snapshot incluido en
+ * el artefacto, que no expiran ni se persisten.
+ * <p>
+ * El tamaño estimado de la tabla de entidades de cada recurso ({@link EntityTable#estimatedBytes()}) se
+ * informa al {@link CacheMemoryBudget} compartido con la caché de respuestas. Las entidades no se descartan
+ * al superar el presupuesto: solo la caché de respuestas libera memoria para respetarlo.
+ * <p>
+ * Cada entidad o listado nuevo o modificado se confirma como una nueva versión del conjunto de datos
+ * ({@link SnapshotVersions}), conservando el valor reemplazado. Las solicitudes que fijan una versión anterior
+ * leen las entidades y listados de esa versión y no los refrescan al expirar, de modo que recorren un
+ * conjunto de datos inmutable; las entidades que no estaban almacenadas se obtienen de SWAPI con su valor
+ * actual.
+ * <p>
+ * Las entidades eliminadas de SWAPI se quitan con {@link #remove}. Cada entidad nueva, modificada o eliminada
+ * se notifica con la versión que la confirmó a los receptores que implementan {@link EntityCommitListener}.
+ */
+@Component
+@Slf4j
+public class SwapiEntityCache {
+
+    /**
+     * Número de página utilizado para los listados completos (sin paginación), como el de películas.
+     */
+    public static final int FULL_LIST = 0;
+
+    private static final String ENTITY_CACHE = "swapi-entity";
+    private static final String PAGE_CACHE = "swapi-page";
+
+    private final long ttlMillis;
+    private final Clock clock;
+    private final List<EntityChangeListener> listeners;
+    private final List<EntityCommitListener> commitListeners;
+    private final PersistentEntityStore store;
+    private final CacheMemoryBudget budget;
+    private final SnapshotVersions versions;
+
+    private final Map<SwapiResource, EntityTable<Object>> tables = new EnumMap<>(SwapiResource.class);
+    private final Map<EntityKey, EntityEntry> entities = new ConcurrentHashMap<>();
+    private final Map<PageKey, Entry<List<String>>> pages = new ConcurrentHashMap<>();
+    private final Map<SwapiResource, List<String>> restoredIds = new EnumMap<>(SwapiResource.class);
+    private final Map<SwapiResource, List<Integer>> restoredPages = new EnumMap<>(SwapiResource.class);
+
+    /**
+     * Constructor utilizado por Spring, con el tiempo de vida configurado en las propiedades, el
+     * almacenamiento persistente y el snapshot del modo sin conexión. En el modo sin conexión, la caché se
+     * carga con el snapshot y no se usa el almacenamiento persistente.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param listeners los receptores de notificaciones de cambios.
+     * @param store     el almacenamiento persistente de las entidades y listados.
+     * @param snapshot  el snapshot del modo sin conexión.
+     * @param budget    el presupuesto de memoria compartido por las cachés.
+     * @param versions  las versiones del conjunto de datos.
+     */
+    @Autowired
+    public SwapiEntityCache(@Value("${swapi.cache.ttl:10m}") Duration ttl, List<EntityChangeListener> listeners,
+                            PersistentEntityStore store, OfflineSnapshot snapshot, CacheMemoryBudget budget,
+                            SnapshotVersions versions) {
+        this(ttl, Clock.systemUTC(), listeners, snapshot.isEnabled() ? null : store, budget, versions);
+        if (snapshot.isEnabled()) {
+            snapshot.load(restorer(true));
+            for (SwapiResource resource : SwapiResource.values()) {
+                weigh(resource);
+            }
+        }
+    }
+
+    /**
+     * Constructor de una caché sin almacenamiento persistente.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param listeners los receptores de notificaciones de cambios.
+     */
+    public SwapiEntityCache(Duration ttl, List<EntityChangeListener> listeners) {
+        this(ttl, Clock.systemUTC(), listeners, null);
+    }
+
+    /**
+     * Constructor que permite indicar el reloj utilizado para calcular la expiración.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param clock     el reloj utilizado para calcular la expiración.
+     * @param listeners los receptores de notificaciones de cambios.
+     */
+    public SwapiEntityCache(Duration ttl, Clock clock, List<EntityChangeListener> listeners) {
+        this(ttl, clock, listeners, null);
+    }
+
+    /**
+     * Constructor que permite indicar el reloj y el almacenamiento persistente, del que se cargan las
+     * entidades y listados almacenados.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param clock     el reloj utilizado para calcular la expiración.
+     * @param listeners los receptores de notificaciones de cambios.
+     * @param store     el almacenamiento persistente, o {@code null} para no persistir los datos.
+     */
+    public SwapiEntityCache(Duration ttl, Clock clock, List<EntityChangeListener> listeners, PersistentEntityStore store) {
+        this(ttl, clock, listeners, store, CacheMemoryBudget.unbounded());
+    }
+
+    /**
+     * Constructor que permite indicar el reloj, el almacenamiento persistente y el presupuesto de memoria.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param clock     el reloj utilizado para calcular la expiración.
+     * @param listeners los receptores de notificaciones de cambios.
+     * @param store     el almacenamiento persistente, o {@code null} para no persistir los datos.
+     * @param budget    el presupuesto de memoria al que se informa el tamaño de las entidades.
+     */
+    public SwapiEntityCache(Duration ttl, Clock clock, List<EntityChangeListener> listeners, PersistentEntityStore store,
+                            CacheMemoryBudget budget) {
+        this(ttl, clock, listeners, store, budget, new SnapshotVersions(Duration.ofMinutes(5), clock));
+    }
+
+    /**
+     * Constructor que permite indicar el reloj, el almacenamiento persistente, el presupuesto de memoria y
+     * las versiones del conjunto de datos.
+     *
+     * @param ttl       el tiempo de vida de las entradas.
+     * @param clock     el reloj utilizado para calcular la expiración.
+     * @param listeners los receptores de notificaciones de cambios.
+     * @param store     el almacenamiento persistente, o {@code null} para no persistir los datos.
+     * @param budget    el presupuesto de memoria al que se informa el tamaño de las entidades.
+     * @param versions  las versiones del conjunto de datos, con las que se confirman las escrituras.
+     */
+    public SwapiEntityCache(Duration ttl, Clock clock, List<EntityChangeListener> listeners, PersistentEntityStore store,
+                            CacheMemoryBudget budget, SnapshotVersions versions) {
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.listeners = List.copyOf(listeners);
+        this.commitListeners = listeners.stream()
+                .filter(EntityCommitListener.class::isInstance)
+                .map(EntityCommitListener.class::cast)
+                .toList();
+        this.store = store;
+        this.budget = budget;
+        this.versions = versions;
+        for (SwapiResource resource : SwapiResource.values()) {
+            tables.put(resource, newTable(resource));
+            restoredIds.put(resource, new ArrayList<>());
+            restoredPages.put(resource, new ArrayList<>());
+        }
+        if (store != null) {
+            store.load(restorer(false));
+            for (SwapiResource resource : SwapiResource.values()) {
+                weigh(resource);
+            }
+        }
+    }
+
+    /**
+     * Receptor que carga en la caché las entidades y listados almacenados. Los del snapshot del modo sin
+     * conexión no expiran y no se informan para revalidarlos, ya que no hay conexión con SWAPI.
+     */
+    private PersistentEntityStore.Visitor restorer(boolean snapshot) {
+        return new PersistentEntityStore.Visitor() {
+            @Override
+            public void entity(SwapiResource resource, String id, Object value, Validators validators) {
+                Object entity = resource.getDtoType().cast(value);
+                tables.get(resource).put(id, entity);
+                entities.put(new EntityKey(resource, id), new EntityEntry(validators, snapshot ? Long.MAX_VALUE : expiresAt()));
+                if (!snapshot) {
+                    restoredIds.get(resource).add(id);
+                }
+            }
+
+            @Override
+            public void page(SwapiResource resource, int page, List<String> ids, Validators validators) {
+                pages.put(new PageKey(resource, page), new Entry<>(List.copyOf(ids), validators, snapshot ? Long.MAX_VALUE : expiresAt()));
+                if (!snapshot) {
+                    restoredPages.get(resource).add(page);
+                }
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EntityTable<Object> newTable(SwapiResource resource) {
+        return new EntityTable<>((EntitySchema<Object>) EntitySchemas.forResource(resource));
+    }
+
+    /**
+     * Devuelve los IDs de las entidades almacenadas de un recurso en la versión fijada por la solicitud en curso
+     * (o en la vigente, si no fijó una), sin reconstruir sus DTOs.
+     *
+     * @param resource el tipo de recurso.
+     * @return los IDs, en el orden de la tabla seguidos de los de las entidades eliminadas después de la versión
+     * fijada.
+     */
+    public List<String> ids(SwapiResource resource) {
+        EntityTable<Object> table = tables.get(resource);
+        List<String> ids = table.ids();
+        if (versions.pinnedVersion() == null) {
+            return ids;
+        }
+        List<String> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            // Las entidades agregadas después de la versión fijada se leen como ausentes
+            if (versions.valueAt(new EntityKey(resource, id), Boolean.TRUE) != null) {
+                result.add(id);
+            }
+        }
+        // Las entidades eliminadas después de la versión fijada solo están entre los valores reemplazados
+        for (Object key : versions.supersededKeys()) {
+            if (key instanceof EntityKey entityKey && entityKey.resource() == resource && !table.contains(entityKey.id())
+                    && versions.valueAt(key, null) != null) {
+                result.add(entityKey.id());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve la tabla con las entidades almacenadas de un recurso.
+     *
+     * @param resource el tipo de recurso.
+     * @return la tabla del recurso.
+     */
+    public EntityTable<Object> table(SwapiResource resource) {
+        return tables.get(resource);
+    }
+
+    /**
+     * Devuelve las versiones del conjunto de datos con las que se confirman las escrituras.
+     *
+     * @return las versiones del conjunto de datos.
+     */
+    public SnapshotVersions versions() {
+        return versions;
+    }
+
+    /**
+     * Obtiene una entidad de la caché, si no expiró. Si la solicitud en curso fijó una versión del conjunto
+     * de datos, se devuelve el valor de esa versión aunque haya expirado; si no, el de la versión vigente al
+     * comenzar la solicitud.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @param <T>      el tipo de DTO del recurso.
+     * @return el DTO almacenado, o {@code null} si no está en la caché o expiró.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(SwapiResource resource, String id) {
+        EntityKey key = new EntityKey(resource, id);
+        EntityEntry entry = entities.get(key);
+        if (versions.pinnedVersion() != null) {
+            // La entidad pudo agregarse, modificarse o eliminarse después de la versión fijada. El valor actual
+            // se lee antes que los reemplazados, que se conservan antes de cada escritura
+            Object value = versions.valueAt(key, entry != null ? tables.get(resource).get(id) : null);
+            CacheAccessEvent.record(ENTITY_CACHE, resource.getPath() + "/" + id, value != null);
+            return (T) value;
+        }
+        // Sin una versión fijada se lee la vigente al comenzar la solicitud, si la entidad no expiró
+        Object value = entry != null && entry.expiresAt > clock.millis() ? versions.valueAt(key, tables.get(resource).get(id)) : null;
+        CacheAccessEvent.record(ENTITY_CACHE, resource.getPath() + "/" + id, value != null);
+        return (T) value;
+    }
+
+    /**
+     * Almacena una entidad en la caché, sin validadores propios, y notifica a los receptores si cambió
+     * respecto del valor anterior. Si el valor no cambió, se conservan los validadores anteriores.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @param value    el DTO de la entidad.
+     */
+    public void put(SwapiResource resource, String id, Object value) {
+        put(resource, id, value, null);
+    }
+
+    /**
+     * Almacena una entidad en la caché junto con los validadores de la respuesta de la que proviene,
+     * y notifica a los receptores si cambió respecto del valor anterior.
+     *
+     * @param resource   el tipo de recurso.
+     * @param id         el ID de la entidad.
+     * @param value      el DTO de la entidad.
+     * @param validators los validadores de la respuesta, o {@code null} si no corresponden a una respuesta propia.
+     */
+    public void put(SwapiResource resource, String id, Object value, Validators validators) {
+        Object entity = resource.getDtoType().cast(value);
+        EntityKey entityKey = new EntityKey(resource, id);
+        EntityTable<Object> table = tables.get(resource);
+        AtomicBoolean unchanged = new AtomicBoolean();
+        entities.compute(entityKey, (key, current) -> {
+            if (!Objects.equals(table.get(id), entity)) {
+                // La entidad es nueva o cambió: se almacena a continuación con una nueva versión
+                return current;
+            }
+            // Sin cambios: solo se actualizan la vigencia y los validadores, sin una nueva versión
+            unchanged.set(true);
+            return storeEntry(resource, id, entity, current, validators, true);
+        });
+        if (unchanged.get()) {
+            return;
+        }
+        AtomicReference<Object> previous = new AtomicReference<>();
+        versions.commit(version -> {
+            entities.compute(entityKey, (key, current) -> {
+                previous.set(table.get(id));
+                boolean same = current != null && Objects.equals(previous.get(), entity);
+                if (!same) {
+                    // Una entidad nueva se registra como ausente en las versiones anteriores
+                    versions.supersede(key, previous.get() != null ? previous.get() : SnapshotVersions.ABSENT, version);
+                    table.put(id, entity);
+                    weigh(resource);
+                }
+                return storeEntry(resource, id, entity, current, validators, same);
+            });
+            if (Objects.equals(previous.get(), entity)) {
+                return false;
+            }
+            notifyCommitted(new EntityChange(version, resource, id,
+                    previous.get() == null ? EntityChange.Kind.ADDED : EntityChange.Kind.MODIFIED));
+            return true;
+        });
+        if (previous.get() != null && !Objects.equals(previous.get(), entity)) {
+            log.info("Cambio detectado en {}/{}", resource.getPath(), id);
+            notifyListeners(resource, id);
+        }
+    }
+
+    /**
+     * Elimina una entidad de la caché (por ejemplo, porque fue eliminada de SWAPI), junto con las páginas de
+     * listado que la incluyen, que se vuelven a obtener al solicitarlas. La eliminación se confirma como una
+     * nueva versión del conjunto de datos: las solicitudes que fijan una versión anterior siguen leyendo la
+     * entidad y las páginas. Si hay almacenamiento persistente, se agrega la eliminación al archivo.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @return {@code true} si la entidad o alguna página que la incluía estaba en la caché.
+     */
+    public boolean remove(SwapiResource resource, String id) {
+        EntityKey entityKey = new EntityKey(resource, id);
+        EntityTable<Object> table = tables.get(resource);
+        AtomicReference<Object> removed = new AtomicReference<>();
+        AtomicBoolean pagesRemoved = new AtomicBoolean();
+        versions.commit(version -> {
+            entities.compute(entityKey, (key, current) -> {
+                Object previous = table.remove(id);
+                if (previous != null) {
+                    versions.supersede(key, previous, version);
+                    weigh(resource);
+                    removed.set(previous);
+                }
+                if (store != null && (previous != null || current != null)) {
+                    store.appendEntityRemoval(resource, id);
+                }
+                return null;
+            });
+            for (PageKey pageKey : pages.keySet()) {
+                if (pageKey.resource() == resource) {
+                    pages.computeIfPresent(pageKey, (key, current) -> {
+                        if (!current.value.contains(id)) {
+                            return current;
+                        }
+                        versions.supersede(key, current.value, version);
+                        if (store != null) {
+                            store.appendPageRemoval(resource, key.page());
+                        }
+                        pagesRemoved.set(true);
+                        return null;
+                    });
+                }
+            }
+            if (removed.get() != null) {
+                notifyCommitted(new EntityChange(version, resource, id, EntityChange.Kind.REMOVED));
+            }
+            return removed.get() != null || pagesRemoved.get();
+        });
+        if (removed.get() != null) {
+            log.info("Eliminación detectada en {}/{}", resource.getPath(), id);
+            notifyListeners(resource, id);
+        }
+        if (pagesRemoved.get()) {
+            notifyListeners(resource, null);
+        }
+        return removed.get() != null || pagesRemoved.get();
+    }
+
+    /**
+     * Crea la entrada con la vigencia y los validadores de una entidad almacenada y, si corresponde, la agrega
+     * al almacenamiento persistente.
+     */
+    private EntityEntry storeEntry(SwapiResource resource, String id, Object entity, EntityEntry current,
+                                   Validators validators, boolean unchanged) {
+        unchanged = unchanged && current != null;
+        EntityEntry entry = new EntityEntry(validators == null && unchanged ? current.validators : validators, expiresAt());
+        // Se persiste dentro del cómputo para que el orden en el archivo sea el de la caché
+        if (store != null && !(unchanged && Objects.equals(current.validators, entry.validators))) {
+            store.appendEntity(resource, id, entity, entry.validators);
+        }
+        return entry;
+    }
+
+    /**
+     * Devuelve los validadores de una entidad almacenada, aunque haya expirado.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @return los validadores, o {@code null} si la entidad no está en la caché o no tiene validadores.
+     */
+    public Validators validators(SwapiResource resource, String id) {
+        EntityEntry entry = entities.get(new EntityKey(resource, id));
+        return entry != null ? entry.validators : null;
+    }
+
+    /**
+     * Extiende la vigencia de una entidad que SWAPI confirmó que no cambió.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @param <T>      el tipo de DTO del recurso.
+     * @return el DTO almacenado, o {@code null} si la entidad no está en la caché.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T revalidate(SwapiResource resource, String id) {
+        EntityEntry entry = entities.computeIfPresent(new EntityKey(resource, id),
+                (key, current) -> new EntityEntry(current.validators, expiresAt()));
+        return entry != null ? (T) tables.get(resource).get(id) : null;
+    }
+
+    /**
+     * Obtiene los IDs de una página de listado, si no expiró. Si la solicitud en curso fijó una versión del
+     * conjunto de datos, se devuelven los IDs de esa versión aunque haya expirado; si no, los de la versión
+     * vigente al comenzar la solicitud.
+     *
+     * @param resource el tipo de recurso.
+     * @param page     el número de página, o {@link #FULL_LIST} para los listados sin paginación.
+     * @return los IDs de la página, o {@code null} si no está en la caché o expiró.
+     */
+    public List<String> getPage(SwapiResource resource, int page) {
+        PageKey key = new PageKey(resource, page);
+        Entry<List<String>> entry = pages.get(key);
+        if (versions.pinnedVersion() != null) {
+            // La página pudo agregarse, modificarse o eliminarse después de la versión fijada
+            List<String> value = versions.valueAt(key, entry != null ? entry.value : null);
+            CacheAccessEvent.record(PAGE_CACHE, resource.getPath() + "?page=" + page, value != null);
+            return value;
+        }
+        List<String> value = entry != null && entry.expiresAt > clock.millis() ? versions.valueAt(key, entry.value) : null;
+        CacheAccessEvent.record(PAGE_CACHE, resource.getPath() + "?page=" + page, value != null);
+        return value;
+    }
+
+    /**
+     * Almacena los IDs de una página de listado y notifica a los receptores si cambió su composición.
+     *
+     * @param resource   el tipo de recurso.
+     * @param page       el número de página, o {@link #FULL_LIST} para los listados sin paginación.
+     * @param ids        los IDs de la página.
+     * @param validators los validadores de la respuesta del listado.
+     */
+    public void putPage(SwapiResource resource, int page, List<String> ids, Validators validators) {
+        List<String> value = List.copyOf(ids);
+        PageKey pageKey = new PageKey(resource, page);
+        AtomicReference<Entry<List<String>>> replaced = new AtomicReference<>();
+        AtomicBoolean unchanged = new AtomicBoolean();
+        pages.compute(pageKey, (key, current) -> {
+            if (current == null || !current.value.equals(value)) {
+                // La página es nueva o cambió su composición: se almacena a continuación con una nueva versión
+                return current;
+            }
+            unchanged.set(true);
+            return storePage(resource, page, value, validators, current, replaced);
+        });
+        if (!unchanged.get()) {
+            versions.commit(version -> {
+                pages.compute(pageKey, (key, current) -> {
+                    if (current == null) {
+                        versions.supersede(key, SnapshotVersions.ABSENT, version);
+                    } else if (!current.value.equals(value)) {
+                        versions.supersede(key, current.value, version);
+                    }
+                    return storePage(resource, page, value, validators, current, replaced);
+                });
+                return replaced.get() == null || !replaced.get().value.equals(value);
+            });
+        }
+        Entry<List<String>> previous = replaced.get();
+        if (previous != null && !previous.value.equals(value)) {
+            log.info("Cambio detectado en el listado de {} (página {})", resource.getPath(), page);
+            notifyListeners(resource, null);
+        }
+    }
+
+    /**
+     * Crea la entrada de una página de listado y, si corresponde, la agrega al almacenamiento persistente.
+     */
+    private Entry<List<String>> storePage(SwapiResource resource, int page, List<String> value, Validators validators,
+                                          Entry<List<String>> current, AtomicReference<Entry<List<String>>> replaced) {
+        replaced.set(current);
+        // Se persiste dentro del cómputo para que el orden en el archivo sea el de la caché
+        if (store != null && (current == null || !current.value.equals(value) || !Objects.equals(current.validators, validators))) {
+            store.appendPage(resource, page, value, validators);
+        }
+        return new Entry<>(value, validators, expiresAt());
+    }
+
+    /**
+     * Devuelve los validadores de una página de listado almacenada, aunque haya expirado.
+     *
+     * @param resource el tipo de recurso.
+     * @param page     el número de página, o {@link #FULL_LIST} para los listados sin paginación.
+     * @return los validadores, o {@code null} si la página no está en la caché o no tiene validadores.
+     */
+    public Validators pageValidators(SwapiResource resource, int page) {
+        Entry<List<String>> entry = pages.get(new PageKey(resource, page));
+        return entry != null ? entry.validators : null;
+    }
+
+    /**
+     * Extiende la vigencia de una página de listado que SWAPI confirmó que no cambió.
+     *
+     * @param resource el tipo de recurso.
+     * @param page     el número de página, o {@link #FULL_LIST} para los listados sin paginación.
+     * @return los IDs de la página, o {@code null} si la página no está en la caché.
+     */
+    public List<String> revalidatePage(SwapiResource resource, int page) {
+        Entry<List<String>> entry = pages.computeIfPresent(new PageKey(resource, page),
+                (key, current) -> new Entry<>(current.value, current.validators, expiresAt()));
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Devuelve los IDs de las entidades cargadas del almacenamiento persistente al crear la caché.
+     *
+     * @return los IDs cargados de cada recurso.
+     */
+    public Map<SwapiResource, List<String>> restoredIds() {
+        Map<SwapiResource, List<String>> ids = new EnumMap<>(SwapiResource.class);
+        restoredIds.forEach((resource, restored) -> ids.put(resource, List.copyOf(restored)));
+        return ids;
+    }
+
+    /**
+     * Devuelve los números de las páginas de listado cargadas del almacenamiento persistente al crear la caché.
+     *
+     * @return los números de página cargados de cada recurso.
+     */
+    public Map<SwapiResource, List<Integer>> restoredPages() {
+        Map<SwapiResource, List<Integer>> numbers = new EnumMap<>(SwapiResource.class);
+        restoredPages.forEach((resource, restored) -> numbers.put(resource, List.copyOf(restored)));
+        return numbers;
+    }
+
+    /**
+     * Informa al presupuesto de memoria el tamaño estimado de la tabla de entidades de un recurso.
+     */
+    private void weigh(SwapiResource resource) {
+        EntityTable<Object> table = tables.get(resource);
+        budget.setEntities(resource, table.estimatedBytes(), table.size());
+    }
+
+    private long expiresAt() {
+        return clock.millis() + ttlMillis;
+    }
+
+    private void notifyCommitted(EntityChange change) {
+        for (EntityCommitListener listener : commitListeners) {
+            listener.onEntityCommitted(change);
+        }
+    }
+
+    private void notifyListeners(SwapiResource resource, String id) {
+        for (EntityChangeListener listener : listeners) {
+            listener.onEntityChanged(resource, id);
+        }
+    }
+
+    private record EntityKey(SwapiResource resource, String id) {
+    }
+
+    private record PageKey(SwapiResource resource, int page) {
+    }
+
+    /**
+     * Vigencia y validadores de una entidad; el valor se guarda en la tabla del recurso.
+     */
+    private record EntityEntry(Validators validators, long expiresAt) {
+    }
+
+    private record Entry<V>(V value, Validators validators, long expiresAt) {
+    }
+}
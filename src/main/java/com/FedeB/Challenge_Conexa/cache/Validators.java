@@ -0,0 +1,24 @@
+package com.FedeB.Challenge_Conexa.cache;
+
+/**
+ * Validadores de una respuesta de SWAPI, utilizados para revalidar los datos almacenados en la caché.
+ * <p>
+ * Si SWAPI devuelve "ETag" o "Last-Modified", se reenvían en las solicitudes condicionales
+ * ("If-None-Match" / "If-Modified-Since"). Si no devuelve ninguno, se guarda el hash del cuerpo para
+ * detectar que la respuesta no cambió sin volver a deserializarla.
+ *
+ * @param etag         el valor del encabezado "ETag", o {@code null}.
+ * @param lastModified el valor del encabezado "Last-Modified", o {@code null}.
+ * @param bodyHash     el hash del cuerpo de la respuesta, o {@code null} si hay validadores HTTP.
+ */
+public record Validators(String etag, String lastModified, String bodyHash) {
+
+    /**
+     * Indica si la respuesta trajo validadores HTTP que permiten una solicitud condicional.
+     *
+     * @return {@code true} si hay "ETag" o "Last-Modified".
+     */
+    public boolean isConditional() {
+        return etag != null || lastModified != null;
+    }
+}
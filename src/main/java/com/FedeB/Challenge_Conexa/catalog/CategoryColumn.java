@@ -0,0 +1,119 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columna de un atributo categórico (género, color, clase, fabricante), codificada con un
+ * {@link StringDictionary} propio: cada fila guarda solo el código del valor.
+ * <p>
+ * Además, la columna mantiene un bitmap comprimido ({@link RoaringBitmap}) por valor con las filas que lo
+ * tienen, actualizado con cada escritura, de modo que los conteos por valor (facetas) y los filtros por
+ * igualdad se resuelvan como operaciones entre bitmaps.
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class CategoryColumn<T> extends Column<T> {
+
+    /**
+     * Código de las filas sin valor.
+     */
+    public static final int NULL = -1;
+
+    // Código de las filas todavía no escritas
+    private static final int UNSET = -2;
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final Function<T, String> getter;
+    private final BiConsumer<T, String> setter;
+    private final StringDictionary dictionary = new StringDictionary();
+    private int[] codes = new int[0];
+    private RoaringBitmap[] bitmaps = new RoaringBitmap[0];
+
+    CategoryColumn(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Devuelve el código del valor de una fila.
+     *
+     * @param row la fila.
+     * @return el código del valor, o {@link #NULL} si la entidad no lo tiene.
+     */
+    public int code(int row) {
+        return codes[row];
+    }
+
+    /**
+     * Devuelve el diccionario de valores de la columna.
+     *
+     * @return el diccionario.
+     */
+    public StringDictionary dictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Devuelve las filas que tienen un valor. El bitmap no debe modificarse.
+     *
+     * @param code el código del valor.
+     * @return las filas con el valor.
+     */
+    public RoaringBitmap rows(int code) {
+        return code >= 0 && code < bitmaps.length && bitmaps[code] != null ? bitmaps[code] : EMPTY;
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (codes.length < capacity) {
+            int length = codes.length;
+            codes = Arrays.copyOf(codes, capacity);
+            Arrays.fill(codes, length, capacity, UNSET);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        String value = getter.apply(entity);
+        int code = value != null ? dictionary.encode(value) : NULL;
+        int previous = codes[row];
+        if (previous == code) {
+            return;
+        }
+        if (previous >= 0) {
+            bitmaps[previous].remove(row);
+        }
+        if (code >= 0) {
+            if (code >= bitmaps.length) {
+                bitmaps = Arrays.copyOf(bitmaps, Math.max(code + 1, bitmaps.length * 2));
+            }
+            if (bitmaps[code] == null) {
+                bitmaps[code] = new RoaringBitmap();
+            }
+            bitmaps[code].add(row);
+        }
+        codes[row] = code;
+    }
+
+    @Override
+    void read(int row, T entity) {
+        int code = codes[row];
+        setter.accept(entity, code != NULL ? dictionary.decode(code) : null);
+    }
+
+    @Override
+    long estimatedBytes() {
+        long bytes = HeapSize.of(codes) + HeapSize.of(bitmaps) + dictionary.estimatedBytes();
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,412 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de conexiones entre personajes a través de las películas, naves y vehículos que comparten.
+ * <p>
+ * El grafo es bipartito: los nodos son los personajes almacenados localmente y las películas, naves y
+ * vehículos que los relacionan (estén o no almacenados), y cada arista une a un personaje con una película,
+ * nave o vehículo, según las relaciones de ambos lados ({@code films}, {@code starships} y {@code vehicles}
+ * de los personajes, {@code characters} de las películas y {@code pilots} de las naves y vehículos). Dos
+ * personajes que comparten una película están a un grado de separación.
+ * <p>
+ * Las adyacencias se guardan en formato CSR (compressed sparse row): un arreglo con las aristas de todos los
+ * nodos, ordenadas por nodo, y otro con la posición inicial de cada nodo. Las búsquedas usan arreglos
+ * auxiliares por hilo, que se reutilizan entre búsquedas (un sello por búsqueda evita limpiarlos), por lo
+ * que no reservan memoria salvo para el resultado.
+ * <p>
+ * El grafo es inmutable y corresponde a una versión de las tablas de entidades ({@link #getVersions()}).
+ */
+public final class CharacterGraph {
+
+    // Recursos cuyas relaciones con personajes forman el grafo
+    private static final List<SwapiResource> ITEMS = List.of(SwapiResource.FILMS, SwapiResource.STARSHIPS, SwapiResource.VEHICLES);
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final long[] versions;
+    // Los personajes son los nodos 0 a people - 1; las películas, naves y vehículos, los siguientes
+    private final int people;
+    private final int[] offsets;
+    private final int[] targets;
+    private final SwapiResource[] resources;
+    private final String[] ids;
+    private final String[] names;
+    private final Map<String, Integer> personNodes;
+
+    private CharacterGraph(long[] versions, int people, int[] offsets, int[] targets, SwapiResource[] resources,
+                           String[] ids, String[] names, Map<String, Integer> personNodes) {
+        this.versions = versions;
+        this.people = people;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.resources = resources;
+        this.ids = ids;
+        this.names = names;
+        this.personNodes = personNodes;
+    }
+
+    /**
+     * Construye el grafo a partir de las tablas de entidades.
+     *
+     * @param tables las tablas de entidades de cada recurso.
+     * @return el grafo.
+     */
+    public static CharacterGraph build(Map<SwapiResource, EntityTable<?>> tables) {
+        long[] versions = EntityTable.versions(tables);
+        Builder builder = new Builder();
+
+        EntityTable<?> peopleTable = tables.get(SwapiResource.PEOPLE);
+        peopleTable.read(() -> {
+            for (int row = 0; row < peopleTable.size(); row++) {
+                builder.addPerson(peopleTable.idAt(row), name(peopleTable, "name", row));
+            }
+            for (SwapiResource item : ITEMS) {
+                for (String relation : peopleTable.relationsTo(item)) {
+                    RelationColumn<?> column = (RelationColumn<?>) peopleTable.column(relation);
+                    for (int row = 0; row < peopleTable.size(); row++) {
+                        builder.addEdges(row, item, column.ids(row));
+                    }
+                }
+            }
+            return null;
+        });
+
+        for (SwapiResource item : ITEMS) {
+            EntityTable<?> itemTable = tables.get(item);
+            itemTable.read(() -> {
+                for (String relation : itemTable.relationsTo(SwapiResource.PEOPLE)) {
+                    RelationColumn<?> column = (RelationColumn<?>) itemTable.column(relation);
+                    for (int row = 0; row < itemTable.size(); row++) {
+                        int itemId = ReferenceCodec.parseId(itemTable.idAt(row), 0);
+                        int[] personIds = column.ids(row);
+                        if (itemId >= 0 && personIds != null) {
+                            for (int personId : personIds) {
+                                builder.addEdge(Integer.toString(personId), item, itemId);
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        return builder.build(versions, tables);
+    }
+
+    private static String name(EntityTable<?> table, String column, int row) {
+        return table.column(column) instanceof TextColumn<?> text ? text.value(row) : null;
+    }
+
+    /**
+     * Devuelve las versiones de las tablas de entidades a partir de las que se construyó el grafo.
+     *
+     * @return las versiones, en el orden de {@link SwapiResource}.
+     */
+    public long[] getVersions() {
+        return versions.clone();
+    }
+
+    /**
+     * Indica si un personaje es parte del grafo (si está almacenado localmente).
+     *
+     * @param id el ID del personaje.
+     * @return {@code true} si el personaje es parte del grafo.
+     */
+    public boolean containsPerson(String id) {
+        return personNodes.containsKey(id);
+    }
+
+    /**
+     * Busca la conexión más corta entre dos personajes, con una búsqueda en anchura bidireccional: se expande
+     * un nivel completo del lado con la frontera más chica hasta que ambas búsquedas se encuentran.
+     *
+     * @param fromId el ID del personaje de origen.
+     * @param toId   el ID del personaje de destino.
+     * @return la conexión, o {@code null} si los personajes no están conectados.
+     * @throws IllegalArgumentException si alguno de los personajes no es parte del grafo.
+     */
+    public GraphPath shortestPath(String fromId, String toId) {
+        int from = personNode(fromId);
+        int to = personNode(toId);
+        Scratch scratch = SCRATCH.get().prepare(resources.length);
+        int stamp = scratch.stamp;
+        int[] forwardSeen = scratch.forwardSeen, backwardSeen = scratch.backwardSeen;
+        int[] forwardDistance = scratch.forwardDistance, backwardDistance = scratch.backwardDistance;
+        int[] forwardParent = scratch.forwardParent, backwardParent = scratch.backwardParent;
+        int[] forwardQueue = scratch.forwardQueue, backwardQueue = scratch.backwardQueue;
+
+        forwardSeen[from] = stamp;
+        forwardDistance[from] = 0;
+        forwardParent[from] = -1;
+        forwardQueue[0] = from;
+        backwardSeen[to] = stamp;
+        backwardDistance[to] = 0;
+        backwardParent[to] = -1;
+        backwardQueue[0] = to;
+        int forwardHead = 0, forwardTail = 1, backwardHead = 0, backwardTail = 1;
+
+        int meeting = from == to ? from : -1;
+        int best = Integer.MAX_VALUE;
+        while (meeting < 0 && forwardHead < forwardTail && backwardHead < backwardTail) {
+            boolean forward = forwardTail - forwardHead <= backwardTail - backwardHead;
+            int[] queue = forward ? forwardQueue : backwardQueue;
+            int[] seen = forward ? forwardSeen : backwardSeen;
+            int[] distance = forward ? forwardDistance : backwardDistance;
+            int[] parent = forward ? forwardParent : backwardParent;
+            int[] otherSeen = forward ? backwardSeen : forwardSeen;
+            int[] otherDistance = forward ? backwardDistance : forwardDistance;
+            int head = forward ? forwardHead : backwardHead;
+            int tail = forward ? forwardTail : backwardTail;
+
+            // Se expande el nivel completo, ya que el primer encuentro no es necesariamente el más corto
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int node = queue[head++];
+                for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                    int next = targets[edge];
+                    if (seen[next] != stamp) {
+                        seen[next] = stamp;
+                        distance[next] = distance[node] + 1;
+                        parent[next] = node;
+                        queue[tail++] = next;
+                    }
+                    if (otherSeen[next] == stamp && distance[next] + otherDistance[next] < best) {
+                        best = distance[next] + otherDistance[next];
+                        meeting = next;
+                    }
+                }
+            }
+            if (forward) {
+                forwardHead = head;
+                forwardTail = tail;
+            } else {
+                backwardHead = head;
+                backwardTail = tail;
+            }
+        }
+        if (meeting < 0) {
+            return null;
+        }
+
+        List<GraphNode> path = new ArrayList<>();
+        for (int node = meeting; node >= 0; node = forwardParent[node]) {
+            path.add(node(node));
+        }
+        Collections.reverse(path);
+        for (int node = backwardParent[meeting]; node >= 0; node = backwardParent[node]) {
+            path.add(node(node));
+        }
+        return new GraphPath(path.size() / 2, path);
+    }
+
+    /**
+     * Devuelve los personajes conectados con un personaje hasta una cantidad de grados de separación, con una
+     * búsqueda en anchura.
+     *
+     * @param id      el ID del personaje.
+     * @param degrees la cantidad máxima de grados de separación.
+     * @return los personajes conectados, ordenados por grados de separación.
+     * @throws IllegalArgumentException si el personaje no es parte del grafo.
+     */
+    public List<GraphNeighbor> neighbors(String id, int degrees) {
+        int from = personNode(id);
+        Scratch scratch = SCRATCH.get().prepare(resources.length);
+        int stamp = scratch.stamp;
+        int[] seen = scratch.forwardSeen, distance = scratch.forwardDistance, queue = scratch.forwardQueue;
+
+        seen[from] = stamp;
+        distance[from] = 0;
+        queue[0] = from;
+        int head = 0, tail = 1;
+        // Cada grado de separación corresponde a dos aristas: personaje - película (o nave) - personaje
+        int maxDistance = 2 * degrees;
+        while (head < tail) {
+            int node = queue[head++];
+            if (distance[node] == maxDistance) {
+                continue;
+            }
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                int next = targets[edge];
+                if (seen[next] != stamp) {
+                    seen[next] = stamp;
+                    distance[next] = distance[node] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        List<GraphNeighbor> neighbors = new ArrayList<>();
+        for (int i = 1; i < tail; i++) {
+            int node = queue[i];
+            if (node < people) {
+                neighbors.add(new GraphNeighbor(ids[node], names[node], distance[node] / 2));
+            }
+        }
+        return neighbors;
+    }
+
+    private int personNode(String id) {
+        Integer node = personNodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException("Personaje no disponible localmente: " + id);
+        }
+        return node;
+    }
+
+    private GraphNode node(int node) {
+        return new GraphNode(resources[node].getPath(), ids[node], names[node]);
+    }
+
+    /**
+     * Arreglos auxiliares de las búsquedas de un hilo. Un nodo fue visitado en la búsqueda actual si su
+     * sello coincide con el de la búsqueda.
+     */
+    private static final class Scratch {
+
+        private int stamp;
+        private int[] forwardSeen = new int[0], backwardSeen = new int[0];
+        private int[] forwardDistance = new int[0], backwardDistance = new int[0];
+        private int[] forwardParent = new int[0], backwardParent = new int[0];
+        private int[] forwardQueue = new int[0], backwardQueue = new int[0];
+
+        private Scratch prepare(int nodes) {
+            if (forwardSeen.length < nodes) {
+                int capacity = Math.max(nodes, forwardSeen.length * 2);
+                forwardSeen = new int[capacity];
+                backwardSeen = new int[capacity];
+                forwardDistance = new int[capacity];
+                backwardDistance = new int[capacity];
+                forwardParent = new int[capacity];
+                backwardParent = new int[capacity];
+                forwardQueue = new int[capacity];
+                backwardQueue = new int[capacity];
+                stamp = 0;
+            }
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(forwardSeen, 0);
+                Arrays.fill(backwardSeen, 0);
+                stamp = 0;
+            }
+            stamp++;
+            return this;
+        }
+    }
+
+    /**
+     * Acumula los nodos y las aristas del grafo mientras se recorren las tablas.
+     */
+    private static final class Builder {
+
+        private final List<String> personIds = new ArrayList<>();
+        private final List<String> personNames = new ArrayList<>();
+        private final Map<String, Integer> personNodes = new HashMap<>();
+        // Nodo de cada película, nave o vehículo, por recurso e ID (la clave es ordinal << 32 | ID)
+        private final Map<Long, Integer> itemNodes = new HashMap<>();
+        private final List<Long> items = new ArrayList<>();
+        // Aristas en ambos sentidos, como nodo << 32 | nodo; los ítems se numeran desde 0 hasta conocer
+        // la cantidad de personajes, por lo que se marcan con ITEM
+        private long[] edges = new long[64];
+        private int edgeCount;
+        private static final long ITEM = 1L << 31;
+
+        void addPerson(String id, String name) {
+            personNodes.put(id, personIds.size());
+            personIds.add(id);
+            personNames.add(name);
+        }
+
+        void addEdges(int person, SwapiResource item, int[] itemIds) {
+            if (itemIds != null) {
+                for (int itemId : itemIds) {
+                    if (itemId >= 0) {
+                        addEdge(person, item(item, itemId));
+                    }
+                }
+            }
+        }
+
+        void addEdge(String personId, SwapiResource item, int itemId) {
+            Integer person = personNodes.get(personId);
+            if (person != null) {
+                addEdge(person, item(item, itemId));
+            }
+        }
+
+        private void addEdge(int person, int item) {
+            if (edgeCount + 2 > edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[edgeCount++] = ((long) person << 32) | (ITEM | item);
+            edges[edgeCount++] = ((ITEM | item) << 32) | person;
+        }
+
+        private int item(SwapiResource resource, int id) {
+            return itemNodes.computeIfAbsent(((long) resource.ordinal() << 32) | id, key -> {
+                items.add(key);
+                return items.size() - 1;
+            });
+        }
+
+        CharacterGraph build(long[] versions, Map<SwapiResource, EntityTable<?>> tables) {
+            int people = personIds.size();
+            int nodes = people + items.size();
+            // Se renumeran los ítems a continuación de los personajes, se ordenan y se eliminan las repetidas
+            long[] sorted = new long[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                sorted[i] = ((long) renumber(edges[i] >>> 32, people) << 32) | renumber(edges[i] & 0xFFFFFFFFL, people);
+            }
+            Arrays.sort(sorted);
+
+            int[] offsets = new int[nodes + 1];
+            int[] targets = new int[sorted.length];
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i > 0 && sorted[i] == sorted[i - 1]) {
+                    continue;
+                }
+                offsets[(int) (sorted[i] >>> 32) + 1]++;
+                targets[count++] = (int) sorted[i];
+            }
+            for (int node = 0; node < nodes; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+
+            SwapiResource[] resources = new SwapiResource[nodes];
+            String[] ids = new String[nodes];
+            String[] names = new String[nodes];
+            for (int node = 0; node < people; node++) {
+                resources[node] = SwapiResource.PEOPLE;
+                ids[node] = personIds.get(node);
+                names[node] = personNames.get(node);
+            }
+            for (int item = 0; item < items.size(); item++) {
+                SwapiResource resource = SwapiResource.values()[(int) (items.get(item) >>> 32)];
+                String id = Integer.toString((int) (long) items.get(item));
+                resources[people + item] = resource;
+                ids[people + item] = id;
+                names[people + item] = itemName(tables.get(resource), resource, id);
+            }
+            return new CharacterGraph(versions, people, offsets, Arrays.copyOf(targets, count), resources, ids,
+                    names, Map.copyOf(personNodes));
+        }
+
+        private static int renumber(long node, int people) {
+            return (node & ITEM) != 0 ? people + (int) (node & ~ITEM) : (int) node;
+        }
+
+        private static String itemName(EntityTable<?> table, SwapiResource resource, String id) {
+            return table.read(() -> {
+                int row = table.rowOf(id);
+                return row >= 0 ? name(table, resource == SwapiResource.FILMS ? "title" : "name", row) : null;
+            });
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Columna de una {@link EntityTable}: almacena un atributo de todas las entidades de un recurso en un
+ * arreglo indexado por fila, con la representación más compacta posible para su tipo.
+ * <p>
+ * Las columnas no son seguras para acceso concurrente por sí mismas; la tabla sincroniza las escrituras
+ * y las lecturas.
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public abstract class Column<T> {
+
+    private final String name;
+
+    protected Column(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Devuelve el nombre del atributo (el mismo que en el DTO).
+     *
+     * @return el nombre del atributo.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Asegura que la columna pueda almacenar al menos la cantidad de filas indicada.
+     *
+     * @param capacity la cantidad de filas.
+     */
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * Codifica el atributo de un DTO en una fila.
+     *
+     * @param row    la fila.
+     * @param entity el DTO de la entidad.
+     */
+    abstract void write(int row, T entity);
+
+    /**
+     * Decodifica el atributo de una fila y lo asigna al DTO.
+     *
+     * @param row    la fila.
+     * @param entity el DTO a completar.
+     */
+    abstract void read(int row, T entity);
+
+    /**
+     * Estima el tamaño que ocupa la columna en el heap, con los diccionarios e índices que mantiene.
+     *
+     * @return el tamaño estimado en bytes.
+     */
+    abstract long estimatedBytes();
+}
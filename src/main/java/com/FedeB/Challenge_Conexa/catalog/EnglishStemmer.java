@@ -0,0 +1,328 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stemmer de Porter para palabras en inglés: reduce las palabras a su raíz quitando sufijos (por ejemplo,
+ * {@code rebels} a {@code rebel}, o {@code destroy}, {@code destroyed} y {@code destroying} a
+ * {@code destroi}), de modo que las búsquedas encuentren las distintas formas de una palabra.
+ * <p>
+ * Sigue el algoritmo original de M. F. Porter (1980): las palabras deben estar en minúsculas y las raíces
+ * no siempre son palabras, pero una misma palabra siempre se reduce a la misma raíz.
+ */
+final class EnglishStemmer {
+
+    // Raíces de las palabras ya reducidas; el vocabulario de SWAPI es chico, pero la caché se limita igual
+    private static final int MAX_CACHED = 50_000;
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private final char[] b;
+    // Última posición de la palabra
+    private int k;
+    // Última posición de la raíz, sin el sufijo encontrado por ends()
+    private int j;
+
+    private EnglishStemmer(String word) {
+        // Los reemplazos del paso 1b pueden alargar la palabra en un carácter
+        b = new char[word.length() + 1];
+        word.getChars(0, word.length(), b, 0);
+        k = word.length() - 1;
+    }
+
+    /**
+     * Devuelve la raíz de una palabra.
+     *
+     * @param word la palabra, en minúsculas.
+     * @return la raíz de la palabra (la palabra misma si tiene dos letras o menos).
+     */
+    static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        String cached = CACHE.get(word);
+        if (cached != null) {
+            return cached;
+        }
+        String stem = porter(word);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.put(word, stem);
+        }
+        return stem;
+    }
+
+    private static String porter(String word) {
+        EnglishStemmer stemmer = new EnglishStemmer(word);
+        stemmer.step1ab();
+        if (stemmer.k > 0) {
+            stemmer.step1c();
+            stemmer.step2();
+            stemmer.step3();
+            stemmer.step4();
+            stemmer.step5();
+        }
+        return new String(stemmer.b, 0, stemmer.k + 1);
+    }
+
+    /**
+     * Indica si la letra de una posición es una consonante (la {@code y} lo es al comienzo o después de
+     * una vocal).
+     */
+    private boolean cons(int i) {
+        return switch (b[i]) {
+            case 'a', 'e', 'i', 'o', 'u' -> false;
+            case 'y' -> i == 0 || !cons(i - 1);
+            default -> true;
+        };
+    }
+
+    /**
+     * Devuelve la medida de la raíz: la cantidad de secuencias vocal-consonante entre sus posiciones 0 y j.
+     */
+    private int m() {
+        int n = 0;
+        int i = 0;
+        while (i <= j && cons(i)) {
+            i++;
+        }
+        while (i <= j) {
+            while (i <= j && !cons(i)) {
+                i++;
+            }
+            if (i > j) {
+                return n;
+            }
+            n++;
+            while (i <= j && cons(i)) {
+                i++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Indica si la raíz contiene una vocal.
+     */
+    private boolean vowelInStem() {
+        for (int i = 0; i <= j; i++) {
+            if (!cons(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica si las posiciones i - 1 e i tienen la misma consonante.
+     */
+    private boolean doubleConsonant(int i) {
+        return i >= 1 && b[i] == b[i - 1] && cons(i);
+    }
+
+    /**
+     * Indica si las posiciones i - 2 a i forman consonante-vocal-consonante, y la última no es w, x ni y
+     * (por ejemplo en {@code hop}, pero no en {@code snow}).
+     */
+    private boolean cvc(int i) {
+        if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+            return false;
+        }
+        char ch = b[i];
+        return ch != 'w' && ch != 'x' && ch != 'y';
+    }
+
+    /**
+     * Indica si la palabra termina con un sufijo; si es así, deja en j la última posición de la raíz.
+     */
+    private boolean ends(String suffix) {
+        int length = suffix.length();
+        int offset = k - length + 1;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (b[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        j = k - length;
+        return true;
+    }
+
+    /**
+     * Reemplaza el sufijo encontrado por ends() (las posiciones j + 1 a k).
+     */
+    private void setTo(String replacement) {
+        int length = replacement.length();
+        replacement.getChars(0, length, b, j + 1);
+        k = j + length;
+    }
+
+    /**
+     * Reemplaza el sufijo encontrado por ends() si la raíz tiene medida positiva.
+     */
+    private void replace(String replacement) {
+        if (m() > 0) {
+            setTo(replacement);
+        }
+    }
+
+    /**
+     * Quita los plurales y las terminaciones -ed e -ing (por ejemplo {@code caresses} a {@code caress},
+     * {@code ponies} a {@code poni}, {@code hopping} a {@code hop} o {@code agreed} a {@code agree}).
+     */
+    private void step1ab() {
+        if (b[k] == 's') {
+            if (ends("sses")) {
+                k -= 2;
+            } else if (ends("ies")) {
+                setTo("i");
+            } else if (b[k - 1] != 's') {
+                k--;
+            }
+        }
+        if (ends("eed")) {
+            if (m() > 0) {
+                k--;
+            }
+        } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+            k = j;
+            if (ends("at")) {
+                setTo("ate");
+            } else if (ends("bl")) {
+                setTo("ble");
+            } else if (ends("iz")) {
+                setTo("ize");
+            } else if (doubleConsonant(k)) {
+                char ch = b[k];
+                if (ch != 'l' && ch != 's' && ch != 'z') {
+                    k--;
+                }
+            } else if (m() == 1 && cvc(k)) {
+                setTo("e");
+            }
+        }
+    }
+
+    /**
+     * Reemplaza la {@code y} final por {@code i} si la raíz tiene una vocal.
+     */
+    private void step1c() {
+        if (ends("y") && vowelInStem()) {
+            b[k] = 'i';
+        }
+    }
+
+    /**
+     * Reduce los sufijos dobles a uno simple (por ejemplo {@code -ational} a {@code -ate} o
+     * {@code -iveness} a {@code -ive}).
+     */
+    private void step2() {
+        switch (b[k - 1]) {
+            case 'a' -> {
+                if (ends("ational")) replace("ate");
+                else if (ends("tional")) replace("tion");
+            }
+            case 'c' -> {
+                if (ends("enci")) replace("ence");
+                else if (ends("anci")) replace("ance");
+            }
+            case 'e' -> {
+                if (ends("izer")) replace("ize");
+            }
+            case 'l' -> {
+                if (ends("bli")) replace("ble");
+                else if (ends("alli")) replace("al");
+                else if (ends("entli")) replace("ent");
+                else if (ends("eli")) replace("e");
+                else if (ends("ousli")) replace("ous");
+            }
+            case 'o' -> {
+                if (ends("ization")) replace("ize");
+                else if (ends("ation")) replace("ate");
+                else if (ends("ator")) replace("ate");
+            }
+            case 's' -> {
+                if (ends("alism")) replace("al");
+                else if (ends("iveness")) replace("ive");
+                else if (ends("fulness")) replace("ful");
+                else if (ends("ousness")) replace("ous");
+            }
+            case 't' -> {
+                if (ends("aliti")) replace("al");
+                else if (ends("iviti")) replace("ive");
+                else if (ends("biliti")) replace("ble");
+            }
+            case 'g' -> {
+                if (ends("logi")) replace("log");
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Quita o reduce las terminaciones {@code -ic-}, {@code -full}, {@code -ness}, etc.
+     */
+    private void step3() {
+        switch (b[k]) {
+            case 'e' -> {
+                if (ends("icate")) replace("ic");
+                else if (ends("ative")) replace("");
+                else if (ends("alize")) replace("al");
+            }
+            case 'i' -> {
+                if (ends("iciti")) replace("ic");
+            }
+            case 'l' -> {
+                if (ends("ical")) replace("ic");
+                else if (ends("ful")) replace("");
+            }
+            case 's' -> {
+                if (ends("ness")) replace("");
+            }
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Quita los sufijos {@code -ant}, {@code -ence}, {@code -ion}, etc. si la raíz tiene medida mayor a 1.
+     */
+    private void step4() {
+        boolean found = switch (b[k - 1]) {
+            case 'a' -> ends("al");
+            case 'c' -> ends("ance") || ends("ence");
+            case 'e' -> ends("er");
+            case 'i' -> ends("ic");
+            case 'l' -> ends("able") || ends("ible");
+            case 'n' -> ends("ant") || ends("ement") || ends("ment") || ends("ent");
+            case 'o' -> ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't') || ends("ou");
+            case 's' -> ends("ism");
+            case 't' -> ends("ate") || ends("iti");
+            case 'u' -> ends("ous");
+            case 'v' -> ends("ive");
+            case 'z' -> ends("ize");
+            default -> false;
+        };
+        if (found && m() > 1) {
+            k = j;
+        }
+    }
+
+    /**
+     * Quita la {@code e} final y reduce la {@code ll} final si la raíz tiene medida mayor a 1.
+     */
+    private void step5() {
+        j = k;
+        if (b[k] == 'e') {
+            int measure = m();
+            if (measure > 1 || measure == 1 && !cvc(k - 1)) {
+                k--;
+            }
+        }
+        if (b[k] == 'l' && doubleConsonant(k) && m() > 1) {
+            k--;
+        }
+    }
+}
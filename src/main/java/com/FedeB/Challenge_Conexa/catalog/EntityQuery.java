@@ -0,0 +1,273 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Consulta sobre los atributos de una {@link EntityTable}: filtros por rango sobre los atributos numéricos,
+ * filtros por valor sobre los categóricos, una expresión de filtro ({@link FilterExpression}), orden y
+ * paginación.
+ * <p>
+ * Por ejemplo, las naves con {@code hyperdrive_rating < 1.0} ordenadas por {@code cost_in_credits}:
+ * <pre>
+ * EntityQuery.builder()
+ *         .lessThan("hyperdrive_rating", 1.0)
+ *         .sortBy("cost_in_credits", false)
+ *         .build();
+ * </pre>
+ * Los filtros sobre distintos atributos se combinan con "y"; los valores de un mismo atributo categórico,
+ * con "o". Las entidades con un valor desconocido en un atributo filtrado no cumplen el filtro. Al ordenar, las
+ * entidades con valor desconocido se ubican al final.
+ */
+public final class EntityQuery {
+
+    private final List<Range> ranges;
+    private final List<Category> categories;
+    private final String filter;
+    private final String sortField;
+    private final boolean descending;
+    private final int offset;
+    private final int limit;
+
+    private EntityQuery(Builder builder) {
+        this.ranges = List.copyOf(builder.ranges.values());
+        this.categories = builder.categories.entrySet().stream()
+                .map(entry -> new Category(entry.getKey(), Set.copyOf(entry.getValue())))
+                .toList();
+        this.filter = builder.filter;
+        this.sortField = builder.sortField;
+        this.descending = builder.descending;
+        this.offset = builder.offset;
+        this.limit = builder.limit;
+    }
+
+    /**
+     * Crea un builder de consultas, sin filtros ni orden y sin límite de resultados.
+     *
+     * @return el builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Devuelve los filtros por rango, uno por atributo.
+     *
+     * @return los filtros.
+     */
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Devuelve los filtros por valor de los atributos categóricos, uno por atributo.
+     *
+     * @return los filtros.
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Devuelve la expresión de filtro, que se combina con "y" con los demás filtros.
+     *
+     * @return el texto de la expresión, o {@code null} si la consulta no tiene una.
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Devuelve el atributo por el que se ordenan los resultados.
+     *
+     * @return el atributo, o {@code null} si no se indicó un orden.
+     */
+    public String getSortField() {
+        return sortField;
+    }
+
+    /**
+     * Indica si el orden es descendente.
+     *
+     * @return {@code true} si el orden es descendente.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Devuelve la cantidad de resultados que se omiten.
+     *
+     * @return la cantidad de resultados omitidos.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Devuelve la cantidad máxima de resultados.
+     *
+     * @return la cantidad máxima de resultados.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Rango de valores de un atributo. Los extremos infinitos indican un rango abierto.
+     *
+     * @param field        el atributo.
+     * @param min          el valor mínimo.
+     * @param minInclusive si el mínimo se incluye.
+     * @param max          el valor máximo.
+     * @param maxInclusive si el máximo se incluye.
+     */
+    public record Range(String field, double min, boolean minInclusive, double max, boolean maxInclusive) {
+
+        /**
+         * Indica si un valor está dentro del rango. Los valores desconocidos nunca lo están.
+         *
+         * @param value el valor.
+         * @return {@code true} si el valor está dentro del rango.
+         */
+        public boolean contains(double value) {
+            return (minInclusive ? value >= min : value > min) && (maxInclusive ? value <= max : value < max);
+        }
+    }
+
+    /**
+     * Valores aceptados de un atributo categórico.
+     *
+     * @param field  el atributo.
+     * @param values los valores aceptados.
+     */
+    public record Category(String field, Set<String> values) {
+    }
+
+    /**
+     * Builder de {@link EntityQuery}. Varios filtros sobre un mismo atributo se combinan en un único rango.
+     */
+    public static final class Builder {
+
+        private final Map<String, Range> ranges = new LinkedHashMap<>();
+        private final Map<String, Set<String>> categories = new LinkedHashMap<>();
+        private String filter;
+        private String sortField;
+        private boolean descending;
+        private int offset;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        /**
+         * Agrega el filtro {@code field > value}.
+         */
+        public Builder greaterThan(String field, double value) {
+            return min(field, value, false);
+        }
+
+        /**
+         * Agrega el filtro {@code field >= value}.
+         */
+        public Builder atLeast(String field, double value) {
+            return min(field, value, true);
+        }
+
+        /**
+         * Agrega el filtro {@code field < value}.
+         */
+        public Builder lessThan(String field, double value) {
+            return max(field, value, false);
+        }
+
+        /**
+         * Agrega el filtro {@code field <= value}.
+         */
+        public Builder atMost(String field, double value) {
+            return max(field, value, true);
+        }
+
+        /**
+         * Agrega el filtro {@code field == value} sobre un atributo categórico. Si el atributo ya tiene
+         * un filtro, se acepta cualquiera de los valores indicados.
+         */
+        public Builder equalTo(String field, String value) {
+            categories.computeIfAbsent(field, name -> new LinkedHashSet<>()).add(value);
+            return this;
+        }
+
+        /**
+         * Indica una expresión de filtro, por ejemplo {@code gender == "female" && height > 160}.
+         */
+        public Builder where(String filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Indica el atributo por el que se ordenan los resultados.
+         */
+        public Builder sortBy(String field, boolean descending) {
+            this.sortField = field;
+            this.descending = descending;
+            return this;
+        }
+
+        /**
+         * Indica la cantidad de resultados que se omiten.
+         */
+        public Builder offset(int offset) {
+            if (offset < 0) {
+                throw new IllegalArgumentException("El offset no puede ser negativo");
+            }
+            this.offset = offset;
+            return this;
+        }
+
+        /**
+         * Indica la cantidad máxima de resultados.
+         */
+        public Builder limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("El límite no puede ser negativo");
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Construye la consulta.
+         *
+         * @return la consulta.
+         */
+        public EntityQuery build() {
+            return new EntityQuery(this);
+        }
+
+        private Builder min(String field, double value, boolean inclusive) {
+            Range current = range(field);
+            // Se conserva el mínimo más restrictivo
+            if (value > current.min() || (value == current.min() && !inclusive)) {
+                ranges.put(field, new Range(field, value, inclusive, current.max(), current.maxInclusive()));
+            }
+            return this;
+        }
+
+        private Builder max(String field, double value, boolean inclusive) {
+            Range current = range(field);
+            if (value < current.max() || (value == current.max() && !inclusive)) {
+                ranges.put(field, new Range(field, current.min(), current.minInclusive(), value, inclusive));
+            }
+            return this;
+        }
+
+        private Range range(String field) {
+            return ranges.computeIfAbsent(field, name ->
+                    new Range(name, Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true));
+        }
+    }
+}
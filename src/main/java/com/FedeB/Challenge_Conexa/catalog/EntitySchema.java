@@ -0,0 +1,148 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Definición de las columnas con las que se almacena un DTO en una {@link EntityTable}.
+ * <p>
+ * Cada atributo del DTO se asocia a un tipo de columna según su contenido: texto libre, categórico,
+ * numérico, entero, referencia o relación. La definición debe cubrir todos los atributos del DTO,
+ * ya que el DTO se reconstruye únicamente a partir de las columnas.
+ *
+ * @param <T> el tipo de DTO.
+ */
+public final class EntitySchema<T> {
+
+    private final Class<T> type;
+    private final Supplier<T> factory;
+    private final List<Supplier<Column<T>>> columns;
+
+    private EntitySchema(Builder<T> builder) {
+        this.type = builder.type;
+        this.factory = builder.factory;
+        this.columns = List.copyOf(builder.columns);
+    }
+
+    /**
+     * Crea un builder para definir las columnas de un DTO.
+     *
+     * @param type    la clase del DTO.
+     * @param factory el constructor del DTO, utilizado para reconstruirlo.
+     * @param <T>     el tipo de DTO.
+     * @return el builder.
+     */
+    public static <T> Builder<T> builder(Class<T> type, Supplier<T> factory) {
+        return new Builder<>(type, factory);
+    }
+
+    /**
+     * Devuelve la clase del DTO.
+     *
+     * @return la clase del DTO.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Crea una nueva instancia vacía del DTO.
+     *
+     * @return el DTO.
+     */
+    T newInstance() {
+        return factory.get();
+    }
+
+    /**
+     * Crea las columnas (vacías) de una nueva tabla.
+     *
+     * @return las columnas, en el orden de definición.
+     */
+    List<Column<T>> newColumns() {
+        List<Column<T>> created = new ArrayList<>(columns.size());
+        for (Supplier<Column<T>> column : columns) {
+            created.add(column.get());
+        }
+        return created;
+    }
+
+    /**
+     * Builder de {@link EntitySchema}.
+     *
+     * @param <T> el tipo de DTO.
+     */
+    public static final class Builder<T> {
+
+        private final Class<T> type;
+        private final Supplier<T> factory;
+        private final List<Supplier<Column<T>>> columns = new ArrayList<>();
+
+        private Builder(Class<T> type, Supplier<T> factory) {
+            this.type = type;
+            this.factory = factory;
+        }
+
+        /**
+         * Agrega una columna de texto libre.
+         */
+        public Builder<T> text(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+            columns.add(() -> new TextColumn<>(name, getter, setter));
+            return this;
+        }
+
+        /**
+         * Agrega una columna categórica, codificada con un diccionario.
+         */
+        public Builder<T> category(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+            columns.add(() -> new CategoryColumn<>(name, getter, setter));
+            return this;
+        }
+
+        /**
+         * Agrega una columna numérica para un atributo que SWAPI envía como texto.
+         */
+        public Builder<T> number(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+            columns.add(() -> new NumberColumn<>(name, getter, setter));
+            return this;
+        }
+
+        /**
+         * Agrega una columna para un atributo entero.
+         */
+        public Builder<T> integer(String name, Function<T, Integer> getter, BiConsumer<T, Integer> setter) {
+            columns.add(() -> new IntegerColumn<>(name, getter, setter));
+            return this;
+        }
+
+        /**
+         * Agrega una columna para la URL de una entidad de otro recurso (o del mismo).
+         */
+        public Builder<T> reference(String name, SwapiResource target, Function<T, String> getter, BiConsumer<T, String> setter) {
+            columns.add(() -> new ReferenceColumn<>(name, target, getter, setter));
+            return this;
+        }
+
+        /**
+         * Agrega una columna para una lista de URLs de entidades de otro recurso.
+         */
+        public Builder<T> relations(String name, SwapiResource target, Function<T, List<String>> getter, BiConsumer<T, List<String>> setter) {
+            columns.add(() -> new RelationColumn<>(name, target, getter, setter));
+            return this;
+        }
+
+        /**
+         * Construye la definición.
+         *
+         * @return la definición de las columnas del DTO.
+         */
+        public EntitySchema<T> build() {
+            return new EntitySchema<>(this);
+        }
+    }
+}
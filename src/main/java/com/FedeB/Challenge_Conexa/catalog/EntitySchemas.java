@@ -0,0 +1,110 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+/**
+ * Definiciones de las columnas de los DTOs de cada recurso de SWAPI.
+ * <p>
+ * Los atributos numéricos (altura, masa, costo, tripulación, etc.) se almacenan como números, los
+ * categóricos (colores, géneros, clases, fabricantes) con diccionarios, y las URLs de otras entidades
+ * como IDs. Al agregar un atributo a un DTO debe agregarse también su columna.
+ */
+public final class EntitySchemas {
+
+    /**
+     * Columnas de los personajes.
+     */
+    public static final EntitySchema<PeopleDetailsDto> PEOPLE = EntitySchema.builder(PeopleDetailsDto.class, PeopleDetailsDto::new)
+            .text("created", PeopleDetailsDto::getCreated, PeopleDetailsDto::setCreated)
+            .text("edited", PeopleDetailsDto::getEdited, PeopleDetailsDto::setEdited)
+            .text("name", PeopleDetailsDto::getName, PeopleDetailsDto::setName)
+            .category("gender", PeopleDetailsDto::getGender, PeopleDetailsDto::setGender)
+            .category("skin_color", PeopleDetailsDto::getSkin_color, PeopleDetailsDto::setSkin_color)
+            .category("hair_color", PeopleDetailsDto::getHair_color, PeopleDetailsDto::setHair_color)
+            .number("height", PeopleDetailsDto::getHeight, PeopleDetailsDto::setHeight)
+            .category("eye_color", PeopleDetailsDto::getEye_color, PeopleDetailsDto::setEye_color)
+            .number("mass", PeopleDetailsDto::getMass, PeopleDetailsDto::setMass)
+            .text("birth_year", PeopleDetailsDto::getBirth_year, PeopleDetailsDto::setBirth_year)
+            .relations("vehicles", SwapiResource.VEHICLES, PeopleDetailsDto::getVehicles, PeopleDetailsDto::setVehicles)
+            .relations("starships", SwapiResource.STARSHIPS, PeopleDetailsDto::getStarships, PeopleDetailsDto::setStarships)
+            .relations("films", SwapiResource.FILMS, PeopleDetailsDto::getFilms, PeopleDetailsDto::setFilms)
+            .reference("url", SwapiResource.PEOPLE, PeopleDetailsDto::getUrl, PeopleDetailsDto::setUrl)
+            .build();
+
+    /**
+     * Columnas de las películas.
+     */
+    public static final EntitySchema<FilmDetailsDto> FILMS = EntitySchema.builder(FilmDetailsDto.class, FilmDetailsDto::new)
+            .text("title", FilmDetailsDto::getTitle, FilmDetailsDto::setTitle)
+            .integer("episode_id", FilmDetailsDto::getEpisode_id, FilmDetailsDto::setEpisode_id)
+            .text("opening_crawl", FilmDetailsDto::getOpening_crawl, FilmDetailsDto::setOpening_crawl)
+            .category("director", FilmDetailsDto::getDirector, FilmDetailsDto::setDirector)
+            .category("producer", FilmDetailsDto::getProducer, FilmDetailsDto::setProducer)
+            .text("release_date", FilmDetailsDto::getRelease_date, FilmDetailsDto::setRelease_date)
+            .relations("characters", SwapiResource.PEOPLE, FilmDetailsDto::getCharacters, FilmDetailsDto::setCharacters)
+            .relations("starships", SwapiResource.STARSHIPS, FilmDetailsDto::getStarships, FilmDetailsDto::setStarships)
+            .relations("vehicles", SwapiResource.VEHICLES, FilmDetailsDto::getVehicles, FilmDetailsDto::setVehicles)
+            .build();
+
+    /**
+     * Columnas de las naves espaciales.
+     */
+    public static final EntitySchema<StarshipDetailsDto> STARSHIPS = EntitySchema.builder(StarshipDetailsDto.class, StarshipDetailsDto::new)
+            .text("name", StarshipDetailsDto::getName, StarshipDetailsDto::setName)
+            .text("model", StarshipDetailsDto::getModel, StarshipDetailsDto::setModel)
+            .category("starship_class", StarshipDetailsDto::getStarship_class, StarshipDetailsDto::setStarship_class)
+            .category("manufacturer", StarshipDetailsDto::getManufacturer, StarshipDetailsDto::setManufacturer)
+            .number("cost_in_credits", StarshipDetailsDto::getCost_in_credits, StarshipDetailsDto::setCost_in_credits)
+            .number("length", StarshipDetailsDto::getLength, StarshipDetailsDto::setLength)
+            .number("crew", StarshipDetailsDto::getCrew, StarshipDetailsDto::setCrew)
+            .number("passengers", StarshipDetailsDto::getPassengers, StarshipDetailsDto::setPassengers)
+            .number("max_atmosphering_speed", StarshipDetailsDto::getMax_atmosphering_speed, StarshipDetailsDto::setMax_atmosphering_speed)
+            .number("hyperdrive_rating", StarshipDetailsDto::getHyperdrive_rating, StarshipDetailsDto::setHyperdrive_rating)
+            .number("mglt", StarshipDetailsDto::getMglt, StarshipDetailsDto::setMglt)
+            .number("cargo_capacity", StarshipDetailsDto::getCargo_capacity, StarshipDetailsDto::setCargo_capacity)
+            .category("consumables", StarshipDetailsDto::getConsumables, StarshipDetailsDto::setConsumables)
+            .relations("films", SwapiResource.FILMS, StarshipDetailsDto::getFilms, StarshipDetailsDto::setFilms)
+            .relations("pilots", SwapiResource.PEOPLE, StarshipDetailsDto::getPilots, StarshipDetailsDto::setPilots)
+            .build();
+
+    /**
+     * Columnas de los vehículos.
+     */
+    public static final EntitySchema<VehicleDetailsDto> VEHICLES = EntitySchema.builder(VehicleDetailsDto.class, VehicleDetailsDto::new)
+            .text("name", VehicleDetailsDto::getName, VehicleDetailsDto::setName)
+            .text("model", VehicleDetailsDto::getModel, VehicleDetailsDto::setModel)
+            .category("vehicle_class", VehicleDetailsDto::getVehicle_class, VehicleDetailsDto::setVehicle_class)
+            .category("manufacturer", VehicleDetailsDto::getManufacturer, VehicleDetailsDto::setManufacturer)
+            .number("length", VehicleDetailsDto::getLength, VehicleDetailsDto::setLength)
+            .number("cost_in_credits", VehicleDetailsDto::getCost_in_credits, VehicleDetailsDto::setCost_in_credits)
+            .number("crew", VehicleDetailsDto::getCrew, VehicleDetailsDto::setCrew)
+            .number("passengers", VehicleDetailsDto::getPassengers, VehicleDetailsDto::setPassengers)
+            .number("max_atmosphering_speed", VehicleDetailsDto::getMax_atmosphering_speed, VehicleDetailsDto::setMax_atmosphering_speed)
+            .number("cargo_capacity", VehicleDetailsDto::getCargo_capacity, VehicleDetailsDto::setCargo_capacity)
+            .category("consumables", VehicleDetailsDto::getConsumables, VehicleDetailsDto::setConsumables)
+            .relations("films", SwapiResource.FILMS, VehicleDetailsDto::getFilms, VehicleDetailsDto::setFilms)
+            .relations("pilots", SwapiResource.PEOPLE, VehicleDetailsDto::getPilots, VehicleDetailsDto::setPilots)
+            .build();
+
+    private EntitySchemas() {
+    }
+
+    /**
+     * Devuelve la definición de las columnas del DTO de un recurso.
+     *
+     * @param resource el tipo de recurso.
+     * @return la definición de las columnas.
+     */
+    public static EntitySchema<?> forResource(SwapiResource resource) {
+        return switch (resource) {
+            case PEOPLE -> PEOPLE;
+            case FILMS -> FILMS;
+            case STARSHIPS -> STARSHIPS;
+            case VEHICLES -> VEHICLES;
+        };
+    }
+}
@@ -0,0 +1,798 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tabla columnar con las entidades de un recurso de SWAPI.
+ * <p>
+ * En lugar de mantener un DTO por entidad (con todos sus atributos como {@code String} y las relaciones como
+ * listas de URLs completas), cada atributo se guarda en una {@link Column} con una representación compacta:
+ * números en arreglos primitivos, atributos categóricos codificados con diccionarios y relaciones como
+ * arreglos de IDs. Cada entidad ocupa una fila, identificada por su ID de SWAPI. Como los IDs de SWAPI
+ * son números consecutivos, la fila de cada ID numérico se busca en un arreglo indexado por el ID.
+ * <p>
+ * Los DTOs se reconstruyen al leerlos ({@link #get}), solo cuando se necesitan para una respuesta. Las
+ * escrituras reemplazan la fila completa; una lectura nunca observa una fila a medio escribir.
+ * <p>
+ * Los atributos numéricos admiten consultas por rango y orden ({@link #query}), resueltas con índices
+ * ordenados ({@link SortedIndex}) que se construyen al consultar un atributo por primera vez y se
+ * reconstruyen cuando cambian las filas de la tabla. Las consultas también admiten expresiones de filtro
+ * ({@link FilterExpression}), que se compilan una única vez y se guardan por su texto. Las relaciones se
+ * consultan en ambos sentidos: las entidades relacionadas con una fila ({@link #relatedIds}) y, con el
+ * índice invertido de cada relación, las filas relacionadas con una entidad ({@link #referencingIds}).
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public class EntityTable<T> {
+
+    private final EntitySchema<T> schema;
+    // Se reemplazan al eliminar una fila (ver remove)
+    private volatile List<Column<T>> columns;
+    private volatile Map<String, Column<T>> columnsByName;
+    // Mayor ID que se indexa en un arreglo; los demás se buscan en un mapa
+    private static final int MAX_INDEXED_ID = 1 << 20;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Fila de cada ID numérico (el ID es el índice), o -1 si no hay fila para ese ID
+    private int[] rowsByNumericId = new int[0];
+    // ID numérico de cada fila, o -1 si el ID no se indexa en el arreglo
+    private int[] numericIds = new int[0];
+    // IDs no numéricos o demasiado grandes, poco frecuentes en SWAPI
+    private final Map<String, Integer> rowsByOtherId = new HashMap<>();
+    private final Map<Integer, String> otherIds = new HashMap<>();
+    private int size;
+    // Se incrementa con cada escritura, para detectar índices desactualizados
+    private long version;
+    private final Map<String, SortedIndex> indexes = new ConcurrentHashMap<>();
+    // Expresiones de filtro compiladas, por su texto
+    private static final int MAX_CACHED_EXPRESSIONS = 256;
+    private final Map<String, FilterExpression> expressions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que crea una tabla vacía con las columnas de un DTO.
+     *
+     * @param schema la definición de las columnas.
+     */
+    public EntityTable(EntitySchema<T> schema) {
+        this.schema = schema;
+        setColumns(schema.newColumns());
+    }
+
+    private void setColumns(List<Column<T>> newColumns) {
+        Map<String, Column<T>> byName = new HashMap<>();
+        for (Column<T> column : newColumns) {
+            byName.put(column.getName(), column);
+        }
+        this.columns = newColumns;
+        this.columnsByName = byName;
+    }
+
+    /**
+     * Almacena una entidad, reemplazando la fila anterior si ya existía.
+     *
+     * @param id     el ID de la entidad.
+     * @param entity el DTO de la entidad.
+     * @return el DTO anterior (reconstruido), o {@code null} si la entidad no existía.
+     */
+    public T put(String id, T entity) {
+        lock.writeLock().lock();
+        try {
+            int existing = rowOf(id);
+            T previous = existing >= 0 ? decode(existing) : null;
+            int row = existing >= 0 ? existing : append(id);
+            for (Column<T> column : columns) {
+                column.write(row, entity);
+            }
+            version++;
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina una entidad de la tabla (por ejemplo, si fue eliminada de SWAPI).
+     * <p>
+     * Las columnas no admiten quitar una fila, por lo que la tabla se reconstruye con las filas restantes, en
+     * el mismo orden. Tiene un costo lineal en la cantidad de entidades, aceptable porque las eliminaciones
+     * son excepcionales. Los índices y expresiones compiladas sobre las columnas anteriores se descartan.
+     *
+     * @param id el ID de la entidad.
+     * @return el DTO eliminado (reconstruido), o {@code null} si la entidad no estaba en la tabla.
+     */
+    public T remove(String id) {
+        lock.writeLock().lock();
+        try {
+            int removed = rowOf(id);
+            if (removed < 0) {
+                return null;
+            }
+            T previous = decode(removed);
+            List<String> ids = new ArrayList<>(size - 1);
+            List<T> entities = new ArrayList<>(size - 1);
+            for (int row = 0; row < size; row++) {
+                if (row != removed) {
+                    ids.add(numericIds[row] >= 0 ? Integer.toString(numericIds[row]) : otherIds.get(row));
+                    entities.add(decode(row));
+                }
+            }
+
+            setColumns(schema.newColumns());
+            rowsByNumericId = new int[0];
+            numericIds = new int[0];
+            rowsByOtherId.clear();
+            otherIds.clear();
+            size = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                int row = append(ids.get(i));
+                for (Column<T> column : columns) {
+                    column.write(row, entities.get(i));
+                }
+            }
+            indexes.clear();
+            expressions.clear();
+            version++;
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indica si una entidad está en la tabla, sin reconstruir su DTO.
+     *
+     * @param id el ID de la entidad.
+     * @return {@code true} si la tabla tiene una fila para el ID.
+     */
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return rowOf(id) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los IDs de las entidades de la tabla, sin reconstruir sus DTOs (por ejemplo, para recorrerlas
+     * de a una).
+     *
+     * @return los IDs, en el orden de las filas.
+     */
+    public List<String> ids() {
+        lock.readLock().lock();
+        try {
+            List<String> ids = new ArrayList<>(size);
+            for (int row = 0; row < size; row++) {
+                ids.add(numericIds[row] >= 0 ? Integer.toString(numericIds[row]) : otherIds.get(row));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el DTO de una entidad.
+     *
+     * @param id el ID de la entidad.
+     * @return el DTO, o {@code null} si la entidad no está en la tabla.
+     */
+    public T get(String id) {
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            return row >= 0 ? decode(row) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de entidades de la tabla.
+     *
+     * @return la cantidad de entidades.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estima el tamaño que ocupa la tabla en el heap: sus columnas (con sus diccionarios e índices invertidos)
+     * y la ubicación de las filas por ID. No incluye los índices ordenados, que se reconstruyen al consultar.
+     *
+     * @return el tamaño estimado en bytes.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = HeapSize.of(rowsByNumericId) + HeapSize.of(numericIds);
+            for (Map.Entry<String, Integer> entry : rowsByOtherId.entrySet()) {
+                bytes += 2 * (HeapSize.MAP_ENTRY + HeapSize.object(4)) + HeapSize.of(entry.getKey());
+            }
+            for (Column<T> column : columns) {
+                bytes += column.estimatedBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve la versión de la tabla, que se incrementa con cada escritura.
+     *
+     * @return la versión.
+     */
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve las versiones de las tablas de entidades de todos los recursos, para detectar estructuras
+     * construidas a partir de varias tablas que quedaron desactualizadas.
+     *
+     * @param tables las tablas de entidades de cada recurso.
+     * @return las versiones, en el orden de {@link SwapiResource}.
+     */
+    public static long[] versions(Map<SwapiResource, EntityTable<?>> tables) {
+        long[] versions = new long[SwapiResource.values().length];
+        for (SwapiResource resource : SwapiResource.values()) {
+            versions[resource.ordinal()] = tables.get(resource).version();
+        }
+        return versions;
+    }
+
+    /**
+     * Ejecuta una lectura de varias filas con el bloqueo de lectura tomado, de modo que observe una única
+     * versión de la tabla.
+     */
+    <R> R read(Supplier<R> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve la definición de las columnas de la tabla.
+     *
+     * @return la definición de las columnas.
+     */
+    public EntitySchema<T> getSchema() {
+        return schema;
+    }
+
+    /**
+     * Devuelve una columna de la tabla por su nombre.
+     *
+     * @param name el nombre del atributo.
+     * @return la columna, o {@code null} si el DTO no tiene el atributo.
+     */
+    public Column<T> column(String name) {
+        return columnsByName.get(name);
+    }
+
+    /**
+     * Devuelve el ID de la entidad almacenada en una fila.
+     *
+     * @param row la fila.
+     * @return el ID de la entidad.
+     */
+    public String idAt(int row) {
+        lock.readLock().lock();
+        try {
+            int numericId = numericIds[row];
+            return numericId >= 0 ? Integer.toString(numericId) : otherIds.get(row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los IDs de las entidades relacionadas con una entidad según una de sus relaciones (por
+     * ejemplo, las películas de un personaje).
+     *
+     * @param id       el ID de la entidad.
+     * @param relation el nombre de la relación.
+     * @return los IDs de las entidades relacionadas, o un arreglo vacío si la entidad no está en la tabla o
+     * no tiene la relación.
+     * @throws IllegalArgumentException si el atributo no existe o no es una relación.
+     */
+    public int[] relatedIds(String id, String relation) {
+        RelationColumn<T> column = relationColumn(relation);
+        lock.readLock().lock();
+        try {
+            int row = rowOf(id);
+            int[] ids = row >= 0 ? column.ids(row) : null;
+            return ids != null ? Arrays.stream(ids).filter(related -> related >= 0).distinct().toArray() : new int[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los IDs de las entidades cuya relación incluye a otra entidad (por ejemplo, los personajes
+     * que aparecen en una película), a partir del índice invertido de la relación.
+     *
+     * @param relation el nombre de la relación.
+     * @param id       el ID de la entidad relacionada.
+     * @return los IDs de las entidades, en el orden en que se almacenaron.
+     * @throws IllegalArgumentException si el atributo no existe o no es una relación.
+     */
+    public List<String> referencingIds(String relation, int id) {
+        RelationColumn<T> column = relationColumn(relation);
+        lock.readLock().lock();
+        try {
+            int[] rows = column.rowsContaining(id);
+            List<String> ids = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                int numericId = numericIds[row];
+                ids.add(numericId >= 0 ? Integer.toString(numericId) : otherIds.get(row));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve los nombres de las relaciones con entidades de un recurso (por ejemplo, {@code films} y
+     * {@code starships} en los personajes, para las películas).
+     *
+     * @param target el recurso relacionado.
+     * @return los nombres de las relaciones.
+     */
+    public List<String> relationsTo(SwapiResource target) {
+        return columns.stream()
+                .filter(column -> column instanceof RelationColumn<T> relation && relation.getTarget() == target)
+                .map(Column::getName)
+                .toList();
+    }
+
+    /**
+     * Devuelve los nombres de los atributos numéricos, que admiten filtros por rango y orden.
+     *
+     * @return los nombres de los atributos numéricos.
+     */
+    public List<String> numericColumns() {
+        return columns.stream()
+                .filter(NumericColumn.class::isInstance)
+                .map(Column::getName)
+                .toList();
+    }
+
+    /**
+     * Devuelve los nombres de los atributos categóricos, que admiten filtros por valor y facetas.
+     *
+     * @return los nombres de los atributos categóricos.
+     */
+    public List<String> categoryColumns() {
+        return columns.stream()
+                .filter(CategoryColumn.class::isInstance)
+                .map(Column::getName)
+                .toList();
+    }
+
+    /**
+     * Ejecuta una consulta sobre los atributos de las entidades de la tabla.
+     * <p>
+     * Cada filtro por rango se resuelve con búsqueda binaria sobre el índice ordenado de su atributo, y los
+     * filtros por valor con la intersección de los bitmaps de los valores. Las filas se recorren a partir
+     * del índice del atributo de orden (o, si el conjunto de filas de algún filtro es mucho más chico, a
+     * partir de ese conjunto, y se ordenan por su posición en el índice del atributo de orden). Sin
+     * atributo de orden, los resultados siguen el orden del filtro más selectivo o, sin filtros, el orden
+     * en que se almacenaron las entidades.
+     *
+     * @param query la consulta.
+     * @return los DTOs de las entidades que cumplen los filtros, en el orden pedido.
+     * @throws IllegalArgumentException si algún atributo no existe o no admite el filtro o el orden.
+     */
+    public List<T> query(EntityQuery query) {
+        lock.readLock().lock();
+        try {
+            Filter filter = new Filter(query);
+            int[] rows;
+            if (filter.candidates == 0) {
+                rows = new int[0];
+            } else if (query.getSortField() != null) {
+                rows = sortedRows(query, filter);
+            } else {
+                rows = collect(query, filter, filter.candidates, filter::candidateRow);
+            }
+
+            List<T> results = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                results.add(decode(row));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta las entidades por valor de atributos categóricos (facetas), entre las que cumplen los filtros
+     * de una consulta.
+     * <p>
+     * Los conteos se calculan como la cardinalidad de la intersección entre el bitmap de cada valor y el de
+     * las filas que cumplen los filtros, sin recorrer las entidades. El orden y la paginación de la consulta
+     * se ignoran.
+     *
+     * @param query  la consulta con los filtros.
+     * @param fields los atributos categóricos a contar.
+     * @return la cantidad de entidades que cumplen los filtros y los conteos por valor de cada atributo,
+     * ordenados de mayor a menor.
+     * @throws IllegalArgumentException si algún atributo no existe o no es categórico.
+     */
+    public FacetCounts facets(EntityQuery query, List<String> fields) {
+        lock.readLock().lock();
+        try {
+            List<CategoryColumn<T>> facetColumns = fields.stream().map(this::categoryColumn).toList();
+            RoaringBitmap rows = new Filter(query).toBitmap();
+            int total = rows != null ? rows.getCardinality() : size;
+
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (CategoryColumn<T> column : facetColumns) {
+                StringDictionary dictionary = column.dictionary();
+                List<Map.Entry<String, Integer>> values = new ArrayList<>();
+                for (int code = 0; code < dictionary.size(); code++) {
+                    RoaringBitmap valueRows = column.rows(code);
+                    int count = rows != null ? RoaringBitmap.andCardinality(valueRows, rows) : valueRows.getCardinality();
+                    if (count > 0) {
+                        values.add(Map.entry(dictionary.decode(code), count));
+                    }
+                }
+                values.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+
+                Map<String, Integer> valueCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> value : values) {
+                    valueCounts.put(value.getKey(), value.getValue());
+                }
+                counts.put(column.getName(), valueCounts);
+            }
+            return new FacetCounts(total, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta, sin ejecutarla: qué filtros se resuelven con índices, qué
+     * predicado se evalúa fila por fila, cuántas filas candidatas se recorren y el costo estimado.
+     *
+     * @param query la consulta.
+     * @return el plan de ejecución.
+     * @throws IllegalArgumentException si algún atributo no existe o la expresión de filtro es inválida.
+     */
+    public QueryPlan explain(EntityQuery query) {
+        lock.readLock().lock();
+        try {
+            return new Filter(query).plan();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve una expresión de filtro compilada, reutilizándola si ya fue compilada.
+     */
+    private FilterExpression expression(String text) {
+        FilterExpression expression = expressions.get(text);
+        if (expression == null) {
+            expression = FilterExpression.compile(text, columnsByName::get);
+            if (expressions.size() < MAX_CACHED_EXPRESSIONS) {
+                expressions.putIfAbsent(text, expression);
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * Resuelve una consulta con orden: recorre el índice del atributo de orden, o bien ordena por su posición
+     * en ese índice las filas del filtro más selectivo, si son muchas menos que las de la tabla.
+     */
+    private int[] sortedRows(EntityQuery query, Filter filter) {
+        SortedIndex sortIndex = index(numericColumn(query.getSortField()));
+        boolean descending = query.isDescending();
+        int known = sortIndex.size();
+        int[] unknown = sortIndex.unknownRows();
+
+        if (filter.isRestricted() && (long) filter.candidates * 8 < size) {
+            long[] keys = new long[filter.candidates];
+            int count = 0;
+            for (int position = 0; position < filter.candidates; position++) {
+                int row = filter.candidateRow(position);
+                if (filter.matches(row)) {
+                    int rank = sortIndex.rank(row);
+                    // Las filas sin valor en el atributo de orden quedan al final en ambos sentidos
+                    long key = rank == known ? known : descending ? known - 1 - rank : rank;
+                    keys[count++] = (key << 32) | row;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+            int from = Math.min(query.getOffset(), count);
+            int to = (int) Math.min(count, (long) from + query.getLimit());
+            int[] rows = new int[to - from];
+            for (int i = from; i < to; i++) {
+                rows[i - from] = (int) keys[i];
+            }
+            return rows;
+        }
+
+        return collect(query, filter, known + unknown.length, position -> {
+            if (position >= known) {
+                return unknown[position - known];
+            }
+            return sortIndex.rowAt(descending ? known - 1 - position : position);
+        });
+    }
+
+    /**
+     * Recorre las filas en el orden indicado, aplicando los filtros, el offset y el límite.
+     */
+    private int[] collect(EntityQuery query, Filter filter, int positions, IntUnaryOperator rowAt) {
+        int limit = query.getLimit();
+        int skip = query.getOffset();
+        int[] rows = new int[Math.min(limit, positions)];
+        int count = 0;
+        for (int position = 0; position < positions && count < limit; position++) {
+            int row = rowAt.applyAsInt(position);
+            if (filter.matches(row)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    rows[count++] = row;
+                }
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RelationColumn<T> relationColumn(String name) {
+        Column<T> column = columnsByName.get(name);
+        if (!(column instanceof RelationColumn<?>)) {
+            throw new IllegalArgumentException(column == null
+                    ? "Atributo desconocido: " + name
+                    : "El atributo no es una relación: " + name);
+        }
+        return (RelationColumn<T>) column;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CategoryColumn<T> categoryColumn(String name) {
+        Column<T> column = columnsByName.get(name);
+        if (!(column instanceof CategoryColumn<?>)) {
+            throw new IllegalArgumentException(column == null
+                    ? "Atributo desconocido: " + name
+                    : "El atributo no es categórico: " + name);
+        }
+        return (CategoryColumn<T>) column;
+    }
+
+    private NumericColumn numericColumn(String name) {
+        Column<T> column = columnsByName.get(name);
+        if (!(column instanceof NumericColumn numeric)) {
+            throw new IllegalArgumentException(column == null
+                    ? "Atributo desconocido: " + name
+                    : "El atributo no es numérico: " + name);
+        }
+        return numeric;
+    }
+
+    /**
+     * Devuelve el índice ordenado de una columna, reconstruyéndolo si la tabla cambió. Debe llamarse con
+     * el bloqueo de lectura tomado.
+     */
+    private SortedIndex index(NumericColumn column) {
+        SortedIndex index = indexes.get(column.getName());
+        if (index == null || index.version() != version) {
+            index = SortedIndex.build(column, size, version);
+            indexes.put(column.getName(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Filtros de una consulta resueltos sobre la tabla: el rango de posiciones de cada filtro en el índice
+     * ordenado de su atributo, el bitmap de las filas que cumplen los filtros por valor, y el conjunto más
+     * chico de filas candidatas a partir del cual recorrer la tabla. Los filtros indexables de la expresión de
+     * filtro se suman a los de la consulta, y el resto de la expresión se evalúa sobre cada fila candidata.
+     * Debe usarse con el bloqueo de lectura tomado.
+     */
+    private final class Filter {
+
+        private final List<EntityQuery.Range> ranges;
+        private final NumericColumn[] rangeColumns;
+        // Filas que cumplen los filtros por valor, o null si la consulta no tiene filtros por valor
+        private final RoaringBitmap categoryRows;
+        // Parte de la expresión de filtro que se evalúa fila por fila, o null
+        private final FilterExpression expression;
+        private final FilterNode residual;
+        // Filas candidatas: un rango de un índice ordenado, las filas de un bitmap o todas las filas
+        private SortedIndex drivingIndex;
+        private String drivingField;
+        private int drivingFrom;
+        private int[] drivingRows;
+        private int candidates = size;
+
+        private Filter(EntityQuery query) {
+            this.expression = query.getFilter() != null ? expression(query.getFilter()) : null;
+            this.residual = expression != null ? expression.residual() : null;
+            if (residual != null) {
+                residual.prepare();
+            }
+            List<EntityQuery.Range> ranges = new ArrayList<>(query.getRanges());
+            List<EntityQuery.Category> categories = new ArrayList<>(query.getCategories());
+            if (expression != null) {
+                ranges.addAll(expression.getRanges());
+                categories.addAll(expression.getCategories());
+            }
+
+            this.ranges = ranges;
+            this.rangeColumns = new NumericColumn[ranges.size()];
+            for (int i = 0; i < ranges.size(); i++) {
+                EntityQuery.Range range = ranges.get(i);
+                rangeColumns[i] = numericColumn(range.field());
+                SortedIndex index = index(rangeColumns[i]);
+                int from = index.from(range.min(), range.minInclusive());
+                int to = Math.max(from, index.to(range.max(), range.maxInclusive()));
+                if (to - from < candidates || drivingIndex == null && drivingRows == null && to - from == candidates) {
+                    drivingIndex = index;
+                    drivingField = range.field();
+                    drivingFrom = from;
+                    candidates = to - from;
+                }
+            }
+
+            RoaringBitmap rows = null;
+            for (EntityQuery.Category category : categories) {
+                CategoryColumn<T> column = categoryColumn(category.field());
+                List<RoaringBitmap> valueRows = new ArrayList<>();
+                for (String value : category.values()) {
+                    valueRows.add(column.rows(column.dictionary().codeOf(value)));
+                }
+                RoaringBitmap any = RoaringBitmap.or(valueRows.iterator());
+                rows = rows == null ? any : RoaringBitmap.and(rows, any);
+            }
+            this.categoryRows = rows;
+            if (rows != null && rows.getCardinality() < candidates) {
+                drivingIndex = null;
+                drivingRows = rows.toArray();
+                candidates = drivingRows.length;
+            }
+        }
+
+        boolean isRestricted() {
+            return drivingIndex != null || drivingRows != null;
+        }
+
+        int candidateRow(int position) {
+            if (drivingIndex != null) {
+                return drivingIndex.rowAt(drivingFrom + position);
+            }
+            return drivingRows != null ? drivingRows[position] : position;
+        }
+
+        boolean matches(int row) {
+            if (categoryRows != null && !categoryRows.contains(row)) {
+                return false;
+            }
+            for (int i = 0; i < rangeColumns.length; i++) {
+                if (!ranges.get(i).contains(rangeColumns[i].numericValue(row))) {
+                    return false;
+                }
+            }
+            return residual == null || residual.test(row);
+        }
+
+        QueryPlan plan() {
+            String access;
+            if (drivingIndex != null) {
+                access = "índice ordenado de " + drivingField;
+            } else if (drivingRows != null) {
+                access = "bitmaps de valores";
+            } else {
+                access = "recorrido completo";
+            }
+            int perRow = ranges.size() + (categoryRows != null ? 1 : 0) + (residual != null ? residual.cost() : 0);
+            return new QueryPlan(
+                    expression != null ? expression.getText() : null,
+                    expression != null ? expression.getIndexed() : List.of(),
+                    expression != null ? expression.getResidual() : null,
+                    access, candidates, size, (long) candidates * perRow);
+        }
+
+        /**
+         * Devuelve el bitmap de las filas que cumplen los filtros, o {@code null} si no hay filtros. Solo se
+         * recorren las filas candidatas, y no se recorre ninguna si solo hay filtros por valor.
+         */
+        RoaringBitmap toBitmap() {
+            if (ranges.isEmpty() && residual == null) {
+                return categoryRows;
+            }
+            RoaringBitmap matching = new RoaringBitmap();
+            for (int position = 0; position < candidates; position++) {
+                int row = candidateRow(position);
+                if (matches(row)) {
+                    matching.add(row);
+                }
+            }
+            return matching;
+        }
+    }
+
+    int rowOf(String id) {
+        int numericId = indexedId(id);
+        if (numericId < 0) {
+            return rowsByOtherId.getOrDefault(id, -1);
+        }
+        return numericId < rowsByNumericId.length ? rowsByNumericId[numericId] : -1;
+    }
+
+    private static int indexedId(String id) {
+        int numericId = ReferenceCodec.parseId(id, 0);
+        return numericId < MAX_INDEXED_ID ? numericId : -1;
+    }
+
+    private int append(String id) {
+        int row = size++;
+        if (row == numericIds.length) {
+            int capacity = Math.max(16, row * 2);
+            numericIds = Arrays.copyOf(numericIds, capacity);
+            for (Column<T> column : columns) {
+                column.ensureCapacity(capacity);
+            }
+        }
+        int numericId = indexedId(id);
+        numericIds[row] = numericId;
+        if (numericId < 0) {
+            rowsByOtherId.put(id, row);
+            otherIds.put(row, id);
+        } else {
+            if (numericId >= rowsByNumericId.length) {
+                int length = rowsByNumericId.length;
+                rowsByNumericId = Arrays.copyOf(rowsByNumericId, Math.max(numericId + 1, length * 2));
+                Arrays.fill(rowsByNumericId, length, rowsByNumericId.length, -1);
+            }
+            rowsByNumericId[numericId] = row;
+        }
+        return row;
+    }
+
+    private T decode(int row) {
+        T entity = schema.newInstance();
+        for (Column<T> column : columns) {
+            column.read(row, entity);
+        }
+        return entity;
+    }
+}
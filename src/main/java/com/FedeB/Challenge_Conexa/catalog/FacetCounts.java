@@ -0,0 +1,12 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Map;
+
+/**
+ * Resultado de un conteo por valor de atributos categóricos (facetas) de una {@link EntityTable}.
+ *
+ * @param total  la cantidad de entidades que cumplen los filtros.
+ * @param counts los conteos por valor de cada atributo, ordenados de mayor a menor.
+ */
+public record FacetCounts(int total, Map<String, Map<String, Integer>> counts) {
+}
@@ -0,0 +1,166 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Expresión de filtro compilada sobre las columnas de una {@link EntityTable}, por ejemplo
+ * {@code gender == "female" && height > 160 && films contains 1}.
+ * <p>
+ * La expresión se compila una única vez (las tablas guardan las expresiones compiladas por su texto) a un
+ * árbol de predicados especializados por tipo de columna ({@link FilterNode}). Al compilarla, las
+ * comparaciones de la conjunción principal que pueden resolverse con índices se separan del resto:
+ * <ul>
+ *     <li>los rangos sobre atributos numéricos ({@code height > 160}) se resuelven con los índices ordenados;</li>
+ *     <li>las igualdades sobre atributos categóricos ({@code gender == "female"}, o varias igualdades sobre el
+ *     mismo atributo combinadas con {@code ||}) se resuelven con los bitmaps de cada valor.</li>
+ * </ul>
+ * El resto de la expresión (el predicado residual) se evalúa fila por fila sobre las filas candidatas.
+ * <p>
+ * Para acotar el costo de las expresiones se limitan su longitud ({@link #MAX_LENGTH}), la cantidad de
+ * comparaciones ({@link #MAX_COMPARISONS}) y el anidamiento ({@link #MAX_DEPTH}).
+ */
+public final class FilterExpression {
+
+    /**
+     * Longitud máxima del texto de una expresión.
+     */
+    public static final int MAX_LENGTH = 1024;
+
+    /**
+     * Cantidad máxima de comparaciones de una expresión.
+     */
+    public static final int MAX_COMPARISONS = 32;
+
+    /**
+     * Nivel máximo de anidamiento (paréntesis y negaciones) de una expresión.
+     */
+    public static final int MAX_DEPTH = 16;
+
+    private final String text;
+    private final List<EntityQuery.Range> ranges = new ArrayList<>();
+    private final List<EntityQuery.Category> categories = new ArrayList<>();
+    private final List<String> indexed = new ArrayList<>();
+    private final FilterNode residual;
+
+    private FilterExpression(FilterNode root) {
+        this.text = root.toString();
+
+        List<FilterNode> conjuncts = root instanceof FilterNode.And and ? and.operands() : List.of(root);
+        List<FilterNode> remaining = new ArrayList<>();
+        Set<String> categoryFields = new HashSet<>();
+        for (FilterNode conjunct : conjuncts) {
+            if (conjunct instanceof FilterNode.NumericRange range) {
+                ranges.add(range.range());
+                indexed.add(conjunct.toString());
+                continue;
+            }
+            EntityQuery.Category category = category(conjunct);
+            // Los valores de un mismo atributo se combinan con "o", por lo que se indexa una igualdad por atributo
+            if (category != null && categoryFields.add(category.field())) {
+                categories.add(category);
+                indexed.add(conjunct.toString());
+                continue;
+            }
+            remaining.add(conjunct);
+        }
+        this.residual = switch (remaining.size()) {
+            case 0 -> null;
+            case 1 -> remaining.get(0);
+            default -> new FilterNode.And(remaining);
+        };
+    }
+
+    /**
+     * Compila una expresión de filtro sobre las columnas de una tabla.
+     *
+     * @param text    la expresión.
+     * @param columns la búsqueda de columnas por nombre de atributo.
+     * @return la expresión compilada.
+     * @throws IllegalArgumentException si la expresión es inválida o supera los límites.
+     */
+    static FilterExpression compile(String text, Function<String, Column<?>> columns) {
+        return new FilterExpression(FilterParser.parse(text, columns));
+    }
+
+    /**
+     * Devuelve los valores aceptados de un atributo categórico si el nodo es una igualdad o una
+     * disyunción de igualdades sobre un mismo atributo.
+     */
+    private static EntityQuery.Category category(FilterNode node) {
+        List<FilterNode> operands = node instanceof FilterNode.Or or ? or.operands() : List.of(node);
+        CategoryColumn<?> column = null;
+        Set<String> values = new LinkedHashSet<>();
+        for (FilterNode operand : operands) {
+            if (!(operand instanceof FilterNode.CategoryEquals equals) || equals.isNegated()
+                    || (column != null && equals.column() != column)) {
+                return null;
+            }
+            column = equals.column();
+            values.add(equals.value());
+        }
+        return new EntityQuery.Category(column.getName(), Set.copyOf(values));
+    }
+
+    /**
+     * Devuelve la forma canónica de la expresión, con paréntesis explícitos.
+     *
+     * @return la expresión.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Devuelve los filtros por rango que se resuelven con índices ordenados.
+     *
+     * @return los filtros por rango.
+     */
+    public List<EntityQuery.Range> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Devuelve los filtros por valor que se resuelven con bitmaps.
+     *
+     * @return los filtros por valor.
+     */
+    public List<EntityQuery.Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Devuelve las comparaciones que se resuelven con índices, en su forma canónica.
+     *
+     * @return las comparaciones indexadas.
+     */
+    public List<String> getIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Devuelve el predicado residual, que se evalúa fila por fila, en su forma canónica.
+     *
+     * @return el predicado residual, o {@code null} si toda la expresión se resuelve con índices.
+     */
+    public String getResidual() {
+        return residual != null ? residual.toString() : null;
+    }
+
+    /**
+     * Devuelve el costo estimado de evaluar el predicado residual sobre una fila.
+     *
+     * @return el costo por fila, en unidades relativas (una comparación numérica cuesta 1).
+     */
+    public int getResidualCost() {
+        return residual != null ? residual.cost() : 0;
+    }
+
+    FilterNode residual() {
+        return residual;
+    }
+}
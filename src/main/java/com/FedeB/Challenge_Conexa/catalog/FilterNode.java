@@ -0,0 +1,422 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Nodo de una expresión de filtro compilada ({@link FilterExpression}): un predicado sobre las filas de una
+ * {@link EntityTable}, especializado según el tipo de la columna y el operador.
+ * <p>
+ * Cada comparación lee directamente la representación compacta de la columna (el número, el código del
+ * diccionario o el ID), sin reconstruir el DTO. Los valores desconocidos o ausentes no cumplen ninguna
+ * comparación, tampoco {@code !=}.
+ */
+abstract class FilterNode {
+
+    /**
+     * Evalúa el predicado sobre una fila. Debe llamarse con el bloqueo de lectura de la tabla tomado,
+     * después de {@link #prepare()}.
+     *
+     * @param row la fila.
+     * @return {@code true} si la fila cumple el predicado.
+     */
+    abstract boolean test(int row);
+
+    /**
+     * Costo estimado de evaluar el predicado sobre una fila, en unidades relativas (una comparación numérica
+     * cuesta 1).
+     *
+     * @return el costo por fila.
+     */
+    abstract int cost();
+
+    /**
+     * Resuelve los valores que dependen del contenido de la tabla (los códigos de diccionario de valores
+     * que todavía no existían al compilar). Debe llamarse con el bloqueo de lectura de la tabla tomado.
+     */
+    void prepare() {
+    }
+
+    /**
+     * Devuelve la forma canónica de la expresión, con paréntesis explícitos.
+     *
+     * @return la expresión.
+     */
+    @Override
+    public abstract String toString();
+
+    /**
+     * Conjunción de predicados: se evalúan en orden de costo creciente y se detiene en el primero que no se cumple.
+     */
+    static final class And extends FilterNode {
+
+        private final FilterNode[] operands;
+
+        And(List<FilterNode> operands) {
+            this.operands = operands.stream()
+                    .sorted((a, b) -> Integer.compare(a.cost(), b.cost()))
+                    .toArray(FilterNode[]::new);
+        }
+
+        List<FilterNode> operands() {
+            return List.of(operands);
+        }
+
+        @Override
+        boolean test(int row) {
+            for (FilterNode operand : operands) {
+                if (!operand.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int cost() {
+            int cost = 0;
+            for (FilterNode operand : operands) {
+                cost += operand.cost();
+            }
+            return cost;
+        }
+
+        @Override
+        void prepare() {
+            for (FilterNode operand : operands) {
+                operand.prepare();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return List.of(operands).stream().map(FilterNode::toString).collect(Collectors.joining(" && ", "(", ")"));
+        }
+    }
+
+    /**
+     * Disyunción de predicados: se evalúan en orden de costo creciente y se detiene en el primero que se cumple.
+     */
+    static final class Or extends FilterNode {
+
+        private final FilterNode[] operands;
+
+        Or(List<FilterNode> operands) {
+            this.operands = operands.stream()
+                    .sorted((a, b) -> Integer.compare(a.cost(), b.cost()))
+                    .toArray(FilterNode[]::new);
+        }
+
+        List<FilterNode> operands() {
+            return List.of(operands);
+        }
+
+        @Override
+        boolean test(int row) {
+            for (FilterNode operand : operands) {
+                if (operand.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            int cost = 0;
+            for (FilterNode operand : operands) {
+                cost += operand.cost();
+            }
+            return cost;
+        }
+
+        @Override
+        void prepare() {
+            for (FilterNode operand : operands) {
+                operand.prepare();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return List.of(operands).stream().map(FilterNode::toString).collect(Collectors.joining(" || ", "(", ")"));
+        }
+    }
+
+    /**
+     * Negación de un predicado. A diferencia de {@code !=}, la negación sí incluye las filas con valores
+     * desconocidos o ausentes.
+     */
+    static final class Not extends FilterNode {
+
+        private final FilterNode operand;
+
+        Not(FilterNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        boolean test(int row) {
+            return !operand.test(row);
+        }
+
+        @Override
+        int cost() {
+            return operand.cost();
+        }
+
+        @Override
+        void prepare() {
+            operand.prepare();
+        }
+
+        @Override
+        public String toString() {
+            return "!" + operand;
+        }
+    }
+
+    /**
+     * Comparación de un atributo numérico con un rango ({@code >}, {@code >=}, {@code <}, {@code <=} y {@code ==}).
+     */
+    static final class NumericRange extends FilterNode {
+
+        private final NumericColumn column;
+        private final EntityQuery.Range range;
+        private final String operator;
+        private final double value;
+
+        NumericRange(NumericColumn column, String operator, double value) {
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+            double inf = Double.POSITIVE_INFINITY;
+            this.range = switch (operator) {
+                case ">" -> new EntityQuery.Range(column.getName(), value, false, inf, true);
+                case ">=" -> new EntityQuery.Range(column.getName(), value, true, inf, true);
+                case "<" -> new EntityQuery.Range(column.getName(), -inf, true, value, false);
+                case "<=" -> new EntityQuery.Range(column.getName(), -inf, true, value, true);
+                case "==" -> new EntityQuery.Range(column.getName(), value, true, value, true);
+                default -> throw new IllegalArgumentException("Operador no soportado para " + column.getName() + ": " + operator);
+            };
+        }
+
+        EntityQuery.Range range() {
+            return range;
+        }
+
+        @Override
+        boolean test(int row) {
+            return range.contains(column.numericValue(row));
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + " " + operator + " " + NumberColumn.format(value);
+        }
+    }
+
+    /**
+     * Desigualdad de un atributo numérico ({@code !=}).
+     */
+    static final class NumericNotEqual extends FilterNode {
+
+        private final NumericColumn column;
+        private final double value;
+
+        NumericNotEqual(NumericColumn column, double value) {
+            this.column = column;
+            this.value = value;
+        }
+
+        @Override
+        boolean test(int row) {
+            double rowValue = column.numericValue(row);
+            return NumberColumn.isKnown(rowValue) && rowValue != value;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + " != " + NumberColumn.format(value);
+        }
+    }
+
+    /**
+     * Igualdad o desigualdad de un atributo categórico, comparando los códigos del diccionario.
+     */
+    static final class CategoryEquals extends FilterNode {
+
+        private final CategoryColumn<?> column;
+        private final String value;
+        private final boolean negated;
+        // Código del valor, o CategoryColumn.NULL si el valor todavía no está en el diccionario
+        private volatile int code;
+
+        CategoryEquals(CategoryColumn<?> column, String value, boolean negated) {
+            this.column = column;
+            this.value = value;
+            this.negated = negated;
+            this.code = column.dictionary().codeOf(value);
+        }
+
+        CategoryColumn<?> column() {
+            return column;
+        }
+
+        String value() {
+            return value;
+        }
+
+        boolean isNegated() {
+            return negated;
+        }
+
+        @Override
+        void prepare() {
+            if (code == CategoryColumn.NULL) {
+                code = column.dictionary().codeOf(value);
+            }
+        }
+
+        @Override
+        boolean test(int row) {
+            int rowCode = column.code(row);
+            return rowCode != CategoryColumn.NULL && (rowCode == code) != negated;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + (negated ? " != " : " == ") + quote(value);
+        }
+    }
+
+    /**
+     * Igualdad, desigualdad o inclusión ({@code contains}, sin distinguir mayúsculas) de un atributo de texto.
+     */
+    static final class TextMatch extends FilterNode {
+
+        private final TextColumn<?> column;
+        private final String operator;
+        private final String value;
+        private final String lowerCaseValue;
+
+        TextMatch(TextColumn<?> column, String operator, String value) {
+            this.column = column;
+            this.operator = operator;
+            this.value = value;
+            this.lowerCaseValue = value.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        boolean test(int row) {
+            String rowValue = column.value(row);
+            if (rowValue == null) {
+                return false;
+            }
+            return switch (operator) {
+                case "==" -> rowValue.equals(value);
+                case "!=" -> !rowValue.equals(value);
+                default -> rowValue.toLowerCase(Locale.ROOT).contains(lowerCaseValue);
+            };
+        }
+
+        @Override
+        int cost() {
+            return "contains".equals(operator) ? 8 : 2;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + " " + operator + " " + quote(value);
+        }
+    }
+
+    /**
+     * Igualdad o desigualdad del ID de la entidad referenciada (por ejemplo {@code homeworld == 1}).
+     */
+    static final class ReferenceEquals extends FilterNode {
+
+        private final ReferenceColumn<?> column;
+        private final int id;
+        private final boolean negated;
+
+        ReferenceEquals(ReferenceColumn<?> column, int id, boolean negated) {
+            this.column = column;
+            this.id = id;
+            this.negated = negated;
+        }
+
+        @Override
+        boolean test(int row) {
+            int rowId = column.id(row);
+            return rowId >= 0 && (rowId == id) != negated;
+        }
+
+        @Override
+        int cost() {
+            return 1;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + (negated ? " != " : " == ") + id;
+        }
+    }
+
+    /**
+     * Inclusión de una entidad en una relación (por ejemplo {@code films contains 1}).
+     */
+    static final class RelationContains extends FilterNode {
+
+        private final RelationColumn<?> column;
+        private final int id;
+
+        RelationContains(RelationColumn<?> column, int id) {
+            this.column = column;
+            this.id = id;
+        }
+
+        @Override
+        boolean test(int row) {
+            int[] ids = column.ids(row);
+            if (ids != null) {
+                for (int rowId : ids) {
+                    if (rowId == id) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int cost() {
+            return 4;
+        }
+
+        @Override
+        public String toString() {
+            return column.getName() + " contains " + id;
+        }
+    }
+
+    private static String quote(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
@@ -0,0 +1,265 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parser de descenso recursivo de las expresiones de filtro, que compila la expresión directamente a un
+ * árbol de {@link FilterNode} especializados según el tipo de cada columna.
+ * <p>
+ * Gramática (de menor a mayor precedencia):
+ * <pre>
+ * expresión   := conjunción ("||" conjunción)*
+ * conjunción  := negación ("&amp;&amp;" negación)*
+ * negación    := "!" negación | "(" expresión ")" | comparación
+ * comparación := atributo ("==" | "!=" | "&gt;" | "&gt;=" | "&lt;" | "&lt;=" | "contains") literal
+ * literal     := número | "texto"
+ * </pre>
+ * Los errores de sintaxis, de tipos y de límites se informan con {@link IllegalArgumentException}, indicando
+ * la posición en la expresión.
+ */
+final class FilterParser {
+
+    private final String text;
+    private final Function<String, Column<?>> columns;
+    private int position;
+    private int comparisons;
+    private int depth;
+
+    private FilterParser(String text, Function<String, Column<?>> columns) {
+        this.text = text;
+        this.columns = columns;
+    }
+
+    /**
+     * Compila una expresión de filtro.
+     *
+     * @param text    la expresión.
+     * @param columns la búsqueda de columnas por nombre de atributo ({@code null} si no existe).
+     * @return el árbol de predicados.
+     * @throws IllegalArgumentException si la expresión es inválida o supera los límites de {@link FilterExpression}.
+     */
+    static FilterNode parse(String text, Function<String, Column<?>> columns) {
+        if (text.length() > FilterExpression.MAX_LENGTH) {
+            throw new IllegalArgumentException("El filtro supera los " + FilterExpression.MAX_LENGTH + " caracteres");
+        }
+        FilterParser parser = new FilterParser(text, columns);
+        FilterNode node = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("se esperaba el fin del filtro");
+        }
+        return node;
+    }
+
+    private FilterNode expression() {
+        List<FilterNode> operands = new ArrayList<>();
+        operands.add(conjunction());
+        while (accept("||")) {
+            operands.add(conjunction());
+        }
+        return operands.size() == 1 ? operands.get(0) : new FilterNode.Or(flatten(operands, FilterNode.Or.class));
+    }
+
+    private FilterNode conjunction() {
+        List<FilterNode> operands = new ArrayList<>();
+        operands.add(negation());
+        while (accept("&&")) {
+            operands.add(negation());
+        }
+        return operands.size() == 1 ? operands.get(0) : new FilterNode.And(flatten(operands, FilterNode.And.class));
+    }
+
+    private FilterNode negation() {
+        if (++depth > FilterExpression.MAX_DEPTH) {
+            throw error("el filtro supera los " + FilterExpression.MAX_DEPTH + " niveles de anidamiento");
+        }
+        try {
+            if (accept("!")) {
+                return new FilterNode.Not(negation());
+            }
+            if (accept("(")) {
+                FilterNode node = expression();
+                expect(")");
+                return node;
+            }
+            return comparison();
+        } finally {
+            depth--;
+        }
+    }
+
+    private FilterNode comparison() {
+        if (++comparisons > FilterExpression.MAX_COMPARISONS) {
+            throw error("el filtro supera las " + FilterExpression.MAX_COMPARISONS + " comparaciones");
+        }
+        int start = skipWhitespace();
+        String name = identifier();
+        Column<?> column = columns.apply(name);
+        if (column == null) {
+            position = start;
+            throw error("atributo desconocido: " + name);
+        }
+        String operator = operator();
+
+        if (column instanceof NumericColumn numeric) {
+            double value = number();
+            return switch (operator) {
+                case "!=" -> new FilterNode.NumericNotEqual(numeric, value);
+                case "contains" -> throw unsupported(column, operator);
+                default -> new FilterNode.NumericRange(numeric, operator, value);
+            };
+        }
+        if (column instanceof CategoryColumn<?> category) {
+            String value = string();
+            return switch (operator) {
+                case "==" -> new FilterNode.CategoryEquals(category, value, false);
+                case "!=" -> new FilterNode.CategoryEquals(category, value, true);
+                default -> throw unsupported(column, operator);
+            };
+        }
+        if (column instanceof TextColumn<?> textColumn) {
+            String value = string();
+            return switch (operator) {
+                case "==", "!=", "contains" -> new FilterNode.TextMatch(textColumn, operator, value);
+                default -> throw unsupported(column, operator);
+            };
+        }
+        if (column instanceof ReferenceColumn<?> reference) {
+            int id = id();
+            return switch (operator) {
+                case "==" -> new FilterNode.ReferenceEquals(reference, id, false);
+                case "!=" -> new FilterNode.ReferenceEquals(reference, id, true);
+                default -> throw unsupported(column, operator);
+            };
+        }
+        if (column instanceof RelationColumn<?> relation && "contains".equals(operator)) {
+            return new FilterNode.RelationContains(relation, id());
+        }
+        throw unsupported(column, operator);
+    }
+
+    private String identifier() {
+        int start = position;
+        while (position < text.length()
+                && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+            position++;
+        }
+        if (start == position) {
+            throw error("se esperaba un atributo");
+        }
+        return text.substring(start, position);
+    }
+
+    private String operator() {
+        for (String operator : List.of("==", "!=", ">=", "<=", ">", "<")) {
+            if (accept(operator)) {
+                return operator;
+            }
+        }
+        skipWhitespace();
+        if (text.startsWith("contains", position)) {
+            position += "contains".length();
+            return "contains";
+        }
+        throw error("se esperaba un operador (==, !=, >, >=, <, <= o contains)");
+    }
+
+    private double number() {
+        int start = skipWhitespace();
+        while (position < text.length() && "+-.eE0123456789".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        try {
+            double value = Double.parseDouble(text.substring(start, position));
+            if (Double.isFinite(value)) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // Se informa a continuación
+        }
+        position = start;
+        throw error("se esperaba un número");
+    }
+
+    private int id() {
+        int start = skipWhitespace();
+        while (position < text.length() && Character.isDigit(text.charAt(position))) {
+            position++;
+        }
+        int id = ReferenceCodec.parseId(text.substring(start, position), 0);
+        if (id < 0) {
+            position = start;
+            throw error("se esperaba el ID de una entidad");
+        }
+        return id;
+    }
+
+    private String string() {
+        skipWhitespace();
+        if (position >= text.length() || text.charAt(position) != '"') {
+            throw error("se esperaba un texto entre comillas");
+        }
+        StringBuilder value = new StringBuilder();
+        for (position++; position < text.length(); position++) {
+            char c = text.charAt(position);
+            if (c == '"') {
+                position++;
+                return value.toString();
+            }
+            if (c == '\\' && position + 1 < text.length()) {
+                c = text.charAt(++position);
+            }
+            value.append(c);
+        }
+        throw error("falta cerrar las comillas");
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (text.startsWith(token, position)) {
+            position += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("se esperaba " + token);
+        }
+    }
+
+    private int skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private IllegalArgumentException unsupported(Column<?> column, String operator) {
+        return error("el atributo " + column.getName() + " no admite el operador " + operator);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Filtro inválido en la posición " + position + ": " + message);
+    }
+
+    /**
+     * Combina los operandos anidados del mismo tipo ({@code a && (b && c)}) en un único nodo.
+     */
+    private static List<FilterNode> flatten(List<FilterNode> operands, Class<? extends FilterNode> type) {
+        List<FilterNode> flat = new ArrayList<>();
+        for (FilterNode operand : operands) {
+            if (operand instanceof FilterNode.And and && type == FilterNode.And.class) {
+                flat.addAll(and.operands());
+            } else if (operand instanceof FilterNode.Or or && type == FilterNode.Or.class) {
+                flat.addAll(or.operands());
+            } else {
+                flat.add(operand);
+            }
+        }
+        return flat;
+    }
+}
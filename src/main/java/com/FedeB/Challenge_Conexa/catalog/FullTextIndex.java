@@ -0,0 +1,429 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de texto completo sobre los atributos de texto de las entidades de una {@link EntityTable} (por
+ * ejemplo, el texto de apertura de las películas).
+ * <p>
+ * El índice es invertido y posicional: para cada raíz de palabra (ver {@link TextAnalyzer}) guarda las
+ * filas que la contienen, la cantidad de apariciones en cada fila y sus posiciones, en arreglos de enteros.
+ * Las posiciones de cada atributo comienzan en un múltiplo de 2<sup>24</sup>, de modo que las frases no
+ * coinciden entre el final de un atributo y el comienzo del siguiente.
+ * <p>
+ * Las búsquedas aceptan palabras sueltas y frases entre comillas. Los resultados tienen al menos una de las
+ * palabras y todas las frases, y se ordenan por relevancia según BM25 (con k1 = 1.2 y b = 0.75, tratando
+ * a todos los atributos de la entidad como un único documento).
+ * <p>
+ * El índice es inmutable y corresponde a una versión de la tabla ({@link #getVersion()}).
+ */
+public final class FullTextIndex {
+
+    /**
+     * Longitud máxima de las búsquedas.
+     */
+    public static final int MAX_QUERY_LENGTH = 256;
+
+    /**
+     * Cantidad máxima de palabras de las búsquedas.
+     */
+    public static final int MAX_QUERY_TERMS = 16;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Bits de la posición dentro de cada atributo; los siguientes identifican el atributo
+    private static final int FIELD_SHIFT = 24;
+    // Caracteres de contexto antes de la primera coincidencia y longitud máxima del fragmento
+    private static final int SNIPPET_CONTEXT = 60;
+    private static final int SNIPPET_LENGTH = 220;
+
+    private final String resource;
+    private final long version;
+    private final List<String> fields;
+    private final String[] ids;
+    // Valores de los atributos de cada fila, en el orden de fields
+    private final String[][] texts;
+    // Normalización de BM25 por la longitud de cada fila: k1 * (1 - b + b * longitud / longitud promedio)
+    private final double[] norms;
+    private final Map<String, Postings> postings;
+
+    private FullTextIndex(String resource, long version, List<String> fields, String[] ids, String[][] texts,
+                          int[] lengths, Map<String, Postings> postings) {
+        this.resource = resource;
+        this.version = version;
+        this.fields = fields;
+        this.ids = ids;
+        this.texts = texts;
+        this.postings = postings;
+        double averageLength = Math.max(1, Arrays.stream(lengths).average().orElse(1));
+        this.norms = Arrays.stream(lengths).mapToDouble(length -> K1 * (1 - B + B * length / averageLength)).toArray();
+    }
+
+    /**
+     * Construye el índice de los atributos de texto de una tabla.
+     *
+     * @param resource el recurso de las entidades de la tabla.
+     * @param table    la tabla de entidades.
+     * @param fields   los atributos a indexar; el primero se usa como título de los resultados.
+     * @return el índice.
+     * @throws IllegalArgumentException si algún atributo no existe o no es de texto.
+     */
+    public static FullTextIndex build(SwapiResource resource, EntityTable<?> table, List<String> fields) {
+        List<Column<?>> columns = new ArrayList<>();
+        for (String field : fields) {
+            Column<?> column = table.column(field);
+            if (!(column instanceof TextColumn<?>) && !(column instanceof CategoryColumn<?>)) {
+                throw new IllegalArgumentException("El atributo no es de texto: " + field);
+            }
+            columns.add(column);
+        }
+        return table.read(() -> {
+            int size = table.size();
+            String[] ids = new String[size];
+            String[][] texts = new String[size][];
+            int[] lengths = new int[size];
+            Map<String, Postings> postings = new HashMap<>();
+            for (int row = 0; row < size; row++) {
+                int doc = row;
+                ids[row] = table.idAt(row);
+                texts[row] = new String[columns.size()];
+                for (int field = 0; field < columns.size(); field++) {
+                    String text = text(columns.get(field), row);
+                    texts[row][field] = text;
+                    if (text != null) {
+                        int fieldStart = field << FIELD_SHIFT;
+                        TextAnalyzer.analyze(text, (term, position, start, end) -> {
+                            postings.computeIfAbsent(term, key -> new Postings()).add(doc, fieldStart + position);
+                            lengths[doc]++;
+                        });
+                    }
+                }
+            }
+            postings.values().forEach(Postings::trim);
+            return new FullTextIndex(resource.getPath(), table.version(), List.copyOf(fields), ids, texts, lengths, postings);
+        });
+    }
+
+    private static String text(Column<?> column, int row) {
+        if (column instanceof TextColumn<?> text) {
+            return text.value(row);
+        }
+        CategoryColumn<?> category = (CategoryColumn<?>) column;
+        int code = category.code(row);
+        return code >= 0 ? category.dictionary().decode(code) : null;
+    }
+
+    /**
+     * Devuelve la versión de la tabla a partir de la que se construyó el índice.
+     *
+     * @return la versión de la tabla.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Devuelve los atributos indexados.
+     *
+     * @return los nombres de los atributos.
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Busca las entidades que contienen palabras o frases.
+     *
+     * @param query las palabras a buscar, con las frases entre comillas (por ejemplo,
+     *              {@code "death star" plans}).
+     * @param limit la cantidad máxima de resultados.
+     * @return los resultados, ordenados por relevancia.
+     * @throws IllegalArgumentException si la búsqueda es demasiado larga, tiene comillas sin cerrar o no
+     *                                  tiene palabras (o tiene demasiadas).
+     */
+    public List<TextHit> search(String query, int limit) {
+        ParsedQuery parsed = ParsedQuery.parse(query);
+        for (String[] phrase : parsed.phrases()) {
+            for (String term : phrase) {
+                if (term != null && !postings.containsKey(term)) {
+                    return List.of();
+                }
+            }
+        }
+
+        double[] scores = new double[ids.length];
+        for (String term : parsed.terms()) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null) {
+                double idf = Math.log(1 + (ids.length - termPostings.count + 0.5) / (termPostings.count + 0.5));
+                for (int i = 0; i < termPostings.count; i++) {
+                    int doc = termPostings.docs[i];
+                    int frequency = termPostings.frequencies[i];
+                    scores[doc] += idf * frequency * (K1 + 1) / (frequency + norms[doc]);
+                }
+            }
+        }
+
+        // Los mejores resultados, ordenados por relevancia y, a igual relevancia, por fila
+        int[] top = new int[Math.max(0, Math.min(limit, ids.length))];
+        int count = 0;
+        for (int doc = 0; doc < scores.length && top.length > 0; doc++) {
+            if (scores[doc] <= 0 || count == top.length && scores[doc] <= scores[top[count - 1]] || !matchesPhrases(doc, parsed)) {
+                continue;
+            }
+            int i = count < top.length ? count++ : count - 1;
+            while (i > 0 && scores[top[i - 1]] < scores[doc]) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = doc;
+        }
+
+        List<TextHit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            hits.add(hit(top[i], parsed, scores[top[i]]));
+        }
+        return hits;
+    }
+
+    /**
+     * Indica si una fila contiene todas las frases de la búsqueda.
+     */
+    private boolean matchesPhrases(int doc, ParsedQuery query) {
+        for (String[] phrase : query.phrases()) {
+            if (!matchesPhrase(doc, phrase)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si una fila contiene una frase: si hay una posición de la primera palabra tal que cada una de
+     * las demás aparece a la misma distancia que en la frase (las palabras vacías de la frase son
+     * {@code null}).
+     */
+    private boolean matchesPhrase(int doc, String[] phrase) {
+        Postings first = postings.get(phrase[0]);
+        int firstIndex = first.indexOf(doc);
+        if (firstIndex < 0) {
+            return false;
+        }
+        for (int p = first.starts[firstIndex]; p < first.starts[firstIndex + 1]; p++) {
+            int position = first.positions[p];
+            boolean matches = true;
+            for (int offset = 1; offset < phrase.length && matches; offset++) {
+                if (phrase[offset] != null) {
+                    matches = postings.get(phrase[offset]).contains(doc, position + offset);
+                }
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TextHit hit(int doc, ParsedQuery query, double score) {
+        // El fragmento se toma del atributo con más apariciones de las palabras buscadas
+        int[] occurrences = new int[fields.size()];
+        for (String term : query.terms()) {
+            Postings termPostings = postings.get(term);
+            int index = termPostings != null ? termPostings.indexOf(doc) : -1;
+            if (index >= 0) {
+                for (int p = termPostings.starts[index]; p < termPostings.starts[index + 1]; p++) {
+                    occurrences[termPostings.positions[p] >>> FIELD_SHIFT]++;
+                }
+            }
+        }
+        int field = 0;
+        for (int i = 1; i < occurrences.length; i++) {
+            if (occurrences[i] > occurrences[field]) {
+                field = i;
+            }
+        }
+        return new TextHit(resource, ids[doc], texts[doc][0], fields.get(field),
+                snippet(texts[doc][field], query.terms()), score);
+    }
+
+    /**
+     * Devuelve un fragmento del texto alrededor de la primera palabra encontrada, con las palabras encontradas
+     * resaltadas y los espacios y saltos de línea consecutivos reemplazados por un espacio.
+     */
+    private static String snippet(String text, Set<String> terms) {
+        List<int[]> matches = new ArrayList<>();
+        TextAnalyzer.analyze(text, (term, position, start, end) -> {
+            if (terms.contains(term)) {
+                matches.add(new int[]{start, end});
+            }
+        });
+        int from = 0;
+        if (!matches.isEmpty() && matches.get(0)[0] > SNIPPET_CONTEXT) {
+            from = wordStart(text, matches.get(0)[0] - SNIPPET_CONTEXT);
+        }
+        int to = text.length();
+        if (to - from > SNIPPET_LENGTH) {
+            int end = wordStart(text, from + SNIPPET_LENGTH);
+            to = end > from ? end : from + SNIPPET_LENGTH;
+        }
+
+        StringBuilder snippet = new StringBuilder(to - from + 16);
+        if (from > 0) {
+            snippet.append("…");
+        }
+        int match = 0;
+        boolean started = false;
+        boolean space = false;
+        boolean highlighting = false;
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (Character.isWhitespace(ch)) {
+                space = true;
+                continue;
+            }
+            if (space && started) {
+                snippet.append(' ');
+            }
+            started = true;
+            space = false;
+            while (match < matches.size() && matches.get(match)[1] <= i) {
+                match++;
+            }
+            if (match < matches.size() && matches.get(match)[0] == i) {
+                snippet.append("<em>");
+                highlighting = true;
+            }
+            snippet.append(ch);
+            if (highlighting && matches.get(match)[1] == i + 1) {
+                snippet.append("</em>");
+                highlighting = false;
+            }
+        }
+        if (highlighting) {
+            snippet.append("</em>");
+        }
+        if (to < text.length()) {
+            snippet.append("…");
+        }
+        return snippet.toString();
+    }
+
+    /**
+     * Devuelve el comienzo de la palabra que contiene una posición del texto (la posición siguiente al
+     * espacio anterior), o 0 si no hay espacios antes de la posición.
+     */
+    private static int wordStart(String text, int index) {
+        int i = index;
+        while (i > 0 && !Character.isWhitespace(text.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Búsqueda analizada: las raíces de todas las palabras (para la relevancia) y las frases.
+     *
+     * @param terms   las raíces de las palabras, sin repetir.
+     * @param phrases las frases, con una posición por palabra ({@code null} para las palabras vacías).
+     */
+    private record ParsedQuery(Set<String> terms, List<String[]> phrases) {
+
+        static ParsedQuery parse(String query) {
+            if (query.length() > MAX_QUERY_LENGTH) {
+                throw new IllegalArgumentException("La búsqueda supera los " + MAX_QUERY_LENGTH + " caracteres");
+            }
+            String[] parts = query.split("\"", -1);
+            if (parts.length % 2 == 0) {
+                throw new IllegalArgumentException("La búsqueda tiene comillas sin cerrar");
+            }
+            Set<String> terms = new LinkedHashSet<>();
+            List<String[]> phrases = new ArrayList<>();
+            for (int i = 0; i < parts.length; i++) {
+                if (i % 2 == 0) {
+                    TextAnalyzer.analyze(parts[i], (term, position, start, end) -> terms.add(term));
+                    continue;
+                }
+                List<String> words = new ArrayList<>();
+                List<Integer> positions = new ArrayList<>();
+                TextAnalyzer.analyze(parts[i], (term, position, start, end) -> {
+                    words.add(term);
+                    positions.add(position);
+                    terms.add(term);
+                });
+                if (!words.isEmpty()) {
+                    // Las palabras vacías del comienzo y del final de la frase no la restringen
+                    int first = positions.get(0);
+                    String[] phrase = new String[positions.get(positions.size() - 1) - first + 1];
+                    for (int word = 0; word < words.size(); word++) {
+                        phrase[positions.get(word) - first] = words.get(word);
+                    }
+                    phrases.add(phrase);
+                }
+            }
+            if (terms.isEmpty()) {
+                throw new IllegalArgumentException("La búsqueda no tiene palabras para buscar");
+            }
+            if (terms.size() > MAX_QUERY_TERMS) {
+                throw new IllegalArgumentException("La búsqueda supera las " + MAX_QUERY_TERMS + " palabras");
+            }
+            return new ParsedQuery(terms, phrases);
+        }
+    }
+
+    /**
+     * Filas, cantidad de apariciones y posiciones de una palabra, ordenadas por fila.
+     */
+    private static final class Postings {
+
+        private int count;
+        private int[] docs = new int[2];
+        private int[] frequencies = new int[2];
+        // Las posiciones de la fila docs[i] ocupan positions[starts[i]] a positions[starts[i + 1] - 1]
+        private int[] starts = new int[3];
+        private int[] positions = new int[4];
+        private int positionCount;
+
+        void add(int doc, int position) {
+            if (count == 0 || docs[count - 1] != doc) {
+                if (count == docs.length) {
+                    docs = Arrays.copyOf(docs, count * 2);
+                    frequencies = Arrays.copyOf(frequencies, count * 2);
+                    starts = Arrays.copyOf(starts, count * 2 + 1);
+                }
+                docs[count] = doc;
+                starts[count] = positionCount;
+                count++;
+            }
+            frequencies[count - 1]++;
+            if (positionCount == positions.length) {
+                positions = Arrays.copyOf(positions, positionCount * 2);
+            }
+            positions[positionCount++] = position;
+            starts[count] = positionCount;
+        }
+
+        void trim() {
+            docs = Arrays.copyOf(docs, count);
+            frequencies = Arrays.copyOf(frequencies, count);
+            starts = Arrays.copyOf(starts, count + 1);
+            positions = Arrays.copyOf(positions, positionCount);
+        }
+
+        int indexOf(int doc) {
+            return Arrays.binarySearch(docs, 0, count, doc);
+        }
+
+        boolean contains(int doc, int position) {
+            int index = indexOf(doc);
+            return index >= 0 && Arrays.binarySearch(positions, starts[index], starts[index + 1], position) >= 0;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Personaje conectado con otro en el {@link CharacterGraph}.
+ *
+ * @param id      el ID del personaje.
+ * @param name    el nombre del personaje.
+ * @param degrees los grados de separación con el personaje de origen.
+ */
+public record GraphNeighbor(String id, String name, int degrees) {
+}
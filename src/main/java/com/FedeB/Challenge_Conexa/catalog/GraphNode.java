@@ -0,0 +1,12 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Nodo de una conexión del {@link CharacterGraph}: un personaje, o la película, nave o vehículo que
+ * comparten dos personajes.
+ *
+ * @param resource el recurso del nodo (people, films, starships o vehicles).
+ * @param id       el ID de la entidad.
+ * @param name     el nombre (o el título) de la entidad, o {@code null} si no está almacenada localmente.
+ */
+public record GraphNode(String resource, String id, String name) {
+}
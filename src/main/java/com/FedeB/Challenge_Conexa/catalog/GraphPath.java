@@ -0,0 +1,12 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.List;
+
+/**
+ * Conexión más corta entre dos personajes del {@link CharacterGraph}.
+ *
+ * @param degrees los grados de separación (la cantidad de películas, naves o vehículos del camino).
+ * @param path    los nodos del camino, alternando personajes y las películas, naves o vehículos que comparten.
+ */
+public record GraphPath(int degrees, List<GraphNode> path) {
+}
@@ -0,0 +1,89 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Estimación del tamaño en el heap de las estructuras con las que las columnas almacenan las entidades,
+ * según la disposición habitual de una JVM de 64 bits con referencias comprimidas: 12 bytes de encabezado por
+ * objeto, 16 por arreglo, 4 por referencia y tamaños alineados a 8 bytes.
+ */
+final class HeapSize {
+
+    /**
+     * Tamaño estimado de una entrada de un mapa (el nodo, sin la clave ni el valor).
+     */
+    static final long MAP_ENTRY = 32 + 4;
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+
+    private HeapSize() {
+    }
+
+    /**
+     * Estima el tamaño de un objeto con la cantidad de bytes de atributos indicada.
+     *
+     * @param fieldBytes los bytes de los atributos.
+     * @return el tamaño estimado en bytes.
+     */
+    static long object(long fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    /**
+     * Estima el tamaño de un arreglo de enteros.
+     *
+     * @param array el arreglo, o {@code null}.
+     * @return el tamaño estimado en bytes.
+     */
+    static long of(int[] array) {
+        return array != null ? align(ARRAY_HEADER + 4L * array.length) : 0;
+    }
+
+    /**
+     * Estima el tamaño de un arreglo de números de punto flotante.
+     *
+     * @param array el arreglo, o {@code null}.
+     * @return el tamaño estimado en bytes.
+     */
+    static long of(double[] array) {
+        return array != null ? align(ARRAY_HEADER + 8L * array.length) : 0;
+    }
+
+    /**
+     * Estima el tamaño de un arreglo de referencias, sin los objetos referenciados.
+     *
+     * @param array el arreglo, o {@code null}.
+     * @return el tamaño estimado en bytes.
+     */
+    static long of(Object[] array) {
+        return array != null ? references(array.length) : 0;
+    }
+
+    /**
+     * Estima el tamaño de un arreglo de referencias de la longitud indicada, como la tabla de un mapa.
+     *
+     * @param length la longitud del arreglo.
+     * @return el tamaño estimado en bytes.
+     */
+    static long references(long length) {
+        return align(ARRAY_HEADER + REFERENCE * length);
+    }
+
+    /**
+     * Estima el tamaño de un texto, con un byte por carácter si es Latin-1 y dos en caso contrario.
+     *
+     * @param text el texto, o {@code null}.
+     * @return el tamaño estimado en bytes.
+     */
+    static long of(String text) {
+        if (text == null) {
+            return 0;
+        }
+        boolean latin1 = text.chars().allMatch(c -> c <= 0xFF);
+        return object(4 + 1 + 1 + REFERENCE) + align(ARRAY_HEADER + (long) text.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,68 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columna de un atributo entero del DTO (por ejemplo, el número de episodio de una película).
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class IntegerColumn<T> extends Column<T> implements NumericColumn {
+
+    /**
+     * Valor de las filas sin valor.
+     */
+    public static final int NULL = Integer.MIN_VALUE;
+
+    private final Function<T, Integer> getter;
+    private final BiConsumer<T, Integer> setter;
+    private int[] values = new int[0];
+
+    IntegerColumn(String name, Function<T, Integer> getter, BiConsumer<T, Integer> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Devuelve el valor de una fila.
+     *
+     * @param row la fila.
+     * @return el valor, o {@link #NULL} si la entidad no lo tiene.
+     */
+    public int value(int row) {
+        return values[row];
+    }
+
+    @Override
+    public double numericValue(int row) {
+        int value = values[row];
+        return value != NULL ? value : Double.NaN;
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (values.length < capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        Integer value = getter.apply(entity);
+        values[row] = value != null ? value : NULL;
+    }
+
+    @Override
+    void read(int row, T entity) {
+        int value = values[row];
+        setter.accept(entity, value != NULL ? value : null);
+    }
+
+    @Override
+    long estimatedBytes() {
+        return HeapSize.of(values);
+    }
+}
@@ -0,0 +1,144 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Índice invertido de una {@link RelationColumn}: para cada ID de entidad relacionada, las filas que la
+ * incluyen en la relación (por ejemplo, para cada película, las filas de los personajes que aparecen en ella).
+ * <p>
+ * Las filas de cada ID se guardan en un arreglo de enteros indexado por el ID, sin objetos por fila. Los IDs
+ * demasiado grandes para indexarse en el arreglo, poco frecuentes en SWAPI, se guardan en un mapa. El índice
+ * se actualiza con cada escritura de la columna, quitando la fila de los IDs que deja de tener y
+ * agregándola a los nuevos.
+ */
+final class InvertedIndex {
+
+    private static final int[] EMPTY = new int[0];
+    // Mayor ID que se indexa en un arreglo; los demás se guardan en un mapa
+    private static final int MAX_INDEXED_ID = 1 << 20;
+
+    // Filas de cada ID (el ID es el índice); solo las primeras counts[id] posiciones son válidas
+    private int[][] rows = new int[0][];
+    private int[] counts = new int[0];
+    private final Map<Integer, int[]> largeIds = new HashMap<>();
+
+    /**
+     * Reemplaza los IDs relacionados de una fila.
+     *
+     * @param row      la fila.
+     * @param previous los IDs anteriores, o {@code null} si la fila no tenía la relación.
+     * @param current  los IDs nuevos, o {@code null} si la fila no tiene la relación.
+     */
+    void update(int row, int[] previous, int[] current) {
+        if (previous == current) {
+            return;
+        }
+        int previousLength = previous != null ? previous.length : 0;
+        int currentLength = current != null ? current.length : 0;
+        for (int i = 0; i < previousLength; i++) {
+            int id = previous[i];
+            if (id >= 0 && !contains(current, currentLength, id)) {
+                remove(id, row);
+            }
+        }
+        for (int i = 0; i < currentLength; i++) {
+            int id = current[i];
+            // Los IDs repetidos en la relación se indexan una única vez
+            if (id >= 0 && !contains(previous, previousLength, id) && !contains(current, i, id)) {
+                add(id, row);
+            }
+        }
+    }
+
+    /**
+     * Devuelve las filas que incluyen un ID en la relación.
+     *
+     * @param id el ID de la entidad relacionada.
+     * @return las filas, en orden creciente (una copia).
+     */
+    int[] rows(int id) {
+        int[] result;
+        if (id < 0) {
+            return EMPTY;
+        } else if (id < MAX_INDEXED_ID) {
+            result = id < rows.length && rows[id] != null ? Arrays.copyOf(rows[id], counts[id]) : EMPTY;
+        } else {
+            result = largeIds.getOrDefault(id, EMPTY).clone();
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void add(int id, int row) {
+        if (id >= MAX_INDEXED_ID) {
+            int[] current = largeIds.getOrDefault(id, EMPTY);
+            int[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = row;
+            largeIds.put(id, updated);
+            return;
+        }
+        if (id >= rows.length) {
+            int capacity = Math.max(id + 1, rows.length * 2);
+            rows = Arrays.copyOf(rows, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+        int[] idRows = rows[id];
+        if (idRows == null) {
+            idRows = rows[id] = new int[4];
+        } else if (counts[id] == idRows.length) {
+            idRows = rows[id] = Arrays.copyOf(idRows, idRows.length * 2);
+        }
+        idRows[counts[id]++] = row;
+    }
+
+    private void remove(int id, int row) {
+        if (id >= MAX_INDEXED_ID) {
+            int[] current = largeIds.get(id);
+            if (current != null) {
+                int[] updated = Arrays.stream(current).filter(other -> other != row).toArray();
+                if (updated.length == 0) {
+                    largeIds.remove(id);
+                } else {
+                    largeIds.put(id, updated);
+                }
+            }
+            return;
+        }
+        int[] idRows = rows[id];
+        for (int i = 0; i < counts[id]; i++) {
+            if (idRows[i] == row) {
+                // El orden no se conserva: la última fila ocupa el lugar de la eliminada
+                idRows[i] = idRows[--counts[id]];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica si las primeras {@code length} posiciones del arreglo contienen un ID.
+     */
+    private static boolean contains(int[] ids, int length, int id) {
+        for (int i = 0; i < length; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estima el tamaño que ocupa el índice en el heap.
+     */
+    long estimatedBytes() {
+        long bytes = HeapSize.of(rows) + HeapSize.of(counts);
+        for (int[] idRows : rows) {
+            bytes += HeapSize.of(idRows);
+        }
+        for (int[] idRows : largeIds.values()) {
+            bytes += HeapSize.of(idRows) + HeapSize.MAP_ENTRY + HeapSize.object(4);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,11 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Nombre encontrado por una búsqueda con tolerancia a errores de tipeo.
+ *
+ * @param id       el ID de la entidad.
+ * @param name     el nombre (o título, para las películas) de la entidad.
+ * @param distance la cantidad de errores entre el texto buscado y el nombre.
+ */
+public record NameMatch(String id, String name, int distance) {
+}
@@ -0,0 +1,457 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Árbol de prefijos (radix trie) sobre los nombres de las entidades almacenadas localmente, para
+ * autocompletar nombres a medida que se escriben.
+ * <p>
+ * Los nombres se normalizan (minúsculas, sin acentos y con los signos reemplazados por espacios) y se indexan
+ * desde el comienzo de cada palabra, de modo que {@code sky} sugiere a {@code Luke Skywalker}. Las aristas del
+ * árbol tienen etiquetas de varios caracteres (los nodos con un único hijo se fusionan) y todo el árbol se
+ * guarda en arreglos primitivos: las etiquetas concatenadas en un único texto y, por nodo, la posición de su
+ * etiqueta, sus hijos (contiguos y ordenados por el primer carácter) y sus entidades.
+ * <p>
+ * La popularidad de una entidad es la cantidad de entidades relacionadas (películas, personajes, naves,
+ * etc.). Cada nodo guarda, por recurso, la mayor popularidad de su subárbol, y las sugerencias se obtienen
+ * con una búsqueda de mejor primero: se expanden primero los subárboles con entidades más populares, sin
+ * recorrer los demás. A igual popularidad, las sugerencias se ordenan por nombre.
+ * <p>
+ * Con tolerancia a errores, si las coincidencias exactas no alcanzan se agregan las entidades cuyo nombre
+ * comienza con un texto a un error de tipeo del buscado (una letra de más, de menos o distinta). El árbol es
+ * inmutable y corresponde a una versión de las tablas de entidades ({@link #getVersions()}).
+ */
+public final class NameTrie {
+
+    /**
+     * Longitud mínima del texto buscado para tolerar errores de tipeo.
+     */
+    public static final int MIN_FUZZY_LENGTH = 3;
+
+    private static final int MAX_EDITS = 1;
+    private static final SwapiResource[] RESOURCES = SwapiResource.values();
+
+    private final long[] versions;
+    // Entidades, ordenadas por nombre normalizado
+    private final byte[] resources;
+    private final String[] ids;
+    private final String[] names;
+    private final int[] popularity;
+    // Nodos; la raíz es el nodo 0 y no tiene etiqueta
+    private final String labels;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] entryStart;
+    private final int[] entryCount;
+    private final int[] entries;
+    // Mayor popularidad de cada recurso en el subárbol de cada nodo (node * RESOURCES.length + recurso), o -1
+    private final int[] best;
+
+    private NameTrie(long[] versions, List<Entity> entities, Builder builder) {
+        this.versions = versions;
+        this.resources = new byte[entities.size()];
+        this.ids = new String[entities.size()];
+        this.names = new String[entities.size()];
+        this.popularity = new int[entities.size()];
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            resources[i] = (byte) entity.resource().ordinal();
+            ids[i] = entity.id();
+            names[i] = entity.name();
+            popularity[i] = entity.popularity();
+        }
+        this.labels = builder.labels.toString();
+        this.labelStart = Arrays.copyOf(builder.labelStart, builder.nodes);
+        this.labelLength = Arrays.copyOf(builder.labelLength, builder.nodes);
+        this.firstChild = Arrays.copyOf(builder.firstChild, builder.nodes);
+        this.childCount = Arrays.copyOf(builder.childCount, builder.nodes);
+        this.entryStart = Arrays.copyOf(builder.entryStart, builder.nodes);
+        this.entryCount = Arrays.copyOf(builder.entryCount, builder.nodes);
+        this.entries = Arrays.copyOf(builder.entries, builder.entryTotal);
+        this.best = Arrays.copyOf(builder.best, builder.nodes * RESOURCES.length);
+    }
+
+    /**
+     * Construye el árbol con los nombres de las entidades de todas las tablas.
+     *
+     * @param tables las tablas de entidades de cada recurso.
+     * @return el árbol.
+     */
+    public static NameTrie build(Map<SwapiResource, EntityTable<?>> tables) {
+        long[] versions = EntityTable.versions(tables);
+        List<Entity> entities = new ArrayList<>();
+        for (SwapiResource resource : RESOURCES) {
+            EntityTable<?> table = tables.get(resource);
+            if (table.column(nameColumn(resource)) instanceof TextColumn<?> names) {
+                table.read(() -> {
+                    List<RelationColumn<?>> relations = new ArrayList<>();
+                    for (SwapiResource target : RESOURCES) {
+                        table.relationsTo(target).forEach(relation -> relations.add((RelationColumn<?>) table.column(relation)));
+                    }
+                    for (int row = 0; row < table.size(); row++) {
+                        String name = names.value(row);
+                        String key = name != null ? normalize(name) : "";
+                        if (!key.isEmpty()) {
+                            int related = 0;
+                            for (RelationColumn<?> relation : relations) {
+                                int[] relatedIds = relation.ids(row);
+                                related += relatedIds != null ? relatedIds.length : 0;
+                            }
+                            entities.add(new Entity(resource, table.idAt(row), name, key, related));
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        entities.sort(Comparator.comparing(Entity::key)
+                .thenComparing(Entity::resource)
+                .thenComparing(Entity::id));
+
+        // Una clave por palabra de cada nombre: el nombre normalizado desde el comienzo de la palabra
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            String key = entities.get(i).key();
+            int start = 0;
+            while (start >= 0) {
+                keys.add(new Key(key.substring(start), i));
+                int space = key.indexOf(' ', start);
+                start = space >= 0 ? space + 1 : -1;
+            }
+        }
+        keys.sort(Comparator.comparing(Key::text).thenComparingInt(Key::entity));
+
+        Builder builder = new Builder(keys, entities);
+        builder.build();
+        return new NameTrie(versions, entities, builder);
+    }
+
+    private static String nameColumn(SwapiResource resource) {
+        return resource == SwapiResource.FILMS ? "title" : "name";
+    }
+
+    /**
+     * Normaliza un nombre o un texto buscado: minúsculas, sin acentos y con los signos y espacios
+     * consecutivos reemplazados por un único espacio.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char ch = decomposed.charAt(i);
+            if (Character.getType(ch) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(ch)) {
+                if (space && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(ch));
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Devuelve las versiones de las tablas de entidades a partir de las que se construyó el árbol.
+     *
+     * @return las versiones, en el orden de {@link SwapiResource}.
+     */
+    public long[] getVersions() {
+        return versions.clone();
+    }
+
+    /**
+     * Devuelve las entidades más populares cuyo nombre tiene una palabra que comienza con un texto.
+     *
+     * @param query  el texto buscado.
+     * @param types  los recursos de las entidades a sugerir.
+     * @param limit  la cantidad máxima de sugerencias.
+     * @param fuzzy  si se toleran errores de tipeo (con textos de al menos {@link #MIN_FUZZY_LENGTH}
+     *               caracteres).
+     * @return las sugerencias exactas ordenadas por popularidad, seguidas de las que coinciden con un error
+     * de tipeo.
+     * @throws IllegalArgumentException si el texto buscado no tiene letras ni dígitos.
+     */
+    public List<Suggestion> suggest(String query, Set<SwapiResource> types, int limit, boolean fuzzy) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            throw new IllegalArgumentException("El texto buscado no tiene letras ni dígitos");
+        }
+        int mask = 0;
+        for (SwapiResource type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        List<Suggestion> suggestions = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        int node = locate(prefix);
+        if (node >= 0) {
+            collect(List.of(node), mask, limit, true, seen, suggestions);
+        }
+        if (fuzzy && prefix.length() >= MIN_FUZZY_LENGTH && suggestions.size() < limit) {
+            List<Integer> nodes = new ArrayList<>();
+            int[] row = new int[prefix.length() + 1];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = i;
+            }
+            approximate(prefix, 0, row, nodes);
+            collect(nodes, mask, limit, false, seen, suggestions);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Devuelve el nodo cuyo subárbol tiene las claves que comienzan con un prefijo (si el prefijo termina en
+     * medio de una etiqueta, el nodo al que lleva la etiqueta), o -1 si ninguna clave comienza con él.
+     */
+    private int locate(String prefix) {
+        int node = 0;
+        int i = 0;
+        while (i < prefix.length()) {
+            int child = child(node, prefix.charAt(i));
+            if (child < 0) {
+                return -1;
+            }
+            for (int j = 0; j < labelLength[child] && i < prefix.length(); j++, i++) {
+                if (labels.charAt(labelStart[child] + j) != prefix.charAt(i)) {
+                    return -1;
+                }
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Busca el hijo de un nodo cuya etiqueta comienza con un carácter, por búsqueda binaria.
+     */
+    private int child(int node, char ch) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char first = labels.charAt(labelStart[middle]);
+            if (first < ch) {
+                low = middle + 1;
+            } else if (first > ch) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recorre el árbol calculando la distancia de edición (Levenshtein) entre el prefijo y el texto de cada
+     * nodo, y agrega los nodos cuyo texto está a un error del prefijo. No desciende por las ramas que ya
+     * superan la cantidad de errores tolerada.
+     *
+     * @param row las distancias entre el texto del nodo y cada prefijo del texto buscado.
+     */
+    private void approximate(String prefix, int node, int[] row, List<Integer> nodes) {
+        int length = prefix.length();
+        for (int child = firstChild[node]; child < firstChild[node] + childCount[node]; child++) {
+            int[] current = row;
+            boolean matched = false;
+            boolean pruned = false;
+            for (int j = 0; j < labelLength[child] && !matched && !pruned; j++) {
+                char ch = labels.charAt(labelStart[child] + j);
+                int[] next = new int[length + 1];
+                next[0] = current[0] + 1;
+                int min = next[0];
+                for (int i = 1; i <= length; i++) {
+                    int substitution = current[i - 1] + (prefix.charAt(i - 1) == ch ? 0 : 1);
+                    next[i] = Math.min(substitution, Math.min(current[i], next[i - 1]) + 1);
+                    min = Math.min(min, next[i]);
+                }
+                current = next;
+                matched = current[length] <= MAX_EDITS;
+                pruned = min > MAX_EDITS;
+            }
+            if (matched) {
+                nodes.add(child);
+            } else if (!pruned) {
+                approximate(prefix, child, current, nodes);
+            }
+        }
+    }
+
+    /**
+     * Agrega las entidades más populares de los subárboles de los nodos, con una búsqueda de mejor primero.
+     * <p>
+     * La cola tiene nodos (con la mayor popularidad de su subárbol) y entidades, codificados en un
+     * {@code long}: la popularidad, luego un bit que ordena los nodos antes que las entidades de igual
+     * popularidad (para no sugerir una entidad antes de ver las de igual popularidad y menor nombre), y
+     * luego el índice del nodo o de la entidad (invertido, para ordenar por nombre).
+     */
+    private void collect(List<Integer> nodes, int mask, int limit, boolean exact, Set<Integer> seen,
+                         List<Suggestion> suggestions) {
+        PriorityQueue<Long> queue = new PriorityQueue<>(Comparator.reverseOrder());
+        for (int node : nodes) {
+            offerNode(queue, node, mask);
+        }
+        while (!queue.isEmpty() && suggestions.size() < limit) {
+            long item = queue.poll();
+            int index = (int) (0xFFFFFFFFL - (item & 0xFFFFFFFFL));
+            if ((item & (1L << 32)) == 0) {
+                if (seen.add(index)) {
+                    suggestions.add(new Suggestion(RESOURCES[resources[index]].getPath(), ids[index], names[index],
+                            popularity[index], exact));
+                }
+                continue;
+            }
+            for (int i = entryStart[index]; i < entryStart[index] + entryCount[index]; i++) {
+                int entity = entries[i];
+                if ((mask & (1 << resources[entity])) != 0 && !seen.contains(entity)) {
+                    queue.add(((long) popularity[entity] << 33) | (0xFFFFFFFFL - entity));
+                }
+            }
+            for (int child = firstChild[index]; child < firstChild[index] + childCount[index]; child++) {
+                offerNode(queue, child, mask);
+            }
+        }
+    }
+
+    private void offerNode(PriorityQueue<Long> queue, int node, int mask) {
+        int max = -1;
+        for (int resource = 0; resource < RESOURCES.length; resource++) {
+            if ((mask & (1 << resource)) != 0) {
+                max = Math.max(max, best[node * RESOURCES.length + resource]);
+            }
+        }
+        if (max >= 0) {
+            queue.add(((long) max << 33) | (1L << 32) | (0xFFFFFFFFL - node));
+        }
+    }
+
+    /**
+     * Entidad del árbol, con su nombre normalizado.
+     */
+    private record Entity(SwapiResource resource, String id, String name, String key, int popularity) {
+    }
+
+    /**
+     * Clave del árbol: el nombre normalizado de una entidad desde el comienzo de una de sus palabras.
+     */
+    private record Key(String text, int entity) {
+    }
+
+    /**
+     * Construye los nodos del árbol a partir de las claves ordenadas: cada grupo de claves con el mismo
+     * carácter siguiente forma un hijo, cuya etiqueta es el prefijo común del grupo.
+     */
+    private static final class Builder {
+
+        private final List<Key> keys;
+        private final List<Entity> entities;
+        private final StringBuilder labels = new StringBuilder();
+        private int nodes;
+        private int[] labelStart = new int[16];
+        private int[] labelLength = new int[16];
+        private int[] firstChild = new int[16];
+        private int[] childCount = new int[16];
+        private int[] entryStart = new int[16];
+        private int[] entryCount = new int[16];
+        private int entryTotal;
+        private int[] entries = new int[16];
+        private int[] best = new int[16 * RESOURCES.length];
+
+        Builder(List<Key> keys, List<Entity> entities) {
+            this.keys = keys;
+            this.entities = entities;
+        }
+
+        void build() {
+            allocate(1);
+            build(0, 0, keys.size(), 0);
+        }
+
+        /**
+         * Completa un nodo con las claves de la posición {@code from} a {@code to}, que comparten los
+         * primeros {@code depth} caracteres.
+         */
+        private void build(int node, int from, int to, int depth) {
+            Arrays.fill(best, node * RESOURCES.length, (node + 1) * RESOURCES.length, -1);
+            // Las claves que terminan en el nodo están primero, por el orden de las claves
+            int i = from;
+            entryStart[node] = entryTotal;
+            while (i < to && keys.get(i).text().length() == depth) {
+                int entity = keys.get(i).entity();
+                if (entryTotal == entries.length) {
+                    entries = Arrays.copyOf(entries, entryTotal * 2);
+                }
+                entries[entryTotal++] = entity;
+                int resource = entities.get(entity).resource().ordinal();
+                best[node * RESOURCES.length + resource] = Math.max(best[node * RESOURCES.length + resource],
+                        entities.get(entity).popularity());
+                i++;
+            }
+            entryCount[node] = entryTotal - entryStart[node];
+
+            List<int[]> groups = new ArrayList<>();
+            while (i < to) {
+                char ch = keys.get(i).text().charAt(depth);
+                int end = i + 1;
+                while (end < to && keys.get(end).text().charAt(depth) == ch) {
+                    end++;
+                }
+                groups.add(new int[]{i, end});
+                i = end;
+            }
+            firstChild[node] = nodes;
+            childCount[node] = groups.size();
+            allocate(groups.size());
+            for (int g = 0; g < groups.size(); g++) {
+                int child = firstChild[node] + g;
+                int groupFrom = groups.get(g)[0];
+                int groupTo = groups.get(g)[1];
+                String first = keys.get(groupFrom).text();
+                String last = keys.get(groupTo - 1).text();
+                // Las claves están ordenadas: el prefijo común del grupo es el de la primera y la última
+                int common = depth + 1;
+                while (common < first.length() && common < last.length() && first.charAt(common) == last.charAt(common)) {
+                    common++;
+                }
+                labelStart[child] = labels.length();
+                labelLength[child] = common - depth;
+                labels.append(first, depth, common);
+                build(child, groupFrom, groupTo, common);
+                for (int resource = 0; resource < RESOURCES.length; resource++) {
+                    best[node * RESOURCES.length + resource] = Math.max(best[node * RESOURCES.length + resource],
+                            best[child * RESOURCES.length + resource]);
+                }
+            }
+        }
+
+        private void allocate(int count) {
+            nodes += count;
+            if (nodes > labelStart.length) {
+                int capacity = Math.max(nodes, labelStart.length * 2);
+                labelStart = Arrays.copyOf(labelStart, capacity);
+                labelLength = Arrays.copyOf(labelLength, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                entryStart = Arrays.copyOf(entryStart, capacity);
+                entryCount = Arrays.copyOf(entryCount, capacity);
+                best = Arrays.copyOf(best, capacity * RESOURCES.length);
+            }
+        }
+    }
+}
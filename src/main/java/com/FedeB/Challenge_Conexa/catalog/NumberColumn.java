@@ -0,0 +1,126 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Columna de un atributo numérico que SWAPI envía como texto (altura, masa, costo, tripulación, etc.).
+ * <p>
+ * El valor se interpreta una única vez y se guarda en un arreglo de {@code double}. Los valores no
+ * numéricos ("unknown", "n/a", "none", rangos como "30-165") se guardan como {@link #UNKNOWN}. Para que el
+ * DTO se pueda reconstruir sin pérdida, el texto original solo se conserva (codificado en un diccionario)
+ * cuando no coincide con la representación canónica del número, por ejemplo "1,358" o "unknown".
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class NumberColumn<T> extends Column<T> implements NumericColumn {
+
+    /**
+     * Valor de las filas cuyo atributo es desconocido o no numérico.
+     */
+    public static final double UNKNOWN = Double.NaN;
+
+    // Marcas del texto original: el número en su forma canónica o un atributo nulo
+    private static final int CANONICAL = -1;
+    private static final int NULL = -2;
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d[\\d,]*(\\.\\d+)?");
+
+    private final Function<T, String> getter;
+    private final BiConsumer<T, String> setter;
+    private final StringDictionary originals = new StringDictionary();
+    private double[] values = new double[0];
+    private int[] texts = new int[0];
+
+    NumberColumn(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Devuelve el valor numérico de una fila.
+     *
+     * @param row la fila.
+     * @return el valor, o {@link #UNKNOWN} si es desconocido.
+     */
+    public double value(int row) {
+        return values[row];
+    }
+
+    @Override
+    public double numericValue(int row) {
+        return values[row];
+    }
+
+    /**
+     * Indica si un valor es conocido.
+     *
+     * @param value el valor de una fila.
+     * @return {@code true} si el valor no es {@link #UNKNOWN}.
+     */
+    public static boolean isKnown(double value) {
+        return !Double.isNaN(value);
+    }
+
+    /**
+     * Interpreta el texto de un atributo numérico de SWAPI.
+     *
+     * @param text el texto del atributo.
+     * @return el valor, o {@link #UNKNOWN} si el texto no es un número.
+     */
+    public static double parse(String text) {
+        if (text == null || !NUMBER.matcher(text).matches()) {
+            return UNKNOWN;
+        }
+        return Double.parseDouble(text.replace(",", ""));
+    }
+
+    /**
+     * Devuelve la representación canónica de un número: sin decimales si es entero.
+     */
+    static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (values.length < capacity) {
+            values = Arrays.copyOf(values, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        String text = getter.apply(entity);
+        double value = parse(text);
+        values[row] = value;
+        if (text == null) {
+            texts[row] = NULL;
+        } else if (isKnown(value) && format(value).equals(text)) {
+            texts[row] = CANONICAL;
+        } else {
+            texts[row] = originals.encode(text);
+        }
+    }
+
+    @Override
+    void read(int row, T entity) {
+        int text = texts[row];
+        setter.accept(entity, switch (text) {
+            case NULL -> null;
+            case CANONICAL -> format(values[row]);
+            default -> originals.decode(text);
+        });
+    }
+
+    @Override
+    long estimatedBytes() {
+        return HeapSize.of(values) + HeapSize.of(texts) + originals.estimatedBytes();
+    }
+}
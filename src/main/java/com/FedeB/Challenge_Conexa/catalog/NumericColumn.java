@@ -0,0 +1,23 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Columna cuyos valores pueden leerse como números, utilizada por los índices ordenados y las consultas
+ * por rango de {@link EntityTable}.
+ */
+public interface NumericColumn {
+
+    /**
+     * Devuelve el nombre del atributo.
+     *
+     * @return el nombre del atributo.
+     */
+    String getName();
+
+    /**
+     * Devuelve el valor de una fila como número.
+     *
+     * @param row la fila.
+     * @return el valor, o {@link Double#NaN} si es desconocido o la entidad no lo tiene.
+     */
+    double numericValue(int row);
+}
@@ -0,0 +1,19 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.List;
+
+/**
+ * Plan de ejecución de una consulta sobre una {@link EntityTable}, tal como lo devuelve
+ * {@link EntityTable#explain}.
+ *
+ * @param filter        la expresión de filtro en su forma canónica, o {@code null} si la consulta no tiene una.
+ * @param indexed       los filtros que se resuelven con índices ordenados o bitmaps.
+ * @param residual      el predicado que se evalúa fila por fila, o {@code null} si no hay.
+ * @param access        cómo se obtienen las filas candidatas (índice, bitmap o recorrido completo).
+ * @param candidates    la cantidad de filas candidatas.
+ * @param rows          la cantidad de filas de la tabla.
+ * @param estimatedCost el costo estimado de evaluar los filtros sobre las filas candidatas.
+ */
+public record QueryPlan(String filter, List<String> indexed, String residual, String access,
+                        int candidates, int rows, long estimatedCost) {
+}
@@ -0,0 +1,76 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+/**
+ * Codifica las URLs de SWAPI que referencian entidades de un recurso como el ID numérico de la entidad.
+ * <p>
+ * Una URL con la forma {@code https://www.swapi.tech/api/{recurso}/{id}} se guarda como el ID
+ * (un entero no negativo). Cualquier otra URL se guarda en un diccionario, con un código negativo,
+ * para poder reconstruirla sin pérdida.
+ */
+final class ReferenceCodec {
+
+    /**
+     * Código de las referencias nulas.
+     */
+    static final int NULL = Integer.MIN_VALUE;
+
+    private final SwapiResource target;
+    private final String prefix;
+    private final StringDictionary others = new StringDictionary();
+
+    ReferenceCodec(SwapiResource target) {
+        this.target = target;
+        this.prefix = target.urlOf("");
+    }
+
+    int encode(String url) {
+        if (url == null) {
+            return NULL;
+        }
+        if (url.startsWith(prefix)) {
+            int id = parseId(url, prefix.length());
+            if (id >= 0) {
+                return id;
+            }
+        }
+        return -1 - others.encode(url);
+    }
+
+    String decode(int code) {
+        if (code == NULL) {
+            return null;
+        }
+        return code >= 0 ? target.urlOf(Integer.toString(code)) : others.decode(-1 - code);
+    }
+
+    /**
+     * Interpreta un ID numérico de SWAPI a partir de una posición del texto. Solo se aceptan los IDs en su
+     * forma canónica (sin ceros a la izquierda), para que {@link Integer#toString} reconstruya el mismo texto.
+     *
+     * @return el ID, o {@code -1} si el texto no es un ID numérico canónico.
+     */
+    static int parseId(String text, int start) {
+        int length = text.length() - start;
+        if (length == 0 || length > 9 || (length > 1 && text.charAt(start) == '0')) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Estima el tamaño que ocupan en el heap las referencias que no son IDs de SWAPI.
+     */
+    long estimatedBytes() {
+        return others.estimatedBytes();
+    }
+}
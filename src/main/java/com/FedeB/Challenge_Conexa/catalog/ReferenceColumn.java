@@ -0,0 +1,70 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columna de una referencia a una entidad (una URL de SWAPI), almacenada como el ID de la entidad.
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class ReferenceColumn<T> extends Column<T> {
+
+    private final Function<T, String> getter;
+    private final BiConsumer<T, String> setter;
+    private final SwapiResource target;
+    private final ReferenceCodec codec;
+    private int[] codes = new int[0];
+
+    ReferenceColumn(String name, SwapiResource target, Function<T, String> getter, BiConsumer<T, String> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+        this.target = target;
+        this.codec = new ReferenceCodec(target);
+    }
+
+    /**
+     * Devuelve el recurso de las entidades referenciadas.
+     *
+     * @return el recurso referenciado.
+     */
+    public SwapiResource getTarget() {
+        return target;
+    }
+
+    /**
+     * Devuelve el ID de la entidad referenciada por una fila.
+     *
+     * @param row la fila.
+     * @return el ID, o un valor negativo si la fila no tiene una referencia a una entidad de SWAPI.
+     */
+    public int id(int row) {
+        return codes[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (codes.length < capacity) {
+            codes = Arrays.copyOf(codes, capacity);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        codes[row] = codec.encode(getter.apply(entity));
+    }
+
+    @Override
+    void read(int row, T entity) {
+        setter.accept(entity, codec.decode(codes[row]));
+    }
+
+    @Override
+    long estimatedBytes() {
+        return HeapSize.of(codes) + codec.estimatedBytes();
+    }
+}
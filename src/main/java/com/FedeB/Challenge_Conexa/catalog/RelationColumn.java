@@ -0,0 +1,151 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columna de una relación con otras entidades (una lista de URLs de SWAPI, como las películas de un
+ * personaje), almacenada como un arreglo con los IDs de las entidades relacionadas.
+ * <p>
+ * Los arreglos iguales se comparten entre las filas (muchas entidades tienen, por ejemplo, las mismas
+ * películas), por lo que cada combinación distinta se almacena una única vez. Además, la columna mantiene
+ * un índice invertido ({@link InvertedIndex}) con las filas que incluyen cada ID, actualizado con cada
+ * escritura.
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class RelationColumn<T> extends Column<T> {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final Function<T, List<String>> getter;
+    private final BiConsumer<T, List<String>> setter;
+    private final SwapiResource target;
+    private final ReferenceCodec codec;
+    private final Map<SharedIds, int[]> shared = new HashMap<>();
+    private int[][] ids = new int[0][];
+    private final InvertedIndex index = new InvertedIndex();
+    // Tamaño estimado de los arreglos de IDs compartidos y de sus entradas en el mapa
+    private long sharedBytes;
+
+    RelationColumn(String name, SwapiResource target, Function<T, List<String>> getter, BiConsumer<T, List<String>> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+        this.target = target;
+        this.codec = new ReferenceCodec(target);
+    }
+
+    /**
+     * Devuelve el recurso de las entidades relacionadas.
+     *
+     * @return el recurso relacionado.
+     */
+    public SwapiResource getTarget() {
+        return target;
+    }
+
+    /**
+     * Devuelve los IDs de las entidades relacionadas con una fila. Los valores negativos corresponden a
+     * URLs que no referencian una entidad de SWAPI.
+     *
+     * @param row la fila.
+     * @return los IDs (el arreglo no debe modificarse), o {@code null} si la entidad no tiene la relación.
+     */
+    public int[] ids(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Devuelve las filas que incluyen una entidad en la relación (por ejemplo, las filas de los personajes
+     * que aparecen en una película).
+     *
+     * @param id el ID de la entidad relacionada.
+     * @return las filas, en orden creciente.
+     */
+    public int[] rowsContaining(int id) {
+        return index.rows(id);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (ids.length < capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        int[] previous = ids[row];
+        ids[row] = encode(getter.apply(entity));
+        index.update(row, previous, ids[row]);
+    }
+
+    private int[] encode(List<String> urls) {
+        if (urls == null) {
+            return null;
+        }
+        if (urls.isEmpty()) {
+            return EMPTY;
+        }
+        int[] encoded = new int[urls.size()];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = codec.encode(urls.get(i));
+        }
+        return shared.computeIfAbsent(new SharedIds(encoded), key -> {
+            sharedBytes += HeapSize.of(key.ids) + HeapSize.object(8) + HeapSize.MAP_ENTRY;
+            return key.ids;
+        });
+    }
+
+    @Override
+    void read(int row, T entity) {
+        int[] encoded = ids[row];
+        if (encoded == null) {
+            setter.accept(entity, null);
+            return;
+        }
+        String[] urls = new String[encoded.length];
+        for (int i = 0; i < encoded.length; i++) {
+            urls[i] = codec.decode(encoded[i]);
+        }
+        setter.accept(entity, Collections.unmodifiableList(Arrays.asList(urls)));
+    }
+
+    @Override
+    long estimatedBytes() {
+        return HeapSize.of(ids) + sharedBytes + HeapSize.references(shared.size() * 2L) + codec.estimatedBytes()
+                + index.estimatedBytes();
+    }
+
+    /**
+     * Clave para compartir los arreglos de IDs iguales.
+     */
+    private static final class SharedIds {
+
+        private final int[] ids;
+        private final int hash;
+
+        private SharedIds(int[] ids) {
+            this.ids = ids;
+            this.hash = Arrays.hashCode(ids);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof SharedIds that && Arrays.equals(ids, that.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
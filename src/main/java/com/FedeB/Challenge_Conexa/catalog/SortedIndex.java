@@ -0,0 +1,137 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Índice ordenado de una {@link NumericColumn}: las filas con valor conocido ordenadas por valor, en
+ * arreglos primitivos, para resolver consultas por rango con búsqueda binaria y recorrer las filas en
+ * el orden del atributo sin volver a ordenarlas.
+ * <p>
+ * El índice es inmutable y corresponde a una versión de la tabla; la tabla lo reconstruye cuando cambian
+ * sus filas.
+ */
+final class SortedIndex {
+
+    private final long version;
+    // Filas con valor conocido, ordenadas por valor (y por fila ante valores iguales)
+    private final int[] rows;
+    // Valores de las filas, en el mismo orden
+    private final double[] values;
+    // Posición de cada fila en el orden; las filas sin valor tienen la posición rows.length
+    private final int[] ranks;
+    // Filas sin valor, en orden de fila
+    private final int[] unknownRows;
+
+    private SortedIndex(long version, int[] rows, double[] values, int[] ranks, int[] unknownRows) {
+        this.version = version;
+        this.rows = rows;
+        this.values = values;
+        this.ranks = ranks;
+        this.unknownRows = unknownRows;
+    }
+
+    /**
+     * Construye el índice de una columna.
+     *
+     * @param column  la columna.
+     * @param size    la cantidad de filas de la tabla.
+     * @param version la versión de la tabla.
+     * @return el índice.
+     */
+    static SortedIndex build(NumericColumn column, int size, long version) {
+        double[] known = new double[size];
+        int knownCount = 0;
+        for (int row = 0; row < size; row++) {
+            double value = column.numericValue(row);
+            if (!Double.isNaN(value)) {
+                known[knownCount++] = value;
+            }
+        }
+        double[] distinct = Arrays.copyOf(known, knownCount);
+        Arrays.sort(distinct);
+
+        // Cada fila se codifica como (posición del valor, fila) para ordenarlas con un arreglo primitivo
+        long[] keys = new long[knownCount];
+        int[] unknownRows = new int[size - knownCount];
+        int k = 0;
+        int u = 0;
+        for (int row = 0; row < size; row++) {
+            double value = column.numericValue(row);
+            if (Double.isNaN(value)) {
+                unknownRows[u++] = row;
+            } else {
+                keys[k++] = ((long) lowerBound(distinct, value) << 32) | row;
+            }
+        }
+        Arrays.sort(keys);
+
+        int[] rows = new int[knownCount];
+        double[] values = new double[knownCount];
+        int[] ranks = new int[size];
+        Arrays.fill(ranks, knownCount);
+        for (int i = 0; i < knownCount; i++) {
+            int row = (int) keys[i];
+            rows[i] = row;
+            values[i] = distinct[(int) (keys[i] >>> 32)];
+            ranks[row] = i;
+        }
+        return new SortedIndex(version, rows, values, ranks, unknownRows);
+    }
+
+    long version() {
+        return version;
+    }
+
+    int size() {
+        return rows.length;
+    }
+
+    int rowAt(int position) {
+        return rows[position];
+    }
+
+    int rank(int row) {
+        return ranks[row];
+    }
+
+    int[] unknownRows() {
+        return unknownRows;
+    }
+
+    /**
+     * Devuelve la primera posición cuyo valor es mayor (o igual, si es inclusivo) que el mínimo.
+     */
+    int from(double min, boolean inclusive) {
+        return inclusive ? lowerBound(values, min) : upperBound(values, min);
+    }
+
+    /**
+     * Devuelve la posición siguiente a la última cuyo valor es menor (o igual, si es inclusivo) que el máximo.
+     */
+    int to(double max, boolean inclusive) {
+        return inclusive ? upperBound(values, max) : lowerBound(values, max);
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        return bound(sorted, value, false);
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        return bound(sorted, value, true);
+    }
+
+    private static int bound(double[] sorted, double value, boolean upper) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Double.compare(sorted[mid], value);
+            if (cmp < 0 || (upper && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,85 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de cadenas que asigna a cada valor distinto un código entero consecutivo.
+ * <p>
+ * Se utiliza para codificar los atributos categóricos (géneros, colores, clases, fabricantes) y los
+ * valores que no admiten una representación compacta, de modo que cada cadena distinta se almacene
+ * una única vez. Los códigos nunca se reasignan: el diccionario solo crece.
+ */
+public final class StringDictionary {
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+    // Tamaño estimado de los valores y de sus entradas en el mapa de códigos
+    private volatile long bytes;
+
+    /**
+     * Devuelve el código de un valor, asignándole uno nuevo si todavía no estaba en el diccionario.
+     *
+     * @param value el valor a codificar.
+     * @return el código del valor.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            bytes += HeapSize.of(value) + HeapSize.MAP_ENTRY + HeapSize.object(4);
+            return size++;
+        }
+    }
+
+    /**
+     * Devuelve el código de un valor sin agregarlo al diccionario.
+     *
+     * @param value el valor a buscar.
+     * @return el código del valor, o {@code -1} si no está en el diccionario.
+     */
+    public int codeOf(String value) {
+        return codes.getOrDefault(value, -1);
+    }
+
+    /**
+     * Devuelve el valor correspondiente a un código.
+     *
+     * @param code el código del valor.
+     * @return el valor.
+     */
+    public String decode(int code) {
+        return values[code];
+    }
+
+    /**
+     * Devuelve la cantidad de valores distintos del diccionario.
+     *
+     * @return la cantidad de valores.
+     */
+    public int size() {
+        return codes.size();
+    }
+
+    /**
+     * Estima el tamaño que ocupa el diccionario en el heap.
+     *
+     * @return el tamaño estimado en bytes.
+     */
+    public long estimatedBytes() {
+        return bytes + HeapSize.of(values) + HeapSize.references(codes.size() * 2L);
+    }
+}
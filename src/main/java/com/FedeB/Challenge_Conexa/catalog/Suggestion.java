@@ -0,0 +1,14 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Sugerencia de autocompletado de un {@link NameTrie}.
+ *
+ * @param resource   el recurso de la entidad (por ejemplo, {@code people}).
+ * @param id         el ID de la entidad.
+ * @param name       el nombre o título de la entidad.
+ * @param popularity la popularidad de la entidad (la cantidad de entidades relacionadas).
+ * @param exact      si el nombre comienza con el texto buscado, o {@code false} si coincide con un error de
+ *                   tipeo.
+ */
+public record Suggestion(String resource, String id, String name, int popularity, boolean exact) {
+}
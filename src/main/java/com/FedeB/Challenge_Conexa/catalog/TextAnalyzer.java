@@ -0,0 +1,89 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Analizador de texto en inglés del {@link FullTextIndex}: separa el texto en palabras (secuencias de letras y
+ * dígitos), las pasa a minúsculas, descarta las palabras vacías ({@code the}, {@code of}, {@code and}, etc.)
+ * y reduce las demás a su raíz con {@link EnglishStemmer}.
+ * <p>
+ * Las palabras vacías se descartan pero ocupan su posición, de modo que una frase como
+ * {@code "return of the jedi"} solo coincide con las dos palabras a la distancia original.
+ */
+final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "he", "her",
+            "his", "in", "into", "is", "it", "its", "of", "on", "or", "she", "so", "that", "the", "their",
+            "them", "there", "they", "this", "to", "was", "were", "will", "with");
+
+    /**
+     * Consumidor de las palabras del texto.
+     */
+    @FunctionalInterface
+    interface TokenConsumer {
+
+        /**
+         * Recibe una palabra del texto.
+         *
+         * @param term     la raíz de la palabra.
+         * @param position la posición de la palabra en el texto (contando las palabras vacías).
+         * @param start    la posición del primer carácter de la palabra.
+         * @param end      la posición siguiente al último carácter de la palabra.
+         */
+        void accept(String term, int position, int start, int end);
+    }
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Analiza un texto.
+     *
+     * @param text     el texto.
+     * @param consumer el consumidor que recibe las palabras que no son vacías, en orden.
+     * @return la cantidad de posiciones del texto (la cantidad de palabras, incluyendo las vacías).
+     */
+    static int analyze(String text, TokenConsumer consumer) {
+        int position = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                break;
+            }
+            int start = i;
+            // Los apóstrofos dentro de una palabra (como en "Jabba's") forman parte de ella
+            while (i < length && (Character.isLetterOrDigit(text.charAt(i))
+                    || isApostrophe(text.charAt(i)) && i + 1 < length && Character.isLetterOrDigit(text.charAt(i + 1)))) {
+                i++;
+            }
+            String term = normalize(text.substring(start, i));
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                consumer.accept(EnglishStemmer.stem(term), position, start, i);
+            }
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Pasa una palabra a minúsculas y quita el posesivo y los apóstrofos.
+     */
+    private static String normalize(String word) {
+        String lower = word.toLowerCase(Locale.ROOT);
+        int apostrophe = lower.length() - 2;
+        if (apostrophe > 0 && isApostrophe(lower.charAt(apostrophe)) && lower.charAt(apostrophe + 1) == 's') {
+            lower = lower.substring(0, apostrophe);
+        }
+        return lower.indexOf('\'') < 0 && lower.indexOf('’') < 0 ? lower : lower.replace("'", "").replace("’", "");
+    }
+
+    private static boolean isApostrophe(char ch) {
+        return ch == '\'' || ch == '’';
+    }
+}
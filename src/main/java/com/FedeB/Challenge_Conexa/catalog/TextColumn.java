@@ -0,0 +1,59 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Columna de texto libre (nombres, descripciones, fechas), almacenada sin codificar.
+ *
+ * @param <T> el tipo de DTO de las entidades.
+ */
+public final class TextColumn<T> extends Column<T> {
+
+    private final Function<T, String> getter;
+    private final BiConsumer<T, String> setter;
+    private String[] values = new String[0];
+    // Tamaño estimado de los textos almacenados
+    private long textBytes;
+
+    TextColumn(String name, Function<T, String> getter, BiConsumer<T, String> setter) {
+        super(name);
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Devuelve el valor de una fila.
+     *
+     * @param row la fila.
+     * @return el valor, o {@code null} si la entidad no lo tiene.
+     */
+    public String value(int row) {
+        return values[row];
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (values.length < capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    @Override
+    void write(int row, T entity) {
+        String value = getter.apply(entity);
+        textBytes += HeapSize.of(value) - HeapSize.of(values[row]);
+        values[row] = value;
+    }
+
+    @Override
+    void read(int row, T entity) {
+        setter.accept(entity, values[row]);
+    }
+
+    @Override
+    long estimatedBytes() {
+        return HeapSize.of(values) + textBytes;
+    }
+}
@@ -0,0 +1,14 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+/**
+ * Resultado de una búsqueda de texto completo en un {@link FullTextIndex}.
+ *
+ * @param resource el recurso de la entidad (por ejemplo, {@code films}).
+ * @param id       el ID de la entidad.
+ * @param title    el nombre o título de la entidad.
+ * @param field    el atributo del fragmento (el que más coincidencias tiene).
+ * @param snippet  un fragmento del atributo con las palabras encontradas entre {@code <em>} y {@code </em>}.
+ * @param score    la relevancia del resultado según BM25.
+ */
+public record TextHit(String resource, String id, String title, String field, String snippet, double score) {
+}
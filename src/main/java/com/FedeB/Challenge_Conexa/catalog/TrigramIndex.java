@@ -0,0 +1,262 @@
+package com.FedeB.Challenge_Conexa.catalog;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de trigramas sobre los nombres de las entidades de un recurso, para buscar nombres con errores de
+ * tipeo.
+ * <p>
+ * Los nombres se normalizan como en {@link NameTrie} y se indexan por sus trigramas (las secuencias de tres
+ * caracteres consecutivos, incluidos los espacios). La distancia de un nombre al texto buscado es la menor
+ * cantidad de errores (letras de más, de menos o distintas) entre el texto y alguna parte del nombre, de modo
+ * que {@code skywlker} encuentra a {@code Luke Skywalker} a distancia 1. La cantidad de errores tolerados
+ * crece con la longitud del texto buscado.
+ * <p>
+ * Cada error altera a lo sumo tres trigramas, por lo que un nombre a distancia {@code k} comparte al menos
+ * {@code t - 3k} de los {@code t} trigramas distintos del texto buscado. Los candidatos se obtienen contando
+ * los trigramas compartidos en las listas del índice, y la distancia se calcula solo para los que alcanzan
+ * ese mínimo (con textos cortos, para los que el mínimo no filtra, se calcula para todos los nombres). El
+ * texto buscado y la cantidad de candidatos verificados están acotados, por lo que el costo de una búsqueda
+ * no depende de la longitud del texto.
+ * <p>
+ * El índice es inmutable y corresponde a una versión de la tabla ({@link #getVersion()}).
+ */
+public final class TrigramIndex {
+
+    /**
+     * Longitud máxima del texto buscado, una vez normalizado.
+     */
+    public static final int MAX_QUERY_LENGTH = 64;
+
+    /**
+     * Cantidad máxima de candidatos cuya distancia se calcula; si hay más, se verifican los que comparten
+     * más trigramas con el texto buscado.
+     */
+    public static final int MAX_CANDIDATES = 1024;
+
+    private static final int GRAM = 3;
+
+    private final long version;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] keys;
+    // Trigramas ordenados y, por trigrama, las entidades que lo contienen (CSR)
+    private final long[] grams;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private TrigramIndex(long version, String[] ids, String[] names, String[] keys,
+                         long[] grams, int[] offsets, int[] postings) {
+        this.version = version;
+        this.ids = ids;
+        this.names = names;
+        this.keys = keys;
+        this.grams = grams;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Construye el índice con los nombres (o títulos, para las películas) de las entidades de una tabla.
+     *
+     * @param resource el recurso de la tabla.
+     * @param table    la tabla de entidades.
+     * @return el índice.
+     */
+    public static TrigramIndex build(SwapiResource resource, EntityTable<?> table) {
+        String field = resource == SwapiResource.FILMS ? "title" : "name";
+        if (!(table.column(field) instanceof TextColumn<?> column)) {
+            throw new IllegalArgumentException("El atributo no es de texto: " + field);
+        }
+        return table.read(() -> {
+            List<String> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            Map<Long, int[]> lists = new HashMap<>();
+            for (int row = 0; row < table.size(); row++) {
+                String name = column.value(row);
+                String key = name != null ? NameTrie.normalize(name) : "";
+                if (key.isEmpty()) {
+                    continue;
+                }
+                int entity = ids.size();
+                ids.add(table.idAt(row));
+                names.add(name);
+                keys.add(key);
+                for (long gram : distinctGrams(key)) {
+                    // Primera posición: la cantidad de entidades de la lista
+                    int[] list = lists.computeIfAbsent(gram, ignored -> new int[4]);
+                    if (list[0] + 1 == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        lists.put(gram, list);
+                    }
+                    list[++list[0]] = entity;
+                }
+            }
+
+            long[] grams = lists.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+            int[] offsets = new int[grams.length + 1];
+            for (int i = 0; i < grams.length; i++) {
+                offsets[i + 1] = offsets[i] + lists.get(grams[i])[0];
+            }
+            int[] postings = new int[offsets[grams.length]];
+            for (int i = 0; i < grams.length; i++) {
+                int[] list = lists.get(grams[i]);
+                System.arraycopy(list, 1, postings, offsets[i], list[0]);
+            }
+            return new TrigramIndex(table.version(), ids.toArray(String[]::new), names.toArray(String[]::new),
+                    keys.toArray(String[]::new), grams, offsets, postings);
+        });
+    }
+
+    /**
+     * Devuelve la versión de la tabla a partir de la que se construyó el índice.
+     *
+     * @return la versión de la tabla.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Cantidad de errores tolerados según la longitud del texto buscado (normalizado).
+     *
+     * @param length la longitud del texto buscado.
+     * @return la distancia máxima de los nombres encontrados.
+     */
+    public static int maxDistance(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : length < 16 ? 2 : 3;
+    }
+
+    /**
+     * Busca los nombres a menor distancia de un texto.
+     *
+     * @param query el texto buscado.
+     * @param limit la cantidad máxima de resultados.
+     * @return los nombres a una distancia tolerada, ordenados por distancia, luego por longitud del nombre y
+     * luego por nombre.
+     * @throws IllegalArgumentException si el texto buscado no tiene letras ni dígitos o supera
+     *                                  {@link #MAX_QUERY_LENGTH} caracteres.
+     */
+    public List<NameMatch> search(String query, int limit) {
+        String key = NameTrie.normalize(query);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("El texto buscado no tiene letras ni dígitos");
+        }
+        if (key.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("El texto buscado supera los " + MAX_QUERY_LENGTH + " caracteres");
+        }
+        int maxDistance = maxDistance(key.length());
+        long[] queryGrams = distinctGrams(key);
+        int minShared = queryGrams.length - GRAM * maxDistance;
+
+        int[] candidates;
+        if (minShared <= 0) {
+            candidates = new int[ids.length];
+            Arrays.setAll(candidates, entity -> entity);
+        } else {
+            candidates = candidates(queryGrams, minShared);
+        }
+
+        List<NameMatch> matches = new ArrayList<>();
+        int[] previous = new int[key.length() + 1];
+        int[] current = new int[key.length() + 1];
+        for (int entity : candidates) {
+            int distance = distance(key, keys[entity], previous, current);
+            if (distance <= maxDistance) {
+                matches.add(new NameMatch(ids[entity], names[entity], distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(NameMatch::distance)
+                .thenComparingInt(match -> match.name().length())
+                .thenComparing(NameMatch::name)
+                .thenComparing(NameMatch::id));
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Devuelve las entidades que comparten al menos una cantidad de trigramas con el texto buscado, hasta
+     * {@link #MAX_CANDIDATES} (las que comparten más).
+     */
+    private int[] candidates(long[] queryGrams, int minShared) {
+        int[] shared = new int[ids.length];
+        int[] touched = new int[ids.length];
+        int count = 0;
+        for (long gram : queryGrams) {
+            int index = Arrays.binarySearch(grams, gram);
+            if (index < 0) {
+                continue;
+            }
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                int entity = postings[i];
+                if (shared[entity]++ == 0) {
+                    touched[count++] = entity;
+                }
+            }
+        }
+        int selected = 0;
+        for (int i = 0; i < count; i++) {
+            if (shared[touched[i]] >= minShared) {
+                touched[selected++] = touched[i];
+            }
+        }
+        if (selected <= MAX_CANDIDATES) {
+            return Arrays.copyOf(touched, selected);
+        }
+        return Arrays.stream(touched, 0, selected).boxed()
+                .sorted(Comparator.<Integer>comparingInt(entity -> -shared[entity]).thenComparingInt(entity -> entity))
+                .limit(MAX_CANDIDATES)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Calcula la menor cantidad de errores entre el texto buscado y alguna parte del nombre: la distancia de
+     * Levenshtein en la que el texto puede comenzar y terminar en cualquier posición del nombre.
+     */
+    static int distance(String query, String name, int[] previous, int[] current) {
+        int length = query.length();
+        for (int i = 0; i <= length; i++) {
+            previous[i] = i;
+        }
+        int best = previous[length];
+        for (int j = 0; j < name.length() && best > 0; j++) {
+            char ch = name.charAt(j);
+            current[0] = 0;
+            for (int i = 1; i <= length; i++) {
+                int substitution = previous[i - 1] + (query.charAt(i - 1) == ch ? 0 : 1);
+                current[i] = Math.min(substitution, Math.min(previous[i], current[i - 1]) + 1);
+            }
+            best = Math.min(best, current[length]);
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return best;
+    }
+
+    /**
+     * Devuelve los trigramas distintos de un texto normalizado, ordenados; cada trigrama se codifica con sus
+     * tres caracteres en un {@code long}. Los textos de menos de tres caracteres no tienen trigramas.
+     */
+    private static long[] distinctGrams(String key) {
+        if (key.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[key.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) key.charAt(i) << 32) | ((long) key.charAt(i + 1) << 16) | key.charAt(i + 2);
+        }
+        return Arrays.stream(grams).sorted().distinct().toArray();
+    }
+}
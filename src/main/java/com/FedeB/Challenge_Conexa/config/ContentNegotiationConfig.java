@@ -0,0 +1,73 @@
+package com.FedeB.Challenge_Conexa.config;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufHttpMessageConverter;
+import com.FedeB.Challenge_Conexa.converter.ProtobufSchemas;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.projection.FieldProjectionModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuración de la negociación de contenido de la API.
+ * <p>
+ * JSON es el formato por defecto. Con jackson-dataformat-cbor y jackson-dataformat-smile en el classpath,
+ * Spring registra automáticamente los conversores de CBOR ({@code application/cbor}) y Smile
+ * ({@code application/x-jackson-smile}) a continuación del de JSON. Esta configuración agrega al final
+ * el conversor de Protobuf ({@code application/x-protobuf}) para los DTOs de SWAPI.
+ * <p>
+ * Los mappers de todos los conversores registran el {@link FieldProjectionModule}, de modo que la
+ * proyección de campos ({@code ?fields=}) se aplique en cualquiera de los formatos.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    /**
+     * Define los esquemas Protobuf de los DTOs de SWAPI.
+     *
+     * @return los esquemas Protobuf.
+     */
+    @Bean
+    public ProtobufSchemas protobufSchemas() {
+        return new ProtobufSchemas(dtoTypes(), this::configureProjection);
+    }
+
+    /**
+     * Agrega el conversor de Protobuf al final de la lista de conversores.
+     * <p>
+     * El conversor no se declara como bean, ya que Spring Boot ubica los conversores declarados como
+     * beans antes que el de JSON, lo que convertiría a Protobuf en el formato por defecto.
+     *
+     * @param converters los conversores configurados.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof AbstractJackson2HttpMessageConverter jacksonConverter) {
+                configureProjection(jacksonConverter.getObjectMapper());
+            }
+        }
+        converters.add(new ProtobufHttpMessageConverter(protobufSchemas()));
+    }
+
+    /**
+     * Registra la proyección de campos en un mapper: el módulo que asocia los DTOs al filtro de
+     * propiedades y el filtro por defecto, que serializa todas las propiedades.
+     */
+    private void configureProjection(ObjectMapper mapper) {
+        mapper.registerModule(new FieldProjectionModule(dtoTypes()));
+        mapper.setFilterProvider(FieldProjectionModule.defaultFilters());
+    }
+
+    private static List<Class<?>> dtoTypes() {
+        return Arrays.stream(SwapiResource.values())
+                .<Class<?>>map(SwapiResource::getDtoType)
+                .toList();
+    }
+}
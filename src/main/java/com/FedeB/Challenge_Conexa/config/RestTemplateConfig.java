@@ -1,9 +1,13 @@
 package com.FedeB.Challenge_Conexa.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Configuración para el uso de RestTemplate.
  * <p>
@@ -17,12 +21,22 @@ public class RestTemplateConfig {
      * Crea y configura un bean de tipo {@link RestTemplate}.
      * <p>
      * Este método define un RestTemplate que puede ser inyectado en otros componentes de la aplicación
-     * para realizar solicitudes HTTP a servicios externos.
+     * para realizar solicitudes HTTP a servicios externos. Las solicitudes tienen plazos de conexión y de
+     * lectura: cancelar una tarea no interrumpe una lectura bloqueada del socket, por lo que sin ellos una
+     * solicitud a un SWAPI que no responde ocuparía su hilo indefinidamente. Los plazos son independientes del
+     * de la búsqueda unificada, ya que el mismo RestTemplate obtiene también los detalles, las revalidaciones
+     * y las páginas de la sincronización, que pueden tardar más.
      *
+     * @param connectTimeout el plazo para establecer la conexión.
+     * @param readTimeout    el plazo máximo de espera de cada lectura de la respuesta.
      * @return un nuevo objeto RestTemplate configurado para su uso.
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(@Value("${swapi.http.connect-timeout:5s}") Duration connectTimeout,
+                                     @Value("${swapi.http.read-timeout:30s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
     }
 }
@@ -2,6 +2,7 @@ package com.FedeB.Challenge_Conexa.config;
 
 import com.FedeB.Challenge_Conexa.filter.JwtRequestFilter;
 import com.FedeB.Challenge_Conexa.service.Authentication.JwtService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,6 +44,7 @@ public class SecurityConfig {
          *   <li>Cross-Site Request Forgery: Deshabilita la protección CSRF, ya que se utiliza autenticación basada en tokens JWT.</li>
          *   <li>Endpoints públicos: Permite acceso sin autenticación al endpoint "/auth/login".</li>
          *   <li>Autenticación: Todos los demás endpoints requieren autenticación.</li>
+         *   <li>Respuestas asíncronas: Su despacho final no se vuelve a autorizar.</li>
          *   <li>Sesión: Se utiliza una política de sesión sin estado (stateless).</li>
          * </ul>
          *
@@ -64,6 +66,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/auth/login").permitAll() // Permitir acceso público solo al Login
+                        // Las respuestas asíncronas (streams de cambios y exportaciones) ya se autorizaron al recibir la solicitud
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated() // Todos los demás endpoints requieren autenticación
                 )
                 // Configuración de gestión de sesiones stateless
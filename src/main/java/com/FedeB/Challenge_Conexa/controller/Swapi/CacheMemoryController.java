@@ -0,0 +1,47 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.dto.Cache.CacheMemoryDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.CacheMemoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador de administración que informa el uso de memoria de las cachés.
+ * <p>
+ * Por ejemplo, {@code GET /api/admin/cache/memory} devuelve el presupuesto configurado, los bytes estimados
+ * de las entidades y respuestas almacenadas de cada tipo de recurso y el estado de la caché fuera del heap.
+ * El presupuesto solo se hace cumplir sobre las respuestas: las tablas de entidades se informan y se
+ * cuentan, pero no se descartan.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class CacheMemoryController {
+
+    private final CacheMemoryService cacheMemoryService;
+
+    /**
+     * Constructor para inyectar el servicio de uso de memoria.
+     *
+     * @param cacheMemoryService el servicio que informa el uso de memoria de las cachés.
+     */
+    @Autowired
+    public CacheMemoryController(CacheMemoryService cacheMemoryService) {
+        this.cacheMemoryService = cacheMemoryService;
+    }
+
+    /**
+     * Endpoint para obtener el uso de memoria de las cachés. La respuesta no se almacena en cachés.
+     *
+     * @return una respuesta HTTP con el uso de memoria, en total y por tipo de recurso.
+     */
+    @GetMapping("/cache/memory")
+    public ResponseEntity<CacheMemoryDto> getMemory() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(cacheMemoryService.getUsage());
+    }
+}
@@ -0,0 +1,72 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.dto.Sync.ChangeFeedDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador del feed de cambios en las entidades, para replicar la API de forma incremental.
+ * <p>
+ * Por ejemplo, {@code GET /api/changes?since=k3x9.42} devuelve las entidades agregadas, modificadas o
+ * eliminadas después de la versión 42 del conjunto de datos (de la época {@code k3x9} del proceso), y
+ * {@code GET /api/changes/stream?since=k3x9.42} envía esos cambios y los siguientes como eventos SSE. Sin
+ * {@code since}, {@code GET /api/changes} devuelve la versión vigente desde la cual consultar.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangesController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * Constructor para inyectar el servicio del feed de cambios.
+     *
+     * @param changeFeedService el servicio que informa los cambios en las entidades.
+     */
+    @Autowired
+    public ChangesController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Endpoint para obtener los cambios posteriores a una versión del conjunto de datos. La respuesta no se
+     * almacena en cachés.
+     *
+     * @param since la versión a partir de la cual (sin incluirla) se informan los cambios, informada por la
+     *              consulta anterior (opcional).
+     * @return una respuesta HTTP con los cambios y la versión hasta la que llegan, o con la indicación de que
+     * deben volver a obtenerse todos los datos.
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedDto> getChanges(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(changeFeedService.getChanges(since));
+    }
+
+    /**
+     * Endpoint para recibir los cambios como eventos SSE. Al reconectarse, el encabezado {@code Last-Event-ID}
+     * tiene prioridad sobre el parámetro {@code since}.
+     *
+     * @param since       la versión a partir de la cual se envían los cambios (opcional; por defecto, solo los
+     *                    cambios nuevos).
+     * @param lastEventId la versión del último evento recibido antes de reconectarse (opcional).
+     * @return el stream de eventos.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String since,
+                             @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return changeFeedService.stream(lastEventId != null ? lastEventId : since);
+    }
+}
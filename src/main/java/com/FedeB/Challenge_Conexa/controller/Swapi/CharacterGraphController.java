@@ -0,0 +1,70 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.catalog.GraphNeighbor;
+import com.FedeB.Challenge_Conexa.catalog.GraphPath;
+import com.FedeB.Challenge_Conexa.service.Swapi.CharacterGraphService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador para consultar las conexiones entre personajes a través de las películas, naves y vehículos
+ * que comparten.
+ * <p>
+ * Por ejemplo, {@code GET /api/people/path?from=1&to=20} (la conexión más corta entre dos personajes) o
+ * {@code GET /api/people/neighbors?id=1&degrees=2} (los personajes a hasta dos grados de separación).
+ */
+@RestController
+@RequestMapping("/api")
+public class CharacterGraphController {
+
+    private final CharacterGraphService characterGraphService;
+
+    /**
+     * Constructor para inyectar el servicio del grafo de personajes.
+     *
+     * @param characterGraphService el servicio que resuelve las conexiones.
+     */
+    @Autowired
+    public CharacterGraphController(CharacterGraphService characterGraphService) {
+        this.characterGraphService = characterGraphService;
+    }
+
+    /**
+     * Endpoint para obtener la conexión más corta entre dos personajes.
+     * <p>
+     * La conexión se resuelve con las entidades almacenadas localmente, por lo que puede cambiar a medida
+     * que se obtienen entidades de SWAPI; la respuesta no se almacena en cachés.
+     *
+     * @param from el ID del personaje de origen (requerido).
+     * @param to   el ID del personaje de destino (requerido).
+     * @return una respuesta HTTP con los grados de separación y el camino entre los personajes.
+     */
+    @GetMapping("/people/path")
+    public ResponseEntity<GraphPath> path(@RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(characterGraphService.shortestPath(from, to));
+    }
+
+    /**
+     * Endpoint para obtener los personajes conectados con un personaje.
+     *
+     * @param id      el ID del personaje (requerido).
+     * @param degrees la cantidad máxima de grados de separación (1 por defecto).
+     * @return una respuesta HTTP con los personajes conectados, ordenados por grados de separación.
+     */
+    @GetMapping("/people/neighbors")
+    public ResponseEntity<List<GraphNeighbor>> neighbors(@RequestParam String id,
+                                                         @RequestParam(defaultValue = "1") int degrees) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(characterGraphService.neighbors(id, degrees));
+    }
+}
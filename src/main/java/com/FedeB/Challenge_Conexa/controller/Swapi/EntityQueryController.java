@@ -0,0 +1,105 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.catalog.FacetCounts;
+import com.FedeB.Challenge_Conexa.catalog.QueryPlan;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.EntityQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador para consultar las entidades de SWAPI por rango y orden de sus atributos numéricos y por
+ * valor de sus atributos categóricos, y para contarlas por valor (facetas).
+ * <p>
+ * Por ejemplo, {@code GET /api/starships/query?hyperdrive_rating.lt=1.0&sort=cost_in_credits},
+ * {@code GET /api/people/query?height.gt=190&gender=female&sort=-height},
+ * {@code GET /api/people/query?filter=gender == "female" && films contains 1} o
+ * {@code GET /api/people/facets?fields=gender,eye_color,hair_color}.
+ */
+@RestController
+@RequestMapping("/api")
+public class EntityQueryController {
+
+    private final EntityQueryService entityQueryService;
+
+    /**
+     * Constructor para inyectar el servicio de consultas.
+     *
+     * @param entityQueryService el servicio que resuelve las consultas.
+     */
+    @Autowired
+    public EntityQueryController(EntityQueryService entityQueryService) {
+        this.entityQueryService = entityQueryService;
+    }
+
+    /**
+     * Endpoint para consultar las entidades de un recurso.
+     * <p>
+     * La consulta se resuelve sobre las entidades almacenadas localmente, por lo que su resultado cambia a
+     * medida que se obtienen entidades de SWAPI; la respuesta no se almacena en cachés.
+     *
+     * @param resource el recurso (people, films, starships o vehicles).
+     * @param params   los filtros ({@code atributo.gt|gte|lt|lte}, {@code atributo=valor} y {@code filter}),
+     *                 {@code sort}, {@code offset} y {@code limit}.
+     * @return una respuesta HTTP con las entidades encontradas, o 404 si el recurso no existe.
+     */
+    @GetMapping("/{resource}/query")
+    public ResponseEntity<List<Object>> query(@PathVariable String resource, @RequestParam MultiValueMap<String, String> params) {
+        SwapiResource swapiResource = SwapiResource.fromPath(resource);
+        if (swapiResource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(entityQueryService.query(swapiResource, params));
+    }
+
+    /**
+     * Endpoint para obtener el plan de ejecución de una consulta (filtros indexados, predicado residual,
+     * filas candidatas y costo estimado), sin ejecutarla.
+     *
+     * @param resource el recurso (people, films, starships o vehicles).
+     * @param params   los parámetros de la consulta.
+     * @return una respuesta HTTP con el plan de ejecución, o 404 si el recurso no existe.
+     */
+    @GetMapping("/{resource}/query/explain")
+    public ResponseEntity<QueryPlan> explain(@PathVariable String resource, @RequestParam MultiValueMap<String, String> params) {
+        SwapiResource swapiResource = SwapiResource.fromPath(resource);
+        if (swapiResource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(entityQueryService.explain(swapiResource, params));
+    }
+
+    /**
+     * Endpoint para contar las entidades de un recurso por valor de sus atributos categóricos.
+     * <p>
+     * Igual que las consultas, se resuelve sobre las entidades almacenadas localmente y la respuesta no se
+     * almacena en cachés.
+     *
+     * @param resource el recurso (people, films, starships o vehicles).
+     * @param params   los atributos a contar ({@code fields}, separados por comas) y los filtros de la consulta.
+     * @return una respuesta HTTP con los conteos por valor, o 404 si el recurso no existe.
+     */
+    @GetMapping("/{resource}/facets")
+    public ResponseEntity<FacetCounts> facets(@PathVariable String resource, @RequestParam MultiValueMap<String, String> params) {
+        SwapiResource swapiResource = SwapiResource.fromPath(resource);
+        if (swapiResource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(entityQueryService.facets(swapiResource, params));
+    }
+}
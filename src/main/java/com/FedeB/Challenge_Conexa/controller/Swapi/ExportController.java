@@ -0,0 +1,98 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.filter.ResponseCacheFilter;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controlador de la exportación completa de las entidades.
+ * <p>
+ * Por ejemplo, {@code GET /api/export?types=people,films&format=ndjson} devuelve todos los personajes y
+ * películas en una sola respuesta, escrita a medida que se leen las entidades y comprimida con gzip si el
+ * cliente lo acepta. La respuesta lleva como ETag la versión del conjunto de datos exportada: una solicitud
+ * con "If-None-Match" de una exportación sin cambios recibe un {@code 304 Not Modified} sin cuerpo.
+ */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    // Tamaño del buffer de la compresión, que se vacía en la respuesta a medida que se llena
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ExportService exportService;
+
+    /**
+     * Constructor para inyectar el servicio de exportación.
+     *
+     * @param exportService el servicio que escribe las entidades.
+     */
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Endpoint para exportar las entidades de uno o más recursos.
+     *
+     * @param types   los recursos a exportar, separados por comas (opcional; por defecto, todos).
+     * @param format  el formato, {@code ndjson} (por defecto) o {@code csv}.
+     * @param request la solicitud HTTP, de la que se leen "If-None-Match" y "Accept-Encoding".
+     * @return una respuesta HTTP con las entidades, o {@code 304} si el cliente ya tiene esta versión.
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String types,
+                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                        HttpServletRequest request) {
+        List<SwapiResource> resources = exportService.parseTypes(types);
+        ExportService.Format exportFormat = exportService.parseFormat(format);
+        // La versión se fija acá y la lectura pasa al hilo que escribe la respuesta, que la cierra
+        SnapshotVersions.Reader reader = exportService.open();
+        long version = reader.version();
+        String etag = exportService.etag(version);
+        if (exportService.notModified(request.getHeader(HttpHeaders.IF_NONE_MATCH), version)) {
+            reader.close();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        boolean gzip = ResponseCacheFilter.acceptsGzip(request);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("swapi-export-" + version + "." + exportFormat.getExtension())
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                exportService.export(resources, exportFormat, reader, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(resources, exportFormat, reader, out);
+            }
+        });
+    }
+}
@@ -3,6 +3,7 @@ package com.FedeB.Challenge_Conexa.controller.Swapi;
 import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
 import com.FedeB.Challenge_Conexa.service.Swapi.FilmsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -80,4 +81,24 @@ public class FilmsController {
         List<FilmDetailsDto> films = filmsService.getFilmsByName(name);
         return ResponseEntity.ok(films);
     }
+
+    /**
+     * Endpoint para buscar películas por su nombre tolerando errores de tipeo ({@code fuzzy=true}).
+     * <p>
+     * Los resultados dependen de películas almacenadas localmente, por lo que la respuesta no se almacena en
+     * cachés.
+     *
+     * @param name el nombre buscado, posiblemente con errores de tipeo (requerido).
+     * @return una respuesta HTTP con películas más parecidas al nombre buscado, ordenadas por la cantidad de
+     * errores, o 400 si el nombre es inválido.
+     */
+    @GetMapping(value = "/films/name", params = "fuzzy=true")
+    public ResponseEntity<List<FilmDetailsDto>> getFilmsByNameFuzzy(
+            @RequestParam(required = true) String name) {
+
+        List<FilmDetailsDto> films = filmsService.getFilmsByNameFuzzy(name);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(films);
+    }
 }
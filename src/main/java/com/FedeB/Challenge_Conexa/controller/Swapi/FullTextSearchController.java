@@ -0,0 +1,71 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.catalog.TextHit;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.FullTextSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Controlador para la búsqueda de texto completo sobre las entidades almacenadas localmente.
+ * <p>
+ * Por ejemplo, {@code GET /api/fulltext?q="death star" plans} (las películas cuyo texto de apertura menciona
+ * los planos de la Estrella de la Muerte) o {@code GET /api/fulltext?q=corellian&types=starships,vehicles}.
+ */
+@RestController
+@RequestMapping("/api")
+public class FullTextSearchController {
+
+    private final FullTextSearchService fullTextSearchService;
+
+    /**
+     * Constructor para inyectar el servicio de búsqueda de texto completo.
+     *
+     * @param fullTextSearchService el servicio que resuelve las búsquedas.
+     */
+    @Autowired
+    public FullTextSearchController(FullTextSearchService fullTextSearchService) {
+        this.fullTextSearchService = fullTextSearchService;
+    }
+
+    /**
+     * Endpoint para buscar palabras o frases en los atributos de texto de las entidades.
+     * <p>
+     * Los resultados dependen de las entidades almacenadas localmente, por lo que la respuesta no se
+     * almacena en cachés.
+     *
+     * @param q     las palabras a buscar, con las frases entre comillas (requerido).
+     * @param types los recursos en los que buscar, separados por comas (films por defecto).
+     * @param limit la cantidad máxima de resultados (10 por defecto).
+     * @return una respuesta HTTP con los resultados ordenados por relevancia, con un fragmento del texto
+     * encontrado, o 400 si la búsqueda o los recursos son inválidos.
+     */
+    @GetMapping("/fulltext")
+    public ResponseEntity<List<TextHit>> search(@RequestParam String q,
+                                                @RequestParam(defaultValue = "films") String types,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        List<SwapiResource> resources = new ArrayList<>();
+        for (String type : types.split(",")) {
+            SwapiResource resource = SwapiResource.fromPath(type.trim());
+            if (resource == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Recurso desconocido: " + type.trim());
+            }
+            if (!resources.contains(resource)) {
+                resources.add(resource);
+            }
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(fullTextSearchService.search(q, resources, limit));
+    }
+}
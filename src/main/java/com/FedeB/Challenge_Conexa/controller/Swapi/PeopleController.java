@@ -3,6 +3,7 @@ package com.FedeB.Challenge_Conexa.controller.Swapi;
 import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
 import com.FedeB.Challenge_Conexa.service.Swapi.PeopleService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -84,4 +85,24 @@ public class PeopleController {
         List<PeopleDetailsDto> people = peopleService.getPeopleByName(name);
         return ResponseEntity.ok(people);
     }
+
+    /**
+     * Endpoint para buscar personas/personajes por su nombre tolerando errores de tipeo ({@code fuzzy=true}).
+     * <p>
+     * Los resultados dependen de las personas/personajes almacenados localmente, por lo que la respuesta no
+     * se almacena en cachés.
+     *
+     * @param name el nombre buscado, posiblemente con errores de tipeo (requerido).
+     * @return una respuesta HTTP con las personas/personajes más parecidos al nombre buscado, ordenados por la
+     * cantidad de errores, o 400 si el nombre es inválido.
+     */
+    @GetMapping(value = "/people/name", params = "fuzzy=true")
+    public ResponseEntity<List<PeopleDetailsDto>> getPeopleByNameFuzzy(
+            @RequestParam(required = true) String name) {
+
+        List<PeopleDetailsDto> people = peopleService.getPeopleByNameFuzzy(name);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(people);
+    }
 }
@@ -0,0 +1,52 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufSchemas;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador que publica los esquemas Protobuf de las respuestas de la API.
+ * <p>
+ * Los clientes que solicitan {@code application/x-protobuf} pueden generar sus clases a partir de
+ * estos esquemas.
+ */
+@RestController
+@RequestMapping("/api")
+public class ProtobufSchemaController {
+
+    private final ProtobufSchemas protobufSchemas;
+
+    /**
+     * Constructor para inyectar los esquemas Protobuf.
+     *
+     * @param protobufSchemas los esquemas generados a partir de los DTOs.
+     */
+    @Autowired
+    public ProtobufSchemaController(ProtobufSchemas protobufSchemas) {
+        this.protobufSchemas = protobufSchemas;
+    }
+
+    /**
+     * Endpoint para obtener la definición {@code .proto} de un recurso.
+     * <p>
+     * La definición incluye el mensaje del DTO (endpoints de detalle) y el mensaje {@code ResultList}
+     * (endpoints que devuelven listas).
+     *
+     * @param resource el recurso (people, films, starships o vehicles).
+     * @return una respuesta HTTP con la definición, o 404 si el recurso no existe.
+     */
+    @GetMapping(value = "/schema/{resource}.proto", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getSchema(@PathVariable String resource) {
+        SwapiResource swapiResource = SwapiResource.fromPath(resource);
+        if (swapiResource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(protobufSchemas.getDefinition(swapiResource.getDtoType()));
+    }
+}
@@ -0,0 +1,59 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.RelationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador para consultar las entidades relacionadas con una entidad de SWAPI.
+ * <p>
+ * Por ejemplo, {@code GET /api/films/4/characters} (los personajes de una película),
+ * {@code GET /api/starships/12/pilots} (los pilotos de una nave) o {@code GET /api/people/1/starships}.
+ */
+@RestController
+@RequestMapping("/api")
+public class RelationController {
+
+    private final RelationService relationService;
+
+    /**
+     * Constructor para inyectar el servicio de relaciones.
+     *
+     * @param relationService el servicio que resuelve las relaciones.
+     */
+    @Autowired
+    public RelationController(RelationService relationService) {
+        this.relationService = relationService;
+    }
+
+    /**
+     * Endpoint para obtener las entidades relacionadas con una entidad.
+     * <p>
+     * La respuesta se resuelve con las entidades almacenadas localmente, por lo que cambia a medida que se
+     * obtienen entidades de SWAPI; no se almacena en cachés.
+     *
+     * @param resource el recurso de la entidad (people, films, starships o vehicles).
+     * @param id       el ID de la entidad.
+     * @param relation la relación (por ejemplo characters, pilots, films o starships).
+     * @return una respuesta HTTP con las entidades relacionadas, o 404 si el recurso no existe.
+     */
+    @GetMapping("/{resource}/{id}/{relation}")
+    public ResponseEntity<List<Object>> related(@PathVariable String resource, @PathVariable String id,
+                                                @PathVariable String relation) {
+        SwapiResource swapiResource = SwapiResource.fromPath(resource);
+        if (swapiResource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(relationService.related(swapiResource, id, relation));
+    }
+}
@@ -0,0 +1,52 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.dto.Search.SearchResponseDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador para la búsqueda unificada por nombre en todos los tipos de recurso.
+ * <p>
+ * Por ejemplo, {@code GET /api/search?q=falcon} busca en personajes, películas, naves y vehículos a la vez,
+ * en lugar de consultar cada endpoint {@code /name} por separado.
+ */
+@RestController
+@RequestMapping("/api")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * Constructor para inyectar el servicio de búsqueda unificada.
+     *
+     * @param searchService el servicio que distribuye la búsqueda entre los tipos de recurso.
+     */
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Endpoint para buscar entidades por nombre en todos los tipos de recurso.
+     * <p>
+     * Una respuesta parcial (con algún tipo que no terminó a tiempo o falló) no se almacena en cachés, para
+     * que la siguiente solicitud vuelva a intentar la búsqueda completa.
+     *
+     * @param q el texto a buscar en los nombres (requerido).
+     * @return una respuesta HTTP con los resultados ordenados por relevancia y el estado de cada tipo.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<SearchResponseDto> search(@RequestParam String q) {
+        SearchResponseDto response = searchService.search(q);
+        if (response.isPartial()) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
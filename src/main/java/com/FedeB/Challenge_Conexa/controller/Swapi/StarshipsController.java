@@ -5,6 +5,7 @@ import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
 import com.FedeB.Challenge_Conexa.service.Swapi.PeopleService;
 import com.FedeB.Challenge_Conexa.service.Swapi.StarshipsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -86,4 +87,24 @@ public class StarshipsController {
         List<StarshipDetailsDto> people = starshipService.getStarshipsByName(name);
         return ResponseEntity.ok(people);
     }
+
+    /**
+     * Endpoint para buscar naves por su nombre tolerando errores de tipeo ({@code fuzzy=true}).
+     * <p>
+     * Los resultados dependen de naves almacenadas localmente, por lo que la respuesta no se almacena en
+     * cachés.
+     *
+     * @param name el nombre buscado, posiblemente con errores de tipeo (requerido).
+     * @return una respuesta HTTP con naves más parecidas al nombre buscado, ordenadas por la cantidad de
+     * errores, o 400 si el nombre es inválido.
+     */
+    @GetMapping(value = "/starships/name", params = "fuzzy=true")
+    public ResponseEntity<List<StarshipDetailsDto>> getStarshipsByNameFuzzy(
+            @RequestParam(required = true) String name) {
+
+        List<StarshipDetailsDto> starships = starshipService.getStarshipsByNameFuzzy(name);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(starships);
+    }
 }
@@ -0,0 +1,75 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.catalog.Suggestion;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.SuggestService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controlador de autocompletado de nombres de entidades.
+ * <p>
+ * Por ejemplo, {@code GET /api/suggest?q=lu&types=people,starships} sugiere los personajes y naves cuyo
+ * nombre tiene una palabra que comienza con {@code lu}, sin consultar SWAPI en cada tecla.
+ */
+@RestController
+@RequestMapping("/api")
+public class SuggestController {
+
+    private final SuggestService suggestService;
+
+    /**
+     * Constructor para inyectar el servicio de autocompletado.
+     *
+     * @param suggestService el servicio que resuelve las sugerencias.
+     */
+    @Autowired
+    public SuggestController(SuggestService suggestService) {
+        this.suggestService = suggestService;
+    }
+
+    /**
+     * Endpoint para obtener sugerencias de nombres.
+     * <p>
+     * Las sugerencias dependen de las entidades almacenadas localmente, por lo que la respuesta no se
+     * almacena en cachés.
+     *
+     * @param q     el texto escrito hasta el momento (requerido).
+     * @param types los recursos a sugerir, separados por comas (todos por defecto).
+     * @param limit la cantidad máxima de sugerencias (10 por defecto).
+     * @param fuzzy si se toleran errores de tipeo (falso por defecto).
+     * @return una respuesta HTTP con las sugerencias ordenadas por popularidad, o 400 si el texto o los
+     * recursos son inválidos.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam String q,
+                                                    @RequestParam(required = false) String types,
+                                                    @RequestParam(defaultValue = "10") int limit,
+                                                    @RequestParam(defaultValue = "false") boolean fuzzy) {
+        Set<SwapiResource> resources = EnumSet.allOf(SwapiResource.class);
+        if (types != null) {
+            resources.clear();
+            for (String type : types.split(",")) {
+                SwapiResource resource = SwapiResource.fromPath(type.trim());
+                if (resource == null) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Recurso desconocido: " + type.trim());
+                }
+                resources.add(resource);
+            }
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(suggestService.suggest(q, resources, limit, fuzzy));
+    }
+}
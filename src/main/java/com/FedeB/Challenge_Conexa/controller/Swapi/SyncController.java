@@ -0,0 +1,64 @@
+package com.FedeB.Challenge_Conexa.controller.Swapi;
+
+import com.FedeB.Challenge_Conexa.dto.Sync.SyncReportDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.IncrementalSyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador de administración de la sincronización incremental con SWAPI.
+ * <p>
+ * Por ejemplo, {@code POST /api/admin/sync} ejecuta una sincronización (o reanuda la última, si se
+ * interrumpió) y devuelve su resumen, y {@code GET /api/admin/sync} devuelve el resumen de la última
+ * sincronización terminada.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class SyncController {
+
+    private final IncrementalSyncService incrementalSyncService;
+
+    /**
+     * Constructor para inyectar el servicio de sincronización.
+     *
+     * @param incrementalSyncService el servicio que sincroniza los datos locales con SWAPI.
+     */
+    @Autowired
+    public SyncController(IncrementalSyncService incrementalSyncService) {
+        this.incrementalSyncService = incrementalSyncService;
+    }
+
+    /**
+     * Endpoint para ejecutar una sincronización con SWAPI. La respuesta no se almacena en cachés.
+     *
+     * @return una respuesta HTTP con el resumen de la sincronización.
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<SyncReportDto> sync() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(incrementalSyncService.sync());
+    }
+
+    /**
+     * Endpoint para obtener el resumen de la última sincronización terminada. La respuesta no se almacena en
+     * cachés.
+     *
+     * @return una respuesta HTTP con el resumen, o sin contenido si no terminó ninguna sincronización.
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncReportDto> getLastSync() {
+        SyncReportDto report = incrementalSyncService.getLastReport();
+        if (report == null) {
+            return ResponseEntity.noContent().cacheControl(CacheControl.noStore()).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(report);
+    }
+}
@@ -5,6 +5,7 @@ import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
 import com.FedeB.Challenge_Conexa.service.Swapi.StarshipsService;
 import com.FedeB.Challenge_Conexa.service.Swapi.VehiclesService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -86,4 +87,24 @@ public class VehiclesController {
         List<VehicleDetailsDto> people = vehicleService.getVehiclesByName(name);
         return ResponseEntity.ok(people);
     }
+
+    /**
+     * Endpoint para buscar vehículos por su nombre tolerando errores de tipeo ({@code fuzzy=true}).
+     * <p>
+     * Los resultados dependen de vehículos almacenados localmente, por lo que la respuesta no se almacena en
+     * cachés.
+     *
+     * @param name el nombre buscado, posiblemente con errores de tipeo (requerido).
+     * @return una respuesta HTTP con vehículos más parecidos al nombre buscado, ordenados por la cantidad de
+     * errores, o 400 si el nombre es inválido.
+     */
+    @GetMapping(value = "/vehicles/name", params = "fuzzy=true")
+    public ResponseEntity<List<VehicleDetailsDto>> getVehiclesByNameFuzzy(
+            @RequestParam(required = true) String name) {
+
+        List<VehicleDetailsDto> vehicles = vehicleService.getVehiclesByNameFuzzy(name);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(vehicles);
+    }
 }
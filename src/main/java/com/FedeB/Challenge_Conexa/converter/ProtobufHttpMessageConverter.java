@@ -0,0 +1,86 @@
+package com.FedeB.Challenge_Conexa.converter;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Conversor HTTP que serializa los DTOs de la API en formato Protobuf ({@code application/x-protobuf}),
+ * con los esquemas de {@link ProtobufSchemas}. Las listas se serializan como un mensaje
+ * {@link ProtobufSchemas.ResultList}.
+ * <p>
+ * Al igual que los conversores de Jackson, acepta valores envueltos en {@link MappingJacksonValue} y aplica
+ * sus filtros de propiedades; los campos excluidos se omiten del mensaje.
+ * <p>
+ * Solo admite escritura: la API no recibe cuerpos en Protobuf.
+ */
+public class ProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    /**
+     * Tipo de contenido Protobuf.
+     */
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ProtobufSchemas schemas;
+
+    /**
+     * Constructor que recibe los esquemas de los DTOs soportados.
+     *
+     * @param schemas los esquemas Protobuf de los DTOs.
+     */
+    public ProtobufHttpMessageConverter(ProtobufSchemas schemas) {
+        super(APPLICATION_PROTOBUF, new MediaType("application", "protobuf"));
+        this.schemas = schemas;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemas.supports(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return schemas.schemaFor(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MappingJacksonValue wrapper = value instanceof MappingJacksonValue mappingJacksonValue ? mappingJacksonValue : null;
+        if (wrapper != null) {
+            value = wrapper.getValue();
+        }
+        ObjectWriter writer = schemas.writerFor(type != null ? type : value.getClass());
+        if (writer == null) {
+            throw new HttpMessageNotWritableException("Tipo no soportado en Protobuf: " + type);
+        }
+        if (wrapper != null && wrapper.getFilters() != null) {
+            writer = writer.with(wrapper.getFilters());
+        }
+        Object root = value instanceof List<?> list ? new ProtobufSchemas.ResultList<>(list) : value;
+        writer.writeValue(outputMessage.getBody(), root);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("La lectura de Protobuf no está soportada", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("La lectura de Protobuf no está soportada", inputMessage);
+    }
+}
@@ -0,0 +1,169 @@
+package com.FedeB.Challenge_Conexa.converter;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Esquemas Protobuf generados a partir de los DTOs de la API.
+ * <p>
+ * Los esquemas se generan una única vez con jackson-dataformat-protobuf: un mensaje por DTO para los
+ * endpoints de detalle y un mensaje {@code ResultList} con un campo repetido {@code results} para los
+ * endpoints que devuelven listas. Los números de campo siguen el orden de declaración de los atributos
+ * del DTO, por lo que los campos nuevos deben agregarse al final.
+ */
+public class ProtobufSchemas {
+
+    private final ProtobufMapper mapper;
+    private final Map<Class<?>, Schema> singleSchemas = new HashMap<>();
+    private final Map<Class<?>, Schema> listSchemas = new HashMap<>();
+
+    /**
+     * Constructor que genera los esquemas de los DTOs indicados.
+     *
+     * @param dtoTypes las clases de los DTOs que se pueden serializar.
+     */
+    public ProtobufSchemas(Collection<Class<?>> dtoTypes) {
+        this(dtoTypes, mapper -> {
+        });
+    }
+
+    /**
+     * Constructor que genera los esquemas de los DTOs indicados, configurando antes el mapper de Protobuf
+     * (por ejemplo, para registrar módulos o filtros de propiedades).
+     *
+     * @param dtoTypes   las clases de los DTOs que se pueden serializar.
+     * @param customizer la configuración adicional del mapper.
+     */
+    public ProtobufSchemas(Collection<Class<?>> dtoTypes, Consumer<? super ProtobufMapper> customizer) {
+        this.mapper = new ProtobufMapper();
+        customizer.accept(mapper);
+        try {
+            for (Class<?> dtoType : dtoTypes) {
+                ProtobufSchema single = mapper.generateSchemaFor(dtoType);
+                singleSchemas.put(dtoType, new Schema(single, mapper.writer(single)));
+
+                JavaType listType = listType(dtoType);
+                ProtobufSchema list = mapper.generateSchemaFor(listType);
+                listSchemas.put(dtoType, new Schema(list, mapper.writerFor(listType).with(list)));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudieron generar los esquemas Protobuf", e);
+        }
+    }
+
+    /**
+     * Devuelve la definición ({@code .proto}) de los mensajes de un DTO: el mensaje del DTO y el
+     * mensaje {@code ResultList} utilizado para las listas.
+     *
+     * @param dtoType la clase del DTO.
+     * @return la definición de los mensajes, o {@code null} si el DTO no está soportado.
+     */
+    public String getDefinition(Class<?> dtoType) {
+        Schema schema = listSchemas.get(dtoType);
+        return schema != null ? schema.schema().getSource().toString() : null;
+    }
+
+    /**
+     * Indica si una clase es uno de los DTOs soportados.
+     *
+     * @param clazz la clase.
+     * @return {@code true} si hay un esquema para la clase.
+     */
+    public boolean supports(Class<?> clazz) {
+        return singleSchemas.containsKey(clazz);
+    }
+
+    /**
+     * Devuelve el esquema de Protobuf correspondiente a un tipo: un DTO soportado o una lista de DTOs soportados.
+     *
+     * @param type el tipo a serializar.
+     * @return el esquema, o {@code null} si el tipo no está soportado.
+     */
+    public ProtobufSchema schemaFor(Type type) {
+        Schema schema = resolve(type);
+        return schema != null ? schema.schema() : null;
+    }
+
+    /**
+     * Devuelve el escritor configurado con el esquema correspondiente a un tipo.
+     *
+     * @param type el tipo a serializar.
+     * @return el escritor, o {@code null} si el tipo no está soportado.
+     */
+    public ObjectWriter writerFor(Type type) {
+        Schema schema = resolve(type);
+        return schema != null ? schema.writer() : null;
+    }
+
+    /**
+     * Devuelve un lector de mensajes de un DTO, por ejemplo para pruebas o clientes Java de la API.
+     *
+     * @param dtoType la clase del DTO.
+     * @return el lector configurado con el esquema del DTO.
+     */
+    public ObjectReader readerFor(Class<?> dtoType) {
+        return mapper.readerFor(dtoType).with(schemaFor(dtoType));
+    }
+
+    /**
+     * Devuelve un lector de mensajes {@link ResultList} de un DTO.
+     *
+     * @param dtoType la clase del DTO.
+     * @return el lector configurado con el esquema de la lista.
+     */
+    public ObjectReader listReaderFor(Class<?> dtoType) {
+        Schema schema = listSchemas.get(dtoType);
+        return mapper.readerFor(listType(dtoType)).with(schema.schema());
+    }
+
+    /**
+     * Devuelve el escritor de mensajes {@link ResultList} de un DTO.
+     *
+     * @param dtoType la clase del DTO.
+     * @return el escritor configurado con el esquema de la lista.
+     */
+    public ObjectWriter listWriterFor(Class<?> dtoType) {
+        return listSchemas.get(dtoType).writer();
+    }
+
+    private JavaType listType(Class<?> dtoType) {
+        return mapper.getTypeFactory().constructParametricType(ResultList.class, dtoType);
+    }
+
+    private Schema resolve(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return singleSchemas.get(clazz);
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return listSchemas.get(element);
+        }
+        return null;
+    }
+
+    /**
+     * Mensaje raíz utilizado para serializar las listas de DTOs.
+     *
+     * @param results los elementos de la lista.
+     * @param <T>     el tipo de DTO.
+     */
+    public record ResultList<T>(List<T> results) {
+    }
+
+    private record Schema(ProtobufSchema schema, ObjectWriter writer) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.FedeB.Challenge_Conexa.dto.Cache;
+
+import com.FedeB.Challenge_Conexa.cache.OffHeapResponseStore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO que representa el uso de memoria de las cachés.
+ * <p>
+ * Incluye el presupuesto de memoria del heap, el tamaño estimado de lo almacenado en total y por tipo de
+ * recurso, y las estadísticas del segundo nivel de la caché de respuestas, fuera del heap. Los bytes usados
+ * pueden superar el presupuesto si las entidades, que no se descartan, lo superan por sí solas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheMemoryDto {
+    private long maxBytes;
+    private long usedBytes;
+    private Map<String, ResourceMemoryDto> resources;
+    private OffHeapResponseStore.Stats offHeap;
+}
@@ -0,0 +1,21 @@
+package com.FedeB.Challenge_Conexa.dto.Cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa la memoria ocupada en las cachés por un tipo de recurso.
+ * <p>
+ * Las respuestas que dependen de varios recursos se reparten entre ellos, por lo que una misma respuesta se
+ * cuenta en cada uno.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceMemoryDto {
+    private long entityBytes;
+    private long entities;
+    private long responseBytes;
+    private long responses;
+}
@@ -0,0 +1,23 @@
+package com.FedeB.Challenge_Conexa.dto.Search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO que representa la respuesta de la búsqueda unificada en todos los tipos de recurso.
+ * <p>
+ * Contiene los resultados de todos los tipos ordenados por relevancia, el estado de la búsqueda de cada
+ * tipo y si la respuesta es parcial (algún tipo no terminó a tiempo o falló).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponseDto {
+    private List<SearchResultDto> results;
+    private Map<String, SearchTypeStatusDto> types;
+    private boolean partial;
+}
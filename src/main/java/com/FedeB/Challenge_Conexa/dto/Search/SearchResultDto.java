@@ -0,0 +1,21 @@
+package com.FedeB.Challenge_Conexa.dto.Search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa un resultado de la búsqueda unificada.
+ * <p>
+ * Contiene el recurso y el nombre de la entidad encontrada, la relevancia del nombre respecto del texto
+ * buscado y el DTO con los detalles de la entidad.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+    private String resource;
+    private String name;
+    private double score;
+    private Object entity;
+}
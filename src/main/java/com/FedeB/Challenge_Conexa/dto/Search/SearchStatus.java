@@ -0,0 +1,19 @@
+package com.FedeB.Challenge_Conexa.dto.Search;
+
+/**
+ * Estado de la búsqueda de un tipo de recurso dentro de una búsqueda unificada.
+ */
+public enum SearchStatus {
+    /**
+     * La búsqueda terminó dentro del plazo.
+     */
+    OK,
+    /**
+     * La búsqueda no terminó dentro del plazo y sus resultados no se incluyen.
+     */
+    TIMEOUT,
+    /**
+     * La búsqueda falló y sus resultados no se incluyen.
+     */
+    ERROR
+}
@@ -0,0 +1,21 @@
+package com.FedeB.Challenge_Conexa.dto.Search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa el resultado de la búsqueda de un tipo de recurso dentro de una búsqueda unificada.
+ * <p>
+ * Indica si la búsqueda terminó dentro del plazo, cuántos resultados aportó, cuánto tardó y, si falló, el
+ * motivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchTypeStatusDto {
+    private SearchStatus status;
+    private int results;
+    private long elapsedMillis;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.FedeB.Challenge_Conexa.dto.Sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO que representa los cambios en las entidades posteriores a una versión del conjunto de datos.
+ * <p>
+ * {@code version} identifica la versión hasta la que se informan los cambios (con la forma
+ * {@code <época>.<versión>}) y debe enviarse como {@code since} en la consulta siguiente. Si
+ * {@code resyncRequired} es {@code true}, los cambios posteriores a {@code since} ya no se conservan (o
+ * {@code since} es de antes de un reinicio) y el consumidor debe volver a obtener el conjunto de datos
+ * completo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDto {
+    private String since;
+    private String version;
+    private boolean resyncRequired;
+    private List<EntityChangeDto> changes;
+}
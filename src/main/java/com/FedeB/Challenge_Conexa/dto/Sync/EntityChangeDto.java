@@ -0,0 +1,22 @@
+package com.FedeB.Challenge_Conexa.dto.Sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa el cambio de una entidad en el feed de cambios.
+ * <p>
+ * {@code change} es {@code ADDED}, {@code MODIFIED} o {@code REMOVED}; {@code entity} contiene los detalles
+ * actuales de la entidad, salvo si fue eliminada.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityChangeDto {
+    private String version;
+    private String type;
+    private String id;
+    private String change;
+    private Object entity;
+}
@@ -0,0 +1,27 @@
+package com.FedeB.Challenge_Conexa.dto.Sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que resume una sincronización incremental con SWAPI.
+ * <p>
+ * Los cambios aplicados se confirmaron con las versiones del conjunto de datos posteriores a
+ * {@code fromVersion} y hasta {@code toVersion} inclusive.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncReportDto {
+    private boolean resumed;
+    private int pagesFetched;
+    private int pagesNotModified;
+    private int added;
+    private int modified;
+    private int removed;
+    private int unchanged;
+    private long fromVersion;
+    private long toVersion;
+    private long durationMillis;
+}
@@ -0,0 +1,66 @@
+package com.FedeB.Challenge_Conexa.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Filtro que asigna un ID de solicitud a cada solicitud HTTP.
+ * <p>
+ * Si la solicitud trae el encabezado "X-Request-Id" se reutiliza su valor; de lo contrario se genera uno nuevo.
+ * El ID se publica en el MDC de SLF4J (para los logs y los eventos JFR) y se devuelve en la respuesta.
+ * Se ejecuta antes que cualquier otro filtro para que toda la solicitud quede correlacionada.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    /**
+     * Nombre del encabezado HTTP que transporta el ID de solicitud.
+     */
+    public static final String HEADER = "X-Request-Id";
+
+    /**
+     * Clave del MDC bajo la cual se publica el ID de solicitud.
+     */
+    public static final String MDC_KEY = "requestId";
+
+    // Longitud máxima aceptada para un ID recibido, para no propagar valores arbitrarios
+    private static final int MAX_LENGTH = 64;
+
+    /**
+     * Publica el ID de solicitud en el MDC durante el procesamiento de la solicitud.
+     *
+     * @param request  la solicitud HTTP entrante.
+     * @param response la respuesta HTTP saliente.
+     * @param chain    la cadena de filtros para continuar el procesamiento.
+     * @throws ServletException si ocurre un error durante el procesamiento del filtro.
+     * @throws IOException      si ocurre un error de E/S durante el procesamiento del filtro.
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > MAX_LENGTH) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        response.setHeader(HEADER, requestId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
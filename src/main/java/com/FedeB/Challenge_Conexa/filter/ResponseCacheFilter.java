@@ -0,0 +1,264 @@
+package com.FedeB.Challenge_Conexa.filter;
+
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache;
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache.CachedResponse;
+import com.FedeB.Challenge_Conexa.converter.ProtobufHttpMessageConverter;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Filtro que sirve las respuestas de los endpoints "/api" desde la caché de cuerpos pre-serializados.
+ * <p>
+ * Ante un acierto, los bytes almacenados (comprimidos con gzip si el cliente lo acepta) se escriben
+ * directamente en el flujo de salida, sin pasar por el controlador ni por los conversores de mensajes.
+ * Ante un fallo, la solicitud se procesa normalmente y, si la respuesta es exitosa y está en uno de los
+ * formatos de la API (JSON, CBOR, Smile o Protobuf), su cuerpo se almacena para las siguientes solicitudes.
+ * La clave incluye el encabezado "Accept", ya que el formato de la respuesta depende de la negociación de contenido.
+ * Las respuestas que el controlador marca con {@code Cache-Control: no-store} no se almacenan.
+ * <p>
+ * Las respuestas almacenadas llevan un ETag fuerte, calculado a partir del hash de su contenido al
+ * almacenarlas, y un encabezado "Cache-Control" con {@code max-age} y {@code stale-while-revalidate}.
+ * Como todas las respuestas requieren autenticación, por defecto son {@code private}: solo la caché del
+ * cliente las almacena. Con {@code api.http-cache.public=true} los proxies compartidos también pueden
+ * absorber parte del tráfico; el encabezado "Vary" incluye "Authorization" para que solo las entreguen a
+ * solicitudes con las mismas credenciales. Una solicitud con "If-None-Match" que coincide con el ETag
+ * recibe un {@code 304 Not Modified} sin cuerpo.
+ * <p>
+ * Se ejecuta después de la cadena de Spring Security, por lo que las respuestas cacheadas solo se
+ * entregan a solicitudes autenticadas.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * Encabezado que indica si la respuesta se sirvió desde la caché ("HIT") o no ("MISS").
+     */
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private static final String API_PREFIX = "/api/";
+    private static final String GZIP = "gzip";
+    // Authorization evita que un proxy compartido entregue a un cliente la respuesta obtenida con las
+    // credenciales de otro, si las respuestas se declaran públicas
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING + ", " + HttpHeaders.AUTHORIZATION;
+
+    // Formatos de la API cuyas respuestas se almacenan
+    private static final List<MediaType> CACHEABLE_TYPES = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"),
+            ProtobufHttpMessageConverter.APPLICATION_PROTOBUF
+    );
+
+    private final ResponseBodyCache responseBodyCache;
+    private final boolean enabled;
+    private final List<String> excludedPaths;
+    private final String cacheControl;
+
+    /**
+     * Constructor para inyectar la caché de respuestas y su configuración.
+     *
+     * @param responseBodyCache    la caché de cuerpos de respuesta pre-serializados.
+     * @param enabled              si la caché de respuestas está habilitada.
+     * @param excludedPaths        prefijos de ruta que nunca se almacenan (por ejemplo, respuestas en streaming).
+     * @param maxAge               el tiempo durante el cual los clientes y proxies consideran vigente la respuesta.
+     * @param staleWhileRevalidate el tiempo adicional durante el cual pueden servirla mientras la revalidan.
+     * @param cachePublic          si los proxies compartidos pueden almacenar la respuesta (por defecto, no).
+     */
+    @Autowired
+    public ResponseCacheFilter(ResponseBodyCache responseBodyCache,
+                               @Value("${api.response-cache.enabled:true}") boolean enabled,
+                               @Value("${api.response-cache.excluded-paths:}") List<String> excludedPaths,
+                               @Value("${api.http-cache.max-age:60s}") Duration maxAge,
+                               @Value("${api.http-cache.stale-while-revalidate:5m}") Duration staleWhileRevalidate,
+                               @Value("${api.http-cache.public:false}") boolean cachePublic) {
+        this.responseBodyCache = responseBodyCache;
+        this.enabled = enabled;
+        this.excludedPaths = excludedPaths.stream().filter(path -> !path.isBlank()).toList();
+        CacheControl control = CacheControl.maxAge(maxAge).staleWhileRevalidate(staleWhileRevalidate);
+        this.cacheControl = (cachePublic ? control.cachePublic() : control.cachePrivate()).getHeaderValue();
+    }
+
+    /**
+     * Solo se procesan solicitudes GET a los endpoints "/api" no excluidos. Las solicitudes que leen una
+     * versión anterior del conjunto de datos ({@link SnapshotVersionFilter}) no pasan por la caché, que
+     * contiene respuestas construidas con los datos vigentes.
+     *
+     * @param request la solicitud HTTP entrante.
+     * @return {@code true} si la solicitud no debe pasar por la caché.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())
+                || request.getAttribute(SnapshotVersionFilter.PAST_VERSION_ATTRIBUTE) != null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(API_PREFIX) || excludedPaths.stream().anyMatch(path::startsWith);
+    }
+
+    /**
+     * Sirve la respuesta desde la caché o la almacena tras procesar la solicitud.
+     *
+     * @param request  la solicitud HTTP entrante.
+     * @param response la respuesta HTTP saliente.
+     * @param chain    la cadena de filtros para continuar el procesamiento.
+     * @throws ServletException si ocurre un error durante el procesamiento del filtro.
+     * @throws IOException      si ocurre un error de E/S durante el procesamiento del filtro.
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        String key = cacheKey(request);
+        CachedResponse cached = responseBodyCache.get(key);
+        if (cached != null) {
+            writeCached(cached, request, response);
+            return;
+        }
+
+        ResponseBodyCache.Ticket ticket = responseBodyCache.begin(dependencies(request));
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        wrapper.addHeader(HttpHeaders.VARY, VARY);
+        try {
+            chain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                CachedResponse stored = responseBodyCache.put(key, ticket, wrapper.getContentType(),
+                        wrapper.getContentAsByteArray());
+                if (stored != null) {
+                    // El cuerpo se envía sin comprimir, por lo que corresponde el ETag de la representación original
+                    writeValidators(stored, false, wrapper);
+                    if (stored.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                        wrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                        wrapper.resetBuffer();
+                    }
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Escribe una respuesta almacenada directamente en el flujo de salida, o un {@code 304} sin cuerpo
+     * si el cliente ya tiene la versión vigente.
+     */
+    private void writeCached(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        boolean gzip = cached.gzipBody() != null && acceptsGzip(request);
+        response.setHeader(CACHE_HEADER, "HIT");
+        response.addHeader(HttpHeaders.VARY, VARY);
+        writeValidators(cached, gzip, response);
+        if (cached.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = gzip ? cached.gzipBody() : cached.body();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private void writeValidators(CachedResponse cached, boolean gzip, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.ETAG, cached.etag(gzip));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        String cacheControl = response.getHeader(HttpHeaders.CACHE_CONTROL);
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && !response.isCommitted()
+                && (cacheControl == null || !cacheControl.contains("no-store"))
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && contentType != null
+                && CACHEABLE_TYPES.stream().anyMatch(MediaType.parseMediaType(contentType)::isCompatibleWith);
+    }
+
+    /**
+     * Construye la clave de la caché a partir del encabezado "Accept", la ruta y los parámetros de la
+     * solicitud, ordenados por nombre.
+     *
+     * @param request la solicitud HTTP.
+     * @return la clave de la respuesta.
+     */
+    static String cacheKey(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        StringBuilder key = new StringBuilder(accept == null ? "*/*" : accept.trim().toLowerCase(Locale.ROOT))
+                .append(' ')
+                .append(request.getRequestURI());
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Determina los tipos de recurso de los que depende la respuesta a partir de su ruta
+     * ("/api/{recurso}/..."). Si la ruta no corresponde a un recurso, depende de todos.
+     *
+     * @param request la solicitud HTTP.
+     * @return los tipos de recurso de los que depende la respuesta.
+     */
+    static Set<SwapiResource> dependencies(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length() + API_PREFIX.length());
+        int end = path.indexOf('/');
+        SwapiResource resource = SwapiResource.fromPath(end < 0 ? path : path.substring(0, end));
+        return resource != null ? EnumSet.of(resource) : EnumSet.allOf(SwapiResource.class);
+    }
+
+    /**
+     * Indica si el cliente acepta respuestas comprimidas con gzip, según el encabezado "Accept-Encoding".
+     *
+     * @param request la solicitud HTTP entrante.
+     * @return {@code true} si el cliente acepta gzip.
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+                // Una codificación con "q=0" se considera no aceptada
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package com.FedeB.Challenge_Conexa.filter;
+
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Filtro que asocia cada solicitud a los endpoints "/api" con una versión del conjunto de datos
+ * ({@link SnapshotVersions}).
+ * <p>
+ * Cada respuesta informa en el encabezado "X-Snapshot-Version" la versión de los datos con los que se
+ * construyó. Si la solicitud trae ese encabezado, se leen los datos de esa versión aunque se hayan refrescado
+ * desde entonces, de modo que un cliente que recorre las páginas de un listado con la versión de la primera
+ * respuesta nunca mezcla datos de versiones distintas. Sin el encabezado, la solicitud lee la versión vigente
+ * al comenzar, que se fija en ese momento: la versión informada es la de los datos leídos aunque se confirmen
+ * escrituras antes de escribir la respuesta. Una versión que ya no se conserva responde {@code 410 Gone} y el
+ * cliente debe volver a comenzar sin fijarla.
+ * <p>
+ * Se ejecuta antes que {@link ResponseCacheFilter}, que no sirve ni almacena las respuestas de versiones
+ * anteriores a la vigente (ver {@link #PAST_VERSION_ATTRIBUTE}).
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SnapshotVersionFilter extends OncePerRequestFilter {
+
+    /**
+     * Nombre del encabezado HTTP que transporta la versión del conjunto de datos.
+     */
+    public static final String HEADER = "X-Snapshot-Version";
+
+    /**
+     * Atributo de la solicitud presente cuando se leen los datos de una versión anterior a la vigente.
+     */
+    public static final String PAST_VERSION_ATTRIBUTE = SnapshotVersionFilter.class.getName() + ".PAST_VERSION";
+
+    private static final String API_PREFIX = "/api/";
+
+    private final SnapshotVersions versions;
+
+    /**
+     * Constructor para inyectar las versiones del conjunto de datos.
+     *
+     * @param versions las versiones del conjunto de datos.
+     */
+    @Autowired
+    public SnapshotVersionFilter(SnapshotVersions versions) {
+        this.versions = versions;
+    }
+
+    /**
+     * Solo se procesan las solicitudes a los endpoints "/api".
+     *
+     * @param request la solicitud HTTP entrante.
+     * @return {@code true} si la solicitud no lee datos de SWAPI.
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().substring(request.getContextPath().length()).startsWith(API_PREFIX);
+    }
+
+    /**
+     * Fija la versión pedida durante el procesamiento de la solicitud e informa la versión en la respuesta.
+     *
+     * @param request  la solicitud HTTP entrante.
+     * @param response la respuesta HTTP saliente.
+     * @param chain    la cadena de filtros para continuar el procesamiento.
+     * @throws ServletException si ocurre un error durante el procesamiento del filtro.
+     * @throws IOException      si ocurre un error de E/S durante el procesamiento del filtro.
+     */
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        SnapshotVersions.Reader reader;
+        try {
+            reader = versions.open(requestedVersion(request.getHeader(HEADER)));
+        } catch (ResponseStatusException e) {
+            response.sendError(e.getStatusCode().value(), e.getReason());
+            return;
+        }
+        try (reader) {
+            if (reader.isPast()) {
+                request.setAttribute(PAST_VERSION_ATTRIBUTE, Boolean.TRUE);
+            }
+            VersionHeaderResponse wrapper = new VersionHeaderResponse(response, reader);
+            chain.doFilter(request, wrapper);
+            wrapper.writeVersion();
+        }
+    }
+
+    private static Long requestedVersion(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            // Se informa como una versión inexistente
+            return -1L;
+        }
+    }
+
+    /**
+     * Respuesta que agrega el encabezado con la versión justo antes de escribir el cuerpo, de modo que incluya
+     * los datos que la propia solicitud obtuvo de SWAPI ({@link SnapshotVersions.Reader#responseVersion()}).
+     */
+    private static final class VersionHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SnapshotVersions.Reader reader;
+        private boolean written;
+
+        private VersionHeaderResponse(HttpServletResponse response, SnapshotVersions.Reader reader) {
+            super(response);
+            this.reader = reader;
+        }
+
+        private void writeVersion() {
+            if (!written && !isCommitted()) {
+                setHeader(HEADER, Long.toString(reader.responseVersion()));
+            }
+            written = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeVersion();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeVersion();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeVersion();
+            super.flushBuffer();
+        }
+    }
+}
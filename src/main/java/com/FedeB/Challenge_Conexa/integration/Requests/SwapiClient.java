@@ -1,54 +1,96 @@
 package com.FedeB.Challenge_Conexa.integration.Requests;
 
+import com.FedeB.Challenge_Conexa.cache.ContentHash;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.cache.Validators;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.TextColumn;
 import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
-import com.FedeB.Challenge_Conexa.dto.Film.FilmResult;
 import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
-import com.FedeB.Challenge_Conexa.dto.People.PeopleResult;
-import com.FedeB.Challenge_Conexa.dto.AnySummaryDto;
 import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
-import com.FedeB.Challenge_Conexa.dto.Starship.StarshipResult;
 import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
-import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleResult;
-import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseOneResult;
-import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseMultResult;
-import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponses;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiSyncPage;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.monitoring.FanOutBatchEvent;
+import com.FedeB.Challenge_Conexa.monitoring.SwapiCallEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Cliente para realizar llamadas HTTP a la API de SWAPI (Star Wars API).
  * <p>
  * Esta clase encapsula las operaciones necesarias para interactuar con la API de SWAPI,
  * incluyendo la obtención de datos sobre personajes, películas, naves espaciales y vehículos.
- * Utiliza {@link RestTemplate} para realizar las solicitudes HTTP y maneja la conversión
- * de las respuestas a objetos DTO específicos.
+ * Utiliza {@link RestTemplate} para realizar las solicitudes HTTP y {@link SwapiResponseParser}
+ * para convertir en streaming las respuestas a objetos DTO específicos.
+ * <p>
+ * Las entidades y los listados obtenidos se almacenan en {@link SwapiEntityCache}, que se consulta
+ * antes de cada solicitud a SWAPI y detecta los cambios en los datos al refrescarlos. Los datos expirados
+ * se revalidan con solicitudes condicionales, sin volver a leer las respuestas que no cambiaron.
+ * <p>
+ * En el modo sin conexión ({@code swapi.offline.enabled}), la caché contiene el snapshot del conjunto de
+ * datos y no se realiza ninguna solicitud a SWAPI: las búsquedas por nombre se resuelven sobre las entidades
+ * almacenadas, y los datos que no están en el snapshot se informan con estado 404.
  */
 @Component
 @Slf4j
 public class SwapiClient {
 
-    private static final String BASE_URL = "https://www.swapi.tech/api/";
+    private static final String BASE_URL = SwapiResource.BASE_URL;
     private final RestTemplate restTemplate;
+    private final SwapiResponseParser swapiResponseParser;
+    private final SwapiEntityCache entityCache;
+    private final boolean offline;
 
     /**
-     * Constructor para inyectar el {@link RestTemplate}.
+     * Constructor para inyectar el {@link RestTemplate}, el parser de respuestas y la caché de entidades.
      * <p>
      * Este constructor utiliza la inyección de dependencias para proporcionar una instancia
-     * de {@link RestTemplate}, que se utiliza para realizar las solicitudes HTTP a la API de SWAPI.
+     * de {@link RestTemplate}, que se utiliza para realizar las solicitudes HTTP a la API de SWAPI,
+     * y del {@link SwapiResponseParser}, que extrae de las respuestas únicamente los campos utilizados.
+     *
+     * @param restTemplate        el cliente HTTP utilizado para realizar las solicitudes.
+     * @param swapiResponseParser el parser de streaming de las respuestas de SWAPI.
+     * @param entityCache         la caché de entidades y listados obtenidos desde SWAPI.
+     */
+    public SwapiClient(RestTemplate restTemplate, SwapiResponseParser swapiResponseParser, SwapiEntityCache entityCache) {
+        this(restTemplate, swapiResponseParser, entityCache, false);
+    }
+
+    /**
+     * Constructor utilizado por Spring, que además indica si la aplicación funciona sin conexión.
      *
-     * @param restTemplate el cliente HTTP utilizado para realizar las solicitudes.
+     * @param restTemplate        el cliente HTTP utilizado para realizar las solicitudes.
+     * @param swapiResponseParser el parser de streaming de las respuestas de SWAPI.
+     * @param entityCache         la caché de entidades y listados obtenidos desde SWAPI.
+     * @param offline             si la aplicación funciona sin conexión, con los datos del snapshot.
      */
     @Autowired
-    public SwapiClient(RestTemplate restTemplate) {
+    public SwapiClient(RestTemplate restTemplate, SwapiResponseParser swapiResponseParser, SwapiEntityCache entityCache,
+                       @Value("${swapi.offline.enabled:false}") boolean offline) {
         this.restTemplate = restTemplate;
+        this.swapiResponseParser = swapiResponseParser;
+        this.entityCache = entityCache;
+        this.offline = offline;
     }
 
     /*-------------------*/
@@ -77,33 +119,47 @@ public class SwapiClient {
         int limit = 10;
         builder.queryParam("limit", limit);
 
-        log.info("Buscando persona con parámetro: page={}", page);
-        ResponseEntity<SwapiResponses<AnySummaryDto>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponses<AnySummaryDto>>() {}
-        );
-
-        // Validar si se obtuvo error en la respuesta
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error en la obtención de data desde SWAPI: " + response.getStatusCode());
+        // Se reutilizan los IDs de la página si están en la caché
+        int pageNumber = page == null ? 1 : page;
+        List<String> ids = entityCache.getPage(SwapiResource.PEOPLE, pageNumber);
+        if (ids == null) {
+            log.info("Buscando persona con parámetro: page={}", page);
+            // Por cada persona obtenida, se almacena su Id
+            Fetch<List<String>> fetch = fetch(
+                    "people?page={page}&limit={limit}",
+                    builder.toUriString(),
+                    entityCache.pageValidators(SwapiResource.PEOPLE, pageNumber),
+                    swapiResponseParser::readUids
+            );
+
+            if (fetch.notModified()) {
+                // La página no cambió: se extiende su vigencia sin volver a leerla
+                ids = entityCache.revalidatePage(SwapiResource.PEOPLE, pageNumber);
+                if (ids == null) {
+                    // La página se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+                    fetch = fetch("people?page={page}&limit={limit}", builder.toUriString(), null, swapiResponseParser::readUids);
+                }
+            }
+            if (ids == null) {
+                ids = fetch.value();
+                // Validar que la respuesta no sea nula
+                if (ids == null) {
+                    throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+                }
+                entityCache.putPage(SwapiResource.PEOPLE, pageNumber, ids, fetch.validators());
+            }
         }
 
-        // Validar que la respuesta no sea nula
-        if (response.getBody() == null || response.getBody().getResults() == null) {
-            throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
-        }
-
-        // Por cada persona obtenida, se almacena su Id
-        List<String> ids = response.getBody().getResults().stream()
-                .map(AnySummaryDto::getUid)
-                .toList();
-
         // Se devuelve la lista de personas, obtenendo sus detalles por Id
-        return ids.stream()
-                .map(this::getPersonById)
-                .toList();
+        FanOutBatchEvent batch = new FanOutBatchEvent();
+        batch.begin();
+        try {
+            return ids.stream()
+                    .map(this::getPersonById)
+                    .toList();
+        } finally {
+            batch.commit("people", page == null ? 0 : page, ids.size());
+        }
     }
 
     /**
@@ -117,25 +173,39 @@ public class SwapiClient {
      * @throws RuntimeException si ocurre un error durante la solicitud o no se encuentra la persona.
      */
     public PeopleDetailsDto getPersonById(String id) {
+        PeopleDetailsDto cached = entityCache.get(SwapiResource.PEOPLE, id);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Buscando persona por ID: {}", id);
         String url = BASE_URL + "people/" + id;
 
-        ResponseEntity<SwapiResponseOneResult<PeopleResult>> response = restTemplate.exchange(
+        BodyReader<PeopleDetailsDto> reader = body -> swapiResponseParser.readProperties(body, PeopleDetailsDto.class);
+        Fetch<PeopleDetailsDto> fetch = fetch(
+                "people/{id}",
                 url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseOneResult<PeopleResult>>() {}
+                entityCache.validators(SwapiResource.PEOPLE, id),
+                reader
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando persona por ID: " + response.getStatusCode());
+        if (fetch.notModified()) {
+            // La entidad no cambió: se extiende su vigencia sin volver a leerla
+            PeopleDetailsDto revalidated = entityCache.revalidate(SwapiResource.PEOPLE, id);
+            if (revalidated != null) {
+                return revalidated;
+            }
+            // La entidad se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+            fetch = fetch("people/{id}", url, null, reader);
         }
 
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        PeopleDetailsDto details = fetch.value();
+        if (details == null) {
             throw new RuntimeException("No se encontró persona por ID: " + id);
         }
 
-        return response.getBody().getResult().getProperties();
+        entityCache.put(SwapiResource.PEOPLE, id, details, fetch.validators());
+        return details;
     }
 
     /**
@@ -149,27 +219,23 @@ public class SwapiClient {
      */
     public List<PeopleDetailsDto> getPersonByName(String name) {
         log.info("Buscando personas por nombre: {}", name);
+        if (offline) {
+            return findStoredByName(SwapiResource.PEOPLE, "name", name, PeopleDetailsDto.class);
+        }
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + "people")
                 .queryParam("name", name);
 
-        ResponseEntity<SwapiResponseMultResult<PeopleResult>> response = restTemplate.exchange(
+        List<SwapiResult<PeopleDetailsDto>> results = get(
+                "people?name={name}",
                 builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseMultResult<PeopleResult>>() {}
+                body -> swapiResponseParser.readResults(body, PeopleDetailsDto.class)
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando persona por nombre: " + response.getStatusCode());
-        }
-
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        if (results == null) {
             throw new RuntimeException("No se encontró persona por nombre: " + name);
         }
 
-        return response.getBody().getResult().stream()
-                .map(PeopleResult::getProperties)
-                .toList();
+        return cacheResults(SwapiResource.PEOPLE, results);
     }
 
 
@@ -185,32 +251,56 @@ public class SwapiClient {
      * @throws RuntimeException si ocurre un error durante la solicitud o la respuesta es nula.
      */
     public List<FilmDetailsDto> getFilms() {
+        // Se reutiliza el listado si está en la caché junto con todas sus películas
+        List<String> ids = entityCache.getPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST);
+        if (ids != null) {
+            List<FilmDetailsDto> cached = ids.stream()
+                    .map(id -> entityCache.<FilmDetailsDto>get(SwapiResource.FILMS, id))
+                    .toList();
+            if (!cached.contains(null)) {
+                return cached;
+            }
+        }
+
         String url = BASE_URL + "films";
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(url);
 
 
         log.info("Buscando películas");
-        ResponseEntity<SwapiResponseMultResult<FilmResult>> response = restTemplate.exchange(
+        BodyReader<List<SwapiResult<FilmDetailsDto>>> reader = body -> swapiResponseParser.readResults(body, FilmDetailsDto.class);
+        Fetch<List<SwapiResult<FilmDetailsDto>>> fetch = fetch(
+                "films",
                 builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseMultResult<FilmResult>>() {}
+                entityCache.pageValidators(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST),
+                reader
         );
 
-        // Validar si se obtuvo error en la respuesta
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error en la obtención de data desde SWAPI: " + response.getStatusCode());
+        if (fetch.notModified()) {
+            // El listado no cambió: se extiende la vigencia del listado y de sus películas
+            List<String> revalidated = entityCache.revalidatePage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST);
+            if (revalidated != null) {
+                List<FilmDetailsDto> films = revalidated.stream()
+                        .map(id -> entityCache.<FilmDetailsDto>revalidate(SwapiResource.FILMS, id))
+                        .toList();
+                if (!films.contains(null)) {
+                    return films;
+                }
+            }
+            // El listado o alguna película se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+            fetch = fetch("films", builder.toUriString(), null, reader);
         }
 
+        List<SwapiResult<FilmDetailsDto>> results = fetch.value();
         // Validar que la respuesta no sea nula
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        if (results == null) {
             throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
         }
 
-        // Se devuelve la lista de películas
-        return response.getBody().getResult().stream()
-                .map(FilmResult::getProperties)
-                .toList();
+        // Se devuelve la lista de películas, almacenando el listado y cada película en la caché
+        List<FilmDetailsDto> films = cacheResults(SwapiResource.FILMS, results);
+        entityCache.putPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST,
+                results.stream().map(SwapiResult::uid).toList(), fetch.validators());
+        return films;
     }
 
     /**
@@ -224,25 +314,39 @@ public class SwapiClient {
      * @throws RuntimeException si ocurre un error durante la solicitud o no se encuentra la película.
      */
     public FilmDetailsDto getFilmsById(String id) {
+        FilmDetailsDto cached = entityCache.get(SwapiResource.FILMS, id);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Buscando película por ID: {}", id);
         String url = BASE_URL + "films/" + id;
 
-        ResponseEntity<SwapiResponseOneResult<FilmResult>> response = restTemplate.exchange(
+        BodyReader<FilmDetailsDto> reader = body -> swapiResponseParser.readProperties(body, FilmDetailsDto.class);
+        Fetch<FilmDetailsDto> fetch = fetch(
+                "films/{id}",
                 url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseOneResult<FilmResult>>() {}
+                entityCache.validators(SwapiResource.FILMS, id),
+                reader
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando pelicula por ID: " + response.getStatusCode());
+        if (fetch.notModified()) {
+            // La entidad no cambió: se extiende su vigencia sin volver a leerla
+            FilmDetailsDto revalidated = entityCache.revalidate(SwapiResource.FILMS, id);
+            if (revalidated != null) {
+                return revalidated;
+            }
+            // La entidad se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+            fetch = fetch("films/{id}", url, null, reader);
         }
 
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        FilmDetailsDto details = fetch.value();
+        if (details == null) {
             throw new RuntimeException("No se encontró pelicula por ID: " + id);
         }
 
-        return response.getBody().getResult().getProperties();
+        entityCache.put(SwapiResource.FILMS, id, details, fetch.validators());
+        return details;
     }
 
     /**
@@ -256,26 +360,23 @@ public class SwapiClient {
      */
     public List<FilmDetailsDto> getFilmsByName(String name) {
         log.info("Buscando películas por nombre: {}", name);
+        if (offline) {
+            return findStoredByName(SwapiResource.FILMS, "title", name, FilmDetailsDto.class);
+        }
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + "films")
                 .queryParam("name", name);
 
-        ResponseEntity<SwapiResponseMultResult<FilmResult>> response = restTemplate.exchange(
+        List<SwapiResult<FilmDetailsDto>> results = get(
+                "films?name={name}",
                 builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseMultResult<FilmResult>>() {}
+                body -> swapiResponseParser.readResults(body, FilmDetailsDto.class)
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando película por nombre: " + response.getStatusCode());
-        }
-
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        if (results == null) {
             throw new RuntimeException("No se encontró película por nombre: " + name);
         }
 
-        return response.getBody().getResult().stream()
-                .map(FilmResult::getProperties)
+        return cacheResults(SwapiResource.FILMS, results).stream()
                 .filter(FilmDetailsDto.titleContains(name))
                 .toList();
     }
@@ -306,33 +407,47 @@ public class SwapiClient {
         int limit = 10;
         builder.queryParam("limit", limit);
 
-        log.info("Buscando naves con parámetro: page={}", page);
-        ResponseEntity<SwapiResponses<AnySummaryDto>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponses<AnySummaryDto>>() {}
-        );
-
-        // Validar si se obtuvo error en la respuesta
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error en la obtención de data desde SWAPI: " + response.getStatusCode());
-        }
-
-        // Validar que la respuesta no sea nula
-        if (response.getBody() == null || response.getBody().getResults() == null) {
-            throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+        // Se reutilizan los IDs de la página si están en la caché
+        int pageNumber = page == null ? 1 : page;
+        List<String> ids = entityCache.getPage(SwapiResource.STARSHIPS, pageNumber);
+        if (ids == null) {
+            log.info("Buscando naves con parámetro: page={}", page);
+            // Por cada nave obtenida, se almacena su Id
+            Fetch<List<String>> fetch = fetch(
+                    "starships?page={page}&limit={limit}",
+                    builder.toUriString(),
+                    entityCache.pageValidators(SwapiResource.STARSHIPS, pageNumber),
+                    swapiResponseParser::readUids
+            );
+
+            if (fetch.notModified()) {
+                // La página no cambió: se extiende su vigencia sin volver a leerla
+                ids = entityCache.revalidatePage(SwapiResource.STARSHIPS, pageNumber);
+                if (ids == null) {
+                    // La página se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+                    fetch = fetch("starships?page={page}&limit={limit}", builder.toUriString(), null, swapiResponseParser::readUids);
+                }
+            }
+            if (ids == null) {
+                ids = fetch.value();
+                // Validar que la respuesta no sea nula
+                if (ids == null) {
+                    throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+                }
+                entityCache.putPage(SwapiResource.STARSHIPS, pageNumber, ids, fetch.validators());
+            }
         }
 
-        // Por cada nave obtenida, se almacena su Id
-        List<String> ids = response.getBody().getResults().stream()
-                .map(AnySummaryDto::getUid)
-                .toList();
-
         // Se devuelve la lista de naves, obtenendo sus detalles por Id
-        return ids.stream()
-                .map(this::getStarshipsById)
-                .toList();
+        FanOutBatchEvent batch = new FanOutBatchEvent();
+        batch.begin();
+        try {
+            return ids.stream()
+                    .map(this::getStarshipsById)
+                    .toList();
+        } finally {
+            batch.commit("starships", page == null ? 0 : page, ids.size());
+        }
     }
 
     /**
@@ -346,25 +461,39 @@ public class SwapiClient {
      * @throws RuntimeException si ocurre un error durante la solicitud o no se encuentra la nave.
      */
     public StarshipDetailsDto getStarshipsById(String id) {
+        StarshipDetailsDto cached = entityCache.get(SwapiResource.STARSHIPS, id);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Buscando nave por ID: {}", id);
         String url = BASE_URL + "starships/" + id;
 
-        ResponseEntity<SwapiResponseOneResult<StarshipResult>> response = restTemplate.exchange(
+        BodyReader<StarshipDetailsDto> reader = body -> swapiResponseParser.readProperties(body, StarshipDetailsDto.class);
+        Fetch<StarshipDetailsDto> fetch = fetch(
+                "starships/{id}",
                 url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseOneResult<StarshipResult>>() {}
+                entityCache.validators(SwapiResource.STARSHIPS, id),
+                reader
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando nave por ID: " + response.getStatusCode());
+        if (fetch.notModified()) {
+            // La entidad no cambió: se extiende su vigencia sin volver a leerla
+            StarshipDetailsDto revalidated = entityCache.revalidate(SwapiResource.STARSHIPS, id);
+            if (revalidated != null) {
+                return revalidated;
+            }
+            // La entidad se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+            fetch = fetch("starships/{id}", url, null, reader);
         }
 
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        StarshipDetailsDto details = fetch.value();
+        if (details == null) {
             throw new RuntimeException("No se encontró nave por ID: " + id);
         }
 
-        return response.getBody().getResult().getProperties();
+        entityCache.put(SwapiResource.STARSHIPS, id, details, fetch.validators());
+        return details;
     }
 
     /**
@@ -378,27 +507,23 @@ public class SwapiClient {
      */
     public List<StarshipDetailsDto> getStarshipsByName(String name) {
         log.info("Buscando naves por nombre: {}", name);
+        if (offline) {
+            return findStoredByName(SwapiResource.STARSHIPS, "name", name, StarshipDetailsDto.class);
+        }
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + "starships")
                 .queryParam("name", name);
 
-        ResponseEntity<SwapiResponseMultResult<StarshipResult>> response = restTemplate.exchange(
+        List<SwapiResult<StarshipDetailsDto>> results = get(
+                "starships?name={name}",
                 builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseMultResult<StarshipResult>>() {}
+                body -> swapiResponseParser.readResults(body, StarshipDetailsDto.class)
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando nave por nombre: " + response.getStatusCode());
-        }
-
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        if (results == null) {
             throw new RuntimeException("No se encontró nave por nombre: " + name);
         }
 
-        return response.getBody().getResult().stream()
-                .map(StarshipResult::getProperties)
-                .toList();
+        return cacheResults(SwapiResource.STARSHIPS, results);
     }
 
     /*----------------------*/
@@ -427,33 +552,47 @@ public class SwapiClient {
         int limit = 10;
         builder.queryParam("limit", limit);
 
-        log.info("Buscando vehículos con parámetro: page={}", page);
-        ResponseEntity<SwapiResponses<AnySummaryDto>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponses<AnySummaryDto>>() {}
-        );
-
-        // Validar si se obtuvo error en la respuesta
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error en la obtención de data desde SWAPI: " + response.getStatusCode());
-        }
-
-        // Validar que la respuesta no sea nula
-        if (response.getBody() == null || response.getBody().getResults() == null) {
-            throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+        // Se reutilizan los IDs de la página si están en la caché
+        int pageNumber = page == null ? 1 : page;
+        List<String> ids = entityCache.getPage(SwapiResource.VEHICLES, pageNumber);
+        if (ids == null) {
+            log.info("Buscando vehículos con parámetro: page={}", page);
+            // Por cada vehículo obtenido, se almacena su Id
+            Fetch<List<String>> fetch = fetch(
+                    "vehicles?page={page}&limit={limit}",
+                    builder.toUriString(),
+                    entityCache.pageValidators(SwapiResource.VEHICLES, pageNumber),
+                    swapiResponseParser::readUids
+            );
+
+            if (fetch.notModified()) {
+                // La página no cambió: se extiende su vigencia sin volver a leerla
+                ids = entityCache.revalidatePage(SwapiResource.VEHICLES, pageNumber);
+                if (ids == null) {
+                    // La página se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+                    fetch = fetch("vehicles?page={page}&limit={limit}", builder.toUriString(), null, swapiResponseParser::readUids);
+                }
+            }
+            if (ids == null) {
+                ids = fetch.value();
+                // Validar que la respuesta no sea nula
+                if (ids == null) {
+                    throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+                }
+                entityCache.putPage(SwapiResource.VEHICLES, pageNumber, ids, fetch.validators());
+            }
         }
 
-        // Por cada vehículo obtenido, se almacena su Id
-        List<String> ids = response.getBody().getResults().stream()
-                .map(AnySummaryDto::getUid)
-                .toList();
-
         // Se devuelve la lista de vehículos, obtenendo sus detalles por Id
-        return ids.stream()
-                .map(this::getVehiclesById)
-                .toList();
+        FanOutBatchEvent batch = new FanOutBatchEvent();
+        batch.begin();
+        try {
+            return ids.stream()
+                    .map(this::getVehiclesById)
+                    .toList();
+        } finally {
+            batch.commit("vehicles", page == null ? 0 : page, ids.size());
+        }
     }
 
     /**
@@ -467,25 +606,39 @@ public class SwapiClient {
      * @throws RuntimeException si ocurre un error durante la solicitud o no se encuentra el vehículo.
      */
     public VehicleDetailsDto getVehiclesById(String id) {
+        VehicleDetailsDto cached = entityCache.get(SwapiResource.VEHICLES, id);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Buscando vehículo por ID: {}", id);
         String url = BASE_URL + "vehicles/" + id;
 
-        ResponseEntity<SwapiResponseOneResult<VehicleResult>> response = restTemplate.exchange(
+        BodyReader<VehicleDetailsDto> reader = body -> swapiResponseParser.readProperties(body, VehicleDetailsDto.class);
+        Fetch<VehicleDetailsDto> fetch = fetch(
+                "vehicles/{id}",
                 url,
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseOneResult<VehicleResult>>() {}
+                entityCache.validators(SwapiResource.VEHICLES, id),
+                reader
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando vehículo por ID: " + response.getStatusCode());
+        if (fetch.notModified()) {
+            // La entidad no cambió: se extiende su vigencia sin volver a leerla
+            VehicleDetailsDto revalidated = entityCache.revalidate(SwapiResource.VEHICLES, id);
+            if (revalidated != null) {
+                return revalidated;
+            }
+            // La entidad se quitó de la caché durante la solicitud: se vuelve a obtener sin validadores
+            fetch = fetch("vehicles/{id}", url, null, reader);
         }
 
-        if (response.getBody() == null || response.getBody().getResult() == null) {
+        VehicleDetailsDto details = fetch.value();
+        if (details == null) {
             throw new RuntimeException("No se encontró vehículo por ID: " + id);
         }
 
-        return response.getBody().getResult().getProperties();
+        entityCache.put(SwapiResource.VEHICLES, id, details, fetch.validators());
+        return details;
     }
 
     /**
@@ -499,26 +652,348 @@ public class SwapiClient {
      */
     public List<VehicleDetailsDto> getVehiclesByName(String name) {
         log.info("Buscando vehículos por nombre: {}", name);
+        if (offline) {
+            return findStoredByName(SwapiResource.VEHICLES, "name", name, VehicleDetailsDto.class);
+        }
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + "vehicles")
                 .queryParam("name", name);
 
-        ResponseEntity<SwapiResponseMultResult<VehicleResult>> response = restTemplate.exchange(
+        List<SwapiResult<VehicleDetailsDto>> results = get(
+                "vehicles?name={name}",
                 builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<SwapiResponseMultResult<VehicleResult>>() {}
+                body -> swapiResponseParser.readResults(body, VehicleDetailsDto.class)
         );
 
-        if (response.getStatusCode().isError()) {
-            throw new RuntimeException("Error buscando vehículo por nombre: " + response.getStatusCode());
+        if (results == null) {
+            throw new RuntimeException("No se encontró vehículo por nombre: " + name);
         }
 
-        if (response.getBody() == null || response.getBody().getResult() == null) {
-            throw new RuntimeException("No se encontró vehículo por nombre: " + name);
+        return cacheResults(SwapiResource.VEHICLES, results);
+    }
+
+    /*--------------*/
+    /* REVALIDACIÓN */
+    /*--------------*/
+    /**
+     * Revalida una entidad almacenada con una solicitud condicional a SWAPI, aunque no haya expirado.
+     * <p>
+     * Si SWAPI indica que no cambió, se extiende su vigencia; si cambió, se almacena el valor nuevo.
+     * Se utiliza para revalidar en segundo plano los datos cargados del almacenamiento persistente.
+     *
+     * @param resource el tipo de recurso.
+     * @param id       el ID de la entidad.
+     * @throws RuntimeException si ocurre un error durante la solicitud.
+     */
+    public void refresh(SwapiResource resource, String id) {
+        Fetch<?> fetch = fetch(
+                resource.getPath() + "/{id}",
+                resource.urlOf(id),
+                entityCache.validators(resource, id),
+                body -> swapiResponseParser.readProperties(body, resource.getDtoType())
+        );
+        if (fetch.notModified()) {
+            entityCache.revalidate(resource, id);
+        } else if (fetch.value() != null) {
+            entityCache.put(resource, id, fetch.value(), fetch.validators());
         }
+    }
 
-        return response.getBody().getResult().stream()
-                .map(VehicleResult::getProperties)
-                .toList();
+    /**
+     * Revalida una página de listado almacenada con una solicitud condicional a SWAPI, aunque no haya
+     * expirado. El listado completo de películas ({@link SwapiEntityCache#FULL_LIST}) incluye los detalles
+     * de cada película, que también se almacenan.
+     *
+     * @param resource el tipo de recurso.
+     * @param page     el número de página, o {@link SwapiEntityCache#FULL_LIST}.
+     * @throws RuntimeException si ocurre un error durante la solicitud.
+     */
+    public void refreshPage(SwapiResource resource, int page) {
+        Validators validators = entityCache.pageValidators(resource, page);
+        if (page == SwapiEntityCache.FULL_LIST) {
+            Fetch<? extends List<? extends SwapiResult<?>>> fetch = fetch(
+                    resource.getPath(),
+                    BASE_URL + resource.getPath(),
+                    validators,
+                    body -> swapiResponseParser.readResults(body, resource.getDtoType())
+            );
+            if (fetch.notModified()) {
+                entityCache.revalidatePage(resource, page);
+            } else if (fetch.value() != null) {
+                for (SwapiResult<?> result : fetch.value()) {
+                    if (result.uid() != null) {
+                        entityCache.put(resource, result.uid(), result.properties());
+                    }
+                }
+                entityCache.putPage(resource, page, fetch.value().stream().map(SwapiResult::uid).toList(), fetch.validators());
+            }
+            return;
+        }
+        Fetch<List<String>> fetch = fetch(
+                resource.getPath() + "?page={page}&limit={limit}",
+                UriComponentsBuilder.fromUriString(BASE_URL + resource.getPath())
+                        .queryParam("page", page)
+                        .queryParam("limit", 10)
+                        .toUriString(),
+                validators,
+                swapiResponseParser::readUids
+        );
+        if (fetch.notModified()) {
+            entityCache.revalidatePage(resource, page);
+        } else if (fetch.value() != null) {
+            entityCache.putPage(resource, page, fetch.value(), fetch.validators());
+        }
+    }
+
+    /*----------------*/
+    /* SINCRONIZACIÓN */
+    /*----------------*/
+    /**
+     * Obtiene una página de un listado expandido ({@code expanded=true}), que incluye las propiedades y la
+     * fecha de última modificación de cada entidad, con una solicitud condicional si se indican validadores.
+     * Los datos obtenidos no se almacenan en la caché: la sincronización decide qué entidades cambiaron.
+     *
+     * @param resource   el tipo de recurso.
+     * @param page       el número de página, o {@link SwapiEntityCache#FULL_LIST} para los listados sin
+     *                   paginación (como el de películas).
+     * @param limit      la cantidad de entidades por página.
+     * @param validators los validadores de la página obtenida en la sincronización anterior, o {@code null}.
+     * @return la página obtenida, o una sin datos si SWAPI indica que no cambió.
+     * @throws RuntimeException si ocurre un error durante la solicitud.
+     */
+    public SyncFetch syncPage(SwapiResource resource, int page, int limit, Validators validators) {
+        String url = BASE_URL + resource.getPath();
+        String uriTemplate = resource.getPath();
+        if (page != SwapiEntityCache.FULL_LIST) {
+            url = UriComponentsBuilder.fromUriString(url)
+                    .queryParam("page", page)
+                    .queryParam("limit", limit)
+                    .queryParam("expanded", true)
+                    .toUriString();
+            uriTemplate += "?page={page}&limit={limit}&expanded=true";
+        }
+        Fetch<? extends SwapiSyncPage<?>> fetch = fetch(uriTemplate, url, validators,
+                body -> swapiResponseParser.readSyncPage(body, resource.getDtoType()));
+        if (!fetch.notModified() && fetch.value() == null) {
+            throw new RuntimeException("Falló la obtención de data desde SWAPI: Cuerpo de respuesta es null.");
+        }
+        return new SyncFetch(fetch.value(), fetch.validators(), fetch.notModified());
+    }
+
+    /**
+     * Almacena en la caché cada resultado de una respuesta múltiple y devuelve sus propiedades.
+     *
+     * @param resource el tipo de recurso de los resultados.
+     * @param results  los resultados leídos de la respuesta.
+     * @param <T>      el tipo de DTO de los resultados.
+     * @return la lista de DTOs de los resultados.
+     */
+    private <T> List<T> cacheResults(SwapiResource resource, List<SwapiResult<T>> results) {
+        List<T> properties = new ArrayList<>(results.size());
+        for (SwapiResult<T> result : results) {
+            if (result.uid() != null) {
+                entityCache.put(resource, result.uid(), result.properties());
+            }
+            properties.add(result.properties());
+        }
+        return properties;
+    }
+
+    /**
+     * Busca, entre las entidades almacenadas de un recurso, las que contienen un texto en su nombre, sin
+     * distinguir mayúsculas de minúsculas (como la búsqueda por nombre de SWAPI). Se utiliza en el modo sin
+     * conexión, en el que la caché contiene todas las entidades del snapshot.
+     *
+     * @param resource el tipo de recurso.
+     * @param column   el atributo con el nombre de las entidades.
+     * @param name     el texto buscado.
+     * @param type     la clase de los DTOs del recurso.
+     * @param <T>      el tipo de DTO del recurso.
+     * @return los DTOs de las entidades encontradas.
+     */
+    private <T> List<T> findStoredByName(SwapiResource resource, String column, String name, Class<T> type) {
+        EntityTable<Object> table = entityCache.table(resource);
+        TextColumn<?> names = (TextColumn<?>) table.column(column);
+        String text = name.toLowerCase(Locale.ROOT);
+        List<T> matches = new ArrayList<>();
+        for (int row = 0; row < table.size(); row++) {
+            String value = names.value(row);
+            if (value != null && value.toLowerCase(Locale.ROOT).contains(text)) {
+                matches.add(type.cast(table.get(table.idAt(row))));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Realiza una solicitud GET a la API de SWAPI y devuelve el valor extraído del cuerpo.
+     *
+     * @param uriTemplate la plantilla de URI utilizada para agrupar las llamadas en JFR.
+     * @param url         la URL concreta a invocar.
+     * @param reader      el lector que extrae el valor del cuerpo de la respuesta.
+     * @param <T>         el tipo del valor extraído.
+     * @return el valor extraído, o {@code null} si la respuesta no contiene los datos esperados.
+     */
+    private <T> T get(String uriTemplate, String url, BodyReader<T> reader) {
+        return fetch(uriTemplate, url, null, reader).value();
+    }
+
+    /**
+     * Realiza una solicitud GET a la API de SWAPI, condicional si se indican validadores previos,
+     * y registra la llamada como evento JFR.
+     * <p>
+     * El cuerpo de la respuesta se procesa en streaming con el lector indicado, sin materializar
+     * la respuesta completa. Si SWAPI responde {@code 304 Not Modified}, no se lee ningún cuerpo.
+     * Si la respuesta no trae "ETag" ni "Last-Modified", el cuerpo se lee completo para calcular su
+     * hash: si coincide con el de los validadores previos, se considera no modificado y no se deserializa.
+     * <p>
+     * El evento JFR incluye la plantilla de URI (sin valores concretos), el código de estado HTTP,
+     * los bytes leídos y la duración de la llamada. Si JFR no está grabando, no tiene costo adicional.
+     *
+     * @param uriTemplate la plantilla de URI utilizada para agrupar las llamadas en JFR.
+     * @param url         la URL concreta a invocar.
+     * @param previous    los validadores de los datos almacenados, o {@code null} si no hay datos previos.
+     * @param reader      el lector que extrae el valor del cuerpo de la respuesta.
+     * @param <T>         el tipo del valor extraído.
+     * @return el resultado de la solicitud.
+     * @throws ResponseStatusException con estado 404 en el modo sin conexión, ya que los datos buscados no
+     *                                 están en el snapshot.
+     */
+    private <T> Fetch<T> fetch(String uriTemplate, String url, Validators previous, BodyReader<T> reader) {
+        if (offline) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Sin conexión: " + url + " no está en el snapshot");
+        }
+        SwapiCallEvent event = new SwapiCallEvent();
+        event.begin();
+        CallStats stats = new CallStats();
+        try {
+            return restTemplate.execute(url, HttpMethod.GET, request -> addConditionalHeaders(request.getHeaders(), previous), response -> {
+                stats.status = response.getStatusCode().value();
+                if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                    stats.bytes = 0;
+                    return Fetch.notModifiedResult();
+                }
+                String etag = response.getHeaders().getETag();
+                String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                CountingInputStream body = new CountingInputStream(response.getBody());
+                try {
+                    if (etag != null || lastModified != null) {
+                        return new Fetch<>(reader.read(body), new Validators(etag, lastModified, null), false);
+                    }
+                    // Sin validadores HTTP: se compara el hash del cuerpo con el de los datos almacenados
+                    byte[] bytes = body.readAllBytes();
+                    String bodyHash = ContentHash.of(bytes);
+                    if (previous != null && bodyHash.equals(previous.bodyHash())) {
+                        return Fetch.notModifiedResult();
+                    }
+                    return new Fetch<>(reader.read(new ByteArrayInputStream(bytes)), new Validators(null, null, bodyHash), false);
+                } finally {
+                    stats.bytes = body.getCount();
+                }
+            });
+        } catch (RestClientResponseException e) {
+            stats.status = e.getStatusCode().value();
+            stats.bytes = e.getResponseBodyAsByteArray().length;
+            throw e;
+        } finally {
+            event.commit(uriTemplate, stats.status, stats.bytes);
+        }
+    }
+
+    /**
+     * Agrega los encabezados de una solicitud condicional a partir de los validadores previos.
+     */
+    private static void addConditionalHeaders(HttpHeaders headers, Validators previous) {
+        if (previous == null) {
+            return;
+        }
+        if (previous.etag() != null) {
+            headers.setIfNoneMatch(previous.etag());
+        }
+        if (previous.lastModified() != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+        }
+    }
+
+    /**
+     * Resultado de una solicitud a SWAPI.
+     *
+     * @param value       el valor extraído del cuerpo, o {@code null} si no se leyó o no contenía los datos esperados.
+     * @param validators  los validadores de la respuesta.
+     * @param notModified {@code true} si los datos almacenados siguen vigentes.
+     * @param <T>         el tipo del valor extraído.
+     */
+    private record Fetch<T>(T value, Validators validators, boolean notModified) {
+
+        private static <T> Fetch<T> notModifiedResult() {
+            return new Fetch<>(null, null, true);
+        }
+    }
+
+    /**
+     * Resultado de la solicitud de una página de listado expandido para la sincronización.
+     *
+     * @param page        la página leída, o {@code null} si no cambió.
+     * @param validators  los validadores de la respuesta, o {@code null} si no cambió.
+     * @param notModified {@code true} si la página no cambió desde la sincronización anterior.
+     */
+    public record SyncFetch(SwapiSyncPage<?> page, Validators validators, boolean notModified) {
+    }
+
+    /**
+     * Lector del cuerpo de una respuesta de SWAPI.
+     *
+     * @param <T> el tipo del valor extraído.
+     */
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    /**
+     * Estado HTTP y bytes leídos de una llamada, para el evento JFR.
+     */
+    private static final class CallStats {
+        private int status;
+        private long bytes = -1;
+    }
+
+    /**
+     * Flujo de entrada que cuenta los bytes leídos del cuerpo de la respuesta.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        private long getCount() {
+            return count;
+        }
     }
 }
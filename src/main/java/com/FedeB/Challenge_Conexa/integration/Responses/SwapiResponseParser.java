@@ -0,0 +1,252 @@
+package com.FedeB.Challenge_Conexa.integration.Responses;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser de streaming para las respuestas de la API de SWAPI.
+ * <p>
+ * En lugar de mapear la respuesta completa a wrappers genéricos ("message" y "result" o "results"), recorre
+ * el JSON con un {@link JsonParser} y extrae únicamente los campos utilizados: el objeto "properties" y el
+ * "uid" de cada resultado. Los demás campos ("description", "_id", "__v", metadatos de la API) se saltean
+ * sin materializarse, y las lecturas de detalle finalizan apenas se obtienen las propiedades.
+ * <p>
+ * Los {@link ObjectReader} de cada DTO se construyen una única vez al crear el parser.
+ */
+@Component
+public class SwapiResponseParser {
+
+    private final JsonFactory jsonFactory;
+    private final Map<Class<?>, ObjectReader> readers;
+
+    /**
+     * Constructor que pre-construye los lectores de cada tipo de DTO a partir del {@link ObjectMapper}
+     * de la aplicación.
+     *
+     * @param objectMapper el mapper configurado por Spring Boot.
+     */
+    @Autowired
+    public SwapiResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.readers = Map.of(
+                PeopleDetailsDto.class, readerFor(objectMapper, PeopleDetailsDto.class),
+                FilmDetailsDto.class, readerFor(objectMapper, FilmDetailsDto.class),
+                StarshipDetailsDto.class, readerFor(objectMapper, StarshipDetailsDto.class),
+                VehicleDetailsDto.class, readerFor(objectMapper, VehicleDetailsDto.class)
+        );
+    }
+
+    private static ObjectReader readerFor(ObjectMapper objectMapper, Class<?> type) {
+        return objectMapper.readerFor(type)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Lee los IDs ("uid") de una respuesta de listado paginado ({@code results[].uid}).
+     *
+     * @param body el cuerpo de la respuesta.
+     * @return la lista de IDs, o {@code null} si la respuesta no contiene "results".
+     * @throws IOException si el cuerpo no es un JSON válido.
+     */
+    public List<String> readUids(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (!enterField(parser, "results") || parser.currentToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            List<String> uids = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String uid = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    parser.nextToken();
+                    if ("uid".equals(parser.currentName())) {
+                        uid = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                uids.add(uid);
+            }
+            return uids;
+        }
+    }
+
+    /**
+     * Lee las propiedades de una respuesta de detalle ({@code result.properties}).
+     *
+     * @param body el cuerpo de la respuesta.
+     * @param type el tipo de DTO de las propiedades.
+     * @param <T>  el tipo de DTO.
+     * @return el DTO leído, o {@code null} si la respuesta no contiene "result".
+     * @throws IOException si el cuerpo no es un JSON válido.
+     */
+    public <T> T readProperties(InputStream body, Class<T> type) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (!enterField(parser, "result") || parser.currentToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            // Se deja de leer apenas se obtienen las propiedades
+            return readResultProperties(parser, type);
+        }
+    }
+
+    /**
+     * Lee el ID y las propiedades de cada elemento de una respuesta múltiple ({@code result[].uid} y
+     * {@code result[].properties}), como las del listado de películas o las búsquedas por nombre.
+     *
+     * @param body el cuerpo de la respuesta.
+     * @param type el tipo de DTO de las propiedades.
+     * @param <T>  el tipo de DTO.
+     * @return la lista de resultados leídos, o {@code null} si la respuesta no contiene "result".
+     * @throws IOException si el cuerpo no es un JSON válido.
+     */
+    public <T> List<SwapiResult<T>> readResults(InputStream body, Class<T> type) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (!enterField(parser, "result") || parser.currentToken() != JsonToken.START_ARRAY) {
+                return null;
+            }
+            ObjectReader reader = reader(type);
+            List<SwapiResult<T>> results = new ArrayList<>();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String uid = null;
+                T properties = null;
+                // El "uid" suele aparecer después de "properties", por lo que se recorre el elemento completo
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    if ("properties".equals(name)) {
+                        properties = reader.readValue(parser);
+                    } else if ("uid".equals(name)) {
+                        uid = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (properties != null) {
+                    results.add(new SwapiResult<>(uid, properties));
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Lee una página de un listado expandido ({@code results[]} en los listados paginados, o {@code result[]}
+     * en los que no tienen paginación), con el ID, la fecha de última modificación ("edited") y las
+     * propiedades de cada elemento, y la cantidad de páginas ({@code total_pages}).
+     *
+     * @param body el cuerpo de la respuesta.
+     * @param type el tipo de DTO de las propiedades.
+     * @param <T>  el tipo de DTO.
+     * @return la página leída, o {@code null} si la respuesta no contiene resultados.
+     * @throws IOException si el cuerpo no es un JSON válido.
+     */
+    public <T> SwapiSyncPage<T> readSyncPage(InputStream body, Class<T> type) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            ObjectReader reader = reader(type);
+            List<SwapiSyncPage.Item<T>> items = null;
+            int totalPages = 1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("total_pages".equals(name)) {
+                    totalPages = parser.getValueAsInt(1);
+                } else if (("results".equals(name) || "result".equals(name)) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    items = readSyncItems(parser, reader);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return items != null ? new SwapiSyncPage<>(items, totalPages) : null;
+        }
+    }
+
+    private <T> List<SwapiSyncPage.Item<T>> readSyncItems(JsonParser parser, ObjectReader reader) throws IOException {
+        List<SwapiSyncPage.Item<T>> items = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String uid = null;
+            JsonNode properties = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if ("properties".equals(name)) {
+                    // Se lee como árbol para obtener "edited", que los DTOs no incluyen
+                    properties = reader.readTree(parser);
+                } else if ("uid".equals(name)) {
+                    uid = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (properties != null && properties.isObject()) {
+                JsonNode edited = properties.get("edited");
+                T value = reader.readValue(properties);
+                items.add(new SwapiSyncPage.Item<>(uid, edited != null && !edited.isNull() ? edited.asText() : null, value));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Avanza el parser hasta el valor de un campo del objeto raíz, salteando los demás campos.
+     *
+     * @return {@code true} si el campo existe; el parser queda posicionado en su valor.
+     */
+    private boolean enterField(JsonParser parser, String field) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (field.equals(name)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Lee el objeto "properties" de un resultado. El parser debe estar posicionado al inicio del resultado
+     * y queda posicionado al final del objeto "properties" (o al final del resultado si no lo contiene).
+     */
+    private <T> T readResultProperties(JsonParser parser, Class<T> type) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("properties".equals(name)) {
+                return reader(type).readValue(parser);
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    private ObjectReader reader(Class<?> type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            throw new IllegalArgumentException("Tipo de DTO no soportado: " + type.getName());
+        }
+        return reader;
+    }
+}
@@ -0,0 +1,11 @@
+package com.FedeB.Challenge_Conexa.integration.Responses;
+
+/**
+ * Resultado individual de una respuesta múltiple de SWAPI: el ID del elemento y sus propiedades.
+ *
+ * @param uid        el ID del elemento en SWAPI.
+ * @param properties el DTO con las propiedades del elemento.
+ * @param <T>        el tipo de DTO de las propiedades.
+ */
+public record SwapiResult<T>(String uid, T properties) {
+}
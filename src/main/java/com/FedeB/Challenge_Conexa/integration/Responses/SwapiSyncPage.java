@@ -0,0 +1,26 @@
+package com.FedeB.Challenge_Conexa.integration.Responses;
+
+import java.util.List;
+
+/**
+ * Página de un listado expandido de SWAPI ({@code expanded=true}), leída para sincronizar los datos locales:
+ * el ID, la fecha de última modificación ("edited") y las propiedades de cada elemento, y la cantidad de
+ * páginas del listado.
+ *
+ * @param items      los elementos de la página.
+ * @param totalPages la cantidad de páginas del listado ({@code 1} en los listados sin paginación).
+ * @param <T>        el tipo de DTO de las propiedades.
+ */
+public record SwapiSyncPage<T>(List<Item<T>> items, int totalPages) {
+
+    /**
+     * Elemento de una página de listado expandido.
+     *
+     * @param uid        el ID del elemento en SWAPI.
+     * @param edited     la fecha de última modificación informada por SWAPI, o {@code null} si no la informa.
+     * @param properties el DTO con las propiedades del elemento.
+     * @param <T>        el tipo de DTO de las propiedades.
+     */
+    public record Item<T>(String uid, String edited, T properties) {
+    }
+}
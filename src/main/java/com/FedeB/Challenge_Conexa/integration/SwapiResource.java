@@ -0,0 +1,75 @@
+package com.FedeB.Challenge_Conexa.integration;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+
+/**
+ * Tipos de recurso de la API de SWAPI expuestos por la aplicación.
+ * <p>
+ * Cada tipo conoce su segmento de ruta (utilizado tanto en SWAPI como en los endpoints "/api")
+ * y la clase del DTO que representa sus detalles.
+ */
+public enum SwapiResource {
+    PEOPLE("people", PeopleDetailsDto.class),
+    FILMS("films", FilmDetailsDto.class),
+    STARSHIPS("starships", StarshipDetailsDto.class),
+    VEHICLES("vehicles", VehicleDetailsDto.class);
+
+    /**
+     * URL base de la API de SWAPI.
+     */
+    public static final String BASE_URL = "https://www.swapi.tech/api/";
+
+    private final String path;
+    private final Class<?> dtoType;
+
+    SwapiResource(String path, Class<?> dtoType) {
+        this.path = path;
+        this.dtoType = dtoType;
+    }
+
+    /**
+     * Devuelve el segmento de ruta del recurso (por ejemplo {@code people}).
+     *
+     * @return el segmento de ruta.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Devuelve la clase del DTO de detalles del recurso.
+     *
+     * @return la clase del DTO.
+     */
+    public Class<?> getDtoType() {
+        return dtoType;
+    }
+
+    /**
+     * Devuelve la URL de SWAPI de una entidad del recurso (por ejemplo {@code https://www.swapi.tech/api/people/1}).
+     *
+     * @param id el ID de la entidad.
+     * @return la URL de la entidad.
+     */
+    public String urlOf(String id) {
+        return BASE_URL + path + "/" + id;
+    }
+
+    /**
+     * Busca el tipo de recurso correspondiente a un segmento de ruta.
+     *
+     * @param path el segmento de ruta (por ejemplo {@code starships}).
+     * @return el tipo de recurso, o {@code null} si no corresponde a ninguno.
+     */
+    public static SwapiResource fromPath(String path) {
+        for (SwapiResource resource : values()) {
+            if (resource.path.equals(path)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR que representa un acceso a una caché de la aplicación.
+ * <p>
+ * Indica el nombre de la caché, la clave consultada y si el acceso fue un acierto (hit)
+ * o un fallo (miss).
+ */
+@Name("conexa.CacheAccess")
+@Label("Cache Access")
+@Category({"Conexa", "Cache"})
+@Description("Acceso (hit o miss) a una caché de la aplicación")
+public class CacheAccessEvent extends ConexaEvent {
+
+    @Label("Cache")
+    private String cache;
+
+    @Label("Key")
+    private String key;
+
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * Registra un acceso a caché si JFR está grabando el evento.
+     * <p>
+     * La instancia solo se crea cuando el tipo de evento está habilitado, por lo que la llamada
+     * no tiene costo con JFR deshabilitado.
+     *
+     * @param cache el nombre de la caché consultada.
+     * @param key   la clave consultada.
+     * @param hit   {@code true} si el valor estaba en la caché.
+     */
+    public static void record(String cache, Object key, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.key = String.valueOf(key);
+            event.hit = hit;
+            event.correlate();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import com.FedeB.Challenge_Conexa.filter.RequestIdFilter;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.slf4j.MDC;
+
+/**
+ * Evento base de Java Flight Recorder (JFR) para las operaciones propias de la aplicación.
+ * <p>
+ * Todos los eventos personalizados heredan de esta clase, de modo que comparten la categoría
+ * y el ID de solicitud utilizado para correlacionarlos con los logs. El hilo que emite el evento
+ * es registrado automáticamente por JFR.
+ * <p>
+ * Los eventos deben usarse con el patrón {@code begin()} / {@code end()} / {@code shouldCommit()}:
+ * los campos solo se completan si JFR está grabando el evento, por lo que con JFR deshabilitado
+ * el costo es nulo (el JIT elimina la instancia por análisis de escape).
+ */
+@Category({"Conexa"})
+@StackTrace(false)
+public abstract class ConexaEvent extends Event {
+
+    @Label("Request ID")
+    protected String requestId;
+
+    /**
+     * Asocia el evento con la solicitud HTTP en curso, tomando el ID de solicitud del MDC.
+     * <p>
+     * Debe invocarse únicamente dentro de un bloque {@code if (event.shouldCommit())}.
+     */
+    protected void correlate() {
+        this.requestId = MDC.get(RequestIdFilter.MDC_KEY);
+    }
+}
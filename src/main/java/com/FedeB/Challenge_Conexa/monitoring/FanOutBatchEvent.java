@@ -0,0 +1,46 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR que representa un lote de llamadas de detalle ("fan-out") a SWAPI.
+ * <p>
+ * Los listados paginados obtienen primero los IDs de una página y luego consultan el detalle
+ * de cada elemento. Este evento cubre el lote completo de consultas de detalle de una página.
+ */
+@Name("conexa.FanOutBatch")
+@Label("List Fan-out Batch")
+@Category({"Conexa", "SWAPI"})
+@Description("Lote de consultas de detalle realizadas para resolver una página de un listado")
+public class FanOutBatchEvent extends ConexaEvent {
+
+    @Label("Resource")
+    private String resource;
+
+    @Label("Page")
+    private int page;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    /**
+     * Completa y confirma el evento si JFR lo está grabando.
+     *
+     * @param resource  el tipo de recurso consultado (por ejemplo {@code people}).
+     * @param page      el número de página resuelta, o {@code 0} si no se indicó página.
+     * @param batchSize la cantidad de consultas de detalle del lote.
+     */
+    public void commit(String resource, int page, int batchSize) {
+        end();
+        if (shouldCommit()) {
+            this.resource = resource;
+            this.page = page;
+            this.batchSize = batchSize;
+            correlate();
+            commit();
+        }
+    }
+}
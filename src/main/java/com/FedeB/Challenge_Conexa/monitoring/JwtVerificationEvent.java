@@ -0,0 +1,41 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR que representa la verificación (parseo y validación de firma) de un token JWT.
+ * <p>
+ * Registra la operación que solicitó la verificación y su resultado. El token y el usuario
+ * no se incluyen en el evento.
+ */
+@Name("conexa.JwtVerification")
+@Label("JWT Verification")
+@Category({"Conexa", "Security"})
+@Description("Verificación de firma y claims de un token JWT")
+public class JwtVerificationEvent extends ConexaEvent {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Completa y confirma el evento si JFR lo está grabando.
+     *
+     * @param operation la operación que verificó el token (por ejemplo {@code extractUsername}).
+     * @param outcome   el resultado de la verificación ({@code VALID}, {@code EXPIRED}, {@code INVALID}).
+     */
+    public void commit(String operation, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.outcome = outcome;
+            correlate();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR periódico con el estado de la caché de respuestas fuera del heap.
+ * <p>
+ * Informa los bytes ocupados en el buffer directo, la cantidad de respuestas almacenadas, los aciertos y
+ * fallos acumulados y el tiempo promedio de descompresión de cada acierto.
+ */
+@Name("conexa.OffHeapCache")
+@Label("Off-heap Cache")
+@Category({"Conexa", "Cache"})
+@Description("Estado de la caché de respuestas fuera del heap")
+@Period("10 s")
+public class OffHeapCacheEvent extends ConexaEvent {
+
+    @Label("Capacity")
+    @DataAmount
+    private long capacity;
+
+    @Label("Resident Bytes")
+    @DataAmount
+    private long residentBytes;
+
+    @Label("Entries")
+    private int entries;
+
+    @Label("Hits")
+    private long hits;
+
+    @Label("Misses")
+    private long misses;
+
+    @Label("Decompression Time per Hit")
+    @Timespan
+    private long decompressionPerHit;
+
+    /**
+     * Completa y confirma el evento si JFR lo está grabando.
+     *
+     * @param capacity            el tamaño del buffer en bytes.
+     * @param residentBytes       los bytes ocupados por las respuestas almacenadas.
+     * @param entries             la cantidad de respuestas almacenadas.
+     * @param hits                los aciertos acumulados.
+     * @param misses              los fallos acumulados.
+     * @param decompressionPerHit el tiempo promedio de descompresión de cada acierto, en nanosegundos.
+     */
+    public static void record(long capacity, long residentBytes, int entries, long hits, long misses, long decompressionPerHit) {
+        OffHeapCacheEvent event = new OffHeapCacheEvent();
+        if (event.shouldCommit()) {
+            event.capacity = capacity;
+            event.residentBytes = residentBytes;
+            event.entries = entries;
+            event.hits = hits;
+            event.misses = misses;
+            event.decompressionPerHit = decompressionPerHit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.FedeB.Challenge_Conexa.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Evento JFR que representa una llamada HTTP a la API de SWAPI.
+ * <p>
+ * Registra la plantilla de URI (sin valores concretos, para poder agrupar), el código de estado
+ * HTTP y la cantidad de bytes recibidos. La duración se obtiene con {@code begin()} / {@code end()}.
+ */
+@Name("conexa.SwapiCall")
+@Label("SWAPI Call")
+@Category({"Conexa", "SWAPI"})
+@Description("Llamada HTTP saliente a la API de SWAPI")
+public class SwapiCallEvent extends ConexaEvent {
+
+    @Label("URI Template")
+    private String uriTemplate;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    /**
+     * Completa y confirma el evento si JFR lo está grabando.
+     *
+     * @param uriTemplate la plantilla de URI invocada (por ejemplo {@code people/{id}}).
+     * @param status      el código de estado HTTP obtenido, o {@code 0} si no hubo respuesta.
+     * @param bytes       la cantidad de bytes del cuerpo de la respuesta, o {@code -1} si se desconoce.
+     */
+    public void commit(String uriTemplate, int status, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.uriTemplate = uriTemplate;
+            this.status = status;
+            this.bytes = bytes;
+            correlate();
+            commit();
+        }
+    }
+}
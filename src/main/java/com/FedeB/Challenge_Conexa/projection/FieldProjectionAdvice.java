@@ -0,0 +1,174 @@
+package com.FedeB.Challenge_Conexa.projection;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufHttpMessageConverter;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica la proyección de campos ({@code ?fields=name,model}) a las respuestas de la API que devuelven DTOs
+ * de SWAPI, en cualquiera de los formatos (JSON, CBOR, Smile o Protobuf).
+ * <p>
+ * La proyección no filtra un árbol ya construido: la respuesta se envuelve en un {@link MappingJacksonValue}
+ * con un filtro de propiedades, y el serializador de Jackson omite los campos excluidos al escribir. Los
+ * filtros se construyen una única vez por DTO y conjunto de campos, y se reutilizan en las siguientes
+ * solicitudes. Los campos se validan contra las propiedades del DTO: un campo desconocido devuelve 400.
+ */
+@ControllerAdvice
+public class FieldProjectionAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Nombre del parámetro de la solicitud con los campos a incluir.
+     */
+    public static final String FIELDS_PARAM = "fields";
+
+    // Cantidad máxima de filtros precompilados, para acotar la memoria ante combinaciones arbitrarias
+    private static final int MAX_CACHED_FILTERS = 512;
+
+    private final Map<Class<?>, Set<String>> propertiesByType;
+    private final Map<FilterKey, FilterProvider> filters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor que obtiene las propiedades serializables de cada DTO de SWAPI.
+     *
+     * @param objectMapper el mapper de la aplicación.
+     */
+    @Autowired
+    public FieldProjectionAdvice(ObjectMapper objectMapper) {
+        this.propertiesByType = Arrays.stream(SwapiResource.values())
+                .map(SwapiResource::getDtoType)
+                .collect(Collectors.toUnmodifiableMap(type -> type, type -> properties(objectMapper, type)));
+    }
+
+    private static Set<String> properties(ObjectMapper objectMapper, Class<?> type) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties().stream()
+                .filter(BeanPropertyDefinition::couldSerialize)
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                || ProtobufHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+        Object value = body instanceof MappingJacksonValue wrapped ? wrapped.getValue() : body;
+        Class<?> dtoType = dtoType(value, returnType);
+        if (dtoType == null) {
+            return body;
+        }
+
+        MappingJacksonValue projected = body instanceof MappingJacksonValue wrapped ? wrapped : new MappingJacksonValue(body);
+        projected.setFilters(filterFor(dtoType, fields));
+        return projected;
+    }
+
+    /**
+     * Devuelve el proveedor de filtros para un DTO y una lista de campos separados por comas,
+     * validando los campos y reutilizando el filtro si ya fue construido.
+     *
+     * @param dtoType la clase del DTO.
+     * @param fields  los campos a incluir, separados por comas.
+     * @return el proveedor de filtros.
+     * @throws ResponseStatusException con estado 400 si algún campo no existe en el DTO.
+     */
+    public FilterProvider filterFor(Class<?> dtoType, String fields) {
+        Set<String> requested = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                requested.add(field.trim());
+            }
+        }
+        FilterKey key = new FilterKey(dtoType, requested);
+        FilterProvider cached = filters.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<String> known = propertiesByType.get(dtoType);
+        Set<String> unknown = new LinkedHashSet<>(requested);
+        unknown.removeAll(known);
+        if (!unknown.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Campos desconocidos para " + dtoType.getSimpleName() + ": " + String.join(", ", unknown)
+                            + ". Campos disponibles: " + String.join(", ", new TreeSet<>(known)));
+        }
+
+        FilterProvider provider = new SimpleFilterProvider()
+                .addFilter(FieldProjectionModule.FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(requested));
+        if (filters.size() < MAX_CACHED_FILTERS) {
+            filters.putIfAbsent(key, provider);
+        }
+        return provider;
+    }
+
+    /**
+     * Determina el DTO de SWAPI de la respuesta: el tipo del cuerpo, o el de los elementos si es una lista.
+     */
+    private Class<?> dtoType(Object value, MethodParameter returnType) {
+        if (propertiesByType.containsKey(value.getClass())) {
+            return value.getClass();
+        }
+        if (value instanceof List<?> list) {
+            Class<?> element = list.isEmpty() ? declaredElementType(returnType) : list.get(0).getClass();
+            return propertiesByType.containsKey(element) ? element : null;
+        }
+        return null;
+    }
+
+    /**
+     * Resuelve el tipo de los elementos de la lista declarada por el controlador, por ejemplo
+     * {@code ResponseEntity<List<StarshipDetailsDto>>}.
+     */
+    private static Class<?> declaredElementType(MethodParameter returnType) {
+        ResolvableType type = ResolvableType.forMethodParameter(returnType);
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        return type.asCollection().getGeneric(0).resolve();
+    }
+
+    private record FilterKey(Class<?> dtoType, Set<String> fields) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.FedeB.Challenge_Conexa.projection;
+
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Módulo de Jackson que asocia los DTOs de la API al filtro de propiedades utilizado por la
+ * proyección de campos ({@code ?fields=}).
+ * <p>
+ * En lugar de anotar cada DTO con {@code @JsonFilter}, el identificador del filtro se asigna desde un
+ * {@link com.fasterxml.jackson.databind.AnnotationIntrospector}, por lo que solo afecta a los mappers
+ * que registran este módulo. Esos mappers deben configurar además {@link #defaultFilters()}, que
+ * serializa todas las propiedades cuando la solicitud no indica campos.
+ */
+public class FieldProjectionModule extends SimpleModule {
+
+    /**
+     * Identificador del filtro de propiedades de los DTOs.
+     */
+    public static final String FILTER_ID = "fieldProjection";
+
+    private final Set<Class<?>> dtoTypes;
+
+    /**
+     * Constructor que indica los DTOs a los que se aplica la proyección.
+     *
+     * @param dtoTypes las clases de los DTOs.
+     */
+    public FieldProjectionModule(Collection<Class<?>> dtoTypes) {
+        super(FieldProjectionModule.class.getSimpleName());
+        this.dtoTypes = Set.copyOf(dtoTypes);
+    }
+
+    /**
+     * Devuelve el proveedor de filtros por defecto, que serializa todas las propiedades.
+     *
+     * @return el proveedor de filtros por defecto.
+     */
+    public static FilterProvider defaultFilters() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    @Override
+    public Object getTypeId() {
+        return FieldProjectionModule.class.getName();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.insertAnnotationIntrospector(new NopAnnotationIntrospector() {
+            @Override
+            public Object findFilterId(Annotated annotated) {
+                return annotated instanceof AnnotatedClass annotatedClass && dtoTypes.contains(annotatedClass.getRawType())
+                        ? FILTER_ID
+                        : null;
+            }
+        });
+    }
+}
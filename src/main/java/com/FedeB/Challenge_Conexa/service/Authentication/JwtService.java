@@ -1,5 +1,8 @@
 package com.FedeB.Challenge_Conexa.service.Authentication;
 
+import com.FedeB.Challenge_Conexa.monitoring.JwtVerificationEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -82,12 +85,7 @@ public class JwtService {
      * @return el nombre de usuario contenido en el token.
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token, "extractUsername").getSubject();
     }
 
     /**
@@ -99,12 +97,37 @@ public class JwtService {
      * @return la fecha de expiración contenida en el token.
      */
     private Date extractExpiration(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
+        return parseClaims(token, "extractExpiration").getExpiration();
+    }
+
+    /**
+     * Verifica la firma de un token JWT y devuelve sus claims.
+     * <p>
+     * Cada verificación se registra como evento JFR con la operación solicitante y su resultado
+     * ({@code VALID}, {@code EXPIRED} o {@code INVALID}). Si JFR no está grabando, no tiene costo adicional.
+     *
+     * @param token     el token JWT a verificar.
+     * @param operation el nombre de la operación que solicita la verificación.
+     * @return los claims contenidos en el token.
+     */
+    private Claims parseClaims(String token, String operation) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        String outcome = "INVALID";
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+            outcome = "VALID";
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = "EXPIRED";
+            throw e;
+        } finally {
+            event.commit(operation, outcome);
+        }
     }
 
     /**
@@ -0,0 +1,47 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.OffHeapResponseStore;
+import com.FedeB.Challenge_Conexa.dto.Cache.CacheMemoryDto;
+import com.FedeB.Challenge_Conexa.dto.Cache.ResourceMemoryDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Servicio que informa el uso de memoria de las cachés, a partir del presupuesto compartido
+ * ({@link CacheMemoryBudget}) y del segundo nivel de la caché de respuestas ({@link OffHeapResponseStore}).
+ */
+@Service
+public class CacheMemoryService {
+
+    private final CacheMemoryBudget budget;
+    private final OffHeapResponseStore offHeap;
+
+    /**
+     * Constructor para inyectar el presupuesto de memoria y la caché fuera del heap.
+     *
+     * @param budget  el presupuesto de memoria compartido por las cachés.
+     * @param offHeap el segundo nivel de la caché de respuestas.
+     */
+    @Autowired
+    public CacheMemoryService(CacheMemoryBudget budget, OffHeapResponseStore offHeap) {
+        this.budget = budget;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Obtiene el uso de memoria de las cachés, en total y por tipo de recurso.
+     *
+     * @return el uso de memoria.
+     */
+    public CacheMemoryDto getUsage() {
+        Map<String, ResourceMemoryDto> resources = new LinkedHashMap<>();
+        budget.usage().forEach((resource, usage) -> resources.put(resource.getPath(),
+                new ResourceMemoryDto(usage.entityBytes(), usage.entities(), usage.responseBytes(), usage.responses())));
+        return new CacheMemoryDto(budget.getMaxBytes(), budget.usedBytes(), resources, offHeap.stats());
+    }
+}
@@ -0,0 +1,210 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.ChangeLog;
+import com.FedeB.Challenge_Conexa.cache.EntityChange;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Sync.ChangeFeedDto;
+import com.FedeB.Challenge_Conexa.dto.Sync.EntityChangeDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servicio que informa los cambios en las entidades posteriores a una versión del conjunto de datos, a partir
+ * del {@link ChangeLog}, para que los consumidores que replican la API se sincronicen de forma incremental.
+ * <p>
+ * La consulta ({@link #getChanges}) informa cada entidad modificada una sola vez, con su último cambio y sus
+ * detalles actuales. El stream ({@link #stream}) envía como eventos SSE los cambios registrados desde la versión
+ * indicada y luego cada cambio nuevo a medida que se confirma. Si los cambios posteriores a la versión ya no se
+ * conservan, se informa que el consumidor debe volver a obtener el conjunto de datos completo.
+ * <p>
+ * Las versiones se identifican con {@link SnapshotVersions#token}, que incluye la época del proceso: una
+ * versión informada antes de un reinicio también requiere volver a obtener los datos, en lugar de recibir
+ * los cambios de otra historia.
+ * <p>
+ * Los eventos de todos los streams se envían desde un único hilo, en el orden de las versiones, de modo que
+ * la confirmación de los cambios nunca espera a los consumidores.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final ChangeLog changeLog;
+    private final SwapiEntityCache entityCache;
+    private final SnapshotVersions versions;
+    private final long streamTimeoutMillis;
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "swapi-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructor para inyectar el registro de cambios, la caché de entidades y la configuración.
+     *
+     * @param changeLog     el registro de cambios en las entidades.
+     * @param entityCache   la caché de la que se leen los detalles de las entidades.
+     * @param streamTimeout el tiempo máximo de conexión de un stream, tras el cual el consumidor se reconecta.
+     */
+    @Autowired
+    public ChangeFeedService(ChangeLog changeLog, SwapiEntityCache entityCache,
+                             @Value("${api.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.changeLog = changeLog;
+        this.entityCache = entityCache;
+        this.versions = entityCache.versions();
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+    }
+
+    /**
+     * Detiene el envío de eventos.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Obtiene las entidades agregadas, modificadas o eliminadas después de una versión del conjunto de datos.
+     * <p>
+     * Cada entidad se informa una sola vez: una entidad agregada y luego modificada se informa como agregada,
+     * y una agregada y luego eliminada no se informa.
+     *
+     * @param since la versión informada por la consulta anterior, o {@code null} para obtener solo la versión
+     *              vigente (sin cambios) desde la cual consultar en adelante.
+     * @return los cambios hasta la versión vigente, o la indicación de que deben volver a obtenerse todos los
+     * datos si la versión ya no se conserva, es de otro proceso o es inválida.
+     */
+    public ChangeFeedDto getChanges(String since) {
+        long current = versions.current();
+        if (since == null) {
+            return new ChangeFeedDto(versions.token(current), versions.token(current), false, List.of());
+        }
+        long version = versions.versionOf(since);
+        List<EntityChange> changes = version >= 0 ? changeLog.since(version, current) : null;
+        if (changes == null) {
+            return new ChangeFeedDto(since, versions.token(current), true, List.of());
+        }
+
+        // Primer y último cambio de cada entidad
+        Map<String, EntityChange[]> byEntity = new LinkedHashMap<>();
+        for (EntityChange change : changes) {
+            byEntity.computeIfAbsent(change.resource().getPath() + "/" + change.id(), key -> new EntityChange[]{change, null})[1] = change;
+        }
+        List<EntityChange[]> entities = new ArrayList<>(byEntity.values());
+        entities.sort(Comparator.comparingLong(pair -> pair[1].version()));
+        List<EntityChangeDto> result = new ArrayList<>(entities.size());
+        for (EntityChange[] pair : entities) {
+            EntityChange.Kind kind = pair[1].kind();
+            if (pair[0].kind() == EntityChange.Kind.ADDED) {
+                if (kind == EntityChange.Kind.REMOVED) {
+                    continue;
+                }
+                kind = EntityChange.Kind.ADDED;
+            }
+            result.add(toDto(pair[1], kind));
+        }
+        return new ChangeFeedDto(since, versions.token(current), false, result);
+    }
+
+    /**
+     * Abre un stream de eventos SSE con los cambios posteriores a una versión del conjunto de datos.
+     * <p>
+     * Cada cambio se envía como un evento {@code change} cuyo ID identifica su versión, de modo que un
+     * consumidor que se reconecta con el encabezado {@code Last-Event-ID} continúa donde quedó. Si los cambios
+     * posteriores a la versión ya no se conservan, o la versión es de otro proceso o inválida, se envía un único
+     * evento {@code resync} y el stream termina.
+     *
+     * @param since la versión a partir de la cual se envían los cambios, o {@code null} para enviar solo los
+     *              cambios nuevos.
+     * @return el stream de eventos.
+     */
+    public SseEmitter stream(String since) {
+        long current = versions.current();
+        long from = since != null ? versions.versionOf(since) : current;
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscription subscription = new Subscription(emitter, from);
+        if (from < 0) {
+            sender.execute(() -> subscription.sendResync(since, current));
+            return emitter;
+        }
+        // Se suscribe antes de leer los cambios registrados, para no perder los que se confirmen entretanto
+        Runnable unsubscribe = changeLog.subscribe(change -> sender.execute(() -> subscription.send(change)));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe.run());
+        sender.execute(() -> {
+            List<EntityChange> backlog = changeLog.since(from);
+            if (backlog == null) {
+                subscription.sendResync(since, current);
+                return;
+            }
+            subscription.ready = true;
+            backlog.forEach(subscription::send);
+        });
+        return emitter;
+    }
+
+    private EntityChangeDto toDto(EntityChange change, EntityChange.Kind kind) {
+        Object entity = kind != EntityChange.Kind.REMOVED ? entityCache.table(change.resource()).get(change.id()) : null;
+        return new EntityChangeDto(versions.token(change.version()), change.resource().getPath(), change.id(), kind.name(), entity);
+    }
+
+    /**
+     * Stream de un consumidor. Solo se usa desde el hilo de envío.
+     */
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        // Versión del último cambio enviado
+        private long sent;
+        // Los cambios notificados antes de leer los registrados se envían con estos últimos
+        private boolean ready;
+
+        private Subscription(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.sent = since;
+        }
+
+        private void send(EntityChange change) {
+            if (!ready || change.version() <= sent) {
+                return;
+            }
+            sent = change.version();
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(versions.token(change.version()))
+                        .name("change")
+                        .data(toDto(change, change.kind()), MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // El consumidor se desconectó o el stream ya terminó
+                emitter.completeWithError(e);
+            }
+        }
+
+        private void sendResync(String since, long current) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("resync")
+                        .data(new ChangeFeedDto(since, versions.token(current), true, List.of()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
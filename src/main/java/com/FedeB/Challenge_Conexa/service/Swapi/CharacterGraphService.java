@@ -0,0 +1,110 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.CharacterGraph;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.GraphNeighbor;
+import com.FedeB.Challenge_Conexa.catalog.GraphPath;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio para consultar las conexiones entre personajes (grados de separación) a través de las películas,
+ * naves y vehículos que comparten.
+ * <p>
+ * Las consultas se resuelven sobre un {@link CharacterGraph} construido a partir de las entidades almacenadas
+ * localmente (las tablas de {@link SwapiEntityCache}), sin realizar solicitudes a SWAPI. El grafo se
+ * reconstruye en la primera consulta posterior a un cambio en las tablas.
+ */
+@Service
+public class CharacterGraphService {
+
+    /**
+     * Cantidad máxima de grados de separación de las consultas de vecindario.
+     */
+    public static final int MAX_DEGREES = 6;
+
+    private final Map<SwapiResource, EntityTable<?>> tables = new EnumMap<>(SwapiResource.class);
+    private volatile CharacterGraph graph;
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public CharacterGraphService(SwapiEntityCache entityCache) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            tables.put(resource, entityCache.table(resource));
+        }
+    }
+
+    /**
+     * Busca la conexión más corta entre dos personajes.
+     *
+     * @param from el ID del personaje de origen.
+     * @param to   el ID del personaje de destino.
+     * @return la conexión, con los personajes y las películas, naves o vehículos que comparten.
+     * @throws ResponseStatusException con estado 404 si alguno de los personajes no está almacenado
+     *                                 localmente o si no están conectados.
+     */
+    public GraphPath shortestPath(String from, String to) {
+        GraphPath path;
+        try {
+            path = graph().shortestPath(from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (path == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No hay conexión entre los personajes " + from + " y " + to);
+        }
+        return path;
+    }
+
+    /**
+     * Devuelve los personajes conectados con un personaje hasta una cantidad de grados de separación.
+     *
+     * @param id      el ID del personaje.
+     * @param degrees la cantidad máxima de grados de separación (entre 1 y {@link #MAX_DEGREES}).
+     * @return los personajes conectados, ordenados por grados de separación.
+     * @throws ResponseStatusException con estado 400 si los grados de separación son inválidos, o 404 si el
+     *                                 personaje no está almacenado localmente.
+     */
+    public List<GraphNeighbor> neighbors(String id, int degrees) {
+        if (degrees < 1 || degrees > MAX_DEGREES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Los grados de separación deben estar entre 1 y " + MAX_DEGREES);
+        }
+        try {
+            return graph().neighbors(id, degrees);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve el grafo de la versión actual de las tablas, reconstruyéndolo si cambiaron.
+     */
+    private CharacterGraph graph() {
+        CharacterGraph current = graph;
+        if (current != null && Arrays.equals(current.getVersions(), EntityTable.versions(tables))) {
+            return current;
+        }
+        synchronized (this) {
+            current = graph;
+            if (current == null || !Arrays.equals(current.getVersions(), EntityTable.versions(tables))) {
+                current = CharacterGraph.build(tables);
+                graph = current;
+            }
+            return current;
+        }
+    }
+}
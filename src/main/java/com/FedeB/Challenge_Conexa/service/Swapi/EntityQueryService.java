@@ -0,0 +1,198 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.EntityQuery;
+import com.FedeB.Challenge_Conexa.catalog.FacetCounts;
+import com.FedeB.Challenge_Conexa.catalog.QueryPlan;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.projection.FieldProjectionAdvice;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio para consultar las entidades de SWAPI por rango y orden de sus atributos numéricos y por valor
+ * de sus atributos categóricos, y para contar las entidades por valor (facetas).
+ * <p>
+ * Las consultas se resuelven sobre las entidades almacenadas localmente (las tablas de
+ * {@link SwapiEntityCache}), sin realizar solicitudes a SWAPI. Los parámetros tienen la forma:
+ * <ul>
+ *     <li>{@code {atributo}.gt}, {@code .gte}, {@code .lt} y {@code .lte}: filtros por rango
+ *     (por ejemplo {@code hyperdrive_rating.lt=1.0}).</li>
+ *     <li>{@code {atributo}}: filtro por valor de un atributo categórico (por ejemplo {@code gender=female});
+ *     si el parámetro se repite, basta con que coincida alguno de los valores.</li>
+ *     <li>{@code filter}: una expresión de filtro (por ejemplo {@code gender == "female" && height > 160 &&
+ *     films contains 1}), ver {@link com.FedeB.Challenge_Conexa.catalog.FilterExpression}.</li>
+ *     <li>{@code sort}: el atributo de orden, con el prefijo {@code -} para orden descendente.</li>
+ *     <li>{@code offset} y {@code limit}: la paginación de los resultados.</li>
+ * </ul>
+ */
+@Service
+public class EntityQueryService {
+
+    /**
+     * Cantidad de resultados por defecto.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Cantidad máxima de resultados de una consulta.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private static final String FILTER_PARAM = "filter";
+    private static final String SORT_PARAM = "sort";
+    private static final String OFFSET_PARAM = "offset";
+    private static final String LIMIT_PARAM = "limit";
+
+    private final SwapiEntityCache entityCache;
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public EntityQueryService(SwapiEntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Ejecuta una consulta sobre las entidades de un recurso.
+     *
+     * @param resource el tipo de recurso.
+     * @param params   los parámetros de la consulta.
+     * @return los DTOs de las entidades que cumplen los filtros, en el orden pedido.
+     * @throws ResponseStatusException con estado 400 si algún parámetro es inválido.
+     */
+    public List<Object> query(SwapiResource resource, MultiValueMap<String, String> params) {
+        EntityTable<Object> table = entityCache.table(resource);
+        try {
+            return table.query(parse(params));
+        } catch (IllegalArgumentException e) {
+            throw badRequest(table, e);
+        }
+    }
+
+    /**
+     * Describe cómo se resolvería una consulta sobre las entidades de un recurso, sin ejecutarla.
+     *
+     * @param resource el tipo de recurso.
+     * @param params   los parámetros de la consulta.
+     * @return el plan de ejecución de la consulta.
+     * @throws ResponseStatusException con estado 400 si algún parámetro es inválido.
+     */
+    public QueryPlan explain(SwapiResource resource, MultiValueMap<String, String> params) {
+        EntityTable<Object> table = entityCache.table(resource);
+        try {
+            return table.explain(parse(params));
+        } catch (IllegalArgumentException e) {
+            throw badRequest(table, e);
+        }
+    }
+
+    /**
+     * Cuenta las entidades de un recurso por valor de sus atributos categóricos, entre las que cumplen
+     * los filtros de la consulta.
+     *
+     * @param resource el tipo de recurso.
+     * @param params   los filtros de la consulta y, en {@code fields}, los atributos categóricos a contar
+     *                 separados por comas (todos si se omite).
+     * @return la cantidad de entidades que cumplen los filtros y los conteos por valor de cada atributo.
+     * @throws ResponseStatusException con estado 400 si algún parámetro es inválido.
+     */
+    public FacetCounts facets(SwapiResource resource, MultiValueMap<String, String> params) {
+        EntityTable<Object> table = entityCache.table(resource);
+        List<String> fields = new ArrayList<>();
+        for (String value : params.getOrDefault(FieldProjectionAdvice.FIELDS_PARAM, List.of())) {
+            for (String field : value.split(",")) {
+                if (!field.isBlank()) {
+                    fields.add(field.trim());
+                }
+            }
+        }
+        try {
+            return table.facets(parse(params), fields.isEmpty() ? table.categoryColumns() : fields);
+        } catch (IllegalArgumentException e) {
+            throw badRequest(table, e);
+        }
+    }
+
+    private static ResponseStatusException badRequest(EntityTable<Object> table, IllegalArgumentException e) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()
+                + ". Atributos numéricos: " + String.join(", ", table.numericColumns())
+                + ". Atributos categóricos: " + String.join(", ", table.categoryColumns()));
+    }
+
+    /**
+     * Construye la consulta a partir de los parámetros de la solicitud.
+     *
+     * @param params los parámetros de la solicitud.
+     * @return la consulta.
+     * @throws IllegalArgumentException si algún parámetro es inválido.
+     */
+    private static EntityQuery parse(MultiValueMap<String, String> params) {
+        EntityQuery.Builder builder = EntityQuery.builder().limit(DEFAULT_LIMIT);
+        for (Map.Entry<String, List<String>> param : params.entrySet()) {
+            String name = param.getKey();
+            String value = param.getValue().get(0);
+            switch (name) {
+                case FILTER_PARAM -> builder.where(value);
+                case SORT_PARAM -> builder.sortBy(value.startsWith("-") ? value.substring(1) : value, value.startsWith("-"));
+                case OFFSET_PARAM -> builder.offset(parseInt(name, value));
+                case LIMIT_PARAM -> builder.limit(Math.min(parseInt(name, value), MAX_LIMIT));
+                case FieldProjectionAdvice.FIELDS_PARAM -> {
+                    // La proyección de campos se aplica al serializar la respuesta
+                }
+                default -> {
+                    if (name.indexOf('.') > 0) {
+                        addRange(builder, name, value);
+                    } else {
+                        param.getValue().forEach(option -> builder.equalTo(name, option));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addRange(EntityQuery.Builder builder, String name, String value) {
+        int dot = name.lastIndexOf('.');
+        String field = name.substring(0, dot);
+        double bound = parseNumber(name, value);
+        switch (name.substring(dot + 1)) {
+            case "gt" -> builder.greaterThan(field, bound);
+            case "gte" -> builder.atLeast(field, bound);
+            case "lt" -> builder.lessThan(field, bound);
+            case "lte" -> builder.atMost(field, bound);
+            default -> throw new IllegalArgumentException("Operador desconocido en " + name + " (gt, gte, lt o lte)");
+        }
+    }
+
+    private static double parseNumber(String name, String value) {
+        try {
+            double number = Double.parseDouble(value);
+            if (Double.isFinite(number)) {
+                return number;
+            }
+        } catch (NumberFormatException ignored) {
+            // Se informa a continuación
+        }
+        throw new IllegalArgumentException("Valor numérico inválido para " + name + ": " + value);
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor entero inválido para " + name + ": " + value);
+        }
+    }
+}
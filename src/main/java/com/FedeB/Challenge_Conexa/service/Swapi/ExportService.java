@@ -0,0 +1,310 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Servicio que exporta en una sola respuesta todas las entidades almacenadas localmente de uno o más
+ * recursos, para los procesos que hoy recorren los listados y los detalles de a una solicitud.
+ * <p>
+ * Las entidades se leen de a una de las tablas de {@link SwapiEntityCache} y se escriben a medida que se
+ * leen, por lo que la memoria utilizada no depende del tamaño del conjunto de datos (salvo los IDs de las
+ * entidades de cada recurso). La exportación lee la versión del conjunto de datos vigente al recibir la
+ * solicitud (o la fijada por ella), tanto las entidades que la componen como sus valores, aunque los datos
+ * cambien mientras se escribe: la versión se fija en el hilo de la solicitud ({@link #open()}) y se lee desde
+ * el hilo que escribe la respuesta.
+ * <p>
+ * Los formatos disponibles son:
+ * <ul>
+ *     <li>{@code ndjson}: una entidad por línea, con la forma {@code {"type":"people","id":"1","properties":{...}}}.</li>
+ *     <li>{@code csv}: por cada recurso, una fila de encabezado ({@code type,id} y los atributos del DTO) seguida
+ *     de una fila por entidad; los recursos se separan con una línea vacía. Las listas (por ejemplo, las
+ *     películas de un personaje) se escriben separadas por espacios.</li>
+ * </ul>
+ */
+@Service
+public class ExportService {
+
+    /**
+     * Formatos de exportación.
+     */
+    public enum Format {
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        /**
+         * Devuelve el tipo de contenido del formato.
+         *
+         * @return el tipo de contenido.
+         */
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Devuelve la extensión de los archivos del formato.
+         *
+         * @return la extensión, sin el punto.
+         */
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final SwapiEntityCache entityCache;
+    private final SnapshotVersions versions;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor para inyectar la caché de entidades y el mapper de JSON.
+     *
+     * @param entityCache  la caché con las entidades almacenadas localmente.
+     * @param objectMapper el mapper con el que se serializan las entidades.
+     */
+    @Autowired
+    public ExportService(SwapiEntityCache entityCache, ObjectMapper objectMapper) {
+        this.entityCache = entityCache;
+        this.versions = entityCache.versions();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Interpreta los tipos de recurso a exportar.
+     *
+     * @param types los segmentos de ruta de los recursos separados por comas (por ejemplo {@code people,films}),
+     *              o {@code null} para exportar todos.
+     * @return los recursos, sin repetir y en el orden indicado.
+     * @throws ResponseStatusException con estado 400 si algún tipo no existe.
+     */
+    public List<SwapiResource> parseTypes(String types) {
+        if (types == null || types.isBlank()) {
+            return Arrays.asList(SwapiResource.values());
+        }
+        Set<SwapiResource> resources = new LinkedHashSet<>();
+        for (String type : types.split(",")) {
+            if (type.isBlank()) {
+                continue;
+            }
+            SwapiResource resource = SwapiResource.fromPath(type.trim().toLowerCase(Locale.ROOT));
+            if (resource == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de recurso desconocido: " + type.trim()
+                        + " (people, films, starships o vehicles)");
+            }
+            resources.add(resource);
+        }
+        return new ArrayList<>(resources);
+    }
+
+    /**
+     * Interpreta el formato de exportación.
+     *
+     * @param format el nombre del formato ({@code ndjson} o {@code csv}).
+     * @return el formato.
+     * @throws ResponseStatusException con estado 400 si el formato no existe.
+     */
+    public Format parseFormat(String format) {
+        for (Format candidate : Format.values()) {
+            if (candidate.extension.equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de exportación desconocido: " + format + " (ndjson o csv)");
+    }
+
+    /**
+     * Fija la versión del conjunto de datos a exportar, la que lee la solicitud en curso (fijada por el cliente
+     * o vigente al comenzar), para que la exportación la lea desde el hilo que escribe la respuesta aunque los
+     * datos cambien antes. La versión se fija y se lee en un mismo paso, sin que una escritura pueda
+     * descartarla en el medio.
+     *
+     * @return la lectura de la versión a exportar, que se cierra al terminar {@link #export} o, si la
+     * exportación no llega a escribirse, con {@link SnapshotVersions.Reader#close()}.
+     */
+    public SnapshotVersions.Reader open() {
+        SnapshotVersions.Reader reader = versions.pinForHandOff();
+        versions.retain(reader.version());
+        return reader;
+    }
+
+    /**
+     * Devuelve el ETag de una exportación: el identificador de la versión exportada, que incluye la época del
+     * proceso para que una versión de antes de un reinicio no coincida con otro conjunto de datos. Es débil
+     * porque no depende de la compresión, y no incluye los tipos ni el formato porque ya forman parte de la URL.
+     *
+     * @param version la versión del conjunto de datos exportada.
+     * @return el ETag.
+     */
+    public String etag(long version) {
+        return "W/\"" + versions.token(version) + "\"";
+    }
+
+    /**
+     * Indica si el cliente ya tiene la exportación de una versión, según su encabezado "If-None-Match".
+     *
+     * @param ifNoneMatch el valor del encabezado, o {@code null} si no se envió.
+     * @param version     la versión del conjunto de datos a exportar.
+     * @return {@code true} si alguno de los ETags coincide (con comparación débil).
+     */
+    public boolean notModified(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = "\"" + versions.token(version) + "\"";
+        for (String etag : ifNoneMatch.split(",")) {
+            String candidate = etag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || opaque.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Escribe las entidades de los recursos en la versión fijada, desde el hilo actual, y cierra la lectura.
+     * El flujo de salida no se cierra.
+     *
+     * @param resources los recursos a exportar.
+     * @param format    el formato de exportación.
+     * @param reader    la lectura de la versión del conjunto de datos, obtenida con {@link #open()}.
+     * @param out       el flujo en el que se escriben las entidades.
+     * @throws IOException si ocurre un error al escribir (por ejemplo, si el cliente se desconectó).
+     */
+    public void export(List<SwapiResource> resources, Format format, SnapshotVersions.Reader reader, OutputStream out)
+            throws IOException {
+        try (SnapshotVersions.Reader ignored = reader.bind()) {
+            if (format == Format.NDJSON) {
+                writeNdjson(resources, out);
+            } else {
+                writeCsv(resources, out);
+            }
+        }
+    }
+
+    private void writeNdjson(List<SwapiResource> resources, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Cada entidad termina con su propio salto de línea
+        generator.setRootValueSeparator(null);
+        for (SwapiResource resource : resources) {
+            for (String id : entityCache.ids(resource)) {
+                Object entity = entityCache.get(resource, id);
+                if (entity == null) {
+                    continue;
+                }
+                generator.writeStartObject();
+                generator.writeStringField("type", resource.getPath());
+                generator.writeStringField("id", id);
+                generator.writeObjectField("properties", entity);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(List<SwapiResource> resources, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        boolean first = true;
+        for (SwapiResource resource : resources) {
+            if (!first) {
+                writer.write("\r\n");
+            }
+            first = false;
+            List<String> fields = fieldsOf(resource);
+            writer.write("type,id");
+            for (String field : fields) {
+                writer.write(',');
+                writer.write(csvValue(field));
+            }
+            writer.write("\r\n");
+            for (String id : entityCache.ids(resource)) {
+                Object entity = entityCache.get(resource, id);
+                if (entity == null) {
+                    continue;
+                }
+                JsonNode node = objectMapper.valueToTree(entity);
+                writer.write(resource.getPath());
+                writer.write(',');
+                writer.write(csvValue(id));
+                for (String field : fields) {
+                    writer.write(',');
+                    writer.write(csvValue(textOf(node.get(field))));
+                }
+                writer.write("\r\n");
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Devuelve los nombres de los atributos serializados del DTO de un recurso, en el orden de serialización.
+     */
+    private List<String> fieldsOf(SwapiResource resource) {
+        List<String> fields = new ArrayList<>();
+        for (BeanPropertyDefinition property : objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(resource.getDtoType())).findProperties()) {
+            if (property.couldSerialize()) {
+                fields.add(property.getName());
+            }
+        }
+        return fields;
+    }
+
+    private static String textOf(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return "";
+        }
+        if (node.isArray()) {
+            StringBuilder text = new StringBuilder();
+            for (JsonNode element : node) {
+                if (!text.isEmpty()) {
+                    text.append(' ');
+                }
+                text.append(element.isValueNode() ? element.asText() : element.toString());
+            }
+            return text.toString();
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    private static String csvValue(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
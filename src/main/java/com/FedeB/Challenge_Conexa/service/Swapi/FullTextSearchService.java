@@ -0,0 +1,100 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.FullTextIndex;
+import com.FedeB.Challenge_Conexa.catalog.TextHit;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de búsqueda de texto completo sobre los atributos de texto de las entidades almacenadas
+ * localmente: el texto de apertura, el título, el director y los productores de las películas, y los
+ * nombres, modelos, fabricantes, clases y colores de las demás entidades.
+ * <p>
+ * Cada recurso tiene un {@link FullTextIndex}, que se construye en la primera búsqueda y se reconstruye en la
+ * primera búsqueda posterior a un cambio en su tabla. Las búsquedas no realizan solicitudes a SWAPI.
+ */
+@Service
+public class FullTextSearchService {
+
+    /**
+     * Cantidad máxima de resultados de una búsqueda.
+     */
+    public static final int MAX_LIMIT = 50;
+
+    // Atributos indexados de cada recurso; el primero es el título de los resultados
+    private static final Map<SwapiResource, List<String>> FIELDS = Map.of(
+            SwapiResource.FILMS, List.of("title", "opening_crawl", "director", "producer"),
+            SwapiResource.PEOPLE, List.of("name", "gender", "hair_color", "skin_color", "eye_color"),
+            SwapiResource.STARSHIPS, List.of("name", "model", "manufacturer", "starship_class"),
+            SwapiResource.VEHICLES, List.of("name", "model", "manufacturer", "vehicle_class"));
+
+    private final Map<SwapiResource, EntityTable<?>> tables = new EnumMap<>(SwapiResource.class);
+    private final Map<SwapiResource, FullTextIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public FullTextSearchService(SwapiEntityCache entityCache) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            tables.put(resource, entityCache.table(resource));
+        }
+    }
+
+    /**
+     * Busca palabras o frases en los atributos de texto de las entidades de uno o más recursos.
+     *
+     * @param query     las palabras a buscar, con las frases entre comillas.
+     * @param resources los recursos en los que buscar.
+     * @param limit     la cantidad máxima de resultados (entre 1 y {@link #MAX_LIMIT}).
+     * @return los resultados de todos los recursos, ordenados por relevancia.
+     * @throws ResponseStatusException con estado 400 si la búsqueda o la cantidad de resultados son
+     *                                 inválidas.
+     */
+    public List<TextHit> search(String query, List<SwapiResource> resources, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La cantidad de resultados debe estar entre 1 y " + MAX_LIMIT);
+        }
+        List<TextHit> hits = new ArrayList<>();
+        try {
+            for (SwapiResource resource : resources) {
+                hits.addAll(index(resource).search(query, limit));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (resources.size() > 1) {
+            hits.sort(Comparator.comparingDouble(TextHit::score).reversed());
+        }
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Devuelve el índice de la versión actual de la tabla de un recurso, reconstruyéndolo si cambió.
+     */
+    private FullTextIndex index(SwapiResource resource) {
+        EntityTable<?> table = tables.get(resource);
+        FullTextIndex current = indexes.get(resource);
+        if (current != null && current.getVersion() == table.version()) {
+            return current;
+        }
+        return indexes.compute(resource, (key, existing) -> existing != null && existing.getVersion() == table.version()
+                ? existing
+                : FullTextIndex.build(resource, table, FIELDS.get(resource)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.NameMatch;
+import com.FedeB.Challenge_Conexa.catalog.TrigramIndex;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio de búsqueda por nombre con tolerancia a errores de tipeo, usado por los endpoints {@code /name}
+ * con {@code fuzzy=true}.
+ * <p>
+ * A diferencia de la búsqueda por nombre de SWAPI, que solo encuentra los nombres que contienen el texto
+ * buscado, esta búsqueda se resuelve sobre las entidades almacenadas localmente con un {@link TrigramIndex}
+ * por recurso, que se construye en la primera búsqueda y se reconstruye en la primera búsqueda posterior a un
+ * cambio en su tabla.
+ */
+@Service
+public class FuzzyNameService {
+
+    /**
+     * Cantidad máxima de resultados de una búsqueda.
+     */
+    public static final int MAX_RESULTS = 20;
+
+    private final Map<SwapiResource, EntityTable<?>> tables = new EnumMap<>(SwapiResource.class);
+    private final Map<SwapiResource, TrigramIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public FuzzyNameService(SwapiEntityCache entityCache) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            tables.put(resource, entityCache.table(resource));
+        }
+    }
+
+    /**
+     * Busca las entidades de un recurso cuyo nombre está a menor distancia de un texto.
+     *
+     * @param resource el recurso de las entidades.
+     * @param name     el nombre buscado, posiblemente con errores de tipeo.
+     * @param type     la clase de los DTOs del recurso.
+     * @param <T>      el tipo de los DTOs del recurso.
+     * @return los DTOs de las entidades encontradas, ordenados por distancia al nombre buscado.
+     * @throws ResponseStatusException con estado 400 si el nombre buscado es inválido.
+     */
+    public <T> List<T> findByName(SwapiResource resource, String name, Class<T> type) {
+        List<NameMatch> matches;
+        try {
+            matches = index(resource).search(name, MAX_RESULTS);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        EntityTable<?> table = tables.get(resource);
+        List<T> entities = new ArrayList<>(matches.size());
+        for (NameMatch match : matches) {
+            // La entidad puede haberse quitado de la tabla después de construir el índice
+            Object entity = table.get(match.id());
+            if (entity != null) {
+                entities.add(type.cast(entity));
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Devuelve el índice de la versión actual de la tabla de un recurso, reconstruyéndolo si cambió.
+     */
+    private TrigramIndex index(SwapiResource resource) {
+        EntityTable<?> table = tables.get(resource);
+        TrigramIndex current = indexes.get(resource);
+        if (current != null && current.getVersion() == table.version()) {
+            return current;
+        }
+        return indexes.compute(resource, (key, existing) -> existing != null && existing.getVersion() == table.version()
+                ? existing
+                : TrigramIndex.build(resource, table));
+    }
+}
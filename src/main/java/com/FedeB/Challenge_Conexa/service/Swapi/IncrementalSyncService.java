@@ -0,0 +1,362 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.ChangeLog;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.cache.Validators;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.dto.Sync.SyncReportDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiSyncPage;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Servicio que sincroniza de forma incremental los datos locales con SWAPI.
+ * <p>
+ * Cada sincronización recorre los listados expandidos de todos los recursos ({@code expanded=true}), que
+ * incluyen las propiedades y la fecha de última modificación ("edited") de cada entidad, y solo almacena en la
+ * {@link SwapiEntityCache} las entidades nuevas o cuyo "edited" cambió desde la sincronización anterior (o,
+ * si SWAPI no informa "edited", cuyo valor cambió). Cada página se solicita de forma condicional con los
+ * validadores de la sincronización anterior, por lo que una página sin cambios no se vuelve a leer. Las
+ * entidades almacenadas que ya no aparecen en el listado completo de su recurso se eliminan. Los cambios
+ * aplicados se confirman como nuevas versiones del conjunto de datos y quedan registrados en el
+ * {@link ChangeLog}.
+ * <p>
+ * El estado de la sincronización ({@link SyncCheckpoint}) se guarda en disco ({@code swapi.sync.checkpoint})
+ * después de cada página: una sincronización interrumpida (por un error de SWAPI o un reinicio) se reanuda
+ * desde la página siguiente a la última procesada. Se ejecuta en segundo plano cada
+ * {@code swapi.sync.interval} (al arrancar, si hay una sincronización interrumpida) o a pedido, y nunca en el
+ * modo sin conexión.
+ */
+@Service
+@Slf4j
+public class IncrementalSyncService {
+
+    private final SwapiClient swapiClient;
+    private final SwapiEntityCache entityCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader checkpointReader;
+    private final Path checkpointPath;
+    private final int pageSize;
+    private final Duration interval;
+    private final boolean offline;
+    private final ReentrantLock running = new ReentrantLock();
+
+    private ScheduledExecutorService scheduler;
+    private volatile SyncReportDto lastReport;
+
+    /**
+     * Constructor para inyectar el cliente de SWAPI, la caché de entidades y la configuración.
+     *
+     * @param swapiClient  el cliente que obtiene los listados expandidos.
+     * @param entityCache  la caché en la que se almacenan los cambios.
+     * @param objectMapper el mapper utilizado para guardar el estado de la sincronización.
+     * @param checkpoint   la ubicación del archivo con el estado de la sincronización.
+     * @param pageSize     la cantidad de entidades por página de listado.
+     * @param interval     el intervalo entre sincronizaciones en segundo plano ({@code 0} las deshabilita).
+     * @param offline      si la aplicación funciona sin conexión, con los datos del snapshot.
+     */
+    @Autowired
+    public IncrementalSyncService(SwapiClient swapiClient, SwapiEntityCache entityCache, ObjectMapper objectMapper,
+                                  @Value("${swapi.sync.checkpoint:data/swapi-sync.json}") String checkpoint,
+                                  @Value("${swapi.sync.page-size:100}") int pageSize,
+                                  @Value("${swapi.sync.interval:1h}") Duration interval,
+                                  @Value("${swapi.offline.enabled:false}") boolean offline) {
+        this.swapiClient = swapiClient;
+        this.entityCache = entityCache;
+        this.objectMapper = objectMapper;
+        this.checkpointReader = objectMapper.readerFor(SyncCheckpoint.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.checkpointPath = Path.of(checkpoint);
+        this.pageSize = pageSize;
+        this.interval = interval;
+        this.offline = offline;
+    }
+
+    /**
+     * Programa las sincronizaciones en segundo plano cuando la aplicación terminó de arrancar. Si la última
+     * sincronización se interrumpió, se reanuda de inmediato.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (offline || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        long delay = loadCheckpoint().getResource() != null ? 0 : interval.toMillis();
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "swapi-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::syncInBackground, delay, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Detiene las sincronizaciones en segundo plano.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void syncInBackground() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            // El estado guardado permite reanudarla en la próxima ejecución
+            log.warn("Sincronización con SWAPI interrumpida: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ejecuta una sincronización completa, o reanuda la última si se interrumpió.
+     *
+     * @return el resumen de la sincronización.
+     * @throws ResponseStatusException con estado 409 si ya hay una sincronización en curso, o 503 en el modo
+     *                                 sin conexión.
+     * @throws RuntimeException        si ocurre un error durante las solicitudes a SWAPI; la sincronización
+     *                                 se reanuda desde la última página procesada en la próxima ejecución.
+     */
+    public SyncReportDto sync() {
+        if (offline) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Sin conexión: no se puede sincronizar con SWAPI");
+        }
+        if (!running.tryLock()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya hay una sincronización en curso");
+        }
+        try {
+            return runSync();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    /**
+     * Devuelve el resumen de la última sincronización terminada.
+     *
+     * @return el resumen, o {@code null} si no terminó ninguna desde que arrancó la aplicación.
+     */
+    public SyncReportDto getLastReport() {
+        return lastReport;
+    }
+
+    private SyncReportDto runSync() {
+        long start = System.nanoTime();
+        long fromVersion = entityCache.versions().current();
+        SyncCheckpoint checkpoint = loadCheckpoint();
+        Progress progress = new Progress();
+        boolean resumed = checkpoint.getResource() != null;
+        if (resumed) {
+            log.info("Se reanuda la sincronización con SWAPI en {} (página {})", checkpoint.getResource().getPath(),
+                    checkpoint.getNextPage());
+        }
+
+        SwapiResource[] resources = SwapiResource.values();
+        for (int i = resumed ? checkpoint.getResource().ordinal() : 0; i < resources.length; i++) {
+            if (checkpoint.getResource() != resources[i]) {
+                checkpoint.setResource(resources[i]);
+                checkpoint.setNextPage(firstPage(resources[i]));
+                checkpoint.getSeen().clear();
+            }
+            syncResource(resources[i], checkpoint, progress);
+            // El recurso terminó: se continúa por el siguiente
+            checkpoint.setResource(i + 1 < resources.length ? resources[i + 1] : null);
+            checkpoint.setNextPage(i + 1 < resources.length ? firstPage(resources[i + 1]) : 0);
+            checkpoint.getSeen().clear();
+            saveCheckpoint(checkpoint);
+        }
+        checkpoint.setCompletedAt(System.currentTimeMillis());
+        saveCheckpoint(checkpoint);
+
+        SyncReportDto report = new SyncReportDto(resumed, progress.pagesFetched, progress.pagesNotModified,
+                progress.added, progress.modified, progress.removed, progress.unchanged,
+                fromVersion, entityCache.versions().current(), (System.nanoTime() - start) / 1_000_000);
+        lastReport = report;
+        log.info("Sincronización con SWAPI terminada: {} páginas leídas, {} sin cambios; {} entidades nuevas, {} modificadas, "
+                        + "{} eliminadas, {} sin cambios, en {} ms", report.getPagesFetched(), report.getPagesNotModified(),
+                report.getAdded(), report.getModified(), report.getRemoved(), report.getUnchanged(), report.getDurationMillis());
+        return report;
+    }
+
+    /**
+     * Recorre las páginas de un recurso desde la indicada en el estado, guardando el estado después de cada
+     * una, y al terminar elimina las entidades que ya no aparecen en el listado.
+     */
+    private void syncResource(SwapiResource resource, SyncCheckpoint checkpoint, Progress progress) {
+        SyncCheckpoint.ResourceState state = checkpoint.getResources()
+                .computeIfAbsent(resource, r -> new SyncCheckpoint.ResourceState());
+        boolean paged = firstPage(resource) != SwapiEntityCache.FULL_LIST;
+        EntityTable<Object> table = entityCache.table(resource);
+        for (int page = checkpoint.getNextPage(); ; page++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("La sincronización se detuvo");
+            }
+            SyncCheckpoint.PageState previous = state.getPages().get(page);
+            // Solo se omite una página sin cambios si todas sus entidades siguen almacenadas
+            Validators validators = previous != null && previous.getIds().stream().allMatch(table::contains)
+                    ? previous.getValidators() : null;
+            SwapiClient.SyncFetch fetch = swapiClient.syncPage(resource, page, pageSize, validators);
+            int totalPages;
+            if (fetch.notModified()) {
+                checkpoint.getSeen().addAll(previous.getIds());
+                totalPages = state.getTotalPages();
+                progress.pagesNotModified++;
+            } else {
+                List<String> ids = new ArrayList<>();
+                for (SwapiSyncPage.Item<?> item : fetch.page().items()) {
+                    if (item.uid() != null) {
+                        ids.add(item.uid());
+                        checkpoint.getSeen().add(item.uid());
+                        apply(resource, state, item, progress);
+                    }
+                }
+                totalPages = fetch.page().totalPages();
+                state.getPages().put(page, new SyncCheckpoint.PageState(ids, fetch.validators()));
+                state.setTotalPages(totalPages);
+                progress.pagesFetched++;
+            }
+
+            if (!paged || page >= totalPages) {
+                state.getPages().keySet().removeIf(number -> number > totalPages);
+                removeDeleted(resource, state, checkpoint.getSeen(), progress);
+                return;
+            }
+            checkpoint.setNextPage(page + 1);
+            saveCheckpoint(checkpoint);
+        }
+    }
+
+    /**
+     * Almacena una entidad del listado si es nueva o cambió desde la sincronización anterior.
+     */
+    private void apply(SwapiResource resource, SyncCheckpoint.ResourceState state, SwapiSyncPage.Item<?> item,
+                       Progress progress) {
+        String id = item.uid();
+        EntityTable<Object> table = entityCache.table(resource);
+        boolean stored = table.contains(id);
+        String edited = state.getEdited().get(id);
+        // Sin una fecha de edición sincronizada (por ejemplo, una entidad obtenida por una solicitud o la
+        // primera sincronización), se comparan los atributos
+        boolean unchanged = stored && (item.edited() != null && edited != null
+                ? item.edited().equals(edited)
+                : Objects.equals(table.get(id), item.properties()));
+        if (unchanged) {
+            if (item.edited() != null) {
+                state.getEdited().put(id, item.edited());
+            }
+            progress.unchanged++;
+            return;
+        }
+        entityCache.put(resource, id, item.properties());
+        if (item.edited() != null) {
+            state.getEdited().put(id, item.edited());
+        } else {
+            state.getEdited().remove(id);
+        }
+        if (stored) {
+            progress.modified++;
+        } else {
+            progress.added++;
+        }
+    }
+
+    /**
+     * Elimina las entidades almacenadas (o sincronizadas anteriormente) que no aparecen en el listado completo
+     * de un recurso. Si el listado no tiene ninguna entidad, no se elimina nada, ya que lo más probable es una
+     * respuesta anómala de SWAPI.
+     */
+    private void removeDeleted(SwapiResource resource, SyncCheckpoint.ResourceState state, Set<String> seen,
+                               Progress progress) {
+        if (seen.isEmpty()) {
+            log.warn("El listado de {} no tiene entidades: no se eliminan las almacenadas", resource.getPath());
+            return;
+        }
+        Set<String> deleted = new LinkedHashSet<>(state.getEdited().keySet());
+        EntityTable<Object> table = entityCache.table(resource);
+        for (int row = 0; row < table.size(); row++) {
+            deleted.add(table.idAt(row));
+        }
+        deleted.removeAll(seen);
+        for (String id : deleted) {
+            if (entityCache.remove(resource, id)) {
+                progress.removed++;
+            }
+            state.getEdited().remove(id);
+        }
+    }
+
+    private static int firstPage(SwapiResource resource) {
+        // El listado de películas no tiene paginación
+        return resource == SwapiResource.FILMS ? SwapiEntityCache.FULL_LIST : 1;
+    }
+
+    /**
+     * Carga el estado guardado de la sincronización, o un estado vacío si no existe o no es válido.
+     */
+    private SyncCheckpoint loadCheckpoint() {
+        if (!Files.exists(checkpointPath)) {
+            return new SyncCheckpoint();
+        }
+        try {
+            return checkpointReader.readValue(checkpointPath.toFile());
+        } catch (IOException e) {
+            log.warn("Se descarta el estado de la sincronización {}: {}", checkpointPath, e.getMessage());
+            return new SyncCheckpoint();
+        }
+    }
+
+    /**
+     * Guarda el estado de la sincronización en un archivo temporal que luego reemplaza al anterior, de modo
+     * que una interrupción nunca deja un estado a medio escribir.
+     */
+    private void saveCheckpoint(SyncCheckpoint checkpoint) {
+        try {
+            Files.createDirectories(checkpointPath.toAbsolutePath().getParent());
+            Path temporary = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+            objectMapper.writeValue(temporary.toFile(), checkpoint);
+            Files.move(temporary, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el estado de la sincronización {}: {}", checkpointPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Contadores de una sincronización en curso.
+     */
+    private static final class Progress {
+        private int pagesFetched;
+        private int pagesNotModified;
+        private int added;
+        private int modified;
+        private int removed;
+        private int unchanged;
+    }
+}
@@ -0,0 +1,102 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.Column;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.RelationColumn;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio para consultar las entidades relacionadas con una entidad de SWAPI (por ejemplo, los personajes
+ * de una película o los pilotos de una nave), sin realizar solicitudes a SWAPI.
+ * <p>
+ * Las relaciones de SWAPI se publican en ambos sentidos, pero cada entidad solo conoce las suyas: una
+ * película lista sus personajes y cada personaje lista sus películas. Por eso la respuesta combina la
+ * relación de la entidad (si está almacenada localmente) con los índices invertidos de las relaciones
+ * inversas de las entidades relacionadas (por ejemplo, los personajes cuyas películas incluyen la película).
+ * Solo se devuelven las entidades relacionadas almacenadas localmente (las tablas de {@link SwapiEntityCache}).
+ */
+@Service
+public class RelationService {
+
+    private final SwapiEntityCache entityCache;
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public RelationService(SwapiEntityCache entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**
+     * Devuelve las entidades relacionadas con una entidad según una de sus relaciones.
+     *
+     * @param resource el tipo de recurso de la entidad.
+     * @param id       el ID de la entidad.
+     * @param relation el nombre de la relación (por ejemplo {@code characters} o {@code pilots}).
+     * @return los DTOs de las entidades relacionadas almacenadas localmente, ordenados por ID.
+     * @throws ResponseStatusException con estado 404 si el recurso no tiene la relación.
+     */
+    public List<Object> related(SwapiResource resource, String id, String relation) {
+        EntityTable<Object> table = entityCache.table(resource);
+        Column<Object> column = table.column(relation);
+        if (!(column instanceof RelationColumn<Object> relationColumn)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Relación desconocida: " + relation
+                    + ". Relaciones de " + resource.getPath() + ": " + String.join(", ", relations(table)));
+        }
+        SwapiResource target = relationColumn.getTarget();
+        EntityTable<Object> targetTable = entityCache.table(target);
+
+        Set<String> ids = new LinkedHashSet<>();
+        for (int relatedId : table.relatedIds(id, relation)) {
+            ids.add(Integer.toString(relatedId));
+        }
+        int numericId = parseId(id);
+        if (numericId >= 0) {
+            for (String inverse : targetTable.relationsTo(resource)) {
+                ids.addAll(targetTable.referencingIds(inverse, numericId));
+            }
+        }
+
+        // Los IDs de SWAPI son numéricos: se ordenan por longitud y luego alfabéticamente
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(Comparator.comparingInt((String relatedId) -> relatedId.length()).thenComparing(Comparator.naturalOrder()));
+        List<Object> results = new ArrayList<>(sorted.size());
+        for (String relatedId : sorted) {
+            Object entity = targetTable.get(relatedId);
+            if (entity != null) {
+                results.add(entity);
+            }
+        }
+        return results;
+    }
+
+    private static List<String> relations(EntityTable<Object> table) {
+        List<String> relations = new ArrayList<>();
+        for (SwapiResource target : SwapiResource.values()) {
+            relations.addAll(table.relationsTo(target));
+        }
+        return relations;
+    }
+
+    private static int parseId(String id) {
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchResponseDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchResultDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchStatus;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchTypeStatusDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Servicio de búsqueda unificada por nombre en todos los tipos de recurso de SWAPI.
+ * <p>
+ * La búsqueda se distribuye en paralelo (scatter-gather): las búsquedas por nombre de personajes, películas,
+ * naves y vehículos se ejecutan al mismo tiempo en un conjunto acotado de hilos y se esperan hasta un plazo
+ * común ({@code api.search.timeout}). Los tipos que no terminan a tiempo se cancelan y la respuesta incluye
+ * los resultados de los demás, con el estado de cada tipo. Los resultados se ordenan por la relevancia del
+ * nombre respecto del texto buscado.
+ * <p>
+ * Cancelar una búsqueda no interrumpe una lectura bloqueada de la respuesta de SWAPI: los hilos se liberan
+ * por los plazos de conexión y de lectura del {@code RestTemplate} ({@code swapi.http.*}), aunque la búsqueda
+ * ya haya respondido. Las tareas por tipo en espera de un hilo comparten una única cola acotada
+ * ({@code api.search.queue-capacity}), en la que cada búsqueda ocupa cuatro lugares; si no hay lugar para
+ * todas sus tareas, la búsqueda se rechaza con estado 503 en lugar de acumularlas.
+ */
+@Service
+@Slf4j
+public class SearchService {
+
+    // Relevancia según cómo coincide el nombre con el texto buscado
+    private static final double EXACT = 4;
+    private static final double PREFIX = 3;
+    private static final double WORD_PREFIX = 2;
+    private static final double CONTAINS = 1;
+
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    private final Map<SwapiResource, Function<String, List<?>>> searches = new EnumMap<>(SwapiResource.class);
+    private final Map<SwapiResource, Function<Object, String>> names = new EnumMap<>(SwapiResource.class);
+
+    /**
+     * Constructor con una cola de 64 tareas por tipo en espera.
+     *
+     * @param swapiClient el cliente que realiza las búsquedas por nombre.
+     * @param timeout     el plazo común de las búsquedas de todos los tipos.
+     * @param threads     la cantidad de hilos para las búsquedas en paralelo.
+     */
+    public SearchService(SwapiClient swapiClient, Duration timeout, int threads) {
+        this(swapiClient, timeout, threads, 64);
+    }
+
+    /**
+     * Constructor para inyectar el cliente de SWAPI y la configuración de la búsqueda.
+     *
+     * @param swapiClient   el cliente que realiza las búsquedas por nombre.
+     * @param timeout       el plazo común de las búsquedas de todos los tipos.
+     * @param threads       la cantidad de hilos para las búsquedas en paralelo.
+     * @param queueCapacity la capacidad de la única cola compartida de tareas por tipo en espera de un hilo
+     *                      (cada búsqueda ocupa una tarea por tipo, es decir, cuatro lugares).
+     */
+    @Autowired
+    public SearchService(SwapiClient swapiClient,
+                         @Value("${api.search.timeout:2s}") Duration timeout,
+                         @Value("${api.search.threads:16}") int threads,
+                         @Value("${api.search.queue-capacity:64}") int queueCapacity) {
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new SearchThreadFactory());
+        searches.put(SwapiResource.PEOPLE, swapiClient::getPersonByName);
+        searches.put(SwapiResource.FILMS, swapiClient::getFilmsByName);
+        searches.put(SwapiResource.STARSHIPS, swapiClient::getStarshipsByName);
+        searches.put(SwapiResource.VEHICLES, swapiClient::getVehiclesByName);
+        names.put(SwapiResource.PEOPLE, entity -> ((PeopleDetailsDto) entity).getName());
+        names.put(SwapiResource.FILMS, entity -> ((FilmDetailsDto) entity).getTitle());
+        names.put(SwapiResource.STARSHIPS, entity -> ((StarshipDetailsDto) entity).getName());
+        names.put(SwapiResource.VEHICLES, entity -> ((VehicleDetailsDto) entity).getName());
+    }
+
+    /**
+     * Busca entidades por nombre en todos los tipos de recurso.
+     *
+     * @param query el texto a buscar en los nombres (o títulos, para las películas).
+     * @return los resultados de todos los tipos que terminaron a tiempo, ordenados por relevancia, y el estado
+     * de la búsqueda de cada tipo.
+     * @throws ResponseStatusException con estado 400 si el texto buscado está vacío.
+     */
+    public SearchResponseDto search(String query) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El texto buscado no puede estar vacío");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        // Scatter: una búsqueda por tipo, con el contexto de logs de la solicitud
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        Map<SwapiResource, Future<TypeResult>> futures = new EnumMap<>(SwapiResource.class);
+        try {
+            for (Map.Entry<SwapiResource, Function<String, List<?>>> search : searches.entrySet()) {
+                futures.put(search.getKey(), executor.submit(() -> {
+                    if (context != null) {
+                        MDC.setContextMap(context);
+                    }
+                    try {
+                        List<?> entities = search.getValue().apply(query);
+                        return new TypeResult(entities, elapsedMillis(start));
+                    } finally {
+                        MDC.clear();
+                    }
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            cancel(futures.values());
+            log.warn("Búsqueda rechazada: hay {} tareas por tipo en espera de un hilo", executor.getQueue().size());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiadas búsquedas en curso, intente nuevamente más tarde");
+        }
+
+        // Gather: se espera a cada tipo hasta el plazo común
+        List<SearchResultDto> results = new ArrayList<>();
+        Map<String, SearchTypeStatusDto> types = new LinkedHashMap<>();
+        boolean partial = false;
+        for (Map.Entry<SwapiResource, Future<TypeResult>> future : futures.entrySet()) {
+            SwapiResource resource = future.getKey();
+            SearchTypeStatusDto status;
+            try {
+                TypeResult result = future.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                for (Object entity : result.entities()) {
+                    String name = names.get(resource).apply(entity);
+                    results.add(new SearchResultDto(resource.getPath(), name, score(name, query), entity));
+                }
+                status = new SearchTypeStatusDto(SearchStatus.OK, result.entities().size(), result.elapsedMillis(), null);
+            } catch (TimeoutException e) {
+                cancel(List.of(future.getValue()));
+                log.warn("La búsqueda de {} no terminó dentro del plazo de {}", resource.getPath(), timeout);
+                status = new SearchTypeStatusDto(SearchStatus.TIMEOUT, 0, elapsedMillis(start), null);
+            } catch (ExecutionException e) {
+                log.warn("Falló la búsqueda de {}: {}", resource.getPath(), e.getCause().getMessage());
+                status = new SearchTypeStatusDto(SearchStatus.ERROR, 0, elapsedMillis(start), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel(futures.values());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "La búsqueda fue interrumpida");
+            }
+            partial |= status.getStatus() != SearchStatus.OK;
+            types.put(resource.getPath(), status);
+        }
+
+        results.sort(Comparator.comparingDouble(SearchResultDto::getScore).reversed()
+                .thenComparing(SearchResultDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return new SearchResponseDto(results, types, partial);
+    }
+
+    /**
+     * Calcula la relevancia de un nombre: según coincida con el texto buscado de forma exacta, al comienzo, al
+     * comienzo de una palabra o en cualquier posición (sin distinguir mayúsculas), más una fracción que
+     * favorece a los nombres más cortos.
+     */
+    private static double score(String name, String query) {
+        if (name == null) {
+            return 0;
+        }
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        String lowerQuery = query.trim().toLowerCase(Locale.ROOT);
+        double match;
+        if (lowerName.equals(lowerQuery)) {
+            match = EXACT;
+        } else if (lowerName.startsWith(lowerQuery)) {
+            match = PREFIX;
+        } else if (lowerName.contains(" " + lowerQuery) || lowerName.contains("-" + lowerQuery)) {
+            match = WORD_PREFIX;
+        } else if (lowerName.contains(lowerQuery)) {
+            match = CONTAINS;
+        } else {
+            match = 0;
+        }
+        return match + (double) Math.min(lowerQuery.length(), lowerName.length()) / Math.max(1, lowerName.length());
+    }
+
+    /**
+     * Cancela búsquedas y quita de la cola las que no empezaron, para que no ocupen su capacidad.
+     */
+    private void cancel(Collection<Future<TypeResult>> pending) {
+        pending.forEach(future -> future.cancel(true));
+        executor.purge();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Detiene los hilos de búsqueda al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Resultado de la búsqueda de un tipo: las entidades encontradas y cuánto tardó la búsqueda.
+     */
+    private record TypeResult(List<?> entities, long elapsedMillis) {
+    }
+
+    /**
+     * Crea los hilos de búsqueda, con nombre y como daemon para no impedir el cierre de la aplicación.
+     */
+    private static final class SearchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "swapi-search-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.FedeB.Challenge_Conexa.service.Swapi;
 
 import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
 import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -17,18 +18,21 @@ import java.util.List;
 public class StarshipsService {
 
     private final SwapiClient swapiClient;
+    private final FuzzyNameService fuzzyNameService;
 
     /**
-     * Constructor para inyectar el cliente SWAPI.
+     * Constructor para inyectar el cliente SWAPI y el servicio de búsqueda con tolerancia a errores.
      * <p>
      * Este constructor utiliza la inyección de dependencias para proporcionar una instancia
      * del cliente SWAPI, que se utiliza para interactuar con la API de Star Wars.
      *
-     * @param swapiClient el cliente SWAPI utilizado para realizar solicitudes HTTP.
+     * @param swapiClient      el cliente SWAPI utilizado para realizar solicitudes HTTP.
+     * @param fuzzyNameService el servicio de búsqueda por nombre con tolerancia a errores de tipeo.
      */
     @Autowired
-    public StarshipsService(SwapiClient swapiClient) {
+    public StarshipsService(SwapiClient swapiClient, FuzzyNameService fuzzyNameService) {
         this.swapiClient = swapiClient;
+        this.fuzzyNameService = fuzzyNameService;
     }
 
     /**
@@ -67,4 +71,16 @@ public class StarshipsService {
     public List<StarshipDetailsDto> getStarshipsByName(String name) {
         return swapiClient.getStarshipsByName(name);
     }
+
+    /**
+     * Busca naves por su nombre, tolerando errores de tipeo.
+     * <p>
+     * La búsqueda se resuelve sobre naves almacenadas localmente, sin consultar SWAPI.
+     *
+     * @param name el nombre buscado, posiblemente con errores de tipeo (requerido).
+     * @return una lista de DTOs ordenada por la cantidad de errores respecto del nombre buscado.
+     */
+    public List<StarshipDetailsDto> getStarshipsByNameFuzzy(String name) {
+        return fuzzyNameService.findByName(SwapiResource.STARSHIPS, name, StarshipDetailsDto.class);
+    }
 }
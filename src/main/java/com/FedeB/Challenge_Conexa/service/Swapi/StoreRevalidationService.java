@@ -0,0 +1,105 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.PersistentEntityStore;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio que revalida en segundo plano los datos cargados del {@link PersistentEntityStore} al arrancar.
+ * <p>
+ * Los datos cargados se sirven de inmediato, aunque hayan cambiado en SWAPI mientras la aplicación estuvo
+ * detenida. Cuando la aplicación termina de arrancar, un hilo en segundo plano revalida cada listado y cada
+ * entidad cargada con una solicitud condicional, de a una por vez para no saturar SWAPI: los datos que no
+ * cambiaron solo extienden su vigencia, y los que cambiaron se reemplazan (notificando el cambio como
+ * cualquier otro refresco).
+ */
+@Service
+@Slf4j
+public class StoreRevalidationService {
+
+    private final SwapiClient swapiClient;
+    private final SwapiEntityCache entityCache;
+    private final boolean enabled;
+
+    /**
+     * Constructor para inyectar el cliente de SWAPI, la caché de entidades y la configuración.
+     *
+     * @param swapiClient el cliente que realiza las solicitudes condicionales.
+     * @param entityCache la caché con los datos cargados del almacenamiento persistente.
+     * @param enabled     si se revalidan los datos cargados al arrancar.
+     */
+    @Autowired
+    public StoreRevalidationService(SwapiClient swapiClient, SwapiEntityCache entityCache,
+                                    @Value("${swapi.store.revalidate:false}") boolean enabled) {
+        this.swapiClient = swapiClient;
+        this.entityCache = entityCache;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Inicia la revalidación en segundo plano cuando la aplicación terminó de arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled || entityCache.restoredIds().values().stream().allMatch(List::isEmpty)
+                && entityCache.restoredPages().values().stream().allMatch(List::isEmpty)) {
+            return;
+        }
+        Thread thread = new Thread(this::revalidate, "swapi-store-revalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Revalida los listados y las entidades cargadas del almacenamiento persistente. Los errores de una
+     * entidad o listado (por ejemplo, si fue eliminado de SWAPI) se registran y no interrumpen la revalidación.
+     *
+     * @return la cantidad de listados y entidades revalidados sin errores.
+     */
+    public int revalidate() {
+        long start = System.nanoTime();
+        int revalidated = 0;
+        int failed = 0;
+        for (Map.Entry<SwapiResource, List<Integer>> pages : entityCache.restoredPages().entrySet()) {
+            for (int page : pages.getValue()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return revalidated;
+                }
+                try {
+                    swapiClient.refreshPage(pages.getKey(), page);
+                    revalidated++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("No se pudo revalidar el listado de {} (página {}): {}", pages.getKey().getPath(), page, e.getMessage());
+                }
+            }
+        }
+        for (Map.Entry<SwapiResource, List<String>> ids : entityCache.restoredIds().entrySet()) {
+            for (String id : ids.getValue()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return revalidated;
+                }
+                try {
+                    swapiClient.refresh(ids.getKey(), id);
+                    revalidated++;
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.warn("No se pudo revalidar {}/{}: {}", ids.getKey().getPath(), id, e.getMessage());
+                }
+            }
+        }
+        log.info("Revalidación de los datos almacenados terminada: {} revalidados, {} con errores, en {} ms",
+                revalidated, failed, (System.nanoTime() - start) / 1_000_000);
+        return revalidated;
+    }
+}
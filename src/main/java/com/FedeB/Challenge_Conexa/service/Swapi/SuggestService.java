@@ -0,0 +1,88 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.NameTrie;
+import com.FedeB.Challenge_Conexa.catalog.Suggestion;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Servicio de autocompletado de nombres de entidades, pensado para consultarse en cada tecla.
+ * <p>
+ * Las sugerencias se resuelven sobre un {@link NameTrie} construido a partir de las entidades almacenadas
+ * localmente (las tablas de {@link SwapiEntityCache}), sin realizar solicitudes a SWAPI. El árbol se
+ * reconstruye en la primera consulta posterior a un cambio en las tablas.
+ */
+@Service
+public class SuggestService {
+
+    /**
+     * Cantidad máxima de sugerencias de una consulta.
+     */
+    public static final int MAX_LIMIT = 20;
+
+    private final Map<SwapiResource, EntityTable<?>> tables = new EnumMap<>(SwapiResource.class);
+    private volatile NameTrie trie;
+
+    /**
+     * Constructor para inyectar la caché de entidades.
+     *
+     * @param entityCache la caché con las entidades almacenadas localmente.
+     */
+    @Autowired
+    public SuggestService(SwapiEntityCache entityCache) {
+        for (SwapiResource resource : SwapiResource.values()) {
+            tables.put(resource, entityCache.table(resource));
+        }
+    }
+
+    /**
+     * Sugiere las entidades más populares cuyo nombre tiene una palabra que comienza con un texto.
+     *
+     * @param query     el texto escrito hasta el momento.
+     * @param resources los recursos de las entidades a sugerir.
+     * @param limit     la cantidad máxima de sugerencias (entre 1 y {@link #MAX_LIMIT}).
+     * @param fuzzy     si se toleran errores de tipeo.
+     * @return las sugerencias, ordenadas por popularidad.
+     * @throws ResponseStatusException con estado 400 si el texto o la cantidad de sugerencias son inválidos.
+     */
+    public List<Suggestion> suggest(String query, Set<SwapiResource> resources, int limit, boolean fuzzy) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "La cantidad de sugerencias debe estar entre 1 y " + MAX_LIMIT);
+        }
+        try {
+            return trie().suggest(query, resources, limit, fuzzy);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Devuelve el árbol de la versión actual de las tablas, reconstruyéndolo si cambiaron.
+     */
+    private NameTrie trie() {
+        NameTrie current = trie;
+        if (current != null && Arrays.equals(current.getVersions(), EntityTable.versions(tables))) {
+            return current;
+        }
+        synchronized (this) {
+            current = trie;
+            if (current == null || !Arrays.equals(current.getVersions(), EntityTable.versions(tables))) {
+                current = NameTrie.build(tables);
+                trie = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.FedeB.Challenge_Conexa.service.Swapi;
+
+import com.FedeB.Challenge_Conexa.cache.Validators;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estado de la sincronización incremental con SWAPI ({@link IncrementalSyncService}), que se guarda en disco
+ * después de cada página para reanudar una sincronización interrumpida.
+ * <p>
+ * Conserva, por recurso, la fecha de última modificación ("edited") de cada entidad sincronizada y los IDs y
+ * validadores de cada página de listado, y, si hay una sincronización en curso, el recurso y la página por
+ * los que continúa y los IDs vistos hasta el momento en ese recurso.
+ */
+@Data
+@NoArgsConstructor
+public class SyncCheckpoint {
+    // Recurso por el que continúa la sincronización en curso, o null si la última terminó
+    private SwapiResource resource;
+    private int nextPage;
+    private Set<String> seen = new LinkedHashSet<>();
+    private Map<SwapiResource, ResourceState> resources = new HashMap<>();
+    private long completedAt;
+
+    /**
+     * Estado sincronizado de un recurso.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class ResourceState {
+        private Map<String, String> edited = new HashMap<>();
+        private Map<Integer, PageState> pages = new HashMap<>();
+        private int totalPages;
+    }
+
+    /**
+     * IDs y validadores de una página de listado sincronizada.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PageState {
+        private List<String> ids;
+        private Validators validators;
+    }
+}
@@ -0,0 +1,126 @@
+package com.FedeB.Challenge_Conexa.benchmark;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufSchemas;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark JMH que compara la serialización y deserialización de un listado de películas en JSON,
+ * CBOR, Smile y Protobuf (los formatos que la API ofrece por negociación de contenido).
+ * <p>
+ * El método {@code main} imprime primero el tamaño de cada formato (sin comprimir y con gzip) y luego
+ * ejecuta el benchmark. También puede ejecutarse desde la línea de comandos:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main SerializationFormatsBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationFormatsBenchmark {
+
+    private static final ProtobufSchemas PROTOBUF = new ProtobufSchemas(List.of(FilmDetailsDto.class));
+
+    /**
+     * Formato de serialización a evaluar.
+     */
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private List<FilmDetailsDto> films;
+    private Codec codec;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        films = loadFilms();
+        codec = codec(format);
+        encoded = codec.writer().writeValueAsBytes(codec.root(films));
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.writer().writeValueAsBytes(codec.root(films));
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.reader().readValue(encoded);
+    }
+
+    static List<FilmDetailsDto> loadFilms() throws IOException {
+        SwapiResponseParser parser = new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build());
+        byte[] json = SwapiParsingBenchmark.fixture("films.json");
+        return parser.readResults(new ByteArrayInputStream(json), FilmDetailsDto.class).stream()
+                .map(SwapiResult::properties)
+                .toList();
+    }
+
+    static Codec codec(String format) {
+        return switch (format) {
+            case "json" -> Codec.of(Jackson2ObjectMapperBuilder.json().build());
+            case "cbor" -> Codec.of(new CBORMapper());
+            case "smile" -> Codec.of(new SmileMapper());
+            case "protobuf" -> new Codec(PROTOBUF.listWriterFor(FilmDetailsDto.class),
+                    PROTOBUF.listReaderFor(FilmDetailsDto.class), true);
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+    }
+
+    record Codec(ObjectWriter writer, ObjectReader reader, boolean wrapped) {
+
+        static Codec of(ObjectMapper mapper) {
+            JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, FilmDetailsDto.class);
+            return new Codec(mapper.writerFor(type), mapper.readerFor(type), false);
+        }
+
+        Object root(List<FilmDetailsDto> films) {
+            return wrapped ? new ProtobufSchemas.ResultList<>(films) : films;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<FilmDetailsDto> films = loadFilms();
+        System.out.printf("%-10s %10s %10s%n", "formato", "bytes", "gzip");
+        for (String format : List.of("json", "cbor", "smile", "protobuf")) {
+            Codec codec = codec(format);
+            byte[] bytes = codec.writer().writeValueAsBytes(codec.root(films));
+            System.out.printf("%-10s %10d %10d%n", format, bytes.length, gzip(bytes).length);
+        }
+
+        new Runner(new OptionsBuilder()
+                .include(SerializationFormatsBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
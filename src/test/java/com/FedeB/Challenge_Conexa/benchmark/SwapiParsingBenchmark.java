@@ -0,0 +1,158 @@
+package com.FedeB.Challenge_Conexa.benchmark;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH que compara el mapeo completo de respuestas de SWAPI (wrappers genéricos con
+ * {@link TypeReference}, equivalente al uso de {@code ParameterizedTypeReference} en RestTemplate)
+ * contra el parser de streaming {@link SwapiResponseParser}.
+ * <p>
+ * El método {@code main} lo ejecuta con el perfilador de GC para comparar las asignaciones por operación
+ * ({@code gc.alloc.rate.norm}). También puede ejecutarse desde la línea de comandos:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) org.openjdk.jmh.Main SwapiParsingBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SwapiParsingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SwapiResponseParser parser;
+
+    private byte[] personJson;
+    private byte[] peoplePageJson;
+    private byte[] filmsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Mismo mapper que configura Spring Boot para RestTemplate
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        parser = new SwapiResponseParser(objectMapper);
+        personJson = fixture("people-1.json");
+        peoplePageJson = fixture("people-page-1.json");
+        filmsJson = fixture("films.json");
+    }
+
+    static byte[] fixture(String name) throws IOException {
+        try (InputStream in = SwapiParsingBenchmark.class.getResourceAsStream("/fixtures/swapi/" + name)) {
+            if (in == null) {
+                throw new IOException("No se encontró el fixture: " + name);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    /*---------------------*/
+    /* DETALLE POR ID      */
+    /*---------------------*/
+
+    @Benchmark
+    public PeopleDetailsDto personDetails_databind() throws IOException {
+        OneResult<Result<PeopleDetailsDto>> response = objectMapper.readValue(personJson,
+                new TypeReference<OneResult<Result<PeopleDetailsDto>>>() {});
+        return response.result().properties();
+    }
+
+    @Benchmark
+    public PeopleDetailsDto personDetails_streaming() throws IOException {
+        return parser.readProperties(new ByteArrayInputStream(personJson), PeopleDetailsDto.class);
+    }
+
+    /*---------------------*/
+    /* PÁGINA DE LISTADO   */
+    /*---------------------*/
+
+    @Benchmark
+    public List<String> peoplePage_databind() throws IOException {
+        PageResults<Summary> response = objectMapper.readValue(peoplePageJson,
+                new TypeReference<PageResults<Summary>>() {});
+        return response.results().stream().map(Summary::uid).toList();
+    }
+
+    @Benchmark
+    public List<String> peoplePage_streaming() throws IOException {
+        return parser.readUids(new ByteArrayInputStream(peoplePageJson));
+    }
+
+    /*---------------------*/
+    /* LISTADO DE PELÍCULAS */
+    /*---------------------*/
+
+    @Benchmark
+    public List<FilmDetailsDto> films_databind() throws IOException {
+        MultResult<Result<FilmDetailsDto>> response = objectMapper.readValue(filmsJson,
+                new TypeReference<MultResult<Result<FilmDetailsDto>>>() {});
+        return response.result().stream().map(Result::properties).toList();
+    }
+
+    @Benchmark
+    public List<FilmDetailsDto> films_streaming() throws IOException {
+        return parser.readResults(new ByteArrayInputStream(filmsJson), FilmDetailsDto.class).stream()
+                .map(SwapiResult::properties)
+                .toList();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SwapiParsingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    /*----------------------------------*/
+    /* WRAPPERS DEL MAPEO COMPLETO      */
+    /*----------------------------------*/
+
+    /**
+     * Respuesta con un único resultado en "result" (detalle por ID).
+     */
+    record OneResult<T>(String message, T result) {
+    }
+
+    /**
+     * Respuesta con una lista de resultados en "result" (búsquedas y listado de películas).
+     */
+    record MultResult<T>(String message, List<T> result) {
+    }
+
+    /**
+     * Respuesta paginada con una lista de resultados en "results".
+     */
+    record PageResults<T>(String message, List<T> results) {
+    }
+
+    /**
+     * Resultado con las propiedades de una entidad y sus metadatos.
+     */
+    record Result<T>(T properties, String _id, String description, String uid, String __v) {
+    }
+
+    /**
+     * Resumen de una entidad en una página de listado.
+     */
+    record Summary(String uid, String name, String url) {
+    }
+}
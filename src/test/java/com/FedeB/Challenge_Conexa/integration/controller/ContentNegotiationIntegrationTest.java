@@ -0,0 +1,121 @@
+package com.FedeB.Challenge_Conexa.integration.controller;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufSchemas;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.FilmsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración para la negociación de contenido de la API.
+ * <p>
+ * Estas pruebas validan que JSON sea el formato por defecto y que el encabezado "Accept" permita
+ * obtener las respuestas en CBOR, Smile y Protobuf con el mismo contenido.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+public class ContentNegotiationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProtobufSchemas protobufSchemas;
+
+    @MockitoBean
+    private FilmsService filmsService;
+
+    private FilmDetailsDto film;
+
+    @BeforeEach
+    void setUp() {
+        film = new FilmDetailsDto();
+        film.setTitle("A New Hope");
+        film.setEpisode_id(4);
+        film.setOpening_crawl("It is a period of civil war.");
+        film.setCharacters(List.of("https://www.swapi.tech/api/people/1", "https://www.swapi.tech/api/people/2"));
+        when(filmsService.getAllFilms()).thenReturn(List.of(film));
+        when(filmsService.getFilmsById("1")).thenReturn(film);
+    }
+
+    /**
+     * Prueba que sin encabezado "Accept" (o con {@code *}{@code /*}) la respuesta sea JSON.
+     */
+    @Test
+    void testDefaultFormat_Json() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/films/id").param("id", "1").header("Accept", "*/*"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentType().startsWith("application/json"));
+        assertEquals(film, new ObjectMapper().readValue(result.getResponse().getContentAsByteArray(), FilmDetailsDto.class));
+    }
+
+    /**
+     * Prueba la serialización en CBOR y Smile.
+     */
+    @Test
+    void testBinaryFormats_CborAndSmile() throws Exception {
+        byte[] cbor = perform("/api/films/id?id=1", "application/cbor");
+        byte[] smile = perform("/api/films/id?id=1", "application/x-jackson-smile");
+
+        assertEquals(film, new CBORMapper().readValue(cbor, FilmDetailsDto.class));
+        assertEquals(film, new SmileMapper().readValue(smile, FilmDetailsDto.class));
+    }
+
+    /**
+     * Prueba la serialización en Protobuf de un DTO y de una lista de DTOs.
+     */
+    @Test
+    void testProtobuf_SingleAndList() throws Exception {
+        byte[] single = perform("/api/films/id?id=1", "application/x-protobuf");
+        byte[] list = perform("/api/films", "application/x-protobuf");
+
+        FilmDetailsDto decoded = protobufSchemas.readerFor(FilmDetailsDto.class).readValue(single);
+        assertEquals(film, decoded);
+
+        ProtobufSchemas.ResultList<FilmDetailsDto> decodedList = protobufSchemas.listReaderFor(FilmDetailsDto.class)
+                .readValue(list);
+        assertEquals(List.of(film), decodedList.results());
+    }
+
+    /**
+     * Prueba la publicación del esquema Protobuf de un recurso.
+     */
+    @Test
+    void testProtobufSchemaEndpoint() throws Exception {
+        String schema = mockMvc.perform(get("/api/schema/films.proto"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(schema.contains("message FilmDetailsDto"));
+        assertTrue(schema.contains("message ResultList"));
+        mockMvc.perform(get("/api/schema/planets.proto")).andExpect(status().isNotFound());
+    }
+
+    private byte[] perform(String uri, String accept) throws Exception {
+        MvcResult result = mockMvc.perform(get(uri).header("Accept", accept))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertTrue(result.getResponse().getContentType().startsWith(accept));
+        return result.getResponse().getContentAsByteArray();
+    }
+}
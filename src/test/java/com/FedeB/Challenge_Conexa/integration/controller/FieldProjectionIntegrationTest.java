@@ -0,0 +1,125 @@
+package com.FedeB.Challenge_Conexa.integration.controller;
+
+import com.FedeB.Challenge_Conexa.converter.ProtobufSchemas;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.service.Swapi.StarshipsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de integración para la proyección de campos ({@code ?fields=}) de la API.
+ * <p>
+ * Estas pruebas validan que solo se serialicen los campos solicitados, en JSON y en los formatos binarios,
+ * que sin el parámetro se devuelvan todos los campos y que los campos desconocidos devuelvan 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+public class FieldProjectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProtobufSchemas protobufSchemas;
+
+    @MockitoBean
+    private StarshipsService starshipsService;
+
+    private StarshipDetailsDto starship;
+
+    @BeforeEach
+    void setUp() {
+        starship = new StarshipDetailsDto();
+        starship.setName("Millennium Falcon");
+        starship.setModel("YT-1300 light freighter");
+        starship.setHyperdrive_rating("0.5");
+        starship.setManufacturer("Corellian Engineering Corporation");
+        starship.setPilots(List.of("https://www.swapi.tech/api/people/13"));
+        when(starshipsService.getStarshipsById("10")).thenReturn(starship);
+        when(starshipsService.getAllStarships(1)).thenReturn(List.of(starship));
+    }
+
+    /**
+     * Prueba que en JSON solo se incluyan los campos solicitados, tanto en el detalle como en las listas.
+     */
+    @Test
+    void testFields_Json() throws Exception {
+        JsonNode single = json("/api/starships/id?id=10&fields=name,model,hyperdrive_rating");
+        JsonNode list = json("/api/starships?page=1&fields=name");
+
+        assertEquals(Set.of("name", "model", "hyperdrive_rating"), fieldNames(single));
+        assertEquals("0.5", single.get("hyperdrive_rating").asText());
+        assertEquals(Set.of("name"), fieldNames(list.get(0)));
+    }
+
+    /**
+     * Prueba que sin el parámetro se devuelvan todos los campos del DTO.
+     */
+    @Test
+    void testWithoutFields_AllFields() throws Exception {
+        JsonNode single = json("/api/starships/id?id=10");
+
+        assertTrue(fieldNames(single).containsAll(Set.of("name", "model", "manufacturer", "pilots", "films")));
+    }
+
+    /**
+     * Prueba que la proyección se aplique en CBOR y Protobuf.
+     */
+    @Test
+    void testFields_BinaryFormats() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/api/starships/id?id=10&fields=name,pilots").header("Accept", "application/cbor"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] protobuf = mockMvc.perform(get("/api/starships/id?id=10&fields=name").header("Accept", "application/x-protobuf"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(Set.of("name", "pilots"), fieldNames(new CBORMapper().readTree(cbor)));
+
+        StarshipDetailsDto decoded = protobufSchemas.readerFor(StarshipDetailsDto.class).readValue(protobuf);
+        assertEquals("Millennium Falcon", decoded.getName());
+        assertNull(decoded.getModel());
+        assertNull(decoded.getPilots());
+    }
+
+    /**
+     * Prueba que un campo inexistente en el DTO devuelva 400.
+     */
+    @Test
+    void testUnknownField_BadRequest() throws Exception {
+        mockMvc.perform(get("/api/starships/id?id=10&fields=name,height"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode json(String uri) throws Exception {
+        byte[] body = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        return new ObjectMapper().readTree(body);
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
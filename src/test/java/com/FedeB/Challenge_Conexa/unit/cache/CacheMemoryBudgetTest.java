@@ -0,0 +1,143 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.EntityWeigher;
+import com.FedeB.Challenge_Conexa.cache.OffHeapResponseStore;
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para el presupuesto de memoria compartido por las cachés ({@link CacheMemoryBudget}).
+ * <p>
+ * Estas pruebas validan que el tamaño estimado de las entidades dependa de su contenido, que las cachés
+ * informen lo que almacenan por tipo de recurso, y que la caché de respuestas pase al segundo nivel las
+ * respuestas necesarias para no superar el presupuesto.
+ */
+public class CacheMemoryBudgetTest {
+
+    /**
+     * Prueba que una película pese más que un vehículo, y que la caché de entidades informe el tamaño de la
+     * tabla de cada recurso, actualizándolo al reemplazar una entidad sin contarla dos veces y al eliminarla.
+     */
+    @Test
+    public void testEntityCache_ReportsWeightPerResource() {
+        CacheMemoryBudget budget = new CacheMemoryBudget(1024 * 1024);
+        SwapiEntityCache entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(), null, budget);
+        FilmDetailsDto film = film("A long time ago in a galaxy far, far away....".repeat(10));
+        VehicleDetailsDto vehicle = new VehicleDetailsDto();
+        vehicle.setName("Sand Crawler");
+        vehicle.setModel("Digger Crawler");
+        assertTrue(EntityWeigher.weigh(film) > 2 * EntityWeigher.weigh(vehicle));
+
+        entityCache.put(SwapiResource.FILMS, "1", film);
+        entityCache.put(SwapiResource.VEHICLES, "4", vehicle);
+        CacheMemoryBudget.Usage films = budget.usage().get(SwapiResource.FILMS);
+        CacheMemoryBudget.Usage vehicles = budget.usage().get(SwapiResource.VEHICLES);
+        assertEquals(1, films.entities());
+        assertEquals(1, vehicles.entities());
+        assertEquals(films.entityBytes() + vehicles.entityBytes(), budget.usedBytes());
+        // Cada fila suma a la tabla el tamaño de sus valores en las columnas
+        entityCache.put(SwapiResource.FILMS, "3", film("A long time ago in a galaxy far, far away....".repeat(10)));
+        entityCache.put(SwapiResource.VEHICLES, "5", vehicle);
+        long filmRow = budget.usage().get(SwapiResource.FILMS).entityBytes() - films.entityBytes();
+        long vehicleRow = budget.usage().get(SwapiResource.VEHICLES).entityBytes() - vehicles.entityBytes();
+        assertTrue(filmRow > 2 * vehicleRow);
+        entityCache.remove(SwapiResource.FILMS, "3");
+        entityCache.remove(SwapiResource.VEHICLES, "5");
+
+        entityCache.put(SwapiResource.FILMS, "1", film("Short crawl"));
+        CacheMemoryBudget.Usage replaced = budget.usage().get(SwapiResource.FILMS);
+        assertEquals(1, replaced.entities());
+        assertTrue(replaced.entityBytes() < films.entityBytes());
+        assertEquals(0, budget.usage().get(SwapiResource.PEOPLE).entityBytes());
+
+        entityCache.put(SwapiResource.FILMS, "2", film("A long time ago in a galaxy far, far away....".repeat(10)));
+        assertEquals(2, budget.usage().get(SwapiResource.FILMS).entities());
+        assertTrue(budget.usage().get(SwapiResource.FILMS).entityBytes() > replaced.entityBytes());
+        entityCache.remove(SwapiResource.FILMS, "2");
+        assertEquals(1, budget.usage().get(SwapiResource.FILMS).entities());
+        assertTrue(budget.usage().get(SwapiResource.FILMS).entityBytes() < films.entityBytes());
+    }
+
+    /**
+     * Prueba que las entidades no se descarten aunque superen el presupuesto por sí solas: se informan, y la
+     * caché de respuestas pasa al segundo nivel todas las respuestas salvo la última almacenada.
+     */
+    @Test
+    public void testEntities_AreNotEvictedWhenBudgetIsExceeded() {
+        CacheMemoryBudget budget = new CacheMemoryBudget(1024);
+        SwapiEntityCache entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(), null, budget);
+        ResponseBodyCache cache = new ResponseBodyCache(Duration.ofMinutes(5), 1000, Clock.systemUTC(),
+                new OffHeapResponseStore(64 * 1024), budget);
+
+        entityCache.put(SwapiResource.FILMS, "1", film("A long time ago in a galaxy far, far away....".repeat(50)));
+        for (int i = 0; i < 3; i++) {
+            cache.put("films-" + i, cache.begin(Set.of(SwapiResource.FILMS)), "application/json",
+                    ("{\"page\":" + i + "}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertTrue(budget.isExceeded());
+        assertNotNull(entityCache.get(SwapiResource.FILMS, "1"));
+        assertEquals(1, budget.usage().get(SwapiResource.FILMS).entities());
+        // Solo la última respuesta almacenada queda en el heap
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("films-0"));
+    }
+
+    /**
+     * Prueba que, al superarse el presupuesto, la caché de respuestas pase al segundo nivel las respuestas más
+     * próximas a expirar aunque no se alcance la cantidad máxima de entradas, y que al invalidarlas se libere
+     * el tamaño informado.
+     */
+    @Test
+    public void testResponseBodyCache_DemotesWhenBudgetIsExceeded() {
+        CacheMemoryBudget budget = new CacheMemoryBudget(4 * 1024);
+        OffHeapResponseStore offHeap = new OffHeapResponseStore(64 * 1024);
+        // Reloj que avanza en cada consulta, para que las respuestas expiren en el orden en que se almacenan
+        AtomicLong now = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.incrementAndGet());
+        ResponseBodyCache cache = new ResponseBodyCache(Duration.ofMinutes(5), 1000, clock, offHeap, budget);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String key = "films-" + i;
+            keys.add(key);
+            cache.put(key, cache.begin(Set.of(SwapiResource.FILMS)), "application/json",
+                    ("{\"page\":" + i + ",\"crawl\":\"" + "x".repeat(1000) + "\"}").getBytes(StandardCharsets.UTF_8));
+            assertFalse(budget.isExceeded());
+        }
+        assertTrue(cache.size() < 10);
+        assertEquals(10, cache.size() + offHeap.stats().entries());
+        assertEquals(cache.size(), budget.usage().get(SwapiResource.FILMS).responses());
+        assertNotNull(cache.get(keys.get(0)));
+
+        cache.onEntityChanged(SwapiResource.FILMS, "1");
+        assertEquals(0, budget.usedBytes());
+        assertEquals(0, budget.usage().get(SwapiResource.FILMS).responses());
+    }
+
+    private static FilmDetailsDto film(String crawl) {
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle("A New Hope");
+        film.setEpisode_id(4);
+        film.setOpening_crawl(crawl);
+        film.setCharacters(List.of("https://www.swapi.tech/api/people/1", "https://www.swapi.tech/api/people/2"));
+        return film;
+    }
+}
@@ -0,0 +1,121 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.OffHeapResponseStore;
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache;
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache.CachedResponse;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para el segundo nivel de la caché de respuestas, fuera del heap
+ * ({@link OffHeapResponseStore}).
+ * <p>
+ * Estas pruebas validan que las respuestas se almacenen comprimidas y se recuperen intactas, que la memoria
+ * ocupada no supere el tamaño configurado, y que la {@link ResponseBodyCache} pase a este nivel las
+ * respuestas que descarta y las recupere al solicitarlas.
+ */
+public class OffHeapResponseStoreTest {
+
+    /**
+     * Prueba que una respuesta se recupere intacta, ocupando menos bytes que sin comprimir, y que al
+     * recuperarla se quite de este nivel.
+     */
+    @Test
+    public void testTake_RestoresCompressedResponse() {
+        OffHeapResponseStore store = new OffHeapResponseStore(64 * 1024);
+        byte[] body = "{\"name\":\"Luke Skywalker\",\"films\":[1,2,3,6]},".repeat(100).getBytes(StandardCharsets.UTF_8);
+        CachedResponse response = new CachedResponse(body, new byte[]{31, -117, 8, 0}, "application/json", "abc",
+                Set.of(SwapiResource.PEOPLE), Long.MAX_VALUE);
+
+        assertTrue(store.put("people", response));
+        OffHeapResponseStore.Stats stats = store.stats();
+        assertEquals(1, stats.entries());
+        assertTrue(stats.residentBytes() < body.length / 4);
+        assertEquals(body.length + 4, stats.uncompressedBytes());
+
+        CachedResponse restored = store.take("people", 0);
+        assertArrayEquals(body, restored.body());
+        assertArrayEquals(response.gzipBody(), restored.gzipBody());
+        assertEquals(response.etag(true), restored.etag(true));
+        assertEquals(response.dependencies(), restored.dependencies());
+        assertNull(store.take("people", 0));
+        assertEquals(0, store.stats().residentBytes());
+        assertEquals(1, store.stats().hits());
+    }
+
+    /**
+     * Prueba que, al llenarse el buffer, se descarten las respuestas más antiguas sin superar su tamaño, y que
+     * las expiradas y las que dependen de un recurso modificado no se recuperen.
+     */
+    @Test
+    public void testPut_EvictsOldestWithinCapacity() {
+        OffHeapResponseStore store = new OffHeapResponseStore(10_000);
+        Random random = new Random(7);
+        for (int i = 0; i < 50; i++) {
+            // Cuerpos aleatorios: no se comprimen y ocupan lo mismo que sin comprimir
+            byte[] body = new byte[700 + random.nextInt(600)];
+            random.nextBytes(body);
+            assertTrue(store.put("key-" + i, response(body, i % 2 == 0 ? SwapiResource.FILMS : SwapiResource.PEOPLE, 1_000)));
+            assertTrue(store.stats().residentBytes() <= 10_000);
+        }
+        assertTrue(store.stats().evictions() > 0);
+        assertNull(store.take("key-0", 0));
+        byte[] tooLarge = new byte[20_000];
+        random.nextBytes(tooLarge);
+        assertFalse(store.put("too-large", response(tooLarge, SwapiResource.FILMS, 1_000)));
+
+        store.removeDependents(SwapiResource.FILMS);
+        assertNull(store.take("key-48", 0));
+        assertNull(store.take("key-49", 2_000));
+        assertNotNull(store.take("key-47", 0));
+    }
+
+    /**
+     * Prueba que la caché de respuestas pase al segundo nivel las respuestas que descarta, las recupere al
+     * solicitarlas, y que una invalidación las descarte también de ese nivel.
+     */
+    @Test
+    public void testResponseBodyCache_DemotesAndPromotes() {
+        OffHeapResponseStore offHeap = new OffHeapResponseStore(64 * 1024);
+        // Reloj que avanza en cada consulta, para que las respuestas expiren en el orden en que se almacenan
+        AtomicLong now = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.incrementAndGet());
+        ResponseBodyCache cache = new ResponseBodyCache(Duration.ofMinutes(5), 2, clock, offHeap);
+        for (String key : new String[]{"films", "people", "starships"}) {
+            SwapiResource resource = SwapiResource.fromPath(key);
+            cache.put(key, cache.begin(Set.of(resource)), "application/json",
+                    ("{\"resource\":\"" + key + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(2, cache.size());
+        assertEquals(1, offHeap.stats().entries());
+
+        CachedResponse films = cache.get("films");
+        assertEquals("{\"resource\":\"films\"}", new String(films.body(), StandardCharsets.UTF_8));
+        assertEquals(1, offHeap.stats().hits());
+        assertEquals(2, cache.size());
+        assertEquals(1, offHeap.stats().entries());
+
+        cache.onEntityChanged(SwapiResource.PEOPLE, "1");
+        cache.onEntityChanged(SwapiResource.STARSHIPS, "1");
+        assertEquals(0, offHeap.stats().entries());
+        assertNotNull(cache.get("films"));
+        assertNull(cache.get("people"));
+        assertNull(cache.get("starships"));
+    }
+
+    private static CachedResponse response(byte[] body, SwapiResource dependency, long expiresAt) {
+        return new CachedResponse(body, null, "application/json", "hash", Set.of(dependency), expiresAt);
+    }
+}
@@ -0,0 +1,94 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.OfflineSnapshot;
+import com.FedeB.Challenge_Conexa.cache.SnapshotBuilder;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el modo sin conexión, con el snapshot generado por {@link SnapshotBuilder} y cargado
+ * por {@link OfflineSnapshot}.
+ * <p>
+ * Estas pruebas validan que los listados, las entidades y las búsquedas por nombre se resuelvan con el
+ * snapshot sin realizar solicitudes a SWAPI, y que un snapshot inválido impida arrancar.
+ */
+public class OfflineSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Prueba que el cliente de SWAPI responda con los datos del snapshot, sin solicitudes a SWAPI, y que los
+     * datos que no están en el snapshot se informen con estado 404.
+     */
+    @Test
+    public void testOffline_ServesSnapshotWithoutNetwork() throws IOException {
+        Path snapshot = directory.resolve("swapi.snapshot");
+        assertEquals(3, SnapshotBuilder.build(Path.of("src/main/snapshot"), snapshot));
+
+        RestTemplate restTemplate = new RestTemplate();
+        // Sin solicitudes esperadas: cualquier solicitud a SWAPI hace fallar la prueba
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        SwapiEntityCache entityCache = new SwapiEntityCache(Duration.ZERO, List.of(), null,
+                new OfflineSnapshot(true, new FileSystemResource(snapshot)), CacheMemoryBudget.unbounded(),
+                new SnapshotVersions(Duration.ofMinutes(5)));
+        SwapiClient swapiClient = new SwapiClient(restTemplate,
+                new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build()), entityCache, true);
+
+        assertEquals(List.of("A New Hope", "The Empire Strikes Back"),
+                swapiClient.getFilms().stream().map(FilmDetailsDto::getTitle).toList());
+        assertEquals(List.of("Luke Skywalker"), swapiClient.getPeople(null).stream().map(PeopleDetailsDto::getName).toList());
+        assertEquals("Luke Skywalker", swapiClient.getPersonById("1").getName());
+        assertEquals(List.of("Luke Skywalker"), swapiClient.getPersonByName("SKY").stream().map(PeopleDetailsDto::getName).toList());
+        assertEquals(List.of("The Empire Strikes Back"),
+                swapiClient.getFilmsByName("empire").stream().map(FilmDetailsDto::getTitle).toList());
+        assertTrue(swapiClient.getVehiclesByName("speeder").isEmpty());
+
+        ResponseStatusException missing = assertThrows(ResponseStatusException.class, () -> swapiClient.getPersonById("2"));
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> swapiClient.getStarships(1));
+        assertTrue(entityCache.restoredIds().values().stream().allMatch(List::isEmpty));
+        server.verify();
+    }
+
+    /**
+     * Prueba que un snapshot inválido o incompleto impida crear la caché, ya que sin él no hay datos.
+     */
+    @Test
+    public void testLoad_RejectsInvalidSnapshot() throws IOException {
+        Path snapshot = directory.resolve("swapi.snapshot");
+        SnapshotBuilder.build(Path.of("src/main/snapshot"), snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        CacheMemoryBudget budget = CacheMemoryBudget.unbounded();
+        SnapshotVersions versions = new SnapshotVersions(Duration.ofMinutes(5));
+        OfflineSnapshot truncated = new OfflineSnapshot(true, new FileSystemResource(snapshot));
+        assertThrows(IllegalStateException.class, () -> new SwapiEntityCache(Duration.ZERO, List.of(), null, truncated, budget, versions));
+
+        OfflineSnapshot missing = new OfflineSnapshot(true, new FileSystemResource(directory.resolve("missing.snapshot")));
+        assertThrows(IllegalStateException.class, () -> new SwapiEntityCache(Duration.ZERO, List.of(), null, missing, budget, versions));
+    }
+}
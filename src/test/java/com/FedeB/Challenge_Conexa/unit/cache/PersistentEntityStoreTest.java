@@ -0,0 +1,155 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.PersistentEntityStore;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.cache.Validators;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el almacenamiento persistente {@link PersistentEntityStore}.
+ * <p>
+ * Estas pruebas validan que las entidades y listados almacenados en la caché se carguen al crear una caché
+ * nueva, con sus validadores, y que los registros incompletos, los archivos inválidos y los registros
+ * reemplazados se manejen al abrir el archivo.
+ */
+public class PersistentEntityStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Prueba que una caché nueva sirva las entidades y listados almacenados por una caché anterior.
+     */
+    @Test
+    public void testLoad_RestoresEntitiesAndPages() {
+        Path path = directory.resolve("store.log");
+        PersistentEntityStore store = new PersistentEntityStore(path);
+        SwapiEntityCache cache = cache(store);
+        Validators validators = new Validators("\"v1\"", null, null);
+        cache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", List.of()), validators);
+        cache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", List.of("https://www.swapi.tech/api/films/1")));
+        cache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+        cache.putPage(SwapiResource.PEOPLE, 1, List.of("1", "2"), new Validators(null, null, "abc"));
+        store.close();
+
+        SwapiEntityCache restored = cache(new PersistentEntityStore(path));
+
+        PeopleDetailsDto luke = restored.get(SwapiResource.PEOPLE, "1");
+        assertEquals(person("Luke Skywalker", List.of("https://www.swapi.tech/api/films/1")), luke);
+        assertEquals(film("A New Hope"), restored.get(SwapiResource.FILMS, "1"));
+        assertNull(restored.validators(SwapiResource.FILMS, "1"));
+        assertEquals(List.of("1", "2"), restored.getPage(SwapiResource.PEOPLE, 1));
+        assertEquals(new Validators(null, null, "abc"), restored.pageValidators(SwapiResource.PEOPLE, 1));
+        assertEquals(List.of("1"), restored.restoredIds().get(SwapiResource.PEOPLE));
+        assertEquals(List.of(1), restored.restoredPages().get(SwapiResource.PEOPLE));
+        assertTrue(restored.restoredIds().get(SwapiResource.VEHICLES).isEmpty());
+    }
+
+    /**
+     * Prueba que un registro incompleto al final del archivo se descarte sin perder los anteriores, y que
+     * los registros agregados después se conserven.
+     */
+    @Test
+    public void testLoad_TruncatesTornRecord() throws IOException {
+        Path path = directory.resolve("store.log");
+        PersistentEntityStore store = new PersistentEntityStore(path);
+        SwapiEntityCache cache = cache(store);
+        cache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+        cache.put(SwapiResource.FILMS, "2", film("The Empire Strikes Back"));
+        store.close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        store = new PersistentEntityStore(path);
+        cache = cache(store);
+        assertEquals(film("A New Hope"), cache.get(SwapiResource.FILMS, "1"));
+        assertNull(cache.get(SwapiResource.FILMS, "2"));
+        cache.put(SwapiResource.FILMS, "3", film("Return of the Jedi"));
+        store.close();
+
+        SwapiEntityCache restored = cache(new PersistentEntityStore(path));
+        assertEquals(List.of("1", "3"), restored.restoredIds().get(SwapiResource.FILMS));
+    }
+
+    /**
+     * Prueba que un archivo inválido (o de otra versión del esquema) se descarte y se reemplace.
+     */
+    @Test
+    public void testLoad_DiscardsInvalidFile() throws IOException {
+        Path path = directory.resolve("store.log");
+        Files.write(path, "not a store".getBytes());
+
+        PersistentEntityStore store = new PersistentEntityStore(path);
+        SwapiEntityCache cache = cache(store);
+        assertTrue(cache.restoredIds().get(SwapiResource.FILMS).isEmpty());
+        cache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+        store.close();
+
+        assertEquals(List.of("1"), cache(new PersistentEntityStore(path)).restoredIds().get(SwapiResource.FILMS));
+    }
+
+    /**
+     * Prueba que los valores sin cambios no se agreguen al archivo y que los registros reemplazados se
+     * descarten al compactarlo.
+     */
+    @Test
+    public void testAppend_SkipsUnchangedAndCompacts() throws IOException {
+        Path path = directory.resolve("store.log");
+        PersistentEntityStore store = new PersistentEntityStore(path);
+        SwapiEntityCache cache = cache(store);
+        cache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+        long size = Files.size(path);
+        cache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+        assertEquals(size, Files.size(path));
+
+        String crawl = "It is a period of civil war. ".repeat(100);
+        for (int version = 0; version < 100; version++) {
+            FilmDetailsDto film = film("A New Hope");
+            film.setOpening_crawl(crawl + version);
+            cache.put(SwapiResource.FILMS, "1", film);
+        }
+        store.close();
+        long appended = Files.size(path);
+
+        store = new PersistentEntityStore(path);
+        cache = cache(store);
+        store.close();
+        assertTrue(Files.size(path) < appended / 10);
+        FilmDetailsDto latest = cache.get(SwapiResource.FILMS, "1");
+        assertEquals(crawl + 99, latest.getOpening_crawl());
+    }
+
+    private static SwapiEntityCache cache(PersistentEntityStore store) {
+        return new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(), store);
+    }
+
+    private static PeopleDetailsDto person(String name, List<String> films) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setFilms(films);
+        return person;
+    }
+
+    private static FilmDetailsDto film(String title) {
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle(title);
+        film.setEpisode_id(4);
+        return film;
+    }
+}
@@ -0,0 +1,174 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para las versiones del conjunto de datos ({@link SnapshotVersions}).
+ * <p>
+ * Estas pruebas validan que una lectura con una versión fijada observe los listados y entidades de esa
+ * versión aunque se hayan refrescado, y que las versiones se conserven mientras tienen lectores y durante
+ * el tiempo de retención.
+ */
+public class SnapshotVersionsTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private SnapshotVersions versions;
+    private SwapiEntityCache entityCache;
+
+    @BeforeEach
+    public void setUp() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        versions = new SnapshotVersions(Duration.ofMinutes(5), clock);
+        entityCache = new SwapiEntityCache(Duration.ofMinutes(1), clock, List.of(), null,
+                CacheMemoryBudget.unbounded(), versions);
+    }
+
+    /**
+     * Prueba que una lectura con la versión de una respuesta anterior observe el listado y las entidades de
+     * esa versión, aunque hayan expirado, mientras las lecturas sin versión observan los datos refrescados.
+     */
+    @Test
+    public void testPinnedReader_SeesVersionAfterRefresh() {
+        entityCache.putPage(SwapiResource.PEOPLE, 1, List.of("1", "2"), null);
+        entityCache.put(SwapiResource.PEOPLE, "1", person("172"));
+        long version;
+        try (SnapshotVersions.Reader reader = versions.open(null)) {
+            version = reader.responseVersion();
+        }
+        assertEquals(2, version);
+
+        // Refresco en segundo plano: cambia la composición de la página y una entidad
+        entityCache.putPage(SwapiResource.PEOPLE, 1, List.of("2", "3"), null);
+        entityCache.put(SwapiResource.PEOPLE, "1", person("173"));
+        entityCache.put(SwapiResource.PEOPLE, "1", person("173"));
+        assertEquals(4, versions.current());
+        now.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        try (SnapshotVersions.Reader reader = versions.open(version)) {
+            assertTrue(reader.isPast());
+            assertEquals(List.of("1", "2"), entityCache.getPage(SwapiResource.PEOPLE, 1));
+            assertEquals("172", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+            assertEquals(version, reader.responseVersion());
+        }
+        assertNull(entityCache.getPage(SwapiResource.PEOPLE, 1));
+        try (SnapshotVersions.Reader reader = versions.open(4L)) {
+            assertFalse(reader.isPast());
+            assertEquals(List.of("2", "3"), entityCache.getPage(SwapiResource.PEOPLE, 1));
+            assertEquals("173", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+        }
+    }
+
+    /**
+     * Prueba que una lectura con una versión fijada no observe las entidades ni los listados agregados
+     * después de esa versión, y sí las entidades eliminadas después.
+     */
+    @Test
+    public void testPinnedReader_DoesNotSeeLaterAdditions() {
+        entityCache.put(SwapiResource.PEOPLE, "1", person("172"));
+        entityCache.put(SwapiResource.PEOPLE, "2", person("150"));
+        long version;
+        try (SnapshotVersions.Reader reader = versions.open(null)) {
+            version = reader.responseVersion();
+        }
+
+        entityCache.put(SwapiResource.PEOPLE, "5", person("150"));
+        entityCache.putPage(SwapiResource.PEOPLE, 1, List.of("1", "5"), null);
+        entityCache.remove(SwapiResource.PEOPLE, "2");
+
+        try (SnapshotVersions.Reader reader = versions.open(version)) {
+            assertNull(entityCache.get(SwapiResource.PEOPLE, "5"));
+            assertNull(entityCache.getPage(SwapiResource.PEOPLE, 1));
+            assertEquals("150", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "2").getHeight());
+            assertEquals("172", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+        }
+        assertEquals("150", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "5").getHeight());
+        assertEquals(List.of("1", "5"), entityCache.getPage(SwapiResource.PEOPLE, 1));
+        assertNull(entityCache.get(SwapiResource.PEOPLE, "2"));
+    }
+
+    /**
+     * Prueba que una versión con lectores se conserve aunque venza su retención, que al vencer sin lectores
+     * se descarten sus valores reemplazados, y que las versiones inexistentes o descartadas se rechacen.
+     */
+    @Test
+    public void testRetention_ReferenceCounted() {
+        entityCache.put(SwapiResource.PEOPLE, "1", person("172"));
+        long version;
+        try (SnapshotVersions.Reader reader = versions.open(null)) {
+            version = reader.responseVersion();
+        }
+        SnapshotVersions.Reader held = versions.open(version);
+
+        entityCache.put(SwapiResource.PEOPLE, "1", person("173"));
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        entityCache.put(SwapiResource.PEOPLE, "1", person("174"));
+        assertEquals("172", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+        assertEquals(2, versions.supersededValues());
+        held.close();
+
+        now.addAndGet(Duration.ofMinutes(6).toMillis());
+        entityCache.put(SwapiResource.PEOPLE, "1", person("175"));
+        assertEquals(0, versions.supersededValues());
+        ResponseStatusException gone = assertThrows(ResponseStatusException.class, () -> versions.open(version));
+        assertEquals(HttpStatus.GONE, gone.getStatusCode());
+        ResponseStatusException future = assertThrows(ResponseStatusException.class, () -> versions.open(99L));
+        assertEquals(HttpStatus.BAD_REQUEST, future.getStatusCode());
+    }
+
+    /**
+     * Prueba que una solicitud sin versión fijada lea los datos de la versión vigente al comenzar e informe
+     * esa versión aunque otro hilo confirme escrituras mientras se procesa, y que sí lea e informe sus propias
+     * escrituras (los datos que obtuvo de SWAPI).
+     */
+    @Test
+    public void testUnpinnedReader_ReportsVersionItRead() throws Exception {
+        entityCache.put(SwapiResource.PEOPLE, "1", person("172"));
+
+        try (SnapshotVersions.Reader reader = versions.open(null)) {
+            entityCache.put(SwapiResource.PEOPLE, "2", person("150"));
+            assertEquals("150", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "2").getHeight());
+            assertEquals(2, reader.responseVersion());
+        }
+
+        try (SnapshotVersions.Reader reader = versions.open(null)) {
+            Thread writer = new Thread(() -> {
+                entityCache.put(SwapiResource.PEOPLE, "1", person("173"));
+                entityCache.put(SwapiResource.PEOPLE, "5", person("96"));
+            });
+            writer.start();
+            writer.join();
+
+            assertEquals(4, versions.current());
+            assertEquals("172", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+            assertNull(entityCache.get(SwapiResource.PEOPLE, "5"));
+            assertFalse(reader.isPast());
+            assertEquals(2, reader.responseVersion());
+        }
+        assertEquals("173", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "1").getHeight());
+    }
+
+    private static PeopleDetailsDto person(String height) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName("Luke Skywalker");
+        person.setHeight(height);
+        return person;
+    }
+}
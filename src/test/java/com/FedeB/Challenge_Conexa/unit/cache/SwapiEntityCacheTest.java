@@ -0,0 +1,102 @@
+package com.FedeB.Challenge_Conexa.unit.cache;
+
+import com.FedeB.Challenge_Conexa.cache.EntityChangeListener;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para la caché de entidades {@link SwapiEntityCache}.
+ * <p>
+ * Estas pruebas validan la expiración de las entradas y la detección de cambios en entidades y listados.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SwapiEntityCacheTest {
+
+    @Mock
+    private EntityChangeListener listener;
+
+    private SwapiEntityCache entityCache;
+
+    @BeforeEach
+    public void setUp() {
+        entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(listener));
+    }
+
+    /**
+     * Prueba que una entidad almacenada se obtenga de la caché y que la primera carga no notifique cambios.
+     */
+    @Test
+    public void testPutAndGet_FirstLoadDoesNotNotify() {
+        PeopleDetailsDto luke = person("Luke Skywalker", "172");
+
+        entityCache.put(SwapiResource.PEOPLE, "1", luke);
+
+        assertEquals(luke, entityCache.get(SwapiResource.PEOPLE, "1"));
+        assertNull(entityCache.get(SwapiResource.PEOPLE, "2"));
+        assertNull(entityCache.get(SwapiResource.FILMS, "1"));
+        verifyNoInteractions(listener);
+    }
+
+    /**
+     * Prueba que al refrescar una entidad con datos distintos se notifique el cambio, y con datos iguales no.
+     */
+    @Test
+    public void testPut_NotifiesOnlyWhenEntityChanges() {
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", "172"));
+
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", "172"));
+        verifyNoInteractions(listener);
+
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", "173"));
+        verify(listener).onEntityChanged(SwapiResource.PEOPLE, "1");
+    }
+
+    /**
+     * Prueba que un cambio en la composición de un listado se notifique sin ID.
+     */
+    @Test
+    public void testPutPage_NotifiesWhenMembershipChanges() {
+        entityCache.putPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST, List.of("1", "2"), null);
+        entityCache.putPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST, List.of("1", "2"), null);
+        verifyNoInteractions(listener);
+
+        entityCache.putPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST, List.of("1", "2", "3"), null);
+
+        verify(listener).onEntityChanged(SwapiResource.FILMS, null);
+        assertEquals(List.of("1", "2", "3"), entityCache.getPage(SwapiResource.FILMS, SwapiEntityCache.FULL_LIST));
+    }
+
+    /**
+     * Prueba que las entradas expiradas no se devuelvan.
+     */
+    @Test
+    public void testGet_ExpiredEntry() {
+        SwapiEntityCache expiring = new SwapiEntityCache(Duration.ZERO, Clock.systemUTC(), List.of(listener));
+
+        expiring.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", "172"));
+        expiring.putPage(SwapiResource.PEOPLE, 1, List.of("1"), null);
+
+        assertNull(expiring.get(SwapiResource.PEOPLE, "1"));
+        assertNull(expiring.getPage(SwapiResource.PEOPLE, 1));
+    }
+
+    private static PeopleDetailsDto person(String name, String height) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setHeight(height);
+        return person;
+    }
+}
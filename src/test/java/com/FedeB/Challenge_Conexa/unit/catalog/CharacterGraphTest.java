@@ -0,0 +1,178 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.CharacterGraph;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.GraphNeighbor;
+import com.FedeB.Challenge_Conexa.catalog.GraphNode;
+import com.FedeB.Challenge_Conexa.catalog.GraphPath;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el grafo de conexiones entre personajes {@link CharacterGraph}.
+ * <p>
+ * Estas pruebas validan la construcción del grafo a partir de las relaciones de ambos lados, la conexión más
+ * corta con búsqueda bidireccional (comparada con una búsqueda simple sobre un grafo aleatorio) y las
+ * consultas de vecindario.
+ */
+public class CharacterGraphTest {
+
+    private EntityTable<PeopleDetailsDto> people;
+    private EntityTable<FilmDetailsDto> films;
+    private EntityTable<StarshipDetailsDto> starships;
+    private Map<SwapiResource, EntityTable<?>> tables;
+
+    @BeforeEach
+    public void setUp() {
+        people = new EntityTable<>(EntitySchemas.PEOPLE);
+        films = new EntityTable<>(EntitySchemas.FILMS);
+        starships = new EntityTable<>(EntitySchemas.STARSHIPS);
+        tables = new EnumMap<>(SwapiResource.class);
+        tables.put(SwapiResource.PEOPLE, people);
+        tables.put(SwapiResource.FILMS, films);
+        tables.put(SwapiResource.STARSHIPS, starships);
+        tables.put(SwapiResource.VEHICLES, new EntityTable<>(EntitySchemas.VEHICLES));
+    }
+
+    /**
+     * Prueba la conexión más corta a través de películas y naves, incluyendo una relación conocida solo desde
+     * la película.
+     */
+    @Test
+    public void testShortestPath() {
+        person("1", "Luke Skywalker", List.of(1), List.of(12));
+        person("14", "Han Solo", List.of(1), List.of(10));
+        person("25", "Lando Calrissian", List.of(), List.of(10));
+        person("20", "Yoda", List.of(), List.of());
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle("The Empire Strikes Back");
+        film.setCharacters(urls(SwapiResource.PEOPLE, List.of(20, 25)));
+        films.put("2", film);
+
+        CharacterGraph graph = CharacterGraph.build(tables);
+
+        GraphPath path = graph.shortestPath("1", "25");
+        assertEquals(2, path.degrees());
+        assertEquals(List.of(
+                new GraphNode("people", "1", "Luke Skywalker"),
+                new GraphNode("films", "1", null),
+                new GraphNode("people", "14", "Han Solo"),
+                new GraphNode("starships", "10", null),
+                new GraphNode("people", "25", "Lando Calrissian")), path.path());
+
+        GraphPath toYoda = graph.shortestPath("1", "20");
+        assertEquals(3, toYoda.degrees());
+        assertEquals(new GraphNode("films", "2", "The Empire Strikes Back"), toYoda.path().get(5));
+
+        assertEquals(0, graph.shortestPath("1", "1").degrees());
+        assertThrows(IllegalArgumentException.class, () -> graph.shortestPath("1", "99"));
+    }
+
+    /**
+     * Prueba que los personajes sin relaciones en común no estén conectados.
+     */
+    @Test
+    public void testShortestPath_NotConnected() {
+        person("1", "Luke Skywalker", List.of(1), List.of());
+        person("2", "C-3PO", List.of(2), List.of());
+
+        assertNull(CharacterGraph.build(tables).shortestPath("1", "2"));
+    }
+
+    /**
+     * Prueba las consultas de vecindario hasta una cantidad de grados de separación.
+     */
+    @Test
+    public void testNeighbors() {
+        person("1", "Luke Skywalker", List.of(1), List.of());
+        person("2", "C-3PO", List.of(1, 4), List.of());
+        person("3", "R2-D2", List.of(1, 4), List.of());
+        person("32", "Qui-Gon Jinn", List.of(4), List.of());
+        person("44", "Darth Maul", List.of(), List.of(41));
+        CharacterGraph graph = CharacterGraph.build(tables);
+
+        assertEquals(List.of(new GraphNeighbor("2", "C-3PO", 1), new GraphNeighbor("3", "R2-D2", 1)), graph.neighbors("1", 1));
+        assertEquals(List.of("2", "3", "32"), graph.neighbors("1", 2).stream().map(GraphNeighbor::id).toList());
+        assertTrue(graph.neighbors("44", 3).isEmpty());
+    }
+
+    /**
+     * Prueba que la búsqueda bidireccional encuentre la conexión más corta, comparándola con una búsqueda en
+     * anchura simple sobre un grafo aleatorio.
+     */
+    @Test
+    public void testShortestPath_MatchesPlainSearch() {
+        Random random = new Random(42);
+        Map<Integer, List<Integer>> filmsByPerson = new HashMap<>();
+        for (int id = 1; id <= 300; id++) {
+            List<Integer> personFilms = new ArrayList<>();
+            for (int i = random.nextInt(3); i > 0; i--) {
+                personFilms.add(1 + random.nextInt(200));
+            }
+            filmsByPerson.put(id, personFilms);
+            person(Integer.toString(id), "Person " + id, personFilms, List.of());
+        }
+        CharacterGraph graph = CharacterGraph.build(tables);
+
+        for (int i = 0; i < 200; i++) {
+            int from = 1 + random.nextInt(300);
+            int to = 1 + random.nextInt(300);
+            int expected = degrees(filmsByPerson, from, to);
+            GraphPath path = graph.shortestPath(Integer.toString(from), Integer.toString(to));
+            assertEquals(expected, path == null ? -1 : path.degrees(), from + " -> " + to);
+            if (path != null) {
+                assertEquals(Integer.toString(from), path.path().get(0).id());
+                assertEquals(Integer.toString(to), path.path().get(path.path().size() - 1).id());
+            }
+        }
+    }
+
+    private static int degrees(Map<Integer, List<Integer>> filmsByPerson, int from, int to) {
+        Map<Integer, Integer> degrees = new HashMap<>(Map.of(from, 0));
+        Queue<Integer> queue = new ArrayDeque<>(List.of(from));
+        while (!queue.isEmpty()) {
+            int person = queue.remove();
+            if (person == to) {
+                return degrees.get(person);
+            }
+            Set<Integer> personFilms = new HashSet<>(filmsByPerson.get(person));
+            for (Map.Entry<Integer, List<Integer>> other : filmsByPerson.entrySet()) {
+                if (!degrees.containsKey(other.getKey()) && other.getValue().stream().anyMatch(personFilms::contains)) {
+                    degrees.put(other.getKey(), degrees.get(person) + 1);
+                    queue.add(other.getKey());
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void person(String id, String name, List<Integer> personFilms, List<Integer> personStarships) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setFilms(urls(SwapiResource.FILMS, personFilms));
+        person.setStarships(urls(SwapiResource.STARSHIPS, personStarships));
+        people.put(id, person);
+    }
+
+    private static List<String> urls(SwapiResource resource, List<Integer> ids) {
+        return ids.stream().map(id -> resource.urlOf(Integer.toString(id))).toList();
+    }
+}
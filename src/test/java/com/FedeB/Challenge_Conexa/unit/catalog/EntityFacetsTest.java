@@ -0,0 +1,119 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntityQuery;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.FacetCounts;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para los filtros por valor y los conteos por valor (facetas) de {@link EntityTable}.
+ * <p>
+ * Estas pruebas validan los conteos con y sin filtros, la combinación de filtros por valor y por rango,
+ * y la actualización de los bitmaps de cada valor al modificar las entidades.
+ */
+public class EntityFacetsTest {
+
+    private EntityTable<StarshipDetailsDto> table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        put("2", "CR90 corvette", "corvette", "Corellian Engineering Corporation", "2.0");
+        put("3", "Star Destroyer", "Star Destroyer", "Kuat Drive Yards", "2.0");
+        put("10", "Millennium Falcon", "Light freighter", "Corellian Engineering Corporation", "0.5");
+        put("12", "X-wing", "Starfighter", "Incom Corporation", "1.0");
+        put("13", "TIE Advanced x1", "Starfighter", "Sienar Fleet Systems", "1.0");
+        put("28", "A-wing", "Starfighter", "Alliance Underground Engineering, Incom Corporation", "1.0");
+    }
+
+    /**
+     * Prueba los conteos sin filtros, ordenados de mayor a menor.
+     */
+    @Test
+    public void testFacets_AllEntities() {
+        FacetCounts facets = table.facets(EntityQuery.builder().build(), List.of("starship_class"));
+
+        assertEquals(6, facets.total());
+        assertEquals(List.of("Starfighter", "Light freighter", "Star Destroyer", "corvette"),
+                List.copyOf(facets.counts().get("starship_class").keySet()));
+        assertEquals(3, facets.counts().get("starship_class").get("Starfighter"));
+    }
+
+    /**
+     * Prueba los conteos entre las entidades que cumplen filtros por valor y por rango.
+     */
+    @Test
+    public void testFacets_Filtered() {
+        FacetCounts byManufacturer = table.facets(EntityQuery.builder()
+                .equalTo("manufacturer", "Corellian Engineering Corporation")
+                .build(), List.of("starship_class"));
+        assertEquals(2, byManufacturer.total());
+        assertEquals(Map.of("corvette", 1, "Light freighter", 1), byManufacturer.counts().get("starship_class"));
+
+        FacetCounts byRating = table.facets(EntityQuery.builder()
+                .equalTo("starship_class", "Starfighter")
+                .equalTo("starship_class", "Light freighter")
+                .lessThan("hyperdrive_rating", 1.0)
+                .build(), List.of("manufacturer"));
+        assertEquals(1, byRating.total());
+        assertEquals(Map.of("Corellian Engineering Corporation", 1), byRating.counts().get("manufacturer"));
+
+        FacetCounts none = table.facets(EntityQuery.builder().equalTo("starship_class", "Cruiser").build(),
+                List.of("starship_class"));
+        assertEquals(0, none.total());
+        assertTrue(none.counts().get("starship_class").isEmpty());
+    }
+
+    /**
+     * Prueba una consulta con filtros por valor, que se recorre a partir del bitmap de las filas que cumplen
+     * los filtros.
+     */
+    @Test
+    public void testQuery_CategoryFilter() {
+        List<StarshipDetailsDto> results = table.query(EntityQuery.builder()
+                .equalTo("starship_class", "Starfighter")
+                .sortBy("hyperdrive_rating", false)
+                .build());
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(starship -> "Starfighter".equals(starship.getStarship_class())));
+
+        assertTrue(table.query(EntityQuery.builder()
+                .equalTo("starship_class", "Starfighter")
+                .equalTo("manufacturer", "Kuat Drive Yards")
+                .build()).isEmpty());
+    }
+
+    /**
+     * Prueba que los bitmaps reflejen las entidades modificadas y que se rechacen los atributos no categóricos.
+     */
+    @Test
+    public void testFacets_UpdatedAfterChanges() {
+        put("12", "X-wing", "Light freighter", "Incom Corporation", "1.0");
+
+        FacetCounts facets = table.facets(EntityQuery.builder().build(), List.of("starship_class"));
+        assertEquals(2, facets.counts().get("starship_class").get("Starfighter"));
+        assertEquals(2, facets.counts().get("starship_class").get("Light freighter"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> table.facets(EntityQuery.builder().build(), List.of("name")));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.query(EntityQuery.builder().equalTo("crew", "1").build()));
+    }
+
+    private void put(String id, String name, String starshipClass, String manufacturer, String hyperdrive) {
+        StarshipDetailsDto starship = new StarshipDetailsDto();
+        starship.setName(name);
+        starship.setStarship_class(starshipClass);
+        starship.setManufacturer(manufacturer);
+        starship.setHyperdrive_rating(hyperdrive);
+        table.put(id, starship);
+    }
+}
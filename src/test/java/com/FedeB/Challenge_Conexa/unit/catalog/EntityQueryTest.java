@@ -0,0 +1,145 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntityQuery;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las consultas por rango y orden de {@link EntityTable}.
+ * <p>
+ * Estas pruebas validan los filtros por rango (abiertos y cerrados), el orden ascendente y descendente
+ * con valores desconocidos al final, la paginación y la actualización de los índices al cambiar las filas.
+ */
+public class EntityQueryTest {
+
+    private EntityTable<StarshipDetailsDto> table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        put("2", "CR90 corvette", "2.0", "3500000", "30-165");
+        put("3", "Star Destroyer", "2.0", "150000000", "47,060");
+        put("9", "Death Star", "4.0", "1000000000000", "342,953");
+        put("10", "Millennium Falcon", "0.5", "100000", "4");
+        put("12", "X-wing", "1.0", "149999", "1");
+        put("13", "TIE Advanced x1", "1.0", "unknown", "1");
+        put("17", "Rebel transport", "unknown", "unknown", "6");
+    }
+
+    /**
+     * Prueba un filtro por rango con orden por otro atributo.
+     */
+    @Test
+    public void testRangeFilter_SortedByOtherField() {
+        List<StarshipDetailsDto> results = table.query(EntityQuery.builder()
+                .lessThan("hyperdrive_rating", 2.0)
+                .sortBy("cost_in_credits", false)
+                .build());
+
+        assertEquals(List.of("Millennium Falcon", "X-wing", "TIE Advanced x1"), names(results));
+    }
+
+    /**
+     * Prueba el orden descendente, con las entidades de valor desconocido al final.
+     */
+    @Test
+    public void testSortDescending_UnknownLast() {
+        List<StarshipDetailsDto> results = table.query(EntityQuery.builder()
+                .sortBy("cost_in_credits", true)
+                .build());
+
+        assertEquals(List.of("Death Star", "Star Destroyer", "CR90 corvette", "X-wing", "Millennium Falcon",
+                "TIE Advanced x1", "Rebel transport"), names(results));
+    }
+
+    /**
+     * Prueba la combinación de filtros, los extremos inclusivos y exclusivos, y la paginación.
+     */
+    @Test
+    public void testCombinedFilters_AndPagination() {
+        EntityQuery.Builder query = EntityQuery.builder()
+                .atLeast("hyperdrive_rating", 1.0)
+                .atMost("hyperdrive_rating", 2.0)
+                .greaterThan("crew", 1)
+                .sortBy("crew", false);
+
+        assertEquals(List.of("Star Destroyer"), names(table.query(query.build())));
+
+        List<StarshipDetailsDto> page = table.query(EntityQuery.builder()
+                .greaterThan("crew", 0)
+                .sortBy("crew", false)
+                .offset(1)
+                .limit(2)
+                .build());
+        assertEquals(List.of("TIE Advanced x1", "Millennium Falcon"), names(page));
+
+        assertTrue(table.query(EntityQuery.builder().greaterThan("crew", 1_000_000).build()).isEmpty());
+    }
+
+    /**
+     * Prueba un filtro muy selectivo sobre una tabla grande, cuyas filas se ordenan por su posición en el
+     * índice del atributo de orden en lugar de recorrer ese índice completo.
+     */
+    @Test
+    public void testSelectiveFilter_LargeTable() {
+        for (int i = 100; i < 1100; i++) {
+            put(Integer.toString(i), "Ship " + i, "3.0", Integer.toString(2000 - i), Integer.toString(i));
+        }
+
+        List<StarshipDetailsDto> results = table.query(EntityQuery.builder()
+                .atLeast("crew", 500)
+                .lessThan("crew", 505)
+                .sortBy("cost_in_credits", true)
+                .offset(1)
+                .build());
+
+        assertEquals(List.of("Ship 501", "Ship 502", "Ship 503", "Ship 504"), names(results));
+    }
+
+    /**
+     * Prueba que los índices reflejen las entidades agregadas o modificadas.
+     */
+    @Test
+    public void testIndexes_RebuiltAfterChanges() {
+        EntityQuery cheapest = EntityQuery.builder().sortBy("cost_in_credits", false).limit(1).build();
+        assertEquals(List.of("Millennium Falcon"), names(table.query(cheapest)));
+
+        put("21", "Slave 1", "3.0", "5000", "1");
+        assertEquals(List.of("Slave 1"), names(table.query(cheapest)));
+
+        put("21", "Slave 1", "3.0", "500000", "1");
+        assertEquals(List.of("Millennium Falcon"), names(table.query(cheapest)));
+    }
+
+    /**
+     * Prueba que se rechacen los atributos desconocidos o no numéricos.
+     */
+    @Test
+    public void testInvalidFields() {
+        assertThrows(IllegalArgumentException.class,
+                () -> table.query(EntityQuery.builder().greaterThan("height", 1).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> table.query(EntityQuery.builder().sortBy("name", false).build()));
+        assertTrue(table.numericColumns().containsAll(List.of("cost_in_credits", "crew", "hyperdrive_rating")));
+    }
+
+    private void put(String id, String name, String hyperdrive, String cost, String crew) {
+        StarshipDetailsDto starship = new StarshipDetailsDto();
+        starship.setName(name);
+        starship.setHyperdrive_rating(hyperdrive);
+        starship.setCost_in_credits(cost);
+        starship.setCrew(crew);
+        table.put(id, starship);
+    }
+
+    private static List<String> names(List<StarshipDetailsDto> starships) {
+        return starships.stream().map(StarshipDetailsDto::getName).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.CategoryColumn;
+import com.FedeB.Challenge_Conexa.catalog.Column;
+import com.FedeB.Challenge_Conexa.catalog.EntityQuery;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.NumberColumn;
+import com.FedeB.Challenge_Conexa.catalog.RelationColumn;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el almacenamiento columnar de entidades {@link EntityTable}.
+ * <p>
+ * Estas pruebas validan que los DTOs se reconstruyan sin pérdida a partir de las columnas compactas,
+ * que los atributos numéricos y las relaciones se codifiquen como valores primitivos y que cada
+ * atributo de los DTOs tenga su columna.
+ */
+public class EntityTableTest {
+
+    private final SwapiResponseParser parser = new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build());
+
+    /**
+     * Prueba que las entidades reales de SWAPI se reconstruyan iguales al DTO original.
+     */
+    @Test
+    public void testRoundTrip_Fixtures() throws IOException {
+        PeopleDetailsDto person = parser.readProperties(fixture("people-1.json"), PeopleDetailsDto.class);
+        EntityTable<PeopleDetailsDto> people = new EntityTable<>(EntitySchemas.PEOPLE);
+        people.put("1", person);
+
+        assertEquals(person, people.get("1"));
+
+        EntityTable<FilmDetailsDto> films = new EntityTable<>(EntitySchemas.FILMS);
+        List<SwapiResult<FilmDetailsDto>> results = parser.readResults(fixture("films.json"), FilmDetailsDto.class);
+        for (SwapiResult<FilmDetailsDto> result : results) {
+            films.put(result.uid(), result.properties());
+        }
+        for (SwapiResult<FilmDetailsDto> result : results) {
+            assertEquals(result.properties(), films.get(result.uid()));
+        }
+        assertNull(films.get("99"));
+    }
+
+    /**
+     * Prueba la interpretación de los atributos numéricos, con valores desconocidos y no canónicos.
+     */
+    @Test
+    public void testNumberColumn_SentinelsAndOriginalText() {
+        StarshipDetailsDto starship = starship("0.5", "unknown", "30-165", "1,000");
+        EntityTable<StarshipDetailsDto> table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        table.put("10", starship);
+
+        NumberColumn<StarshipDetailsDto> hyperdrive = number(table, "hyperdrive_rating");
+        assertEquals(0.5, hyperdrive.value(0));
+        assertFalse(NumberColumn.isKnown(number(table, "cost_in_credits").value(0)));
+        assertFalse(NumberColumn.isKnown(number(table, "crew").value(0)));
+        assertEquals(1000, number(table, "passengers").value(0));
+        assertFalse(NumberColumn.isKnown(number(table, "length").value(0)));
+
+        assertEquals(starship, table.get("10"));
+    }
+
+    /**
+     * Prueba que las relaciones se guarden como IDs y los atributos categóricos como códigos de diccionario.
+     */
+    @Test
+    public void testRelationsAndCategories() {
+        EntityTable<StarshipDetailsDto> table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        StarshipDetailsDto first = starship("1.0", "100", "4", "6");
+        first.setPilots(List.of(SwapiResource.PEOPLE.urlOf("13"), SwapiResource.PEOPLE.urlOf("14"), "https://example.org/pilot"));
+        StarshipDetailsDto second = starship("2", "200", "1", "0");
+        table.put("10", first);
+        table.put("12", second);
+
+        @SuppressWarnings("unchecked")
+        RelationColumn<StarshipDetailsDto> pilots = (RelationColumn<StarshipDetailsDto>) table.column("pilots");
+        assertArrayEquals(new int[]{13, 14}, Arrays.copyOf(pilots.ids(0), 2));
+        assertTrue(pilots.ids(0)[2] < 0);
+
+        @SuppressWarnings("unchecked")
+        CategoryColumn<StarshipDetailsDto> starshipClass = (CategoryColumn<StarshipDetailsDto>) table.column("starship_class");
+        assertEquals(starshipClass.code(0), starshipClass.code(1));
+        assertEquals(1, starshipClass.dictionary().size());
+
+        assertEquals(first, table.get("10"));
+        assertEquals(second, table.get("12"));
+        assertEquals("12", table.idAt(1));
+    }
+
+    /**
+     * Prueba que al reemplazar una entidad se devuelva el valor anterior.
+     */
+    @Test
+    public void testPut_ReturnsPrevious() {
+        EntityTable<StarshipDetailsDto> table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        StarshipDetailsDto original = starship("0.5", "100", "4", "6");
+        StarshipDetailsDto updated = starship("1", "100", "4", "6");
+
+        assertNull(table.put("10", original));
+        assertEquals(original, table.put("10", updated));
+        assertEquals(updated, table.get("10"));
+        assertEquals(1, table.size());
+
+        // IDs no numéricos o fuera del rango indexado
+        table.put("x-1", original);
+        table.put("2147483647", updated);
+        assertEquals(original, table.get("x-1"));
+        assertEquals(updated, table.get("2147483647"));
+        assertEquals("x-1", table.idAt(1));
+        assertNull(table.get("010"));
+        assertEquals(3, table.size());
+    }
+
+    /**
+     * Prueba que al eliminar una entidad se conserven las demás en el mismo orden, y que las consultas y
+     * facetas ya no la incluyan.
+     */
+    @Test
+    public void testRemove_KeepsOtherRows() {
+        EntityTable<StarshipDetailsDto> table = new EntityTable<>(EntitySchemas.STARSHIPS);
+        StarshipDetailsDto first = starship("0.5", "100", "4", "6");
+        StarshipDetailsDto second = starship("1", "200", "4", "6");
+        StarshipDetailsDto third = starship("2", "300", "4", "6");
+        table.put("10", first);
+        table.put("x-1", second);
+        table.put("12", third);
+        EntityQuery query = EntityQuery.builder().atMost("hyperdrive_rating", 1.5).build();
+        assertEquals(2, table.query(query).size());
+        long version = table.version();
+
+        assertEquals(second, table.remove("x-1"));
+        assertNull(table.remove("x-1"));
+        assertTrue(version < table.version());
+        assertEquals(2, table.size());
+        assertFalse(table.contains("x-1"));
+        assertEquals("10", table.idAt(0));
+        assertEquals("12", table.idAt(1));
+        assertEquals(third, table.get("12"));
+        assertEquals(List.of(first), table.query(query));
+    }
+
+    /**
+     * Prueba que cada atributo de los DTOs tenga una columna, ya que el DTO se reconstruye solo a partir de ellas.
+     */
+    @Test
+    public void testSchemas_CoverAllDtoFields() {
+        for (SwapiResource resource : SwapiResource.values()) {
+            EntityTable<?> table = new EntityTable<>(EntitySchemas.forResource(resource));
+            for (Field field : resource.getDtoType().getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    assertNotNull(table.column(field.getName()), resource + "." + field.getName());
+                }
+            }
+        }
+    }
+
+    private static StarshipDetailsDto starship(String hyperdrive, String cost, String crew, String passengers) {
+        StarshipDetailsDto starship = new StarshipDetailsDto();
+        starship.setName("Millennium Falcon");
+        starship.setStarship_class("Light freighter");
+        starship.setHyperdrive_rating(hyperdrive);
+        starship.setCost_in_credits(cost);
+        starship.setCrew(crew);
+        starship.setPassengers(passengers);
+        starship.setLength("n/a");
+        starship.setFilms(List.of(SwapiResource.FILMS.urlOf("1")));
+        starship.setPilots(List.of());
+        return starship;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static NumberColumn<StarshipDetailsDto> number(EntityTable<StarshipDetailsDto> table, String name) {
+        Column<StarshipDetailsDto> column = table.column(name);
+        return (NumberColumn<StarshipDetailsDto>) column;
+    }
+
+    private static InputStream fixture(String name) {
+        return EntityTableTest.class.getResourceAsStream("/fixtures/swapi/" + name);
+    }
+}
@@ -0,0 +1,149 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntityQuery;
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.FilterExpression;
+import com.FedeB.Challenge_Conexa.catalog.QueryPlan;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para las expresiones de filtro ({@link FilterExpression}) de {@link EntityTable}.
+ * <p>
+ * Estas pruebas validan la evaluación de las comparaciones y operadores lógicos, la separación entre los
+ * filtros indexados y el predicado residual del plan de ejecución, y el rechazo de las expresiones
+ * inválidas o que superan los límites.
+ */
+public class FilterExpressionTest {
+
+    private EntityTable<PeopleDetailsDto> table;
+
+    @BeforeEach
+    public void setUp() {
+        table = new EntityTable<>(EntitySchemas.PEOPLE);
+        put("1", "Luke Skywalker", "male", "172", 1, 2, 3, 6);
+        put("4", "Darth Vader", "male", "202", 1, 2, 3, 6);
+        put("5", "Leia Organa", "female", "150", 1, 2, 3, 6);
+        put("10", "Obi-Wan Kenobi", "male", "182", 1, 2, 3, 4, 5, 6);
+        put("35", "Padmé Amidala", "female", "165", 4, 5, 6);
+        put("36", "Jar Jar Binks", "male", "196", 4, 5);
+    }
+
+    /**
+     * Prueba una expresión que combina un atributo categórico, un rango y una relación.
+     */
+    @Test
+    public void testFilter_CategoryRangeAndRelation() {
+        assertEquals(List.of("Padmé Amidala"), names(query("gender == \"female\" && height > 160 && films contains 6")));
+        assertEquals(List.of("Leia Organa", "Padmé Amidala"), names(query("gender == \"female\" && films contains 6")));
+        assertEquals(List.of("Jar Jar Binks"), names(query("films contains 4 && !(films contains 6)")));
+    }
+
+    /**
+     * Prueba los operadores lógicos, la precedencia y las comparaciones de texto.
+     */
+    @Test
+    public void testFilter_LogicalOperators() {
+        assertEquals(List.of("Leia Organa", "Obi-Wan Kenobi", "Padmé Amidala"),
+                names(query("gender == \"female\" || height >= 180 && height < 190")));
+        assertEquals(List.of("Darth Vader", "Jar Jar Binks"),
+                names(query("(gender == \"female\" || height > 190) && gender != \"female\"")));
+        assertEquals(List.of("Luke Skywalker"), names(query("name contains \"SKY\"")));
+        assertEquals(List.of("Obi-Wan Kenobi"), names(query("name == \"Obi-Wan Kenobi\" && height != 172")));
+    }
+
+    /**
+     * Prueba el plan de ejecución: los rangos y las igualdades de la conjunción principal se resuelven con
+     * índices y el resto se evalúa fila por fila.
+     */
+    @Test
+    public void testExplain() {
+        QueryPlan plan = table.explain(EntityQuery.builder()
+                .where("height > 160 && (gender == \"female\" || gender == \"hermaphrodite\") && films contains 6")
+                .build());
+
+        assertEquals(List.of("height > 160", "(gender == \"female\" || gender == \"hermaphrodite\")"), plan.indexed());
+        assertEquals("films contains 6", plan.residual());
+        assertEquals("bitmaps de valores", plan.access());
+        assertEquals(2, plan.candidates());
+        assertEquals(6, plan.rows());
+        assertTrue(plan.estimatedCost() > 0);
+
+        QueryPlan scan = table.explain(EntityQuery.builder().where("!(films contains 6)").build());
+        assertTrue(scan.indexed().isEmpty());
+        assertEquals("recorrido completo", scan.access());
+        assertEquals(6, scan.candidates());
+    }
+
+    /**
+     * Prueba que una expresión compilada (y guardada) antes de que exista un valor del diccionario lo
+     * encuentre una vez que se agrega.
+     */
+    @Test
+    public void testFilter_ValueAddedAfterCompilation() {
+        String filter = "gender != \"male\" && gender == \"hermaphrodite\" || films contains 99";
+        assertTrue(query(filter).isEmpty());
+
+        put("16", "Jabba Desilijic Tiure", "hermaphrodite", "175", 1, 3, 6);
+        assertEquals(List.of("Jabba Desilijic Tiure"), names(query(filter)));
+    }
+
+    /**
+     * Prueba que se rechacen las expresiones inválidas, con la posición del error, y las que superan los límites.
+     */
+    @Test
+    public void testInvalidFilters() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> query("height > tall"));
+        assertTrue(e.getMessage().contains("posición 9"), e.getMessage());
+
+        for (String filter : List.of(
+                "age > 10",
+                "gender > \"female\"",
+                "height == \"tall\"",
+                "films == 1",
+                "height > 160 &&",
+                "(height > 160",
+                "name == \"Luke",
+                "height > 160 height < 200")) {
+            assertThrows(IllegalArgumentException.class, () -> query(filter), filter);
+        }
+
+        String tooMany = String.join(" || ", Collections.nCopies(FilterExpression.MAX_COMPARISONS + 1, "height > 1"));
+        assertThrows(IllegalArgumentException.class, () -> query(tooMany));
+        String tooDeep = "(".repeat(FilterExpression.MAX_DEPTH + 1) + "height > 1" + ")".repeat(FilterExpression.MAX_DEPTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> query(tooDeep));
+    }
+
+    private List<PeopleDetailsDto> query(String filter) {
+        return table.query(EntityQuery.builder().where(filter).build()).stream()
+                .sorted((a, b) -> Integer.compare(Integer.parseInt(id(a)), Integer.parseInt(id(b))))
+                .toList();
+    }
+
+    private static String id(PeopleDetailsDto person) {
+        return person.getUrl().substring(person.getUrl().lastIndexOf('/') + 1);
+    }
+
+    private void put(String id, String name, String gender, String height, int... films) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setGender(gender);
+        person.setHeight(height);
+        person.setUrl(SwapiResource.PEOPLE.urlOf(id));
+        person.setFilms(Arrays.stream(films).mapToObj(film -> SwapiResource.FILMS.urlOf(Integer.toString(film))).toList());
+        table.put(id, person);
+    }
+
+    private static List<String> names(List<PeopleDetailsDto> people) {
+        return people.stream().map(PeopleDetailsDto::getName).toList();
+    }
+}
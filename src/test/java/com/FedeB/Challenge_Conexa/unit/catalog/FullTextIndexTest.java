@@ -0,0 +1,133 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.FullTextIndex;
+import com.FedeB.Challenge_Conexa.catalog.TextHit;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el índice de texto completo {@link FullTextIndex}.
+ * <p>
+ * Estas pruebas validan la búsqueda por raíces de palabras, el orden por relevancia, las frases (incluyendo
+ * las que tienen palabras vacías), los fragmentos con las palabras resaltadas y el rechazo de las búsquedas
+ * inválidas.
+ */
+public class FullTextIndexTest {
+
+    private static final List<String> FIELDS = List.of("title", "opening_crawl", "director");
+
+    private EntityTable<FilmDetailsDto> films;
+
+    @BeforeEach
+    public void setUp() {
+        films = new EntityTable<>(EntitySchemas.FILMS);
+        film("1", "A New Hope", "George Lucas",
+                "It is a period of civil war.\r\nRebel spaceships, striking\r\nfrom a hidden base, have won\r\n"
+                        + "their first victory against\r\nthe evil Galactic Empire.\r\n\r\nDuring the battle, Rebel\r\n"
+                        + "spies managed to steal secret\r\nplans to the Empire's\r\nultimate weapon, the DEATH\r\n"
+                        + "STAR, an armored space\r\nstation with enough power\r\nto destroy an entire planet.");
+        film("2", "The Empire Strikes Back", "Irvin Kershner",
+                "It is a dark time for the\r\nRebellion. Although the Death\r\nStar has been destroyed,\r\n"
+                        + "Imperial troops have driven the\r\nRebel forces from their\r\nhidden base and pursued them\r\n"
+                        + "across the galaxy.");
+        film("3", "Return of the Jedi", "Richard Marquand",
+                "Luke Skywalker has returned to\r\nhis home planet of Tatooine in\r\nan attempt to rescue his\r\n"
+                        + "friend Han Solo from the\r\nclutches of the vile gangster\r\nJabba the Hutt.");
+    }
+
+    /**
+     * Prueba que las búsquedas encuentren las distintas formas de las palabras y ordenen los resultados por
+     * relevancia.
+     */
+    @Test
+    public void testSearch_StemmingAndRanking() {
+        FullTextIndex index = index();
+
+        assertEquals(List.of("1", "2"), ids(index.search("destroying", 10)).stream().sorted().toList());
+        assertEquals(List.of("1", "2"), ids(index.search("rebels", 10)));
+        // La película 1 menciona dos veces a los rebeldes y además a los espías
+        List<TextHit> hits = index.search("rebel spies", 10);
+        assertEquals(List.of("1", "2"), ids(hits));
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals(List.of("3"), ids(index.search("Jabba's palace", 10)));
+        assertEquals(List.of("1"), ids(index.search("lucas", 10)));
+        assertTrue(index.search("wookiee", 10).isEmpty());
+        assertEquals(1, index.search("rebel", 1).size());
+    }
+
+    /**
+     * Prueba las frases entre comillas, que deben aparecer con las palabras en orden y a la distancia original.
+     */
+    @Test
+    public void testSearch_Phrases() {
+        FullTextIndex index = index();
+
+        // Con la misma cantidad de apariciones, el texto más corto es más relevante
+        assertEquals(List.of("2", "1"), ids(index.search("\"death star\"", 10)));
+        // Los resultados deben tener la frase; las demás palabras solo suman relevancia
+        assertEquals(List.of("1", "2"), ids(index.search("\"death star\" plans", 10)));
+        assertEquals(List.of("3"), ids(index.search("\"return of the jedi\"", 10)));
+        assertEquals(List.of("1"), ids(index.search("\"secret plans\"", 10)));
+        assertTrue(index.search("\"plans secret\"", 10).isEmpty());
+        assertTrue(index.search("\"star has\" \"hidden wookiee\"", 10).isEmpty());
+        // Las frases no coinciden entre el título y el texto de apertura
+        assertTrue(index.search("\"jedi luke\"", 10).isEmpty());
+    }
+
+    /**
+     * Prueba los fragmentos de los resultados: el atributo con más coincidencias, con las palabras
+     * resaltadas y los saltos de línea reemplazados por espacios.
+     */
+    @Test
+    public void testSearch_Snippets() {
+        TextHit hit = index().search("\"death star\" plans", 10).get(0);
+
+        assertEquals("films", hit.resource());
+        assertEquals("A New Hope", hit.title());
+        assertEquals("opening_crawl", hit.field());
+        assertTrue(hit.snippet().startsWith("…"), hit.snippet());
+        assertTrue(hit.snippet().contains("secret <em>plans</em> to the Empire's ultimate weapon, the <em>DEATH</em> <em>STAR</em>, an armored"),
+                hit.snippet());
+        assertFalse(hit.snippet().contains("\n"));
+
+        TextHit title = index().search("jedi", 10).get(0);
+        assertEquals("title", title.field());
+        assertEquals("Return of the <em>Jedi</em>", title.snippet());
+    }
+
+    /**
+     * Prueba que se rechacen las búsquedas sin palabras, con comillas sin cerrar o demasiado largas.
+     */
+    @Test
+    public void testSearch_Invalid() {
+        FullTextIndex index = index();
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("the of", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("\"death star", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("x".repeat(FullTextIndex.MAX_QUERY_LENGTH + 1), 10));
+    }
+
+    private FullTextIndex index() {
+        return FullTextIndex.build(SwapiResource.FILMS, films, FIELDS);
+    }
+
+    private void film(String id, String title, String director, String openingCrawl) {
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle(title);
+        film.setDirector(director);
+        film.setOpening_crawl(openingCrawl);
+        films.put(id, film);
+    }
+
+    private static List<String> ids(List<TextHit> hits) {
+        return hits.stream().map(TextHit::id).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.NameTrie;
+import com.FedeB.Challenge_Conexa.catalog.Suggestion;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el árbol de prefijos de nombres {@link NameTrie}.
+ * <p>
+ * Estas pruebas validan las sugerencias por prefijo de cualquier palabra del nombre, el orden por
+ * popularidad (comparado con una búsqueda simple sobre nombres aleatorios), el filtro por recurso y la
+ * tolerancia a errores de tipeo.
+ */
+public class NameTrieTest {
+
+    private static final Set<SwapiResource> ALL = EnumSet.allOf(SwapiResource.class);
+
+    private EntityTable<PeopleDetailsDto> people;
+    private EntityTable<StarshipDetailsDto> starships;
+    private Map<SwapiResource, EntityTable<?>> tables;
+
+    @BeforeEach
+    public void setUp() {
+        people = new EntityTable<>(EntitySchemas.PEOPLE);
+        starships = new EntityTable<>(EntitySchemas.STARSHIPS);
+        tables = new EnumMap<>(SwapiResource.class);
+        tables.put(SwapiResource.PEOPLE, people);
+        tables.put(SwapiResource.FILMS, new EntityTable<>(EntitySchemas.FILMS));
+        tables.put(SwapiResource.STARSHIPS, starships);
+        tables.put(SwapiResource.VEHICLES, new EntityTable<>(EntitySchemas.VEHICLES));
+    }
+
+    /**
+     * Prueba las sugerencias por prefijo del nombre o de cualquiera de sus palabras, ordenadas por
+     * popularidad y, a igual popularidad, por nombre.
+     */
+    @Test
+    public void testSuggest_RankedByPopularity() {
+        person("1", "Luke Skywalker", 6);
+        person("5", "Leia Organa", 4);
+        person("25", "Lando Calrissian", 2);
+        person("26", "Lobot", 1);
+        person("11", "Anakin Skywalker", 7);
+        person("35", "Padmé Amidala", 3);
+        starship("10", "Millennium Falcon", 7);
+        starship("3", "Lambda-class T-4a shuttle", 1);
+        NameTrie trie = NameTrie.build(tables);
+
+        assertEquals(List.of("Luke Skywalker", "Leia Organa", "Lando Calrissian", "Lobot"),
+                names(trie.suggest("l", EnumSet.of(SwapiResource.PEOPLE), 10, false)));
+        assertEquals(List.of("Luke Skywalker", "Leia Organa", "Lando Calrissian", "Lambda-class T-4a shuttle", "Lobot"),
+                names(trie.suggest("L", ALL, 10, false)));
+        assertEquals(List.of("Luke Skywalker", "Leia Organa"), names(trie.suggest("l", ALL, 2, false)));
+        assertEquals(List.of("Anakin Skywalker", "Luke Skywalker"), names(trie.suggest("sky", ALL, 10, false)));
+        assertEquals(List.of("Lambda-class T-4a shuttle"), names(trie.suggest("class t", ALL, 10, false)));
+        assertEquals(List.of("Padmé Amidala"), names(trie.suggest("padme", ALL, 10, false)));
+        assertEquals(new Suggestion("starships", "10", "Millennium Falcon", 7, true),
+                trie.suggest("falcon", ALL, 10, false).get(0));
+        assertTrue(trie.suggest("yoda", ALL, 10, false).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> trie.suggest(" - ", ALL, 10, false));
+    }
+
+    /**
+     * Prueba la tolerancia a errores de tipeo: las coincidencias exactas primero, y luego los nombres a un
+     * error del texto buscado.
+     */
+    @Test
+    public void testSuggest_Fuzzy() {
+        person("1", "Luke Skywalker", 6);
+        person("25", "Lando Calrissian", 2);
+        person("26", "Lukas Lobot", 1);
+        starship("10", "Millennium Falcon", 7);
+        NameTrie trie = NameTrie.build(tables);
+
+        assertTrue(trie.suggest("lukr", ALL, 10, false).isEmpty());
+        List<Suggestion> fuzzy = trie.suggest("lukr", ALL, 10, true);
+        assertEquals(List.of("Luke Skywalker", "Lukas Lobot"), names(fuzzy));
+        assertFalse(fuzzy.get(0).exact());
+        assertEquals(List.of("Millennium Falcon"), names(trie.suggest("falcn", ALL, 10, true)));
+        assertEquals(List.of("Lukas Lobot", "Luke Skywalker"), names(trie.suggest("luka", ALL, 10, true)));
+        // Los textos cortos no toleran errores
+        assertTrue(trie.suggest("lx", ALL, 10, true).isEmpty());
+    }
+
+    /**
+     * Prueba que las sugerencias coincidan con una búsqueda simple sobre nombres aleatorios.
+     */
+    @Test
+    public void testSuggest_MatchesPlainSearch() {
+        Random random = new Random(7);
+        List<String[]> entities = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int word = random.nextInt(3); word >= 0; word--) {
+                for (int letter = 1 + random.nextInt(4); letter > 0; letter--) {
+                    name.append((char) ('a' + random.nextInt(4)));
+                }
+                name.append(word > 0 ? " " : "");
+            }
+            int popularity = random.nextInt(10);
+            person(Integer.toString(id), name.toString(), popularity);
+            entities.add(new String[]{Integer.toString(id), name.toString(), Integer.toString(popularity)});
+        }
+        NameTrie trie = NameTrie.build(tables);
+
+        for (String prefix : List.of("a", "b", "ab", "cd", "dab", "a b", "bbbb", "abcd a")) {
+            List<String> expected = entities.stream()
+                    .filter(entity -> Arrays.stream(wordStarts(entity[1])).anyMatch(key -> key.startsWith(prefix)))
+                    .sorted(Comparator.<String[]>comparingInt(entity -> -Integer.parseInt(entity[2]))
+                            .thenComparing(entity -> entity[1])
+                            .thenComparing(entity -> entity[0]))
+                    .limit(15)
+                    .map(entity -> entity[0])
+                    .toList();
+            List<String> actual = trie.suggest(prefix, ALL, 15, false).stream().map(Suggestion::id).toList();
+            assertEquals(expected, actual, prefix);
+        }
+    }
+
+    private static String[] wordStarts(String name) {
+        String[] words = name.split(" ");
+        String[] keys = new String[words.length];
+        for (int i = 0; i < words.length; i++) {
+            keys[i] = String.join(" ", Arrays.copyOfRange(words, i, words.length));
+        }
+        return keys;
+    }
+
+    /**
+     * Agrega un personaje con una cantidad de películas, que define su popularidad.
+     */
+    private void person(String id, String name, int films) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setFilms(urls(SwapiResource.FILMS, films));
+        people.put(id, person);
+    }
+
+    private void starship(String id, String name, int films) {
+        StarshipDetailsDto starship = new StarshipDetailsDto();
+        starship.setName(name);
+        starship.setFilms(urls(SwapiResource.FILMS, films));
+        starships.put(id, starship);
+    }
+
+    private static List<String> urls(SwapiResource resource, int count) {
+        List<String> urls = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            urls.add(resource.urlOf(Integer.toString(id)));
+        }
+        return urls;
+    }
+
+    private static List<String> names(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::name).toList();
+    }
+}
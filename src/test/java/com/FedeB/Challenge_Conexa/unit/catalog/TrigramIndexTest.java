@@ -0,0 +1,143 @@
+package com.FedeB.Challenge_Conexa.unit.catalog;
+
+import com.FedeB.Challenge_Conexa.catalog.EntitySchemas;
+import com.FedeB.Challenge_Conexa.catalog.EntityTable;
+import com.FedeB.Challenge_Conexa.catalog.NameMatch;
+import com.FedeB.Challenge_Conexa.catalog.TrigramIndex;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el índice de trigramas de nombres {@link TrigramIndex}.
+ * <p>
+ * Estas pruebas validan la búsqueda de nombres con errores de tipeo, el orden por distancia, los límites del
+ * texto buscado y que los resultados coincidan con el cálculo de la distancia sobre todos los nombres.
+ */
+public class TrigramIndexTest {
+
+    /**
+     * Prueba que los nombres se encuentren con errores de tipeo en cualquier parte del nombre y se ordenen por
+     * la cantidad de errores.
+     */
+    @Test
+    public void testSearch_RankedByDistance() {
+        EntityTable<PeopleDetailsDto> people = new EntityTable<>(EntitySchemas.PEOPLE);
+        person(people, "1", "Luke Skywalker");
+        person(people, "11", "Anakin Skywalker");
+        person(people, "5", "Leia Organa");
+        person(people, "26", "Lobot");
+        person(people, "35", "Padmé Amidala");
+        TrigramIndex index = TrigramIndex.build(SwapiResource.PEOPLE, people);
+
+        assertEquals(List.of("Luke Skywalker", "Anakin Skywalker"), names(index.search("skywlker", 10)));
+        assertEquals(List.of(new NameMatch("1", "Luke Skywalker", 1)), index.search("lyke skywalker", 10));
+        // Con textos cortos, un error alcanza para coincidir con partes de otros nombres ("lke")
+        assertEquals(List.of("Luke Skywalker", "Anakin Skywalker"), names(index.search("Luke", 10)));
+        assertEquals(new NameMatch("26", "Lobot", 1), index.search("lobto", 10).get(0));
+        assertEquals(List.of("Padmé Amidala"), names(index.search("padme amidla", 10)));
+        assertEquals(List.of("Luke Skywalker"), names(index.search("skywalker", 1)));
+        assertTrue(index.search("chewbacca", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search(" - ", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("a".repeat(TrigramIndex.MAX_QUERY_LENGTH + 1), 10));
+    }
+
+    /**
+     * Prueba la búsqueda sobre los títulos de las películas.
+     */
+    @Test
+    public void testSearch_FilmTitles() {
+        EntityTable<FilmDetailsDto> films = new EntityTable<>(EntitySchemas.FILMS);
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle("The Empire Strikes Back");
+        films.put("2", film);
+        TrigramIndex index = TrigramIndex.build(SwapiResource.FILMS, films);
+
+        assertEquals(List.of(new NameMatch("2", "The Empire Strikes Back", 2)), index.search("empire strkes bak", 10));
+    }
+
+    /**
+     * Prueba que los resultados coincidan con el cálculo de la distancia sobre todos los nombres aleatorios.
+     */
+    @Test
+    public void testSearch_MatchesPlainSearch() {
+        Random random = new Random(11);
+        EntityTable<PeopleDetailsDto> people = new EntityTable<>(EntitySchemas.PEOPLE);
+        List<String[]> entities = new ArrayList<>();
+        for (int id = 1; id <= 400; id++) {
+            String name = word(random, 3 + random.nextInt(8)) + (random.nextBoolean() ? " " + word(random, 4) : "");
+            person(people, Integer.toString(id), name);
+            entities.add(new String[]{Integer.toString(id), name});
+        }
+        TrigramIndex index = TrigramIndex.build(SwapiResource.PEOPLE, people);
+
+        for (int i = 0; i < 200; i++) {
+            String query = word(random, 2 + random.nextInt(14));
+            int maxDistance = TrigramIndex.maxDistance(query.length());
+            List<String> expected = entities.stream()
+                    .filter(entity -> distance(query, entity[1]) <= maxDistance)
+                    .sorted(Comparator.<String[]>comparingInt(entity -> distance(query, entity[1]))
+                            .thenComparingInt(entity -> entity[1].length())
+                            .thenComparing(entity -> entity[1])
+                            .thenComparing(entity -> entity[0]))
+                    .limit(20)
+                    .map(entity -> entity[0])
+                    .toList();
+            assertEquals(expected, index.search(query, 20).stream().map(NameMatch::id).toList(), query);
+        }
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * Menor distancia de Levenshtein entre el texto y alguna parte del nombre, probando todas las partes.
+     */
+    private static int distance(String query, String name) {
+        int best = Integer.MAX_VALUE;
+        for (int start = 0; start <= name.length(); start++) {
+            for (int end = start; end <= name.length(); end++) {
+                best = Math.min(best, levenshtein(query, name.substring(start, end)));
+            }
+        }
+        return best;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    d[i][j] = Math.min(d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1),
+                            Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static void person(EntityTable<PeopleDetailsDto> people, String id, String name) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        people.put(id, person);
+    }
+
+    private static List<String> names(List<NameMatch> matches) {
+        return matches.stream().map(NameMatch::name).toList();
+    }
+}
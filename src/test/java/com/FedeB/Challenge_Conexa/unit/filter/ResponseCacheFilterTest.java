@@ -0,0 +1,285 @@
+package com.FedeB.Challenge_Conexa.unit.filter;
+
+import com.FedeB.Challenge_Conexa.cache.ResponseBodyCache;
+import com.FedeB.Challenge_Conexa.filter.ResponseCacheFilter;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el filtro {@link ResponseCacheFilter} y la caché {@link ResponseBodyCache}.
+ * <p>
+ * Estas pruebas validan que las respuestas se sirvan desde la caché (con y sin gzip), que la clave
+ * considere los parámetros de la solicitud, que los cambios en las entidades invaliden las respuestas
+ * y el soporte de solicitudes condicionales con ETag.
+ */
+public class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"name\":\"Luke Skywalker\",\"height\":\"172\",\"mass\":\"77\"},"
+            + "{\"name\":\"C-3PO\",\"height\":\"167\",\"mass\":\"75\"},"
+            + "{\"name\":\"R2-D2\",\"height\":\"96\",\"mass\":\"32\"}]";
+
+    private ResponseBodyCache responseBodyCache;
+    private ResponseCacheFilter filter;
+    private AtomicInteger controllerCalls;
+
+    @BeforeEach
+    public void setUp() {
+        responseBodyCache = new ResponseBodyCache(Duration.ofMinutes(5), 100, Clock.systemUTC());
+        filter = new ResponseCacheFilter(responseBodyCache, true, List.of("/api/export"),
+                Duration.ofSeconds(60), Duration.ofMinutes(5), true);
+        controllerCalls = new AtomicInteger();
+    }
+
+    /**
+     * Prueba que la segunda solicitud se sirva desde la caché sin invocar al controlador.
+     */
+    @Test
+    public void testSecondRequest_ServedFromCache() throws Exception {
+        MockHttpServletResponse first = perform(request("/api/people"));
+        MockHttpServletResponse second = perform(request("/api/people"));
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals("MISS", first.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals("application/json", second.getContentType());
+        assertEquals("Accept, Accept-Encoding, Authorization", second.getHeader("Vary"));
+    }
+
+    /**
+     * Prueba que los clientes que aceptan gzip reciban el cuerpo comprimido almacenado.
+     */
+    @Test
+    public void testCachedResponse_Gzip() throws Exception {
+        perform(request("/api/people"));
+
+        MockHttpServletRequest request = request("/api/people");
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+        MockHttpServletResponse response = perform(request);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(BODY, gunzip(response.getContentAsByteArray()));
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+
+    /**
+     * Prueba que una solicitud con "If-None-Match" vigente reciba un 304 sin cuerpo, sin invocar al controlador.
+     */
+    @Test
+    public void testIfNoneMatch_NotModified() throws Exception {
+        MockHttpServletResponse first = perform(request("/api/films"));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+        assertTrue(etag.matches("\"[0-9a-f]{32}\""));
+        String cacheControl = first.getHeader("Cache-Control");
+        assertTrue(cacheControl.contains("max-age=60"));
+        assertTrue(cacheControl.contains("stale-while-revalidate=300"));
+        assertTrue(cacheControl.contains("public"));
+
+        MockHttpServletRequest conditional = request("/api/films");
+        conditional.addHeader("If-None-Match", "\"otro\", W/" + etag);
+        MockHttpServletResponse second = perform(conditional);
+
+        assertEquals(1, controllerCalls.get());
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.getContentAsByteArray().length);
+        assertEquals(etag, second.getHeader("ETag"));
+        assertEquals(cacheControl, second.getHeader("Cache-Control"));
+    }
+
+    /**
+     * Prueba que, sin habilitar las cachés compartidas, las respuestas autenticadas se declaren privadas.
+     */
+    @Test
+    public void testCacheControl_PrivateUnlessPublicIsEnabled() throws Exception {
+        filter = new ResponseCacheFilter(responseBodyCache, true, List.of(), Duration.ofSeconds(60), Duration.ofMinutes(5), false);
+
+        String cacheControl = perform(request("/api/films")).getHeader("Cache-Control");
+
+        assertTrue(cacheControl.contains("private"));
+        assertFalse(cacheControl.contains("public"));
+    }
+
+    /**
+     * Prueba que la representación comprimida tenga su propio ETag y que ambos se acepten en "If-None-Match".
+     */
+    @Test
+    public void testEtag_GzipRepresentation() throws Exception {
+        String etag = perform(request("/api/films")).getHeader("ETag");
+
+        MockHttpServletRequest gzipRequest = request("/api/films");
+        gzipRequest.addHeader("Accept-Encoding", "gzip");
+        String gzipEtag = perform(gzipRequest).getHeader("ETag");
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gzip\"", gzipEtag);
+
+        MockHttpServletRequest conditional = request("/api/films");
+        conditional.addHeader("Accept-Encoding", "gzip");
+        conditional.addHeader("If-None-Match", gzipEtag);
+        assertEquals(304, perform(conditional).getStatus());
+    }
+
+    /**
+     * Prueba que un ETag que no coincide (por ejemplo, tras un cambio en los datos) devuelva la respuesta completa.
+     */
+    @Test
+    public void testIfNoneMatch_StaleEtag() throws Exception {
+        perform(request("/api/films"));
+
+        MockHttpServletRequest conditional = request("/api/films");
+        conditional.addHeader("If-None-Match", "\"0123456789abcdef0123456789abcdef\"");
+        MockHttpServletResponse response = perform(conditional);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    /**
+     * Prueba que la clave de la caché dependa de los parámetros, sin importar su orden.
+     */
+    @Test
+    public void testCacheKey_ConsidersParameters() throws Exception {
+        perform(request("/api/people", "page", "1"));
+        perform(request("/api/people", "page", "2"));
+        assertEquals(2, controllerCalls.get());
+
+        MockHttpServletRequest request = request("/api/people", "page", "1");
+        request.addParameter("fields", "name");
+        MockHttpServletRequest reordered = request("/api/people", "fields", "name");
+        reordered.addParameter("page", "1");
+        perform(request);
+        perform(reordered);
+
+        assertEquals(3, controllerCalls.get());
+    }
+
+    /**
+     * Prueba que cada formato negociado se almacene por separado, incluyendo los formatos binarios.
+     */
+    @Test
+    public void testCacheKey_ConsidersAcceptHeader() throws Exception {
+        MockHttpServletRequest json = request("/api/films");
+        json.addHeader("Accept", "application/json");
+        perform(json);
+
+        MockHttpServletRequest cbor = request("/api/films");
+        cbor.addHeader("Accept", "application/cbor");
+        perform(cbor, (req, res) -> {
+            res.setContentType("application/cbor");
+            res.getOutputStream().write(new byte[]{(byte) 0x9f, (byte) 0xff});
+        });
+        MockHttpServletRequest cborAgain = request("/api/films");
+        cborAgain.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse cached = perform(cborAgain);
+
+        assertEquals(2, controllerCalls.get());
+        assertEquals(2, responseBodyCache.size());
+        assertEquals("application/cbor", cached.getContentType());
+        assertArrayEquals(new byte[]{(byte) 0x9f, (byte) 0xff}, cached.getContentAsByteArray());
+    }
+
+    /**
+     * Prueba que un cambio en una entidad invalide solo las respuestas del recurso afectado.
+     */
+    @Test
+    public void testEntityChange_InvalidatesDependentResponses() throws Exception {
+        perform(request("/api/people/id", "id", "1"));
+        perform(request("/api/films"));
+        assertEquals(2, responseBodyCache.size());
+
+        responseBodyCache.onEntityChanged(SwapiResource.PEOPLE, "1");
+
+        assertEquals(1, responseBodyCache.size());
+        assertEquals("MISS", perform(request("/api/people/id", "id", "1")).getHeader(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", perform(request("/api/films")).getHeader(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    /**
+     * Prueba que una respuesta construida mientras se invalidaba su recurso no se almacene.
+     */
+    @Test
+    public void testConcurrentInvalidation_ResponseNotStored() throws Exception {
+        perform(request("/api/people"), (req, res) -> {
+            responseBodyCache.onEntityChanged(SwapiResource.PEOPLE, null);
+            writeJson(res);
+        });
+
+        assertEquals(0, responseBodyCache.size());
+    }
+
+    /**
+     * Prueba que no se almacenen errores, rutas excluidas, respuestas con {@code no-store} ni solicitudes que no sean GET.
+     */
+    @Test
+    public void testNonCacheableRequests() throws Exception {
+        perform(request("/api/people/id", "id", "999"), (req, res) -> res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
+        perform(request("/api/export"));
+        perform(request("/api/people/query", "height.gt", "190"), (req, res) -> {
+            res.setHeader("Cache-Control", "no-store");
+            writeJson(res);
+        });
+        MockHttpServletRequest post = request("/auth/login");
+        post.setMethod("POST");
+        perform(post);
+
+        assertEquals(0, responseBodyCache.size());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        return perform(request, (req, res) -> writeJson(res));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, Handler handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                controllerCalls.incrementAndGet();
+                handler.handle(req, res);
+            }
+        });
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void writeJson(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest request(String uri, String... parameters) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        for (int i = 0; i < parameters.length; i += 2) {
+            request.addParameter(parameters[i], parameters[i + 1]);
+        }
+        return request;
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws IOException;
+    }
+}
@@ -0,0 +1,77 @@
+package com.FedeB.Challenge_Conexa.unit.filter;
+
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.filter.SnapshotVersionFilter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el filtro {@link SnapshotVersionFilter}.
+ * <p>
+ * Estas pruebas validan que las respuestas informen la versión del conjunto de datos, incluidas las
+ * escrituras de la propia solicitud, y que una versión fijada se respete o se rechace si no existe.
+ */
+public class SnapshotVersionFilterTest {
+
+    /**
+     * Prueba que la respuesta informe la versión vigente al escribirla y que una solicitud con una versión
+     * anterior se marque para no pasar por la caché de respuestas.
+     */
+    @Test
+    public void testResponse_CarriesVersion() throws Exception {
+        SnapshotVersions versions = new SnapshotVersions(Duration.ofMinutes(5));
+        SnapshotVersionFilter filter = new SnapshotVersionFilter(versions);
+
+        // El controlador confirma una escritura antes de escribir el cuerpo
+        MockHttpServletResponse first = perform(filter, new MockHttpServletRequest("GET", "/api/people"),
+                () -> versions.commit(version -> true));
+        assertEquals("1", first.getHeader(SnapshotVersionFilter.HEADER));
+        versions.commit(version -> true);
+
+        MockHttpServletRequest pinned = new MockHttpServletRequest("GET", "/api/people");
+        pinned.addHeader(SnapshotVersionFilter.HEADER, "1");
+        MockHttpServletResponse second = perform(filter, pinned, () -> assertEquals(1L, versions.pinnedVersion()));
+        assertEquals("1", second.getHeader(SnapshotVersionFilter.HEADER));
+        assertEquals(Boolean.TRUE, pinned.getAttribute(SnapshotVersionFilter.PAST_VERSION_ATTRIBUTE));
+        assertNull(versions.pinnedVersion());
+    }
+
+    /**
+     * Prueba que una versión inexistente o inválida responda 400 sin invocar al controlador.
+     */
+    @Test
+    public void testUnknownVersion_BadRequest() throws Exception {
+        SnapshotVersionFilter filter = new SnapshotVersionFilter(new SnapshotVersions(Duration.ofMinutes(5)));
+        for (String version : new String[]{"7", "abc"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/people");
+            request.addHeader(SnapshotVersionFilter.HEADER, version);
+            MockHttpServletResponse response = perform(filter, request, () -> fail("No debe invocarse al controlador"));
+            assertEquals(400, response.getStatus());
+        }
+    }
+
+    private static MockHttpServletResponse perform(SnapshotVersionFilter filter, MockHttpServletRequest request,
+                                                   Runnable controller) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                controller.run();
+                resp.setContentType("application/json");
+                resp.getWriter().write("[]");
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
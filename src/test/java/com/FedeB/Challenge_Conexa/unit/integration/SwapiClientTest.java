@@ -0,0 +1,204 @@
+package com.FedeB.Challenge_Conexa.unit.integration;
+
+import com.FedeB.Challenge_Conexa.cache.EntityChangeListener;
+import com.FedeB.Challenge_Conexa.cache.PersistentEntityStore;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Pruebas unitarias para {@link SwapiClient} contra un servidor de SWAPI simulado.
+ * <p>
+ * Estas pruebas validan la revalidación de los datos expirados: solicitudes condicionales con los
+ * validadores recibidos y, si SWAPI no los envía, la comparación del hash del cuerpo, también para los
+ * datos cargados del almacenamiento persistente.
+ */
+public class SwapiClientTest {
+
+    private static final String PERSON_URL = "https://www.swapi.tech/api/people/1";
+    private static final String FILMS_URL = "https://www.swapi.tech/api/films";
+
+    private MockRestServiceServer server;
+    private EntityChangeListener listener;
+    private SwapiEntityCache entityCache;
+    private SwapiClient swapiClient;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        listener = mock(EntityChangeListener.class);
+        // Con tiempo de vida cero, cada consulta revalida los datos almacenados
+        entityCache = new SwapiEntityCache(Duration.ZERO, Clock.systemUTC(), List.of(listener));
+        swapiClient = new SwapiClient(restTemplate,
+                new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build()), entityCache);
+    }
+
+    /**
+     * Prueba que al revalidar se envíen los validadores recibidos y que un 304 devuelva los datos almacenados.
+     */
+    @Test
+    public void testRevalidation_NotModifiedWithEtag() {
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("W/\"abc\"");
+        validators.set(HttpHeaders.LAST_MODIFIED, "Wed, 01 Jan 2025 00:00:00 GMT");
+        server.expect(requestTo(PERSON_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(fixture("people-1.json"), MediaType.APPLICATION_JSON).headers(validators));
+        server.expect(requestTo(PERSON_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+                .andExpect(header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 00:00:00 GMT"))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        PeopleDetailsDto first = swapiClient.getPersonById("1");
+        PeopleDetailsDto second = swapiClient.getPersonById("1");
+
+        server.verify();
+        assertEquals("Luke Skywalker", second.getName());
+        // Los DTOs se reconstruyen desde la tabla de entidades en cada lectura
+        assertEquals(first, second);
+        verifyNoInteractions(listener);
+    }
+
+    /**
+     * Prueba que, si la entidad se quita de la caché mientras SWAPI responde 304, se vuelva a obtener con una
+     * solicitud sin validadores en lugar de devolver {@code null}.
+     */
+    @Test
+    public void testRevalidation_NotModifiedAfterRemoval() {
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("W/\"abc\"");
+        server.expect(requestTo(PERSON_URL))
+                .andRespond(withSuccess(fixture("people-1.json"), MediaType.APPLICATION_JSON).headers(validators));
+        server.expect(requestTo(PERSON_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+                .andRespond(request -> {
+                    entityCache.remove(SwapiResource.PEOPLE, "1");
+                    return withStatus(HttpStatus.NOT_MODIFIED).createResponse(request);
+                });
+        server.expect(requestTo(PERSON_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(fixture("people-1.json"), MediaType.APPLICATION_JSON).headers(validators));
+
+        swapiClient.getPersonById("1");
+        PeopleDetailsDto second = swapiClient.getPersonById("1");
+
+        server.verify();
+        assertNotNull(second);
+        assertEquals("Luke Skywalker", second.getName());
+        // Con tiempo de vida cero la entidad ya expiró, pero volvió a almacenarse
+        assertNotNull(entityCache.table(SwapiResource.PEOPLE).get("1"));
+    }
+
+    /**
+     * Prueba que, sin validadores HTTP, un cuerpo idéntico no se vuelva a deserializar.
+     */
+    @Test
+    public void testRevalidation_SameBodyHashWithoutValidators() {
+        server.expect(requestTo(FILMS_URL))
+                .andRespond(withSuccess(fixture("films.json"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(FILMS_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(fixture("films.json"), MediaType.APPLICATION_JSON));
+
+        List<FilmDetailsDto> first = swapiClient.getFilms();
+        List<FilmDetailsDto> second = swapiClient.getFilms();
+
+        server.verify();
+        assertEquals(2, second.size());
+        assertEquals(first, second);
+        verifyNoInteractions(listener);
+    }
+
+    /**
+     * Prueba que un cuerpo distinto se vuelva a leer y que el cambio se notifique.
+     */
+    @Test
+    public void testRevalidation_ChangedBody() {
+        String changed = new String(fixture("people-1.json"), StandardCharsets.UTF_8)
+                .replace("\"height\": \"172\"", "\"height\": \"173\"");
+        server.expect(requestTo(PERSON_URL))
+                .andRespond(withSuccess(fixture("people-1.json"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(PERSON_URL))
+                .andRespond(withSuccess(changed, MediaType.APPLICATION_JSON));
+
+        swapiClient.getPersonById("1");
+        PeopleDetailsDto refreshed = swapiClient.getPersonById("1");
+
+        server.verify();
+        assertEquals("173", refreshed.getHeight());
+        verify(listener).onEntityChanged(SwapiResource.PEOPLE, "1");
+    }
+
+    /**
+     * Prueba que las entidades cargadas del almacenamiento persistente se sirvan sin solicitudes a SWAPI y
+     * que su revalidación en segundo plano envíe los validadores almacenados.
+     */
+    @Test
+    public void testRefresh_RestoredEntity(@TempDir Path directory) {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer storeServer = MockRestServiceServer.bindTo(restTemplate).build();
+        SwapiResponseParser parser = new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build());
+        HttpHeaders validators = new HttpHeaders();
+        validators.setETag("W/\"abc\"");
+        storeServer.expect(requestTo(PERSON_URL))
+                .andRespond(withSuccess(fixture("people-1.json"), MediaType.APPLICATION_JSON).headers(validators));
+        storeServer.expect(requestTo(PERSON_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "W/\"abc\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        PersistentEntityStore store = new PersistentEntityStore(directory.resolve("store.log"));
+        SwapiEntityCache entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(), store);
+        new SwapiClient(restTemplate, parser, entityCache).getPersonById("1");
+        store.close();
+
+        // Una caché nueva, como al reiniciar la aplicación
+        SwapiEntityCache restored = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(listener),
+                new PersistentEntityStore(directory.resolve("store.log")));
+        SwapiClient restoredClient = new SwapiClient(restTemplate, parser, restored);
+        assertEquals("Luke Skywalker", restoredClient.getPersonById("1").getName());
+        restoredClient.refresh(SwapiResource.PEOPLE, "1");
+
+        storeServer.verify();
+        assertEquals("Luke Skywalker", restoredClient.getPersonById("1").getName());
+        verifyNoInteractions(listener);
+    }
+
+    private static byte[] fixture(String name) {
+        try {
+            return new ClassPathResource("fixtures/swapi/" + name).getContentAsByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
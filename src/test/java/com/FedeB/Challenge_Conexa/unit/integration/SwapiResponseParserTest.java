@@ -0,0 +1,108 @@
+package com.FedeB.Challenge_Conexa.unit.integration;
+
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el parser de streaming {@link SwapiResponseParser}.
+ * <p>
+ * Estas pruebas validan que se extraigan únicamente los campos utilizados de las respuestas
+ * de SWAPI (detalle, listados paginados y búsquedas), a partir de respuestas reales guardadas como fixtures.
+ */
+public class SwapiResponseParserTest {
+
+    private SwapiResponseParser parser;
+
+    @BeforeEach
+    public void setUp() {
+        parser = new SwapiResponseParser(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    /**
+     * Prueba la lectura de las propiedades de una respuesta de detalle.
+     */
+    @Test
+    public void testReadProperties_Person() throws IOException {
+        PeopleDetailsDto person = parser.readProperties(fixture("people-1.json"), PeopleDetailsDto.class);
+
+        assertNotNull(person);
+        assertEquals("Luke Skywalker", person.getName());
+        assertEquals("172", person.getHeight());
+        assertEquals("19BBY", person.getBirth_year());
+        assertEquals(4, person.getFilms().size());
+        assertEquals("https://www.swapi.tech/api/people/1", person.getUrl());
+    }
+
+    /**
+     * Prueba la lectura de los IDs de una página de listado.
+     */
+    @Test
+    public void testReadUids_PeoplePage() throws IOException {
+        List<String> uids = parser.readUids(fixture("people-page-1.json"));
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10"), uids);
+    }
+
+    /**
+     * Prueba la lectura de las propiedades de cada resultado de una respuesta múltiple.
+     */
+    @Test
+    public void testReadResults_Films() throws IOException {
+        List<SwapiResult<FilmDetailsDto>> films = parser.readResults(fixture("films.json"), FilmDetailsDto.class);
+
+        assertEquals(2, films.size());
+        assertEquals("1", films.get(0).uid());
+        assertEquals("A New Hope", films.get(0).properties().getTitle());
+        assertEquals(4, films.get(0).properties().getEpisode_id());
+        assertTrue(films.get(0).properties().getOpening_crawl().startsWith("It is a period of civil war."));
+        assertEquals("2", films.get(1).uid());
+        assertEquals("The Empire Strikes Back", films.get(1).properties().getTitle());
+    }
+
+    /**
+     * Prueba que una respuesta sin el campo esperado devuelva {@code null}.
+     */
+    @Test
+    public void testReadProperties_MissingResult() throws IOException {
+        String json = "{\"message\":\"not found\"}";
+
+        assertNull(parser.readProperties(stream(json), PeopleDetailsDto.class));
+        assertNull(parser.readUids(stream(json)));
+        assertNull(parser.readResults(stream(json), FilmDetailsDto.class));
+    }
+
+    /**
+     * Prueba que los resultados sin propiedades se ignoren sin desalinear la lectura.
+     */
+    @Test
+    public void testReadResults_SkipsResultsWithoutProperties() throws IOException {
+        String json = "{\"result\":[{\"uid\":\"1\"},{\"_id\":\"x\",\"properties\":{\"title\":\"A New Hope\"},\"uid\":\"1\"}],\"message\":\"ok\"}";
+
+        List<SwapiResult<FilmDetailsDto>> films = parser.readResults(stream(json), FilmDetailsDto.class);
+
+        assertEquals(1, films.size());
+        assertEquals("1", films.get(0).uid());
+        assertEquals("A New Hope", films.get(0).properties().getTitle());
+    }
+
+    private static InputStream fixture(String name) {
+        return SwapiResponseParserTest.class.getResourceAsStream("/fixtures/swapi/" + name);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
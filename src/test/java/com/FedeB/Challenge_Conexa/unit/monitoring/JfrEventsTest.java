@@ -0,0 +1,119 @@
+package com.FedeB.Challenge_Conexa.unit.monitoring;
+
+import com.FedeB.Challenge_Conexa.filter.RequestIdFilter;
+import com.FedeB.Challenge_Conexa.monitoring.CacheAccessEvent;
+import com.FedeB.Challenge_Conexa.service.Authentication.JwtService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para los eventos JFR personalizados.
+ * <p>
+ * Estas pruebas graban los eventos emitidos por la aplicación y validan que contengan
+ * los campos esperados, incluyendo la correlación con el ID de solicitud.
+ */
+public class JfrEventsTest {
+
+    private JwtService jwtService;
+
+    private UserDetails userDetails;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "G0W5uJfqnFSBJg4hEEuXrTYlsxwQJMGKaSvzuIr7Ot0=");
+        ReflectionTestUtils.setField(jwtService, "expiration", 60000L);
+        userDetails = User.withUsername("testUser")
+                .password("password")
+                .roles("USER")
+                .build();
+        MDC.put(RequestIdFilter.MDC_KEY, "test-request");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MDC.remove(RequestIdFilter.MDC_KEY);
+    }
+
+    /**
+     * Prueba que la validación de un token emita eventos de verificación JWT correlacionados.
+     */
+    @Test
+    public void testJwtVerificationEvent_Recorded() throws Exception {
+        String token = jwtService.generateToken(userDetails);
+
+        List<RecordedEvent> events = record("conexa.JwtVerification",
+                () -> jwtService.validateToken(token, userDetails));
+
+        // validateToken verifica el token para extraer el usuario y la expiración
+        assertEquals(2, events.size());
+        for (RecordedEvent event : events) {
+            assertEquals("VALID", event.getString("outcome"));
+            assertEquals("test-request", event.getString("requestId"));
+            assertNotNull(event.getThread());
+        }
+        assertEquals("extractUsername", events.get(0).getString("operation"));
+    }
+
+    /**
+     * Prueba que un token con firma inválida quede registrado con resultado INVALID.
+     */
+    @Test
+    public void testJwtVerificationEvent_InvalidToken() throws Exception {
+        List<RecordedEvent> events = record("conexa.JwtVerification", () -> {
+            try {
+                jwtService.extractUsername("invalid.token.value");
+            } catch (RuntimeException expected) {
+                // El token es inválido, solo interesa el evento
+            }
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("INVALID", events.get(0).getString("outcome"));
+    }
+
+    /**
+     * Prueba que los accesos a caché se registren como eventos.
+     */
+    @Test
+    public void testCacheAccessEvent_Recorded() throws Exception {
+        List<RecordedEvent> events = record("conexa.CacheAccess",
+                () -> CacheAccessEvent.record("test", "people/1", true));
+
+        assertEquals(1, events.size());
+        assertEquals("test", events.get(0).getString("cache"));
+        assertEquals("people/1", events.get(0).getString("key"));
+        assertTrue(events.get(0).getBoolean("hit"));
+        assertEquals("test-request", events.get(0).getString("requestId"));
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = Files.createTempFile("conexa-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(eventName))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
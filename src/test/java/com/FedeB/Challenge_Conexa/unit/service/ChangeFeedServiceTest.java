@@ -0,0 +1,123 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.ChangeLog;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Sync.ChangeFeedDto;
+import com.FedeB.Challenge_Conexa.dto.Sync.EntityChangeDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias para {@link ChangeFeedService} y el {@link ChangeLog} en el que se basa.
+ * <p>
+ * Estas pruebas validan que cada entidad se informe una sola vez con su último cambio, que se indique volver
+ * a obtener todos los datos cuando los cambios pedidos ya se descartaron (por cantidad o por tiempo) o la
+ * versión pedida es de otro proceso o inexistente.
+ */
+public class ChangeFeedServiceTest {
+
+    /**
+     * Prueba que los cambios de cada entidad se informen una sola vez: una entidad agregada y modificada se
+     * informa como agregada con sus detalles actuales, y una agregada y eliminada no se informa.
+     */
+    @Test
+    public void testGetChanges_CollapsesChangesPerEntity() {
+        ChangeLog changeLog = new ChangeLog(100);
+        SwapiEntityCache entityCache = entityCache(changeLog);
+        ChangeFeedService service = new ChangeFeedService(changeLog, entityCache, Duration.ofMinutes(1));
+        entityCache.put(SwapiResource.PEOPLE, "3", person("Han"));
+        String since = service.getChanges(null).getVersion();
+
+        entityCache.put(SwapiResource.PEOPLE, "3", person("Han Solo"));
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke"));
+        entityCache.put(SwapiResource.PEOPLE, "2", person("Leia"));
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker"));
+        entityCache.remove(SwapiResource.PEOPLE, "2");
+
+        ChangeFeedDto feed = service.getChanges(since);
+
+        assertFalse(feed.isResyncRequired());
+        assertEquals(since, feed.getSince());
+        assertEquals(entityCache.versions().token(entityCache.versions().current()), feed.getVersion());
+        List<EntityChangeDto> changes = feed.getChanges();
+        assertEquals(List.of("3", "1"), changes.stream().map(EntityChangeDto::getId).toList());
+        assertEquals(List.of("MODIFIED", "ADDED"), changes.stream().map(EntityChangeDto::getChange).toList());
+        assertEquals("people", changes.get(1).getType());
+        assertEquals("Luke Skywalker", ((PeopleDetailsDto) changes.get(1).getEntity()).getName());
+
+        assertTrue(service.getChanges(feed.getVersion()).getChanges().isEmpty());
+    }
+
+    /**
+     * Prueba que se indique volver a obtener todos los datos cuando se descartaron cambios posteriores a la
+     * versión pedida, ya sea por superar la cantidad máxima o el tiempo de retención.
+     */
+    @Test
+    public void testGetChanges_RequiresResyncWhenChangesWereDiscarded() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        ChangeLog changeLog = new ChangeLog(2, Duration.ofMinutes(10), clock);
+        SwapiEntityCache entityCache = entityCache(changeLog);
+        ChangeFeedService service = new ChangeFeedService(changeLog, entityCache, Duration.ofMinutes(1));
+        SnapshotVersions versions = entityCache.versions();
+        String start = versions.token(versions.current());
+
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke"));
+        entityCache.put(SwapiResource.PEOPLE, "2", person("Leia"));
+        entityCache.put(SwapiResource.PEOPLE, "3", person("Han"));
+
+        assertTrue(service.getChanges(start).isResyncRequired());
+        String afterFirst = versions.token(versions.current() - 2);
+        assertEquals(2, service.getChanges(afterFirst).getChanges().size());
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+        assertTrue(service.getChanges(afterFirst).isResyncRequired());
+        assertEquals(0, changeLog.size());
+        // Desde la versión vigente no falta ningún cambio
+        assertFalse(service.getChanges(versions.token(versions.current())).isResyncRequired());
+    }
+
+    /**
+     * Prueba que se indique volver a obtener todos los datos ante una versión de otro proceso (por ejemplo, de
+     * antes de un reinicio), aunque el número de versión exista en este, una versión posterior a la vigente o
+     * una inválida.
+     */
+    @Test
+    public void testGetChanges_RequiresResyncForUnknownVersion() {
+        ChangeLog changeLog = new ChangeLog(100);
+        SwapiEntityCache entityCache = entityCache(changeLog);
+        ChangeFeedService service = new ChangeFeedService(changeLog, entityCache, Duration.ofMinutes(1));
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke"));
+        entityCache.put(SwapiResource.PEOPLE, "2", person("Leia"));
+        SnapshotVersions previousProcess = new SnapshotVersions(Duration.ofMinutes(5), Clock.systemUTC());
+
+        assertTrue(service.getChanges(previousProcess.token(1)).isResyncRequired());
+        assertTrue(service.getChanges(entityCache.versions().token(entityCache.versions().current() + 1)).isResyncRequired());
+        assertTrue(service.getChanges("1").isResyncRequired());
+        assertTrue(service.getChanges(entityCache.versions().epoch() + ".x").isResyncRequired());
+        assertEquals(1, service.getChanges(entityCache.versions().token(1)).getChanges().size());
+    }
+
+    private static SwapiEntityCache entityCache(ChangeLog changeLog) {
+        return new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(changeLog), null,
+                CacheMemoryBudget.unbounded(), new SnapshotVersions(Duration.ofMinutes(5), Clock.systemUTC()));
+    }
+
+    private static PeopleDetailsDto person(String name) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        return person;
+    }
+}
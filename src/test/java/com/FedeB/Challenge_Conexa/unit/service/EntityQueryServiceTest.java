@@ -0,0 +1,143 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.catalog.FacetCounts;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.EntityQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el servicio de consultas {@link EntityQueryService}.
+ * <p>
+ * Estas pruebas validan la interpretación de los parámetros de la consulta y de las facetas, y que los
+ * parámetros inválidos se rechacen con un estado 400.
+ */
+public class EntityQueryServiceTest {
+
+    private EntityQueryService entityQueryService;
+
+    @BeforeEach
+    public void setUp() {
+        SwapiEntityCache entityCache = new SwapiEntityCache(Duration.ofMinutes(10), List.of());
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", "172", "77", "male"));
+        entityCache.put(SwapiResource.PEOPLE, "4", person("Darth Vader", "202", "136", "male"));
+        entityCache.put(SwapiResource.PEOPLE, "13", person("Chewbacca", "228", "112", "male"));
+        entityCache.put(SwapiResource.PEOPLE, "16", person("Jabba Desilijic Tiure", "175", "1,358", "hermaphrodite"));
+        entityCache.put(SwapiResource.PEOPLE, "20", person("Yoda", "66", "17", "male"));
+        entityQueryService = new EntityQueryService(entityCache);
+    }
+
+    /**
+     * Prueba una consulta de personajes más altos que 190cm, ordenados por altura descendente.
+     */
+    @Test
+    public void testQuery_TallerThan() {
+        List<Object> results = entityQueryService.query(SwapiResource.PEOPLE, params(Map.of("height.gt", "190", "sort", "-height")));
+
+        assertEquals(List.of("Chewbacca", "Darth Vader"), names(results));
+    }
+
+    /**
+     * Prueba el orden por un atributo con separador de miles y el límite de resultados.
+     */
+    @Test
+    public void testQuery_SortAndLimit() {
+        List<Object> results = entityQueryService.query(SwapiResource.PEOPLE, params(Map.of("sort", "-mass", "limit", "2", "fields", "name")));
+
+        assertEquals(List.of("Jabba Desilijic Tiure", "Darth Vader"), names(results));
+    }
+
+    /**
+     * Prueba que los parámetros inválidos devuelvan 400.
+     */
+    @Test
+    public void testQuery_InvalidParameters() {
+        for (Map<String, String> params : List.of(
+                Map.of("height.between", "1"),
+                Map.of("height.gt", "tall"),
+                Map.of("name.gt", "1"),
+                Map.of("sort", "cost_in_credits"),
+                Map.of("limit", "-1"),
+                Map.of("page", "2"))) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> entityQueryService.query(SwapiResource.PEOPLE, params(params)), params.toString());
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+
+    /**
+     * Prueba una consulta con filtros por valor, repitiendo el parámetro para aceptar varios valores.
+     */
+    @Test
+    public void testQuery_CategoryFilter() {
+        MultiValueMap<String, String> params = params(Map.of("sort", "height"));
+        params.add("gender", "hermaphrodite");
+        params.add("gender", "female");
+        params.add("height.gt", "170");
+
+        assertEquals(List.of("Jabba Desilijic Tiure"), names(entityQueryService.query(SwapiResource.PEOPLE, params)));
+    }
+
+    /**
+     * Prueba una consulta con una expresión de filtro, su plan de ejecución y que una expresión inválida
+     * devuelva 400.
+     */
+    @Test
+    public void testQuery_FilterExpression() {
+        Map<String, String> params = Map.of("filter", "gender == \"male\" && (height < 100 || mass > 120)", "sort", "height");
+
+        assertEquals(List.of("Yoda", "Darth Vader"), names(entityQueryService.query(SwapiResource.PEOPLE, params(params))));
+        assertEquals(List.of("gender == \"male\""), entityQueryService.explain(SwapiResource.PEOPLE, params(params)).indexed());
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> entityQueryService.query(SwapiResource.PEOPLE, params(Map.of("filter", "height >"))));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    /**
+     * Prueba las facetas de los atributos pedidos, con un filtro por rango, y que se rechacen los
+     * atributos no categóricos.
+     */
+    @Test
+    public void testFacets() {
+        FacetCounts facets = entityQueryService.facets(SwapiResource.PEOPLE,
+                params(Map.of("fields", "gender", "height.gt", "100")));
+
+        assertEquals(4, facets.total());
+        assertEquals(Map.of("male", 3, "hermaphrodite", 1), facets.counts().get("gender"));
+        assertTrue(entityQueryService.facets(SwapiResource.PEOPLE, params(Map.of())).counts().containsKey("eye_color"));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> entityQueryService.facets(SwapiResource.PEOPLE, params(Map.of("fields", "height"))));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static MultiValueMap<String, String> params(Map<String, String> params) {
+        return new LinkedMultiValueMap<>(MultiValueMap.fromSingleValue(params));
+    }
+
+    private static PeopleDetailsDto person(String name, String height, String mass, String gender) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setHeight(height);
+        person.setMass(mass);
+        person.setGender(gender);
+        return person;
+    }
+
+    private static List<String> names(List<Object> people) {
+        return people.stream().map(person -> ((PeopleDetailsDto) person).getName()).toList();
+    }
+}
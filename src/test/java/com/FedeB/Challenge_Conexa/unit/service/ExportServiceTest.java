@@ -0,0 +1,165 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.ExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para {@link ExportService}.
+ * <p>
+ * Estas pruebas validan el contenido de las exportaciones en NDJSON y CSV, que se exporte la versión del
+ * conjunto de datos pedida (sus entidades y sus valores) aunque los datos cambien después, y la validación
+ * de los parámetros y de "If-None-Match".
+ */
+public class ExportServiceTest {
+
+    private ObjectMapper objectMapper;
+    private SwapiEntityCache entityCache;
+    private ExportService exportService;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(), null,
+                CacheMemoryBudget.unbounded(), new SnapshotVersions(Duration.ofMinutes(5), Clock.systemUTC()));
+        exportService = new ExportService(entityCache, objectMapper);
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke Skywalker", List.of("films/1", "films/2")));
+        entityCache.put(SwapiResource.PEOPLE, "2", person("Darth \"Ani\", Vader", List.of()));
+        entityCache.put(SwapiResource.FILMS, "1", film("A New Hope"));
+    }
+
+    /**
+     * Prueba que la exportación en NDJSON escriba una línea por entidad con su tipo, su ID y sus atributos,
+     * en el orden de los recursos pedidos.
+     */
+    @Test
+    public void testExport_Ndjson() throws IOException {
+        String[] lines = export(List.of(SwapiResource.FILMS, SwapiResource.PEOPLE), ExportService.Format.NDJSON, exportService.open())
+                .split("\n");
+
+        assertEquals(3, lines.length);
+        JsonNode film = objectMapper.readTree(lines[0]);
+        assertEquals("films", film.get("type").asText());
+        assertEquals("A New Hope", film.get("properties").get("title").asText());
+        JsonNode person = objectMapper.readTree(lines[1]);
+        assertEquals("people", person.get("type").asText());
+        assertEquals("1", person.get("id").asText());
+        assertEquals("Luke Skywalker", person.get("properties").get("name").asText());
+    }
+
+    /**
+     * Prueba que la exportación en CSV escriba el encabezado de cada recurso, las listas separadas por
+     * espacios y los valores con comas o comillas entre comillas.
+     */
+    @Test
+    public void testExport_Csv() throws IOException {
+        String[] lines = export(List.of(SwapiResource.PEOPLE, SwapiResource.FILMS), ExportService.Format.CSV, exportService.open())
+                .split("\r\n", -1);
+
+        assertTrue(lines[0].startsWith("type,id,"));
+        List<String> header = List.of(lines[0].split(","));
+        assertTrue(header.contains("name"));
+        assertTrue(lines[1].startsWith("people,1,"));
+        assertTrue(lines[1].contains(",Luke Skywalker,"));
+        assertTrue(lines[1].contains(",films/1 films/2,"));
+        assertTrue(lines[2].contains(",\"Darth \"\"Ani\"\", Vader\","));
+        // Una línea vacía separa los recursos
+        assertEquals("", lines[3]);
+        assertTrue(lines[4].startsWith("type,id,"));
+        assertTrue(lines[5].startsWith("films,1,"));
+    }
+
+    /**
+     * Prueba que se exporte la versión del conjunto de datos fijada al recibir la solicitud, desde otro hilo,
+     * sin las entidades agregadas ni los cambios posteriores y con las entidades eliminadas después.
+     */
+    @Test
+    public void testExport_ReadsRequestedVersion() throws Exception {
+        SnapshotVersions.Reader reader = exportService.open();
+        entityCache.put(SwapiResource.PEOPLE, "1", person("Luke", List.of()));
+        entityCache.put(SwapiResource.PEOPLE, "5", person("Leia Organa", List.of()));
+        entityCache.remove(SwapiResource.PEOPLE, "2");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        String exported;
+        try {
+            exported = executor.submit(() -> export(List.of(SwapiResource.PEOPLE), ExportService.Format.NDJSON, reader)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2, exported.split("\n").length);
+        assertTrue(exported.contains("Luke Skywalker"));
+        assertTrue(exported.contains("Vader"));
+        assertFalse(exported.contains("Leia"));
+        String current = export(List.of(SwapiResource.PEOPLE), ExportService.Format.NDJSON, exportService.open());
+        assertTrue(current.contains("\"Luke\""));
+        assertTrue(current.contains("Leia"));
+        assertFalse(current.contains("Vader"));
+    }
+
+    /**
+     * Prueba la validación de los tipos, del formato y de "If-None-Match".
+     */
+    @Test
+    public void testParameters() {
+        assertEquals(List.of(SwapiResource.PEOPLE, SwapiResource.FILMS), exportService.parseTypes("people, films,people"));
+        assertEquals(SwapiResource.values().length, exportService.parseTypes(null).size());
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> exportService.parseTypes("planets"));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        assertEquals(ExportService.Format.CSV, exportService.parseFormat("CSV"));
+        assertThrows(ResponseStatusException.class, () -> exportService.parseFormat("xml"));
+
+        long version = entityCache.versions().current();
+        assertTrue(exportService.notModified("\"1\", " + exportService.etag(version), version));
+        assertTrue(exportService.notModified("\"" + entityCache.versions().token(version) + "\"", version));
+        assertFalse(exportService.notModified(exportService.etag(version - 1), version));
+        // La misma versión de otro proceso (por ejemplo, antes de un reinicio) no coincide
+        assertFalse(exportService.notModified("W/\"" + version + "\"", version));
+        assertFalse(exportService.notModified("W/\"" + new SnapshotVersions(Duration.ofMinutes(5), Clock.systemUTC())
+                .token(version) + "\"", version));
+        assertFalse(exportService.notModified(null, version));
+    }
+
+    private String export(List<SwapiResource> resources, ExportService.Format format, SnapshotVersions.Reader reader)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(resources, format, reader, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static PeopleDetailsDto person(String name, List<String> films) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setFilms(films);
+        return person;
+    }
+
+    private static FilmDetailsDto film(String title) {
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle(title);
+        return film;
+    }
+}
@@ -0,0 +1,193 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.cache.CacheMemoryBudget;
+import com.FedeB.Challenge_Conexa.cache.ChangeLog;
+import com.FedeB.Challenge_Conexa.cache.EntityChange;
+import com.FedeB.Challenge_Conexa.cache.SnapshotVersions;
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Sync.SyncReportDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.integration.Responses.SwapiResponseParser;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.IncrementalSyncService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Pruebas unitarias para {@link IncrementalSyncService} contra un servidor de SWAPI simulado.
+ * <p>
+ * Estas pruebas validan que la sincronización solo almacene las entidades nuevas o cuyo "edited" cambió, que
+ * no vuelva a leer las páginas sin cambios, que elimine las entidades que ya no están en SWAPI registrando
+ * cada cambio, y que una sincronización interrumpida se reanude desde la página en la que se detuvo.
+ */
+public class IncrementalSyncServiceTest {
+
+    private static final String PEOPLE_URL = "https://www.swapi.tech/api/people?page=%d&limit=2&expanded=true";
+
+    @TempDir
+    Path directory;
+
+    private ObjectMapper objectMapper;
+    private MockRestServiceServer server;
+    private ChangeLog changeLog;
+    private SwapiEntityCache entityCache;
+    private SwapiClient swapiClient;
+
+    @BeforeEach
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        changeLog = new ChangeLog(100);
+        entityCache = new SwapiEntityCache(Duration.ofMinutes(10), Clock.systemUTC(), List.of(changeLog), null,
+                CacheMemoryBudget.unbounded(), new SnapshotVersions(Duration.ofMinutes(5), Clock.systemUTC()));
+        swapiClient = new SwapiClient(restTemplate, new SwapiResponseParser(objectMapper), entityCache);
+    }
+
+    /**
+     * Prueba que una segunda sincronización no vuelva a leer las páginas sin cambios, almacene solo la entidad
+     * cuyo "edited" cambió y elimine la que ya no aparece en el listado, registrando ambos cambios.
+     */
+    @Test
+    public void testSync_AppliesOnlyChanges() {
+        expectPeople(1, page(2, person("1", "a"), person("2", "a")), "\"p1\"");
+        expectPeople(2, page(2, person("3", "a"), person("4", "a")), "\"p2\"");
+        expectOtherResources();
+        SyncReportDto first = syncService().sync();
+        server.verify();
+        assertEquals(4, first.getAdded());
+        assertEquals(4, entityCache.table(SwapiResource.PEOPLE).size());
+
+        server.reset();
+        server.expect(requestTo(String.format(PEOPLE_URL, 1)))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"p1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+        server.expect(requestTo(String.format(PEOPLE_URL, 2)))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"p2\""))
+                .andRespond(withSuccess(page(2, person("3", "b")), MediaType.APPLICATION_JSON));
+        expectOtherResources();
+        SyncReportDto second = syncService().sync();
+        server.verify();
+
+        assertFalse(second.isResumed());
+        assertEquals(1, second.getPagesFetched());
+        assertEquals(4, second.getPagesNotModified());
+        System.out.println("DBG " + second);
+        assertEquals(0, second.getAdded());
+        assertEquals(1, second.getModified());
+        assertEquals(1, second.getRemoved());
+        assertEquals("b", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "3").getEdited());
+        assertFalse(entityCache.table(SwapiResource.PEOPLE).contains("4"));
+        assertEquals(3, entityCache.table(SwapiResource.PEOPLE).size());
+
+        List<EntityChange> changes = changeLog.since(first.getToVersion());
+        assertEquals(List.of(EntityChange.Kind.MODIFIED, EntityChange.Kind.REMOVED),
+                changes.stream().map(EntityChange::kind).toList());
+        assertEquals(List.of("3", "4"), changes.stream().map(EntityChange::id).toList());
+        assertEquals(second.getToVersion(), changes.get(1).version());
+    }
+
+    /**
+     * Prueba que, si una sincronización se interrumpe por un error de SWAPI, la siguiente (aunque sea otra
+     * instancia del servicio) se reanude desde la página que falló, sin volver a leer las anteriores.
+     */
+    @Test
+    public void testSync_ResumesFromCheckpoint() {
+        expectPeople(1, page(2, person("1", "a"), person("2", "a")), null);
+        server.expect(requestTo(String.format(PEOPLE_URL, 2))).andRespond(withServerError());
+        assertThrows(RuntimeException.class, () -> syncService().sync());
+        server.verify();
+        assertEquals(2, entityCache.table(SwapiResource.PEOPLE).size());
+
+        server.reset();
+        expectPeople(2, page(2, person("3", "a")), null);
+        expectOtherResources();
+        SyncReportDto resumed = syncService().sync();
+        server.verify();
+
+        assertTrue(resumed.isResumed());
+        assertEquals(1, resumed.getAdded());
+        // Las entidades de la primera página se consideran vistas: no se eliminan
+        assertEquals(0, resumed.getRemoved());
+        assertEquals(3, entityCache.table(SwapiResource.PEOPLE).size());
+    }
+
+    /**
+     * Prueba que la primera sincronización, sin fechas de edición sincronizadas, compare los atributos de las
+     * entidades ya almacenadas (por ejemplo, obtenidas por solicitudes) y solo informe como modificadas las que
+     * cambiaron.
+     */
+    @Test
+    public void testSync_ComparesStoredEntitiesWithoutEdited() {
+        entityCache.put(SwapiResource.PEOPLE, "1", personDetails("Person 1"));
+        entityCache.put(SwapiResource.PEOPLE, "2", personDetails("Old name"));
+        expectPeople(1, page(1, person("1", "a"), person("2", "a")), null);
+        expectOtherResources();
+        SyncReportDto first = syncService().sync();
+        server.verify();
+
+        assertEquals(0, first.getAdded());
+        assertEquals(1, first.getModified());
+        assertEquals(1, first.getUnchanged());
+        assertEquals("Person 2", entityCache.<PeopleDetailsDto>get(SwapiResource.PEOPLE, "2").getName());
+    }
+
+    private IncrementalSyncService syncService() {
+        return new IncrementalSyncService(swapiClient, entityCache, objectMapper,
+                directory.resolve("sync.json").toString(), 2, Duration.ZERO, false);
+    }
+
+    private void expectPeople(int page, String body, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        server.expect(requestTo(String.format(PEOPLE_URL, page)))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+    }
+
+    private void expectOtherResources() {
+        server.expect(requestTo("https://www.swapi.tech/api/films"))
+                .andRespond(withSuccess("{\"message\":\"ok\",\"result\":[]}", MediaType.APPLICATION_JSON));
+        for (String path : new String[]{"starships", "vehicles"}) {
+            server.expect(requestTo("https://www.swapi.tech/api/" + path + "?page=1&limit=2&expanded=true"))
+                    .andRespond(withSuccess(page(1), MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private static String page(int totalPages, String... results) {
+        return "{\"message\":\"ok\",\"total_pages\":" + totalPages + ",\"results\":[" + String.join(",", results) + "]}";
+    }
+
+    private static PeopleDetailsDto personDetails(String name) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setEdited("a");
+        return person;
+    }
+
+    private static String person(String uid, String edited) {
+        return "{\"properties\":{\"name\":\"Person " + uid + "\",\"edited\":\"" + edited + "\"},\"uid\":\"" + uid + "\"}";
+    }
+}
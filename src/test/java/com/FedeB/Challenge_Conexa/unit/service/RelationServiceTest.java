@@ -0,0 +1,102 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.cache.SwapiEntityCache;
+import com.FedeB.Challenge_Conexa.dto.Film.FilmDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.SwapiResource;
+import com.FedeB.Challenge_Conexa.service.Swapi.RelationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para el servicio de relaciones {@link RelationService}.
+ * <p>
+ * Estas pruebas validan que las relaciones se resuelvan combinando la relación de la entidad con los índices
+ * invertidos de las relaciones inversas, y que los índices se actualicen al modificar las entidades.
+ */
+public class RelationServiceTest {
+
+    private SwapiEntityCache entityCache;
+    private RelationService relationService;
+
+    @BeforeEach
+    public void setUp() {
+        entityCache = new SwapiEntityCache(Duration.ofMinutes(10), List.of());
+        putPerson("1", "Luke Skywalker", List.of(1, 2, 3, 6), List.of(12, 22));
+        putPerson("2", "C-3PO", List.of(1, 2, 3, 4, 5, 6), List.of());
+        putPerson("10", "Obi-Wan Kenobi", List.of(1, 2, 3, 4, 5, 6), List.of(48, 59));
+        putPerson("35", "Padmé Amidala", List.of(4, 5, 6), List.of(39, 49));
+        relationService = new RelationService(entityCache);
+    }
+
+    /**
+     * Prueba los personajes de una película almacenada localmente, combinando sus personajes con los
+     * personajes cuyas películas la incluyen.
+     */
+    @Test
+    public void testRelated_FilmCharacters() {
+        FilmDetailsDto film = new FilmDetailsDto();
+        film.setTitle("The Phantom Menace");
+        film.setCharacters(urls(SwapiResource.PEOPLE, List.of(2, 10, 36)));
+        entityCache.put(SwapiResource.FILMS, "4", film);
+
+        List<Object> characters = relationService.related(SwapiResource.FILMS, "4", "characters");
+
+        assertEquals(List.of("C-3PO", "Obi-Wan Kenobi", "Padmé Amidala"), names(characters));
+    }
+
+    /**
+     * Prueba los pilotos de una nave que no está almacenada localmente, a partir de las naves de los personajes.
+     */
+    @Test
+    public void testRelated_StarshipPilots() {
+        assertEquals(List.of("Luke Skywalker"), names(relationService.related(SwapiResource.STARSHIPS, "12", "pilots")));
+        assertTrue(relationService.related(SwapiResource.STARSHIPS, "10", "pilots").isEmpty());
+    }
+
+    /**
+     * Prueba que los índices invertidos reflejen las entidades modificadas.
+     */
+    @Test
+    public void testRelated_UpdatedAfterChanges() {
+        putPerson("1", "Luke Skywalker", List.of(1, 2, 3, 6), List.of(22));
+        putPerson("13", "Chewbacca", List.of(1, 2, 3, 6), List.of(10, 22));
+
+        assertTrue(relationService.related(SwapiResource.STARSHIPS, "12", "pilots").isEmpty());
+        assertEquals(List.of("Luke Skywalker", "Chewbacca"), names(relationService.related(SwapiResource.STARSHIPS, "22", "pilots")));
+        assertEquals(List.of("C-3PO", "Obi-Wan Kenobi", "Padmé Amidala"), names(relationService.related(SwapiResource.FILMS, "5", "characters")));
+    }
+
+    /**
+     * Prueba que una relación desconocida devuelva 404.
+     */
+    @Test
+    public void testRelated_UnknownRelation() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> relationService.related(SwapiResource.PEOPLE, "1", "name"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    private void putPerson(String id, String name, List<Integer> films, List<Integer> starships) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        person.setFilms(urls(SwapiResource.FILMS, films));
+        person.setStarships(urls(SwapiResource.STARSHIPS, starships));
+        entityCache.put(SwapiResource.PEOPLE, id, person);
+    }
+
+    private static List<String> urls(SwapiResource resource, List<Integer> ids) {
+        return ids.stream().map(id -> resource.urlOf(Integer.toString(id))).toList();
+    }
+
+    private static List<String> names(List<Object> entities) {
+        return entities.stream().map(entity -> ((PeopleDetailsDto) entity).getName()).toList();
+    }
+}
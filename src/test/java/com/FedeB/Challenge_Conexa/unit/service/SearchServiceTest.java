@@ -0,0 +1,145 @@
+package com.FedeB.Challenge_Conexa.unit.service;
+
+import com.FedeB.Challenge_Conexa.dto.People.PeopleDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchResponseDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchResultDto;
+import com.FedeB.Challenge_Conexa.dto.Search.SearchStatus;
+import com.FedeB.Challenge_Conexa.dto.Starship.StarshipDetailsDto;
+import com.FedeB.Challenge_Conexa.dto.Vehicle.VehicleDetailsDto;
+import com.FedeB.Challenge_Conexa.integration.Requests.SwapiClient;
+import com.FedeB.Challenge_Conexa.service.Swapi.SearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para el servicio de búsqueda unificada {@link SearchService}.
+ * <p>
+ * Estas pruebas validan que las búsquedas de todos los tipos se combinen y ordenen por relevancia, y que los
+ * tipos que no terminan dentro del plazo común o fallan se informen sin impedir la respuesta de los demás, y
+ * que las búsquedas se rechacen cuando hay demasiadas en espera.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SearchServiceTest {
+
+    @Mock
+    private SwapiClient swapiClient;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    public void setUp() {
+        searchService = new SearchService(swapiClient, Duration.ofMillis(300), 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        searchService.shutdown();
+    }
+
+    /**
+     * Prueba que los resultados de todos los tipos se ordenen por relevancia: primero los nombres que comienzan
+     * con el texto buscado y luego los que tienen una palabra que comienza con él, los más cortos primero.
+     */
+    @Test
+    public void testSearch_MergedAndRanked() {
+        when(swapiClient.getPersonByName("sky")).thenReturn(List.of(person("Anakin Skywalker"), person("Luke Skywalker")));
+        when(swapiClient.getFilmsByName("sky")).thenReturn(List.of());
+        when(swapiClient.getStarshipsByName("sky")).thenReturn(List.of(starship("Skyhopper")));
+        when(swapiClient.getVehiclesByName("sky")).thenReturn(List.of(vehicle("T-16 skyhopper")));
+
+        SearchResponseDto response = searchService.search("sky");
+
+        assertFalse(response.isPartial());
+        assertEquals(List.of("Skyhopper", "Luke Skywalker", "T-16 skyhopper", "Anakin Skywalker"),
+                response.getResults().stream().map(SearchResultDto::getName).toList());
+        assertEquals(List.of("starships", "people", "vehicles", "people"),
+                response.getResults().stream().map(SearchResultDto::getResource).toList());
+        assertEquals(SearchStatus.OK, response.getTypes().get("films").getStatus());
+        assertEquals(2, response.getTypes().get("people").getResults());
+    }
+
+    /**
+     * Prueba que un tipo que no termina dentro del plazo y otro que falla se informen en el estado de cada
+     * tipo, y que la respuesta incluya los resultados de los demás sin esperar al tipo demorado.
+     */
+    @Test
+    public void testSearch_PartialResults() {
+        when(swapiClient.getPersonByName("falcon")).thenReturn(List.of());
+        when(swapiClient.getStarshipsByName("falcon")).thenReturn(List.of(starship("Millennium Falcon")));
+        when(swapiClient.getVehiclesByName("falcon")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        when(swapiClient.getFilmsByName("falcon")).thenThrow(new RuntimeException("SWAPI no responde"));
+
+        long start = System.nanoTime();
+        SearchResponseDto response = searchService.search("falcon");
+        long elapsed = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsed < 2000, "La búsqueda esperó " + elapsed + " ms");
+        assertTrue(response.isPartial());
+        assertEquals(List.of("Millennium Falcon"), response.getResults().stream().map(SearchResultDto::getName).toList());
+        assertEquals(SearchStatus.TIMEOUT, response.getTypes().get("vehicles").getStatus());
+        assertEquals(SearchStatus.ERROR, response.getTypes().get("films").getStatus());
+        assertEquals("SWAPI no responde", response.getTypes().get("films").getError());
+        assertEquals(SearchStatus.OK, response.getTypes().get("starships").getStatus());
+    }
+
+    /**
+     * Prueba que, si las búsquedas en espera de un hilo superan la capacidad de la cola, la búsqueda se rechace
+     * con estado 503 y sus tipos ya encolados se quiten de la cola.
+     */
+    @Test
+    public void testSearch_RejectedWhenQueueIsFull() {
+        SearchService saturated = new SearchService(swapiClient, Duration.ofMillis(300), 1, 1);
+        lenient().when(swapiClient.getPersonByName("luke")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of();
+        });
+        try {
+            ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> saturated.search("luke"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        } finally {
+            saturated.shutdown();
+        }
+    }
+
+    /**
+     * Prueba que se rechace un texto vacío.
+     */
+    @Test
+    public void testSearch_BlankQuery() {
+        assertThrows(ResponseStatusException.class, () -> searchService.search(" "));
+        verifyNoInteractions(swapiClient);
+    }
+
+    private static PeopleDetailsDto person(String name) {
+        PeopleDetailsDto person = new PeopleDetailsDto();
+        person.setName(name);
+        return person;
+    }
+
+    private static StarshipDetailsDto starship(String name) {
+        StarshipDetailsDto starship = new StarshipDetailsDto();
+        starship.setName(name);
+        return starship;
+    }
+
+    private static VehicleDetailsDto vehicle(String name) {
+        VehicleDetailsDto vehicle = new VehicleDetailsDto();
+        vehicle.setName(name);
+        return vehicle;
+    }
+}